@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.atlauncher.data.AbstractAccount;
 import com.atlauncher.data.Instance;
@@ -32,9 +33,11 @@ import com.atlauncher.data.curseforge.CurseForgeProjectLatestFile;
 import com.atlauncher.data.minecraft.JavaRuntimes;
 import com.atlauncher.data.minecraft.VersionManifestVersion;
 import com.atlauncher.data.modpacksch.ModpacksChPackVersion;
+import com.atlauncher.utils.SnapshotList;
 
 public final class Data {
-    public static final List<AbstractAccount> ACCOUNTS = new LinkedList<>();
+    // lists are swapped out whole when changed, so they can be read from any thread without locking
+    public static final SnapshotList<AbstractAccount> ACCOUNTS = new SnapshotList<>();
     public static AbstractAccount SELECTED_ACCOUNT = null; // Account using the Launcher
 
     public static Map<String, Object> CONFIG = new HashMap<>();
@@ -42,21 +45,23 @@ public final class Data {
 
     public static final List<News> NEWS = new LinkedList<>();
 
-    public static final List<Pack> PACKS = new LinkedList<>();
+    public static final SnapshotList<Pack> PACKS = new SnapshotList<>();
 
-    public static final List<Instance> INSTANCES = new LinkedList<>();
+    public static final SnapshotList<Instance> INSTANCES = new SnapshotList<>();
 
-    public static final List<Server> SERVERS = new LinkedList<>();
+    public static final SnapshotList<Server> SERVERS = new SnapshotList<>();
 
     public static final Map<String, VersionManifestVersion> MINECRAFT = new HashMap<>();
     public static JavaRuntimes JAVA_RUNTIMES = null;
 
     // Tools related things
-    public static final List<MinecraftServer> CHECKING_SERVERS = new LinkedList<>();
+    public static final SnapshotList<MinecraftServer> CHECKING_SERVERS = new SnapshotList<>();
 
     // CurseForge instance update checking
-    public static final Map<Instance, CurseForgeProjectLatestFile> CURSEFORGE_INSTANCE_LATEST_VERSION = new HashMap<>();
+    public static final Map<Instance, CurseForgeProjectLatestFile> CURSEFORGE_INSTANCE_LATEST_VERSION =
+            new ConcurrentHashMap<>();
 
     // Modpacks.ch instance update checking
-    public static final Map<Instance, ModpacksChPackVersion> MODPACKS_CH_INSTANCE_LATEST_VERSION = new HashMap<>();
+    public static final Map<Instance, ModpacksChPackVersion> MODPACKS_CH_INSTANCE_LATEST_VERSION =
+            new ConcurrentHashMap<>();
 }
@@ -35,6 +35,9 @@ public final class FileSystem {
     public static final Path BASE_DIR = FileSystem.getCoreGracefully();
     public static final Path LOGS = BASE_DIR.resolve("logs");
     public static final Path BACKUPS = BASE_DIR.resolve("backups");
+    public static final Path BACKUP_REPOSITORY = BACKUPS.resolve("repository");
+    public static final Path BACKUP_CHUNKS = BACKUP_REPOSITORY.resolve("chunks");
+    public static final Path BACKUP_SNAPSHOTS = BACKUP_REPOSITORY.resolve("snapshots");
     public static final Path CACHE = BASE_DIR.resolve("cache");
     public static final Path LOADERS = BASE_DIR.resolve("loaders");
     public static final Path RUNTIMES = BASE_DIR.resolve("runtimes");
@@ -44,6 +47,7 @@ public final class FileSystem {
     public static final Path COMMON = CONFIGS.resolve("common");
     public static final Path IMAGES = CONFIGS.resolve("images");
     public static final Path SKINS = IMAGES.resolve("skins");
+    public static final Path THUMBNAILS = IMAGES.resolve("thumbnails");
     public static final Path JSON = CONFIGS.resolve("json");
     public static final Path THEMES = CONFIGS.resolve("themes");
     public static final Path TOOLS = CONFIGS.resolve("tools");
@@ -56,6 +60,8 @@ public final class FileSystem {
     public static final Path RESOURCES_VIRTUAL_LEGACY = RESOURCES_VIRTUAL.resolve("legacy");
 
     public static final Path LIBRARIES = BASE_DIR.resolve("libraries");
+    public static final Path NATIVES = BASE_DIR.resolve("natives");
+    public static final Path CDS = BASE_DIR.resolve("cds");
 
     public static final Path DOWNLOADS = BASE_DIR.resolve("downloads");
     public static final Path INSTANCES = BASE_DIR.resolve("instances");
@@ -64,6 +70,13 @@ public final class FileSystem {
     public static final Path FAILED_DOWNLOADS = BASE_DIR.resolve("faileddownloads");
 
     public static final Path CHECKING_SERVERS_JSON = CONFIGS.resolve("checkingservers.json");
+    public static final Path DOWNLOAD_VALIDATORS_JSON = CONFIGS.resolve("downloadvalidators.json");
+    public static final Path LOADER_VERSIONS_JSON = CONFIGS.resolve("loaderversions.json");
+    public static final Path LAUNCHER_FILES_JSON = CONFIGS.resolve("launcherfiles.json");
+    public static final Path FINGERPRINTS_JSON = CONFIGS.resolve("fingerprints.json");
+    public static final Path JAVA_PROBES_JSON = CONFIGS.resolve("javaprobes.json");
+    public static final Path LAUNCH_READINESS = CONFIGS.resolve("launchreadiness");
+    public static final Path MOD_METADATA = CONFIGS.resolve("modmetadata");
     public static final Path USER_DATA = CONFIGS.resolve("userdata");
     public static final Path LAUNCHER_CONFIG = CONFIGS.resolve(Constants.LAUNCHER_NAME + ".conf");
     public static final Path SETTINGS = CONFIGS.resolve(Constants.LAUNCHER_NAME + ".json");
@@ -155,9 +168,14 @@ public final class FileSystem {
 
     private static void createDirectories() {
         FileUtils.createDirectory(BACKUPS);
+        FileUtils.createDirectory(BACKUP_REPOSITORY);
+        FileUtils.createDirectory(BACKUP_CHUNKS);
+        FileUtils.createDirectory(BACKUP_SNAPSHOTS);
         FileUtils.createDirectory(CACHE);
         FileUtils.createDirectory(INSTANCES);
         FileUtils.createDirectory(LIBRARIES);
+        FileUtils.createDirectory(NATIVES);
+        FileUtils.createDirectory(CDS);
         FileUtils.createDirectory(LOADERS);
         FileUtils.createDirectory(LOGS);
         FileUtils.createDirectory(RUNTIMES);
@@ -169,9 +187,12 @@ public final class FileSystem {
         FileUtils.createDirectory(COMMON);
         FileUtils.createDirectory(IMAGES);
         FileUtils.createDirectory(SKINS);
+        FileUtils.createDirectory(THUMBNAILS);
         FileUtils.createDirectory(JSON);
         FileUtils.createDirectory(THEMES);
         FileUtils.createDirectory(TOOLS);
+        FileUtils.createDirectory(LAUNCH_READINESS);
+        FileUtils.createDirectory(MOD_METADATA);
 
         FileUtils.createDirectory(ASSETS);
         FileUtils.createDirectory(RESOURCES_INDEXES);
@@ -30,6 +30,8 @@ import com.atlauncher.data.microsoft.OauthTokenResponse;
 import com.atlauncher.data.microsoft.OauthTokenResponseTypeAdapter;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.ArgumentsTypeAdapter;
+import com.atlauncher.data.minecraft.AssetIndex;
+import com.atlauncher.data.minecraft.AssetIndexTypeAdapter;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LibraryTypeAdapter;
 import com.atlauncher.data.minecraft.loaders.fabric.FabricMetaLauncherMeta;
@@ -55,11 +57,16 @@ public final class Gsons {
     public static final Gson DEFAULT_ALT = new GsonBuilder().registerTypeAdapter(Color.class, new ColorTypeAdapter())
             .registerTypeAdapter(PackVersion.class, new PackVersionTypeAdapter()).setPrettyPrinting().create();
 
-    public static final Gson MINECRAFT = new GsonBuilder().disableHtmlEscaping().setPrettyPrinting()
+    private static final Gson MINECRAFT_BASE = new GsonBuilder().disableHtmlEscaping()
             .registerTypeAdapter(Color.class, new ColorTypeAdapter())
             .registerTypeAdapter(Library.class, new LibraryTypeAdapter())
             .registerTypeAdapter(Arguments.class, new ArgumentsTypeAdapter())
+            .registerTypeAdapter(AssetIndex.class, new AssetIndexTypeAdapter())
             .registerTypeAdapter(FabricMetaLauncherMeta.class, new FabricMetaLauncherMetaTypeAdapter())
             .registerTypeAdapter(ForgeLibrary.class, new ForgeLibraryTypeAdapter())
             .registerTypeAdapter(QuiltMetaLauncherMeta.class, new QuiltMetaLauncherMetaTypeAdapter()).create();
+
+    public static final Gson MINECRAFT = MINECRAFT_BASE.newBuilder().setPrettyPrinting().create();
+
+    public static final Gson MINECRAFT_SLIM = MINECRAFT_BASE.newBuilder().create();
 }
@@ -49,13 +49,18 @@ import com.atlauncher.managers.CheckingServersManager;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.CurseForgeUpdateManager;
 import com.atlauncher.managers.DialogManager;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.managers.InstanceManager;
+import com.atlauncher.managers.LauncherFilesManager;
+import com.atlauncher.managers.LoaderVersionsManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
 import com.atlauncher.managers.ModpacksChUpdateManager;
+import com.atlauncher.managers.NativesManager;
 import com.atlauncher.managers.NewsManager;
 import com.atlauncher.managers.PackManager;
 import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.managers.ProcessManager;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadPool;
@@ -74,6 +79,7 @@ public class Launcher {
     // Holding update data
     private LauncherVersion latestLauncherVersion; // Latest Launcher version
     private List<DownloadableFile> launcherFiles; // Files the Launcher needs to download
+    private List<DownloadableFile> updatedLauncherFiles; // Files the Launcher needs which are missing or changed
 
     // UI things
     private JFrame parent; // Parent JFrame of the actual Launcher
@@ -88,8 +94,7 @@ public class Launcher {
     private Thread updateThread;
 
     // Minecraft tracking variables
-    private Process minecraftProcess = null; // The process minecraft is running on
-    public boolean minecraftLaunched = false; // If Minecraft has been Launched
+    public volatile boolean minecraftLaunched = false; // If any instance is launching or running
 
     public void checkIfWeCanLoad() {
         if (!Java.isUsingJavaSupportingLetsEncrypt()) {
@@ -122,6 +127,8 @@ public class Launcher {
 
         MinecraftManager.loadMinecraftVersions(); // Load info about the different Minecraft versions
 
+        LoaderVersionsManager.prefetch(); // Load the loader versions for each Minecraft version in the background
+
         // Load info about the different java runtimes
         App.TASKPOOL.execute(() -> {
             MinecraftManager.loadJavaRuntimes();
@@ -141,6 +148,9 @@ public class Launcher {
 
         PackManager.removeUnusedImages(); // remove unused pack images
 
+        App.TASKPOOL.execute(ImageManager::removeOldThumbnails); // remove thumbnails not used in a while
+        App.TASKPOOL.execute(NativesManager::removeUnusedNatives); // remove extracted natives not used in a while
+
         if (OS.isWindows() && !Java.is64Bit() && OS.is64Bit()) {
             LogManager.warn("You're using 32 bit Java on a 64 bit Windows install!");
 
@@ -262,7 +272,7 @@ public class Launcher {
      * This checks the servers files.json file and gets the files that the Launcher
      * needs to have
      */
-    private List<com.atlauncher.network.Download> getLauncherFiles() {
+    private List<DownloadableFile> getLauncherFiles() {
         if (this.launcherFiles == null) {
             java.lang.reflect.Type type = new TypeToken<List<DownloadableFile>>() {
             }.getType();
@@ -282,22 +292,46 @@ public class Launcher {
 
         return this.launcherFiles.stream()
                 .filter(file -> !file.isLauncher() && !file.isFiles() && file.isForArchAndOs())
-                .map(DownloadableFile::getDownload).collect(Collectors.toList());
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the files the Launcher needs which are missing or don't match files.json. Files which haven't changed since
+     * they were last synced aren't read.
+     */
+    private List<DownloadableFile> getUpdatedLauncherFiles() {
+        if (this.updatedLauncherFiles == null) {
+            List<DownloadableFile> files = getLauncherFiles();
+
+            if (files == null) {
+                return null;
+            }
+
+            this.updatedLauncherFiles = LauncherFilesManager.getChangedFiles(files);
+        }
+
+        return this.updatedLauncherFiles;
     }
 
     public void downloadUpdatedFiles() {
         ProgressDialog progressDialog = new ProgressDialog(GetText.tr("Downloading Updates"), 1,
                 GetText.tr("Downloading Updates"));
         progressDialog.addThread(new Thread(() -> {
-            DownloadPool pool = new DownloadPool();
-            OkHttpClient httpClient = Network.createProgressClient(progressDialog);
-            pool.addAll(
-                    getLauncherFiles().stream().map(dl -> dl.withHttpClient(httpClient)).collect(Collectors.toList()));
-            DownloadPool smallPool = pool.downsize();
+            List<DownloadableFile> files = getUpdatedLauncherFiles();
+
+            if (files != null && files.size() != 0) {
+                DownloadPool pool = new DownloadPool();
+                OkHttpClient httpClient = Network.createProgressClient(progressDialog);
+                pool.addAll(files.stream().map(file -> file.getDownload().withHttpClient(httpClient))
+                        .collect(Collectors.toList()));
 
-            progressDialog.setTotalBytes(smallPool.totalSize());
+                progressDialog.setTotalBytes(files.stream().mapToLong(file -> file.size).sum());
+
+                pool.downloadAll();
+                LauncherFilesManager.markSynced(files);
+                this.updatedLauncherFiles = null;
+            }
 
-            pool.downloadAll();
             progressDialog.doneTask();
             progressDialog.close();
         }));
@@ -308,6 +342,7 @@ public class Launcher {
 
     public boolean checkForUpdatedFiles() {
         this.launcherFiles = null;
+        this.updatedLauncherFiles = null;
 
         App.TASKPOOL.execute(() -> {
             checkForExternalPackUpdates();
@@ -322,13 +357,17 @@ public class Launcher {
      */
     public boolean hasUpdatedFiles() {
         LogManager.info("Checking for updated files!");
-        List<com.atlauncher.network.Download> downloads = getLauncherFiles();
+        List<DownloadableFile> files = getUpdatedLauncherFiles();
 
-        if (downloads == null) {
+        if (files == null) {
             return false;
         }
 
-        return downloads.stream().anyMatch(com.atlauncher.network.Download::needToDownload);
+        if (files.size() != 0) {
+            LogManager.info(files.size() + " launcher files need updating");
+        }
+
+        return files.size() != 0;
     }
 
     public void checkForExternalPackUpdates() {
@@ -354,6 +393,7 @@ public class Launcher {
 
         MinecraftManager.loadMinecraftVersions(); // Load info about the different Minecraft versions
         MinecraftManager.loadJavaRuntimes(); // Load info about the different java runtimes
+        LoaderVersionsManager.prefetch(); // Load the loader versions for each Minecraft version in the background
     }
 
     public void reloadLauncherData() {
@@ -561,8 +601,7 @@ public class Launcher {
         this.packsPanel.refresh(); // Refresh the instances panel
     }
 
-    public void showKillMinecraft(Process minecraft) {
-        this.minecraftProcess = minecraft;
+    public void showKillMinecraft() {
         App.console.showKillMinecraft();
     }
 
@@ -570,16 +609,16 @@ public class Launcher {
         App.console.hideKillMinecraft();
     }
 
+    /**
+     * Kills every running instance.
+     */
     public void killMinecraft() {
-        if (this.minecraftProcess != null) {
-            LogManager.error("Killing Minecraft");
-
+        if (!ProcessManager.getRunning().isEmpty()) {
             if (App.discordInitialized) {
                 DiscordRPC.discordClearPresence();
             }
 
-            this.minecraftProcess.destroy();
-            this.minecraftProcess = null;
+            ProcessManager.killAll();
         } else {
             LogManager.error("Cannot kill Minecraft as there is no instance open!");
         }
@@ -15,33 +15,24 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
-package com.atlauncher.workers;
+package com.atlauncher.data;
 
-import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.net.URL;
+import java.util.List;
 
-import javax.imageio.ImageIO;
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
-import javax.swing.SwingWorker;
+public class BackupSnapshot {
+    /**
+     * The name of this snapshot within the instances snapshots folder.
+     */
+    public transient String name;
 
-public class BackgroundImageWorker extends SwingWorker<ImageIcon, Object> {
-    private final JLabel label;
-    private final String url;
-
-    public BackgroundImageWorker(JLabel label, String url) {
-        this.label = label;
-        this.url = url;
-    }
+    public String instance;
+    public BackupMode backupMode;
+    public long createdAt;
+    public long size;
+    public List<BackupSnapshotFile> files;
 
     @Override
-    protected ImageIcon doInBackground() throws Exception {
-        BufferedImage image = ImageIO.read(new URL(this.url));
-        label.setIcon(new ImageIcon(image.getScaledInstance(60, 60, Image.SCALE_SMOOTH)));
-        label.setVisible(true);
-
-        return null;
+    public String toString() {
+        return name;
     }
-
 }
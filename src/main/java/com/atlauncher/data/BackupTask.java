@@ -0,0 +1,104 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.atlauncher.evnt.manager.BackupTaskManager;
+
+/**
+ * A backup that has been queued to run in the background, along with its progress.
+ */
+public class BackupTask {
+    public enum State {
+        QUEUED, RUNNING, COMPLETE, FAILED, CANCELLED
+    }
+
+    public final String name;
+    public final Path root;
+
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelled = false;
+    private volatile int total = 0;
+    private final AtomicInteger processed = new AtomicInteger(0);
+    private volatile int lastPostedPercent = -1;
+    private Future<?> future;
+
+    public BackupTask(String name, Path root) {
+        this.name = name;
+        this.root = root;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+        BackupTaskManager.post(this);
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public void cancel() {
+        cancelled = true;
+
+        // if it hasn't started yet, then it never will
+        if (future != null && future.cancel(false)) {
+            setState(State.CANCELLED);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    /**
+     * Marks one more item as processed, letting listeners know only when the percentage changes so that big backups
+     * don't flood the UI with events.
+     */
+    public void incrementProcessed() {
+        processed.incrementAndGet();
+
+        int percent = getPercent();
+        if (percent != lastPostedPercent) {
+            lastPostedPercent = percent;
+            BackupTaskManager.post(this);
+        }
+    }
+
+    public int getPercent() {
+        if (total == 0) {
+            return 0;
+        }
+
+        return (int) (processed.get() * 100L / total);
+    }
+}
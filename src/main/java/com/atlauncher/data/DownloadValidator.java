@@ -0,0 +1,67 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+/**
+ * What a server said about a file which has no known hash, along with the size and last modified time of the file on
+ * disk when it was last known to be the same as what's on the server.
+ */
+public class DownloadValidator {
+    public String path;
+    public String etag;
+    public String lastModified;
+
+    /**
+     * The size the server said the file was, or -1 if it didn't say.
+     */
+    public long size = -1L;
+
+    public long fileSize;
+    public long fileLastModified;
+    public long checkedAt;
+
+    public DownloadValidator(String path, String etag, String lastModified, long size) {
+        this.path = path;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    /**
+     * Checks if the file on disk is still the one this was recorded for.
+     */
+    public boolean matchesFile(String path, long fileSize, long fileLastModified) {
+        return path.equals(this.path) && fileSize == this.fileSize && fileLastModified == this.fileLastModified;
+    }
+
+    /**
+     * Checks if the server is still giving out the same file as it was when this was recorded, using the strongest
+     * validator both have.
+     */
+    public boolean isSameVersionAs(DownloadValidator other) {
+        if (etag != null && other.etag != null) {
+            return etag.equals(other.etag);
+        }
+
+        if (lastModified != null && other.lastModified != null) {
+            return lastModified.equals(other.lastModified) && (size == -1L || other.size == -1L || size == other.size);
+        }
+
+        return size != -1L && size == other.size;
+    }
+}
@@ -17,6 +17,8 @@
  */
 package com.atlauncher.data;
 
+import java.nio.file.Path;
+
 import com.atlauncher.FileSystem;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.network.Download;
@@ -63,10 +65,14 @@ public class DownloadableFile {
         return true;
     }
 
+    public Path getPath() {
+        return FileSystem.CONFIGS.resolve(this.folder + "/" + this.name);
+    }
+
     public Download getDownload() {
         return Download.build()
                 .setUrl(String.format("%s/launcher/%s/%s", Constants.DOWNLOAD_SERVER, this.folder.toLowerCase(),
                         this.name))
-                .downloadTo(FileSystem.CONFIGS.resolve(this.folder + "/" + this.name)).size(this.size).hash(this.sha1);
+                .downloadTo(getPath()).size(this.size).hash(this.sha1);
     }
 }
@@ -17,47 +17,43 @@
  */
 package com.atlauncher.data;
 
-import java.awt.BorderLayout;
-import java.awt.Dialog.ModalityType;
 import java.awt.Dimension;
-import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import javax.imageio.ImageIO;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JComboBox;
-import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -109,12 +105,21 @@ import com.atlauncher.gui.dialogs.InstanceInstallerDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.gui.dialogs.RenameInstanceDialog;
 import com.atlauncher.managers.AccountManager;
+import com.atlauncher.managers.BackupManager;
 import com.atlauncher.managers.CurseForgeUpdateManager;
 import com.atlauncher.managers.DialogManager;
+import com.atlauncher.managers.ImageManager;
+import com.atlauncher.managers.InstanceFilesManager;
+import com.atlauncher.managers.InstanceManager;
+import com.atlauncher.managers.LaunchReadinessManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.managers.ModpacksChUpdateManager;
+import com.atlauncher.managers.NativesManager;
 import com.atlauncher.managers.PackManager;
+import com.atlauncher.managers.PersistenceManager;
+import com.atlauncher.managers.ProcessManager;
 import com.atlauncher.mclauncher.MCLauncher;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadPool;
@@ -126,7 +131,6 @@ import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.utils.ZipNameMapper;
-import com.google.gson.JsonIOException;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -265,28 +269,17 @@ public class Instance extends MinecraftVersion {
     }
 
     public ImageIcon getImage() {
-        File customImage = this.getRoot().resolve("instance.png").toFile();
-
-        if (customImage.exists()) {
-            try {
-                BufferedImage img = ImageIO.read(customImage);
+        Path customImage = this.getRoot().resolve("instance.png");
 
-                // if a square image, then make it 300x150 (without stretching) centered
-                if (img.getHeight(null) == img.getWidth(null)) {
-                    BufferedImage dimg = new BufferedImage(300, 150, BufferedImage.TYPE_INT_ARGB);
-
-                    Graphics2D g2d = dimg.createGraphics();
-                    g2d.drawImage(img, 75, 0, 150, 150, null);
-                    g2d.dispose();
-
-                    return new ImageIcon(dimg);
-                }
+        if (Files.exists(customImage)) {
+            // if a square image, then make it 300x150 (without stretching) centered
+            BufferedImage img = ImageManager.getScaledImage(customImage, 300, 150, true);
 
-                return new ImageIcon(img.getScaledInstance(300, 150, Image.SCALE_SMOOTH));
-            } catch (IOException e) {
-                LogManager.logStackTrace(
-                        "Error creating scaled image from the custom image of instance " + this.launcher.name, e);
+            if (img != null) {
+                return new ImageIcon(img);
             }
+
+            LogManager.error("Error creating scaled image from the custom image of instance " + this.launcher.name);
         }
 
         if (getPack() != null) {
@@ -370,9 +363,13 @@ public class Instance extends MinecraftVersion {
      * Minecraft jar and libraries, as well as organise the libraries, ready to be
      * played.
      */
-    public boolean prepareForLaunch(ProgressDialog progressDialog, Path nativesTempDir) {
+    public boolean prepareForLaunch(ProgressDialog progressDialog, Path nativesTempDir, String fingerprint) {
         OkHttpClient httpClient = Network.createProgressClient(progressDialog);
 
+        // the files checked, so the next launch can skip all this if they haven't changed
+        List<LaunchReadinessFile> launchFiles = new ArrayList<>();
+        boolean checkedAllFiles = true;
+
         try {
             progressDialog.setLabel(GetText.tr("Downloading Minecraft"));
             com.atlauncher.network.Download clientDownload = com.atlauncher.network.Download.build()
@@ -384,6 +381,9 @@ public class Instance extends MinecraftVersion {
                 clientDownload.downloadFile();
             }
 
+            launchFiles.add(launchFile(this.getMinecraftJarLibraryPath(), this.downloads.client.size,
+                    this.downloads.client.sha1));
+
             progressDialog.doneTask();
         } catch (IOException e) {
             LogManager.logStackTrace(e);
@@ -405,6 +405,8 @@ public class Instance extends MinecraftVersion {
                             .withHttpClient(httpClient);
 
                     librariesPool.add(download);
+                    launchFiles.add(launchFile(FileSystem.LIBRARIES.resolve(library.downloads.artifact.path),
+                            library.downloads.artifact.size, library.downloads.artifact.sha1));
                 });
 
         this.libraries.stream().filter(Library::hasNativeForOS).forEach(library -> {
@@ -413,6 +415,7 @@ public class Instance extends MinecraftVersion {
             librariesPool.add(new com.atlauncher.network.Download().setUrl(download.url)
                     .downloadTo(FileSystem.LIBRARIES.resolve(download.path)).hash(download.sha1).size(download.size)
                     .withHttpClient(httpClient));
+            launchFiles.add(launchFile(FileSystem.LIBRARIES.resolve(download.path), download.size, download.sha1));
         });
 
         DownloadPool smallLibrariesPool = librariesPool.downsize();
@@ -421,6 +424,11 @@ public class Instance extends MinecraftVersion {
 
         smallLibrariesPool.downloadAll();
 
+        // the pool only logs downloads that fail, so check nothing is still left to download
+        if (smallLibrariesPool.any()) {
+            checkedAllFiles = false;
+        }
+
         progressDialog.doneTask();
 
         // download Java runtime
@@ -465,6 +473,8 @@ public class Instance extends MinecraftVersion {
                                     .executable(file.executable).withHttpClient(httpClient);
 
                             pool.add(download);
+                            launchFiles.add(launchFile(runtimeDirectory.resolve(key), file.downloads.raw.size,
+                                    file.downloads.raw.sha1));
                         }
                     });
 
@@ -474,6 +484,10 @@ public class Instance extends MinecraftVersion {
 
                     smallPool.downloadAll();
 
+                    if (smallPool.any()) {
+                        checkedAllFiles = false;
+                    }
+
                     // write out the version file (theres also a .sha1 file created, but we're not
                     // doing that)
                     Files.write(runtimeSystemDirectory.resolve(".version"),
@@ -482,6 +496,7 @@ public class Instance extends MinecraftVersion {
                     // + ".sha1"), runtimeToDownload.version.name.getBytes(StandardCharsets.UTF_8));
                 } catch (IOException e) {
                     LogManager.logStackTrace("Failed to download Java runtime", e);
+                    checkedAllFiles = false;
                 }
             }
         }
@@ -491,22 +506,31 @@ public class Instance extends MinecraftVersion {
         progressDialog.setLabel(GetText.tr("Downloading Resources"));
         MojangAssetIndex assetIndex = this.assetIndex;
 
+        Path indexPath = FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json");
         AssetIndex index = com.atlauncher.network.Download.build().setUrl(assetIndex.url).hash(assetIndex.sha1)
-                .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
-                .withHttpClient(httpClient).asClass(AssetIndex.class);
+                .size(assetIndex.size).downloadTo(indexPath).withHttpClient(httpClient).asClass(AssetIndex.class);
+        launchFiles.add(launchFile(indexPath, assetIndex.size, assetIndex.sha1));
+        long checkedAt = AssetIndex.getCheckedAt(indexPath);
+        boolean replacingObjects = false;
 
         DownloadPool pool = new DownloadPool();
 
-        index.objects.forEach((key, object) -> {
-            String filename = object.hash.substring(0, 2) + "/" + object.hash;
-            String url = String.format("%s/%s", Constants.MINECRAFT_RESOURCES, filename);
+        // only make downloads for the objects which are missing or bad, rather than for every object in the index
+        for (int i = 0; i < index.size(); i++) {
+            String filename = index.getPath(i);
+            String hash = index.getHash(i);
+            Path objectFile = FileSystem.RESOURCES_OBJECTS.resolve(filename);
 
-            com.atlauncher.network.Download download = new com.atlauncher.network.Download().setUrl(url)
-                    .downloadTo(FileSystem.RESOURCES_OBJECTS.resolve(filename)).hash(object.hash).size(object.size)
-                    .withHttpClient(httpClient);
+            if (!index.isDownloaded(i, checkedAt)) {
+                replacingObjects |= Files.exists(objectFile);
+                String url = String.format("%s/%s", Constants.MINECRAFT_RESOURCES, filename);
 
-            pool.add(download);
-        });
+                pool.add(new com.atlauncher.network.Download().setUrl(url).downloadTo(objectFile).hash(hash)
+                        .size(index.getSize(i)).withHttpClient(httpClient));
+            }
+
+            launchFiles.add(launchFile(objectFile, index.getSize(i), hash));
+        }
 
         DownloadPool smallPool = pool.downsize();
 
@@ -514,46 +538,118 @@ public class Instance extends MinecraftVersion {
 
         smallPool.downloadAll();
 
+        if (smallPool.any()) {
+            checkedAllFiles = false;
+        }
+
+        // if any objects were bad, check them again next time in case replacing them failed
+        if (!replacingObjects) {
+            AssetIndex.setCheckedAt(indexPath);
+        }
+
         // copy resources to instance
         if (index.mapToResources || assetIndex.id.equalsIgnoreCase("legacy")) {
-            index.objects.forEach((key, object) -> {
-                String filename = object.hash.substring(0, 2) + "/" + object.hash;
-
-                Path downloadedFile = FileSystem.RESOURCES_OBJECTS.resolve(filename);
+            for (int i = 0; i < index.size(); i++) {
+                String key = index.getKey(i);
+                Path downloadedFile = index.getObjectFile(i);
 
                 if (index.mapToResources) {
                     FileUtils.copyFile(downloadedFile, this.getRoot().resolve("resources/" + key), true);
+                    launchFiles.add(launchFile(this.getRoot().resolve("resources/" + key), index.getSize(i),
+                            index.getHash(i)));
                 } else if (assetIndex.id.equalsIgnoreCase("legacy")) {
                     FileUtils.copyFile(downloadedFile, FileSystem.RESOURCES_VIRTUAL_LEGACY.resolve(key), true);
+                    launchFiles.add(launchFile(FileSystem.RESOURCES_VIRTUAL_LEGACY.resolve(key), index.getSize(i),
+                            index.getHash(i)));
                 }
-            });
+            }
         }
 
         progressDialog.doneTask();
 
         progressDialog.setLabel(GetText.tr("Organising Libraries"));
 
-        // extract natives to a temp dir
-        this.libraries.stream().filter(Library::shouldInstall).forEach(library -> {
-            if (library.hasNativeForOS()) {
-                Path nativePath = FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path);
-
-                ArchiveUtils.extract(nativePath, nativesTempDir, name -> {
-                    if (library.extract != null && library.extract.shouldExclude(name)) {
-                        return null;
-                    }
-
-                    return name;
-                });
-            }
-        });
+        if (!extractNatives(nativesTempDir)) {
+            checkedAllFiles = false;
+        }
 
         progressDialog.doneTask();
 
+        if (checkedAllFiles) {
+            LaunchReadinessManager.save(this, fingerprint, launchFiles);
+        } else {
+            LaunchReadinessManager.clear(this);
+        }
+
         return true;
     }
 
+    private static LaunchReadinessFile launchFile(Path path, long size, String sha1) {
+        return new LaunchReadinessFile(path.toAbsolutePath().toString(), size, 0, sha1);
+    }
+
+    /**
+     * Puts the natives for this instance into the given directory.
+     *
+     * @return if all the natives were put into the directory
+     */
+    private boolean extractNatives(Path nativesTempDir) {
+        return NativesManager.assembleNatives(this.libraries, nativesTempDir);
+    }
+
+    /**
+     * Gets a hash of everything that decides which files are needed to launch this instance, which changes whenever
+     * the instance is updated or reinstalled, or the Java runtime it uses changes.
+     */
+    private String getLaunchFingerprint() {
+        String runtime = null;
+
+        if (javaVersion != null && Data.JAVA_RUNTIMES != null && Optional
+                .ofNullable(launcher.useJavaProvidedByMinecraft).orElse(App.settings.useJavaProvidedByMinecraft)) {
+            List<JavaRuntime> runtimes = Data.JAVA_RUNTIMES.getForSystem().get(javaVersion.component);
+
+            if (runtimes != null && !runtimes.isEmpty()) {
+                runtime = javaVersion.component + ":" + runtimes.get(0).version.name;
+            }
+        }
+
+        return Hashing.sha1(Gsons.DEFAULT_SLIM.toJson(Arrays.asList(System.getProperty("os.name"),
+                System.getProperty("os.arch"), getRoot().toAbsolutePath().toString(), this.downloads.client,
+                this.libraries, this.assetIndex, runtime))).toString();
+    }
+
     public boolean launch() {
+        return launch(false);
+    }
+
+    /**
+     * Launches the instance.
+     *
+     * @param forceFullCheck if all the files needed to launch should be checked, even if they haven't changed since
+     *                       they were last checked
+     */
+    public boolean launch(boolean forceFullCheck) {
+        String name = this.launcher.name;
+
+        if (!ProcessManager.reserve(name)) {
+            LogManager.warn("Not launching " + name + " as it's already running");
+            return false;
+        }
+
+        boolean launched = false;
+
+        try {
+            launched = doLaunch(forceFullCheck);
+            return launched;
+        } finally {
+            // once launched, the launching thread releases it when Minecraft exits
+            if (!launched) {
+                ProcessManager.release(name);
+            }
+        }
+    }
+
+    private boolean doLaunch(boolean forceFullCheck) {
         final AbstractAccount account = launcher.account == null ? AccountManager.getSelectedAccount()
                 : AccountManager.getAccountByName(launcher.account);
 
@@ -563,7 +659,6 @@ public class Instance extends MinecraftVersion {
                             .text(GetText.tr("Cannot play instance as you have no account selected.")).build())
                     .setType(DialogManager.ERROR).show();
 
-            App.launcher.setMinecraftLaunched(false);
             return false;
         } else {
             int maximumMemory = (this.launcher.maximumMemory == null) ? App.settings.maximumMemory
@@ -579,7 +674,6 @@ public class Instance extends MinecraftVersion {
 
                 if (ret != 0) {
                     LogManager.warn("Launching of instance cancelled due to user cancelling memory warning!");
-                    App.launcher.setMinecraftLaunched(false);
                     return false;
                 }
             }
@@ -593,7 +687,6 @@ public class Instance extends MinecraftVersion {
                         .setDefaultOption(DialogManager.YES_OPTION).show();
                 if (ret != 0) {
                     LogManager.warn("Launching of instance cancelled due to user cancelling permgen warning!");
-                    App.launcher.setMinecraftLaunched(false);
                     return false;
                 }
             }
@@ -606,24 +699,42 @@ public class Instance extends MinecraftVersion {
                 LogManager.logStackTrace(e2, false);
             }
 
-            ProgressDialog<Boolean> prepareDialog = new ProgressDialog<>(GetText.tr("Preparing For Launch"), 5,
-                    GetText.tr("Preparing For Launch"));
-            prepareDialog.addThread(new Thread(() -> {
-                LogManager.info("Preparing for launch!");
-                prepareDialog.setReturnValue(prepareForLaunch(prepareDialog, nativesTempDir));
-                prepareDialog.close();
-            }));
-            prepareDialog.start();
-
-            if (prepareDialog.getReturnValue() == null || !prepareDialog.getReturnValue()) {
-                LogManager.error("Failed to prepare instance " + this.launcher.name
-                        + " for launch. Check the logs and try again.");
-                return false;
+            String fingerprint = getLaunchFingerprint();
+
+            if (forceFullCheck) {
+                LaunchReadinessManager.clear(this);
+            }
+
+            if (!forceFullCheck && LaunchReadinessManager.isReady(this, fingerprint)) {
+                LogManager.info("Instance files haven't changed since they were last checked, skipping preparing for "
+                        + "launch");
+                if (extractNatives(nativesTempDir)) {
+                    LaunchReadinessManager.verifyInBackground(this);
+                } else {
+                    LaunchReadinessManager.clear(this);
+                }
+            } else {
+                ProgressDialog<Boolean> prepareDialog = new ProgressDialog<>(GetText.tr("Preparing For Launch"), 5,
+                        GetText.tr("Preparing For Launch"));
+                prepareDialog.addThread(new Thread(() -> {
+                    LogManager.info("Preparing for launch!");
+                    prepareDialog.setReturnValue(prepareForLaunch(prepareDialog, nativesTempDir, fingerprint));
+                    prepareDialog.close();
+                }));
+                prepareDialog.start();
+
+                if (prepareDialog.getReturnValue() == null || !prepareDialog.getReturnValue()) {
+                    LogManager.error("Failed to prepare instance " + this.launcher.name
+                            + " for launch. Check the logs and try again.");
+                    return false;
+                }
             }
 
             Analytics.sendEvent(this.launcher.pack + " - " + this.launcher.version, "Play", getAnalyticsCategory());
 
             Thread launcher = new Thread(() -> {
+                RunningProcess runningProcess = null;
+
                 try {
                     long start = System.currentTimeMillis();
                     if (App.launcher.getParent() != null) {
@@ -657,7 +768,6 @@ public class Instance extends MinecraftVersion {
                         final LoginResponse session = loginDialog.getReturnValue();
 
                         if (session == null) {
-                            App.launcher.setMinecraftLaunched(false);
                             if (App.launcher.getParent() != null) {
                                 App.launcher.getParent().setVisible(true);
                             }
@@ -668,8 +778,6 @@ public class Instance extends MinecraftVersion {
                             if (!executeCommand(preLaunchCommand)) {
                                 LogManager.error("Failed to execute pre-launch command");
 
-                                App.launcher.setMinecraftLaunched(false);
-
                                 if (App.launcher.getParent() != null) {
                                     App.launcher.getParent().setVisible(true);
                                 }
@@ -693,7 +801,6 @@ public class Instance extends MinecraftVersion {
 
                         if (!(Boolean) loginDialog.getReturnValue()) {
                             LogManager.error("Failed to login");
-                            App.launcher.setMinecraftLaunched(false);
                             if (App.launcher.getParent() != null) {
                                 App.launcher.getParent().setVisible(true);
                             }
@@ -707,8 +814,6 @@ public class Instance extends MinecraftVersion {
                             if (!executeCommand(preLaunchCommand)) {
                                 LogManager.error("Failed to execute pre-launch command");
 
-                                App.launcher.setMinecraftLaunched(false);
-
                                 if (App.launcher.getParent() != null) {
                                     App.launcher.getParent().setVisible(true);
                                 }
@@ -722,15 +827,17 @@ public class Instance extends MinecraftVersion {
 
                     if (process == null) {
                         LogManager.error("Failed to get process for Minecraft");
-                        App.launcher.setMinecraftLaunched(false);
                         if (App.launcher.getParent() != null) {
                             App.launcher.getParent().setVisible(true);
                         }
                         return;
                     }
 
-                    if ((App.autoLaunch != null && App.closeLauncher)
-                            || (!App.settings.keepLauncherOpen && !App.settings.enableLogs)) {
+                    runningProcess = ProcessManager.register(this.launcher.name, process);
+
+                    if (((App.autoLaunch != null && App.closeLauncher)
+                            || (!App.settings.keepLauncherOpen && !App.settings.enableLogs))
+                            && !ProcessManager.isAnythingElseRunning(this.launcher.name)) {
                         if (App.settings.enableLogs) {
                             addTimePlayed(1, this.launcher.version); // count the stats, just without time played
                         }
@@ -759,14 +866,21 @@ public class Instance extends MinecraftVersion {
                         DiscordRPC.discordUpdatePresence(presence.build());
                     }
 
-                    App.launcher.showKillMinecraft(process);
                     InputStream is = process.getInputStream();
                     InputStreamReader isr = new InputStreamReader(is);
                     BufferedReader br = new BufferedReader(isr);
                     String line;
                     int detectedError = 0;
+                    boolean loggedStartupTime = false;
+                    long processStarted = System.currentTimeMillis();
 
                     while ((line = br.readLine()) != null) {
+                        if (!loggedStartupTime && line.contains("Sound engine started")) {
+                            loggedStartupTime = true;
+                            LogManager.debug("Minecraft took " + (System.currentTimeMillis() - processStarted)
+                                    + "ms to start up");
+                        }
+
                         if (line.contains("java.lang.OutOfMemoryError")
                                 || line.contains("There is insufficient memory for the Java Runtime Environment")) {
                             detectedError = MinecraftError.OUT_OF_MEMORY;
@@ -796,13 +910,14 @@ public class Instance extends MinecraftVersion {
                             }
                         }
                         LogManager.minecraft(line);
+                        runningProcess.addLogLine(line);
                     }
-                    App.launcher.hideKillMinecraft();
                     if (App.launcher.getParent() != null && App.settings.keepLauncherOpen) {
                         App.launcher.getParent().setVisible(true);
                     }
                     long end = System.currentTimeMillis();
-                    if (App.discordInitialized) {
+                    boolean othersRunning = ProcessManager.isAnythingElseRunning(this.launcher.name);
+                    if (App.discordInitialized && !othersRunning) {
                         DiscordRPC.discordClearPresence();
                     }
                     int exitValue = 0; // Assume we exited fine
@@ -811,7 +926,9 @@ public class Instance extends MinecraftVersion {
                     } catch (IllegalThreadStateException e) {
                         process.destroy(); // Kill the process
                     }
-                    if (!App.settings.keepLauncherOpen) {
+                    ProcessManager.exited(runningProcess, exitValue);
+                    runningProcess = null;
+                    if (!App.settings.keepLauncherOpen && !othersRunning) {
                         App.console.setVisible(false); // Hide the console to pretend we've closed
                     }
 
@@ -827,11 +944,12 @@ public class Instance extends MinecraftVersion {
                                 }
                             });
 
-                            Files.list(this.ROOT.resolve("mods"))
-                                    .filter(file -> Files.isRegularFile(file)
-                                            && this.launcher.mods.stream()
-                                                    .noneMatch(m -> m.type == Type.mods && !m.userAdded
-                                                            && m.getFile(this).toPath().equals(file)))
+                            InstanceFilesManager.list(this.ROOT, "mods").stream()
+                                    .filter(file -> !file.directory).map(file -> file.path)
+                                    .filter(file -> this.launcher.mods.stream()
+                                            .noneMatch(m -> m.type == Type.mods && !m.userAdded
+                                                    && m.getFile(this).toPath().toAbsolutePath().normalize()
+                                                            .equals(file)))
                                     .forEach(newMod -> {
                                         LogManager.warn(
                                                 "The mod " + newMod.getFileName().toString() + " has been added.");
@@ -855,7 +973,7 @@ public class Instance extends MinecraftVersion {
                         }
                     }
 
-                    App.launcher.setMinecraftLaunched(false);
+                    ProcessManager.release(this.launcher.name);
                     if (this.getPack() != null && this.getPack().isLoggingEnabled() && !this.launcher.isDev
                             && App.settings.enableLogs) {
                         final int timePlayed = (int) (end - start) / 1000;
@@ -874,11 +992,18 @@ public class Instance extends MinecraftVersion {
                     if (Files.isDirectory(nativesTempDir)) {
                         FileUtils.deleteDirectory(nativesTempDir);
                     }
-                    if (!App.settings.keepLauncherOpen) {
+                    if (!App.settings.keepLauncherOpen && !ProcessManager.isAnythingElseRunning(this.launcher.name)) {
+                        BackupManager.waitForBackups();
                         System.exit(0);
                     }
                 } catch (Exception e1) {
                     LogManager.logStackTrace(e1);
+                } finally {
+                    if (runningProcess != null) {
+                        ProcessManager.exited(runningProcess, -1);
+                    }
+
+                    ProcessManager.release(this.launcher.name);
                 }
             });
             launcher.start();
@@ -1292,31 +1417,20 @@ public class Instance extends MinecraftVersion {
             manifest.components.add(quiltLoaderComponent);
         }
 
-        // create temp directory to put this in
-        Path tempDir = FileSystem.TEMP.resolve(this.launcher.name + "-export");
-        FileUtils.createDirectory(tempDir);
+        Map<String, Callable<byte[]>> generatedFiles = new LinkedHashMap<>();
 
         // create mmc-pack.json
-        try (FileWriter fileWriter = new FileWriter(tempDir.resolve("mmc-pack.json").toFile())) {
-            Gsons.MINECRAFT.toJson(manifest, fileWriter);
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace("Failed to save mmc-pack.json", e);
-
-            FileUtils.deleteDirectory(tempDir);
-
-            return false;
-        }
+        generatedFiles.put("mmc-pack.json", () -> Gsons.MINECRAFT.toJson(manifest).getBytes(StandardCharsets.UTF_8));
 
         // create instance.cfg
-        Path instanceCfgPath = tempDir.resolve("instance.cfg");
         Properties instanceCfg = new Properties();
 
         String iconKey = "default";
         if (hasCustomImage()) {
             String customIconFileName = "atlauncher_" + getSafeName().toLowerCase();
-            Path customIconPath = tempDir.resolve(customIconFileName + ".png");
 
-            FileUtils.copyFile(this.getRoot().resolve("instance.png"), customIconPath, true);
+            generatedFiles.put(customIconFileName + ".png",
+                    () -> Files.readAllBytes(this.getRoot().resolve("instance.png")));
 
             iconKey = customIconFileName;
         }
@@ -1362,45 +1476,19 @@ public class Instance extends MinecraftVersion {
         instanceCfg.setProperty("notes", "");
         instanceCfg.setProperty("totalTimePlayed", "0");
 
-        try (OutputStream outputStream = Files.newOutputStream(instanceCfgPath)) {
+        generatedFiles.put("instance.cfg", () -> {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             instanceCfg.store(outputStream, "Exported by ATLauncher");
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace("Failed to save mmc-pack.json", e);
-
-            FileUtils.deleteDirectory(tempDir);
-
-            return false;
-        }
-
-        // create an empty .packignore file
-        Path packignoreFile = tempDir.resolve(".packignore");
-        try {
-            packignoreFile.toFile().createNewFile();
-        } catch (IOException ignored) {
-            // this is okay to ignore, it's unused but seems to be there by default
-        }
-
-        // copy over the files into the .minecraft folder
-        Path dotMinecraftPath = tempDir.resolve(".minecraft");
-        FileUtils.createDirectory(dotMinecraftPath);
-
-        for (String path : overrides) {
-            if (!path.equalsIgnoreCase(name + ".zip") && getRoot().resolve(path).toFile().exists()
-                    && (getRoot().resolve(path).toFile().isFile()
-                            || getRoot().resolve(path).toFile().list().length != 0)) {
-                if (getRoot().resolve(path).toFile().isDirectory()) {
-                    Utils.copyDirectory(getRoot().resolve(path).toFile(), dotMinecraftPath.resolve(path).toFile());
-                } else {
-                    Utils.copyFile(getRoot().resolve(path).toFile(), dotMinecraftPath.resolve(path).toFile(), true);
-                }
-            }
-        }
-
-        ArchiveUtils.createZip(tempDir, to);
+            return outputStream.toByteArray();
+        });
 
-        FileUtils.deleteDirectory(tempDir);
+        // create an empty .packignore file, it's unused but seems to be there by default
+        generatedFiles.put(".packignore", () -> new byte[0]);
 
-        return true;
+        // stream the files straight from the instance into the .minecraft folder in the zip
+        return ArchiveUtils.createZip(getRoot(), to,
+                ZipNameMapper.getMapperForExport(".minecraft/", name + ".zip", overrides, Collections.emptySet()),
+                generatedFiles);
     }
 
     public boolean exportAsCurseForgeZip(String name, String version, String author, String saveTo,
@@ -1429,91 +1517,48 @@ public class Instance extends MinecraftVersion {
         manifest.name = name;
         manifest.version = version;
         manifest.author = author;
-        manifest.files = this.launcher.mods.stream().filter(m -> !m.disabled && m.isFromCurseForge()).map(mod -> {
-            CurseForgeManifestFile file = new CurseForgeManifestFile();
-            file.projectID = mod.curseForgeProjectId;
-            file.fileID = mod.curseForgeFileId;
-            file.required = true;
-
-            return file;
-        }).collect(Collectors.toList());
         manifest.overrides = "overrides";
 
-        // create temp directory to put this in
-        Path tempDir = FileSystem.TEMP.resolve(this.launcher.name + "-export");
-        FileUtils.createDirectory(tempDir);
+        Map<String, Callable<byte[]>> generatedFiles = new LinkedHashMap<>();
 
         // create manifest.json
-        try (FileWriter fileWriter = new FileWriter(tempDir.resolve("manifest.json").toFile())) {
-            Gsons.MINECRAFT.toJson(manifest, fileWriter);
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace("Failed to save manifest.json", e);
-
-            FileUtils.deleteDirectory(tempDir);
-
-            return false;
-        }
-
-        // create modlist.html
-        StringBuilder sb = new StringBuilder("<ul>");
-        this.launcher.mods.stream().filter(m -> !m.disabled && m.isFromCurseForge()).forEach(mod -> {
-            if (mod.hasFullCurseForgeInformation()) {
-                sb.append("<li><a href=\"").append(mod.curseForgeProject.websiteUrl).append("\">").append(mod.name)
-                        .append("</a></li>");
-            } else {
-                sb.append("<li>").append(mod.name).append("</li>");
-            }
+        generatedFiles.put("manifest.json", () -> {
+            manifest.files = this.launcher.mods.stream().filter(m -> !m.disabled && m.isFromCurseForge())
+                    .map(mod -> {
+                        CurseForgeManifestFile file = new CurseForgeManifestFile();
+                        file.projectID = mod.curseForgeProjectId;
+                        file.fileID = mod.curseForgeFileId;
+                        file.required = true;
+
+                        return file;
+                    }).collect(Collectors.toList());
+
+            return Gsons.MINECRAFT.toJson(manifest).getBytes(StandardCharsets.UTF_8);
         });
-        sb.append("</ul>");
 
-        try (FileWriter fileWriter = new FileWriter(tempDir.resolve("modlist.html").toFile())) {
-            fileWriter.write(sb.toString());
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace("Failed to save modlist.html", e);
-
-            FileUtils.deleteDirectory(tempDir);
-
-            return false;
-        }
-
-        // copy over the overrides folder
-        Path overridesPath = tempDir.resolve("overrides");
-        FileUtils.createDirectory(overridesPath);
-
-        for (String path : overrides) {
-            if (!path.equalsIgnoreCase(name + ".zip") && getRoot().resolve(path).toFile().exists()
-                    && (getRoot().resolve(path).toFile().isFile()
-                            || getRoot().resolve(path).toFile().list().length != 0)) {
-                if (getRoot().resolve(path).toFile().isDirectory()) {
-                    Utils.copyDirectory(getRoot().resolve(path).toFile(), overridesPath.resolve(path).toFile());
+        // create modlist.html
+        generatedFiles.put("modlist.html", () -> {
+            StringBuilder sb = new StringBuilder("<ul>");
+            this.launcher.mods.stream().filter(m -> !m.disabled && m.isFromCurseForge()).forEach(mod -> {
+                if (mod.hasFullCurseForgeInformation()) {
+                    sb.append("<li><a href=\"").append(mod.curseForgeProject.websiteUrl).append("\">")
+                            .append(mod.name).append("</a></li>");
                 } else {
-                    Utils.copyFile(getRoot().resolve(path).toFile(), overridesPath.resolve(path).toFile(), true);
+                    sb.append("<li>").append(mod.name).append("</li>");
                 }
-            }
-        }
-
-        // remove files that come from CurseForge or aren't disabled
-        launcher.mods.stream().filter(m -> !m.disabled && m.isFromCurseForge()).forEach(mod -> {
-            File file = mod.getFile(this, overridesPath);
+            });
+            sb.append("</ul>");
 
-            if (file.exists()) {
-                FileUtils.delete(file.toPath());
-            }
+            return sb.toString().getBytes(StandardCharsets.UTF_8);
         });
 
-        for (String path : overrides) {
-            // if no files, remove the directory
-            if (overridesPath.resolve(path).toFile().isDirectory()
-                    && overridesPath.resolve(path).toFile().list().length == 0) {
-                FileUtils.deleteDirectory(overridesPath.resolve(path));
-            }
-        }
-
-        ArchiveUtils.createZip(tempDir, to);
-
-        FileUtils.deleteDirectory(tempDir);
+        // files that come from CurseForge are in the manifest, so don't need to be in the overrides
+        Set<String> ignoredFiles = getExportIgnoredFiles(m -> !m.disabled && m.isFromCurseForge());
 
-        return true;
+        // stream the files straight from the instance into the overrides folder in the zip
+        return ArchiveUtils.createZip(getRoot(), to,
+                ZipNameMapper.getMapperForExport("overrides/", name + ".zip", overrides, ignoredFiles),
+                generatedFiles);
     }
 
     public boolean exportAsModrinthZip(String name, String version, String author, String saveTo,
@@ -1526,31 +1571,6 @@ public class Instance extends MinecraftVersion {
         manifest.versionId = version;
         manifest.name = name;
         manifest.summary = this.launcher.description;
-        manifest.files = this.launcher.mods.stream()
-                .filter(m -> !m.disabled && (m.isFromCurseForge() || m.isFromModrinth())).map(mod -> {
-                    Path modPath = mod.getFile(this).toPath();
-
-                    ModrinthModpackFile file = new ModrinthModpackFile();
-                    file.path = this.ROOT.relativize(modPath).toString().replace("\\", "/");
-
-                    file.hashes = new HashMap<>();
-                    file.hashes.put("sha512", Hashing.sha512(modPath).toString());
-
-                    file.env = new HashMap<>();
-                    file.env.put("client", "required");
-                    file.env.put("server", "unsupported");
-
-                    file.downloads = new ArrayList<>();
-                    String downloadUrl = "";
-                    if (mod.isFromCurseForge()) {
-                        downloadUrl = mod.curseForgeFile.downloadUrl;
-                    } else if (mod.isFromModrinth()) {
-                        downloadUrl = mod.modrinthVersion.getPrimaryFile().url;
-                    }
-                    file.downloads.add(downloadUrl);
-
-                    return file;
-                }).collect(Collectors.toList());
         manifest.dependencies = new HashMap<>();
 
         manifest.dependencies.put("minecraft", this.id);
@@ -1560,69 +1580,77 @@ public class Instance extends MinecraftVersion {
                     this.launcher.loaderVersion.version);
         }
 
-        // create temp directory to put this in
-        Path tempDir = FileSystem.TEMP.resolve(this.launcher.name + "-export");
-        FileUtils.createDirectory(tempDir);
+        Map<String, Callable<byte[]>> generatedFiles = new LinkedHashMap<>();
 
-        // create manifest.json
-        try (FileWriter fileWriter = new FileWriter(tempDir.resolve("index.json").toFile())) {
-            Gsons.MINECRAFT.toJson(manifest, fileWriter);
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace("Failed to save index.json", e);
+        // create index.json, hashing the mods while the rest of the files are streamed in
+        generatedFiles.put("index.json", () -> {
+            manifest.files = this.launcher.mods.parallelStream()
+                    .filter(m -> !m.disabled && (m.isFromCurseForge() || m.isFromModrinth())).map(mod -> {
+                        Path modPath = mod.getFile(this).toPath();
 
-            FileUtils.deleteDirectory(tempDir);
+                        ModrinthModpackFile file = new ModrinthModpackFile();
+                        file.path = this.ROOT.relativize(modPath).toString().replace("\\", "/");
 
-            return false;
-        }
+                        file.hashes = new HashMap<>();
+                        InstanceFile instanceFile = InstanceFilesManager.getFile(this.ROOT, file.path);
+                        file.hashes.put("sha512", (instanceFile == null || !instanceFile.isUpToDate()
+                                ? Hashing.sha512(modPath)
+                                : instanceFile.getSha512()).toString());
 
-        // copy over the overrides folder
-        Path overridesPath = tempDir.resolve("overrides");
-        FileUtils.createDirectory(overridesPath);
+                        file.env = new HashMap<>();
+                        file.env.put("client", "required");
+                        file.env.put("server", "unsupported");
 
-        for (String path : overrides) {
-            if (!path.equalsIgnoreCase(name + ".zip") && getRoot().resolve(path).toFile().exists()
-                    && (getRoot().resolve(path).toFile().isFile()
-                            || getRoot().resolve(path).toFile().list().length != 0)) {
-                if (getRoot().resolve(path).toFile().isDirectory()) {
-                    Utils.copyDirectory(getRoot().resolve(path).toFile(), overridesPath.resolve(path).toFile());
-                } else {
-                    Utils.copyFile(getRoot().resolve(path).toFile(), overridesPath.resolve(path).toFile(), true);
-                }
-            }
-        }
+                        file.downloads = new ArrayList<>();
+                        String downloadUrl = "";
+                        if (mod.isFromCurseForge()) {
+                            downloadUrl = mod.curseForgeFile.downloadUrl;
+                        } else if (mod.isFromModrinth()) {
+                            downloadUrl = mod.modrinthVersion.getPrimaryFile().url;
+                        }
+                        file.downloads.add(downloadUrl);
 
-        // remove files that come from CurseForge/Modrinth or aren't disabled
-        launcher.mods.stream().filter(m -> !m.disabled && (m.isFromCurseForge() || m.isFromModrinth())).forEach(mod -> {
-            File file = mod.getFile(this, overridesPath);
+                        return file;
+                    }).collect(Collectors.toList());
 
-            if (file.exists()) {
-                FileUtils.delete(file.toPath());
-            }
+            return Gsons.MINECRAFT.toJson(manifest).getBytes(StandardCharsets.UTF_8);
         });
 
-        for (String path : overrides) {
-            // if no files, remove the directory
-            if (overridesPath.resolve(path).toFile().isDirectory()
-                    && overridesPath.resolve(path).toFile().list().length == 0) {
-                FileUtils.deleteDirectory(overridesPath.resolve(path));
-            }
-        }
+        // files that come from CurseForge/Modrinth are in the manifest, so don't need to be in the overrides
+        Set<String> ignoredFiles = getExportIgnoredFiles(
+                m -> !m.disabled && (m.isFromCurseForge() || m.isFromModrinth()));
 
-        ArchiveUtils.createZip(tempDir, to);
+        // stream the files straight from the instance into the overrides folder in the zip
+        return ArchiveUtils.createZip(getRoot(), to,
+                ZipNameMapper.getMapperForExport("overrides/", name + ".zip", overrides, ignoredFiles),
+                generatedFiles);
+    }
 
-        FileUtils.deleteDirectory(tempDir);
+    private Set<String> getExportIgnoredFiles(Predicate<DisableableMod> inManifest) {
+        Set<String> ignoredFiles = new HashSet<>();
 
-        return true;
+        launcher.mods.stream().filter(inManifest).forEach(mod -> ignoredFiles
+                .add(getRoot().relativize(mod.getFile(this).toPath()).toString().replace("\\", "/")));
+
+        return ignoredFiles;
     }
 
     public boolean rename(String newName) {
+        PersistenceManager.flush(this);
+
         String oldName = this.launcher.name;
+        String oldSafeName = this.getSafeName();
         File oldDir = getRoot().toFile();
+        InstanceFilesManager.forget(getRoot());
+        LaunchReadinessManager.clear(this);
+        ModMetadataManager.forget(getRoot());
         this.launcher.name = newName;
         this.ROOT = FileSystem.INSTANCES.resolve(this.getSafeName());
         File newDir = getRoot().toFile();
         if (oldDir.renameTo(newDir)) {
+            BackupManager.moveSnapshots(oldSafeName, this);
             this.save();
+            InstanceManager.instancesChanged();
             return true;
         } else {
             this.launcher.name = oldName;
@@ -1630,12 +1658,13 @@ public class Instance extends MinecraftVersion {
         }
     }
 
+    /**
+     * Queues the instance to be saved to its instance.json in the background. Saves made quickly one after the other
+     * are written once.
+     */
     public void save() {
-        try (FileWriter fileWriter = new FileWriter(this.getRoot().resolve("instance.json").toFile())) {
-            Gsons.MINECRAFT.toJson(this, fileWriter);
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace(e);
-        }
+        PersistenceManager.queue(this, () -> PersistenceManager.writeJson(this.getRoot().resolve("instance.json"),
+                Gsons.MINECRAFT_SLIM, this, Instance.class, Charset.defaultCharset()));
     }
 
     public File getAssetsDir() {
@@ -1795,49 +1824,54 @@ public class Instance extends MinecraftVersion {
     }
 
     public void backup(BackupMode backupMode) {
-        final JDialog dialog = new JDialog(App.launcher.getParent(), GetText.tr("Backing Up {0}", launcher.name),
-                ModalityType.DOCUMENT_MODAL);
-        dialog.setSize(300, 100);
-        dialog.setLocationRelativeTo(App.launcher.getParent());
-        dialog.setResizable(false);
-
-        JPanel topPanel = new JPanel();
-        topPanel.setLayout(new BorderLayout());
-        JLabel doing = new JLabel(GetText.tr("Backing Up {0}", launcher.name));
-        doing.setHorizontalAlignment(JLabel.CENTER);
-        doing.setVerticalAlignment(JLabel.TOP);
-        topPanel.add(doing);
-
-        JPanel bottomPanel = new JPanel();
-        bottomPanel.setLayout(new BorderLayout());
-        JProgressBar progressBar = new JProgressBar();
-        bottomPanel.add(progressBar, BorderLayout.NORTH);
-        progressBar.setIndeterminate(true);
-
-        dialog.add(topPanel, BorderLayout.CENTER);
-        dialog.add(bottomPanel, BorderLayout.SOUTH);
-
         Analytics.sendEvent(launcher.pack + " - " + launcher.version, "Backup", getAnalyticsCategory());
 
-        final Thread backupThread = new Thread(() -> {
-            Timestamp timestamp = new Timestamp(new Date().getTime());
-            String time = timestamp.toString().replaceAll("[^0-9]", "_");
-            String filename = getSafeName() + "-" + time.substring(0, time.lastIndexOf("_")) + ".zip";
+        BackupManager.queueBackup(this, backupMode);
+    }
 
-            ArchiveUtils.createZip(getRoot(), FileSystem.BACKUPS.resolve(filename),
-                    ZipNameMapper.getMapperForBackupMode(backupMode));
+    public void startRestoreBackup() {
+        List<BackupSnapshot> snapshots = BackupManager.getSnapshots(this);
 
-            dialog.dispose();
-            App.TOASTER.pop(GetText.tr("Backup is complete"));
-        });
-        backupThread.start();
-        dialog.addWindowListener(new WindowAdapter() {
-            public void windowClosing(WindowEvent e) {
-                backupThread.interrupt();
-                dialog.dispose();
+        if (snapshots.isEmpty()) {
+            DialogManager.okDialog().setTitle(GetText.tr("Restore Backup"))
+                    .setContent(GetText.tr("There are no backups to restore for this instance."))
+                    .setType(DialogManager.INFO).show();
+            return;
+        }
+
+        JComboBox<BackupSnapshot> snapshotSelector = new JComboBox<>(snapshots.toArray(new BackupSnapshot[0]));
+
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.add(new JLabel(GetText.tr("Select the backup to restore. This will overwrite the files in it.")));
+        panel.add(Box.createVerticalStrut(10));
+        panel.add(snapshotSelector);
+
+        int ret = DialogManager.okCancelDialog().setTitle(GetText.tr("Restore Backup")).setContent(panel)
+                .setType(DialogManager.WARNING).show();
+
+        if (ret != 0) {
+            return;
+        }
+
+        BackupSnapshot snapshot = (BackupSnapshot) snapshotSelector.getSelectedItem();
+
+        Analytics.sendEvent(launcher.pack + " - " + launcher.version, "RestoreBackup", getAnalyticsCategory());
+
+        final ProgressDialog dialog = new ProgressDialog(GetText.tr("Restoring Backup"), 0,
+                GetText.tr("Restoring Backup. Please wait..."), null, App.launcher.getParent());
+        dialog.addThread(new Thread(() -> {
+            try {
+                BackupManager.restoreSnapshot(this, snapshot);
+                dialog.close();
+                App.TOASTER.pop(GetText.tr("Backup restored"));
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to restore backup " + snapshot.name + " of " + launcher.name, e);
+                dialog.close();
+                App.TOASTER.popError(GetText.tr("Failed to restore backup. Check the console for details"));
             }
-        });
-        dialog.setVisible(true);
+        }));
+        dialog.start();
     }
 
     public boolean canChangeDescription() {
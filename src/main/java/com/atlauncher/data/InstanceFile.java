@@ -0,0 +1,109 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import com.atlauncher.utils.Hashing;
+
+/**
+ * A file or folder in an instance, as it was the last time it changed on disk.
+ *
+ * The hashes of the file are only worked out when first asked for, and are kept for as long as the file doesn't
+ * change.
+ */
+public class InstanceFile {
+    public final Path path;
+    public final String relativePath;
+    public final boolean directory;
+    public final long size;
+    public final long lastModified;
+
+    private volatile Hashing.HashCode sha1;
+    private volatile Hashing.HashCode sha512;
+
+    public InstanceFile(Path path, String relativePath, boolean directory, long size, long lastModified) {
+        this.path = path;
+        this.relativePath = relativePath;
+        this.directory = directory;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getName() {
+        return path.getFileName().toString();
+    }
+
+    /**
+     * Gets the path of the folder this is in relative to the instance, or an empty string if it's in the root.
+     */
+    public String getFolder() {
+        int lastSlash = relativePath.lastIndexOf('/');
+
+        return lastSlash == -1 ? "" : relativePath.substring(0, lastSlash);
+    }
+
+    public boolean isSameAs(boolean directory, long size, long lastModified) {
+        return this.directory == directory && this.size == size && this.lastModified == lastModified;
+    }
+
+    /**
+     * Checks that the file on disk is still the same as this, in case it changed and that hasn't been reported yet.
+     */
+    public boolean isUpToDate() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+            return isSameAs(attributes.isDirectory(), attributes.isDirectory() ? 0 : attributes.size(),
+                    attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Hashing.HashCode getSha1() {
+        Hashing.HashCode hash = sha1;
+
+        if (hash == null) {
+            hash = Hashing.sha1(path);
+
+            if (!hash.equals(Hashing.HashCode.EMPTY)) {
+                sha1 = hash;
+            }
+        }
+
+        return hash;
+    }
+
+    public Hashing.HashCode getSha512() {
+        Hashing.HashCode hash = sha512;
+
+        if (hash == null) {
+            hash = Hashing.sha512(path);
+
+            if (!hash.equals(Hashing.HashCode.EMPTY)) {
+                sha512 = hash;
+            }
+        }
+
+        return hash;
+    }
+}
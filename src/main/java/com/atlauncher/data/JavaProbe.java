@@ -0,0 +1,34 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+/**
+ * The output of running {@code java -version} for a Java executable, along with the size and last modified time the
+ * executable had when it was run.
+ */
+public class JavaProbe {
+    public String versionInfo;
+    public long size;
+    public long lastModified;
+
+    public JavaProbe(String versionInfo, long size, long lastModified) {
+        this.versionInfo = versionInfo;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LaunchReadiness {
+    public static final int CURRENT_VERSION = 2;
+
+    public int version = CURRENT_VERSION;
+
+    /**
+     * A hash of everything that decides which files are needed to launch the instance (the client, libraries, asset
+     * index and Java runtime), so that any change to them means the files need checking again.
+     */
+    public String fingerprint;
+
+    /**
+     * When the hashes of the files were last checked.
+     */
+    public long verifiedAt;
+
+    public List<LaunchReadinessFile> files = new ArrayList<>();
+
+    /**
+     * The asset objects needed, which are only checked by hash in the background.
+     */
+    public List<LaunchReadinessFile> objects = new ArrayList<>();
+
+    /**
+     * The folders the asset objects are in, with their last modified time, which changes if an object in them is
+     * added, removed or replaced.
+     */
+    public List<LaunchReadinessFile> objectFolders = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+public class LaunchReadinessFile {
+    public String path;
+    public long size;
+    public long lastModified;
+
+    /**
+     * The SHA-1 hash the file is expected to have, or null if it's not known.
+     */
+    public String sha1;
+
+    public LaunchReadinessFile(String path, long size, long lastModified, String sha1) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.sha1 = sha1;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A Minecraft process started by the launcher, along with its log and the resources it's using.
+ */
+public class RunningProcess {
+    /**
+     * The most lines of the log to keep for each process, dropping the oldest lines first.
+     */
+    public static final int MAX_LOG_LINES = 10000;
+
+    public final String name;
+    public final Process process;
+    public final long pid;
+    public final long startedAt = System.currentTimeMillis();
+
+    private final Deque<String> log = new ArrayDeque<>();
+
+    private volatile long residentMemory = 0;
+    private volatile long cpuTime = 0;
+    private volatile double cpuUsage = 0;
+
+    // when the CPU time was last sampled
+    private long lastSampledAt = -1;
+
+    public RunningProcess(String name, Process process, long pid) {
+        this.name = name;
+        this.process = process;
+        this.pid = pid;
+    }
+
+    public synchronized void addLogLine(String line) {
+        if (log.size() == MAX_LOG_LINES) {
+            log.removeFirst();
+        }
+
+        log.addLast(line);
+    }
+
+    /**
+     * Gets the lines logged by this process, up to the last {@link #MAX_LOG_LINES}.
+     */
+    public synchronized List<String> getLog() {
+        return new ArrayList<>(log);
+    }
+
+    /**
+     * The amount of memory the process is using, in bytes, as of the last time it was sampled.
+     */
+    public long getResidentMemory() {
+        return residentMemory;
+    }
+
+    /**
+     * The total CPU time the process has used, in milliseconds, as of the last time it was sampled.
+     */
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * The percentage of the system's CPU the process used since the previous sample.
+     */
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    /**
+     * Records a sample of the resources the process is using.
+     *
+     * @param residentMemory the memory the process is using, in bytes
+     * @param cpuTime        the total CPU time the process has used, in milliseconds
+     * @param processorCount the number of logical processors in the system
+     */
+    public synchronized void recordUsage(long residentMemory, long cpuTime, int processorCount) {
+        long now = System.currentTimeMillis();
+
+        this.residentMemory = residentMemory;
+
+        if (lastSampledAt != -1 && now > lastSampledAt) {
+            this.cpuUsage = 100.0 * (cpuTime - this.cpuTime) / (now - lastSampledAt) / Math.max(1, processorCount);
+        }
+
+        this.cpuTime = cpuTime;
+        this.lastSampledAt = now;
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+}
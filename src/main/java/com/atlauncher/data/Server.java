@@ -17,16 +17,15 @@
  */
 package com.atlauncher.data;
 
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
 import com.atlauncher.FileSystem;
@@ -35,6 +34,7 @@ import com.atlauncher.annot.Json;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.exceptions.InvalidPack;
 import com.atlauncher.managers.DialogManager;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.PackManager;
 import com.atlauncher.utils.OS;
@@ -178,16 +178,16 @@ public class Server {
     }
 
     public ImageIcon getImage() {
-        File customImage = this.getRoot().resolve("server.png").toFile();
-
-        if (customImage.exists()) {
-            try {
-                BufferedImage img = ImageIO.read(customImage);
-                Image dimg = img.getScaledInstance(300, 150, Image.SCALE_SMOOTH);
-                return new ImageIcon(dimg);
-            } catch (IOException e) {
-                LogManager.logStackTrace("Error creating scaled image from the custom image of server " + this.name, e);
+        Path customImage = this.getRoot().resolve("server.png");
+
+        if (Files.exists(customImage)) {
+            BufferedImage img = ImageManager.getScaledImage(customImage, 300, 150, false);
+
+            if (img != null) {
+                return new ImageIcon(img);
             }
+
+            LogManager.error("Error creating scaled image from the custom image of server " + this.name);
         }
 
         if (getPack() != null) {
@@ -21,11 +21,10 @@ import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Proxy.Type;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -36,6 +35,7 @@ import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.PersistenceManager;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Timestamper;
 import com.atlauncher.utils.Utils;
@@ -91,6 +91,8 @@ public class Settings {
     public boolean maximiseMinecraft = false;
     public boolean ignoreJavaOnInstanceLaunch = false;
     public boolean useJavaProvidedByMinecraft = true;
+    public boolean enableClassDataSharing = false;
+    public boolean enableAdaptiveJavaArguments = false;
 
     // Network
     public int concurrentConnections = 8;
@@ -116,6 +118,9 @@ public class Settings {
     // Backups
     public boolean enableAutomaticBackupAfterLaunch = false;
     public BackupMode backupMode = BackupMode.NORMAL;
+    public boolean enableIncrementalBackups = true;
+    public int backupsToKeep = 10;
+    public int backupThrottleSpeed = 10;
 
     // Commands
     public boolean enableCommands = false;
@@ -315,6 +320,8 @@ public class Settings {
 
         validateConcurrentConnections();
 
+        validateBackups();
+
         validateDateFormat();
 
         validateInstanceTitleFormat();
@@ -488,6 +495,20 @@ public class Settings {
         }
     }
 
+    private void validateBackups() {
+        if (backupsToKeep < 0) {
+            LogManager.warn("Tried to set the number of backups to keep to " + backupsToKeep
+                    + " which is not valid! Must be 0 or more. Setting back to default of 10!");
+            backupsToKeep = 10;
+        }
+
+        if (backupThrottleSpeed < 0) {
+            LogManager.warn("Tried to set the backup throttle speed to " + backupThrottleSpeed
+                    + " which is not valid! Must be 0 or more. Setting back to default of 10!");
+            backupThrottleSpeed = 10;
+        }
+    }
+
     private void validateDateFormat() {
         if (!Arrays.asList(Constants.DATE_FORMATS).contains(dateFormat)) {
             LogManager.warn("Tried to set the date format to " + dateFormat + " which is not valid! Setting "
@@ -517,11 +538,8 @@ public class Settings {
     }
 
     public void save() {
-        try (FileWriter writer = new FileWriter(FileSystem.SETTINGS.toFile())) {
-            Gsons.DEFAULT.toJson(this, writer);
-        } catch (IOException e) {
-            LogManager.logStackTrace("Error saving settings", e);
-        }
+        PersistenceManager.queue(FileSystem.SETTINGS, () -> PersistenceManager.writeJson(FileSystem.SETTINGS,
+                Gsons.DEFAULT_SLIM, this, Settings.class, Charset.defaultCharset()));
 
         try {
             Timestamper.updateDateFormat(dateFormat);
@@ -0,0 +1,33 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+/**
+ * A launcher file as it was on disk when it was last known to match the hash in files.json.
+ */
+public class SyncedLauncherFile {
+    public String sha1;
+    public long size;
+    public long lastModified;
+
+    public SyncedLauncherFile(String sha1, long size, long lastModified) {
+        this.sha1 = sha1;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+}
@@ -62,8 +62,7 @@ public class Action {
     public void convertMods(InstanceInstaller instanceInstaller) {
         Mod toAdd;
         for (String name : this.mod) {
-            toAdd = instanceInstaller.allMods.stream().filter(mod -> mod.name.equalsIgnoreCase(name)).findFirst()
-                    .orElse(null);
+            toAdd = instanceInstaller.getModByName(name);
             if (toAdd != null) {
                 addMod(toAdd);
             }
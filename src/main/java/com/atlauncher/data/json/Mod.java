@@ -20,6 +20,10 @@ package com.atlauncher.data.json;
 import java.awt.Color;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import com.atlauncher.FileSystem;
@@ -30,6 +34,7 @@ import com.atlauncher.data.curseforge.CurseForgeFile;
 import com.atlauncher.data.curseforge.CurseForgeProject;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.FileUtils;
 import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
@@ -664,7 +669,10 @@ public class Mod {
                     Utils.copyFile(fileLocation, installer.root.toFile());
                     break;
                 } else if (installer.isServer && thisType == ModType.jar) {
-                    Utils.unzip(fileLocation, installer.temp.resolve("jar").toFile());
+                    Path stagingDirJar = createStagingDirectory(installer);
+                    Utils.unzip(fileLocation, stagingDirJar.toFile());
+                    FileUtils.moveDirectoryContents(stagingDirJar, installer.temp.resolve("jar"));
+                    FileUtils.deleteDirectory(stagingDirJar);
                     break;
                 }
                 Utils.copyFile(fileLocation, installer.root.resolve("jarmods").toFile());
@@ -691,16 +699,25 @@ public class Mod {
                 if (!installer.root.resolve("texturepacks").toFile().exists()) {
                     installer.root.resolve("texturepacks").toFile().mkdir();
                 }
-                Utils.unzip(fileLocation, installer.root.resolve("texturepacks/extracted").toFile());
+                Path stagingDirTexturePack = createStagingDirectory(installer);
+                Utils.unzip(fileLocation, stagingDirTexturePack.toFile());
+                FileUtils.moveDirectoryContents(stagingDirTexturePack,
+                        installer.root.resolve("texturepacks/extracted"));
+                FileUtils.deleteDirectory(stagingDirTexturePack);
                 break;
             case resourcepackextract:
                 if (!installer.root.resolve("resourcepacks").toFile().exists()) {
                     installer.root.resolve("resourcepacks").toFile().mkdir();
                 }
-                Utils.unzip(fileLocation, installer.root.resolve("resourcepacks/extracted").toFile());
+                Path stagingDirResourcePack = createStagingDirectory(installer);
+                Utils.unzip(fileLocation, stagingDirResourcePack.toFile());
+                FileUtils.moveDirectoryContents(stagingDirResourcePack,
+                        installer.root.resolve("resourcepacks/extracted"));
+                FileUtils.deleteDirectory(stagingDirResourcePack);
                 break;
             case millenaire:
-                File tempDirMillenaire = FileSystem.TEMP.resolve(getSafeName()).toFile();
+                Path stagingDirMillenaire = createStagingDirectory(installer);
+                File tempDirMillenaire = stagingDirMillenaire.toFile();
                 Utils.unzip(fileLocation, tempDirMillenaire);
                 for (String folder : tempDirMillenaire.list()) {
                     File thisFolder = new File(tempDirMillenaire, folder);
@@ -708,10 +725,11 @@ public class Mod {
                         File thisFile = new File(dir, name);
                         return thisFile.isDirectory();
                     })) {
-                        Utils.copyDirectory(new File(thisFolder, dir), installer.root.resolve("mods").toFile());
+                        FileUtils.moveDirectoryContents(new File(thisFolder, dir).toPath(),
+                                installer.root.resolve("mods"));
                     }
                 }
-                Utils.delete(tempDirMillenaire);
+                FileUtils.deleteDirectory(stagingDirMillenaire);
                 break;
             case mods:
                 if (path != null) {
@@ -768,79 +786,74 @@ public class Mod {
                 Utils.copyFile(fileLocation, installer.root.resolve("shaderpacks").toFile());
                 break;
             case extract:
-                File tempDirExtract = FileSystem.TEMP.resolve(getSafeName()).toFile();
-                Utils.unzip(fileLocation, tempDirExtract);
-                File folder = FileSystem.TEMP.resolve(getSafeName() + "/" + this.extractFolder).toFile();
+                Path stagingDirExtract = createStagingDirectory(installer);
+                Utils.unzip(fileLocation, stagingDirExtract.toFile());
+                Path folder = new File(stagingDirExtract.toFile(), this.extractFolder).toPath();
                 switch (extractTo) {
                     case coremods:
-                        if (!installer.root.resolve("coremods").toFile().exists()) {
-                            installer.root.resolve("coremods").toFile().mkdir();
-                        }
-                        Utils.copyDirectory(folder, installer.root.resolve("coremods").toFile());
+                        FileUtils.moveDirectoryContents(folder, installer.root.resolve("coremods"));
                         break;
                     case mods:
-                        Utils.copyDirectory(folder, installer.root.resolve("mods").toFile());
+                        FileUtils.moveDirectoryContents(folder, installer.root.resolve("mods"));
                         break;
                     case root:
-                        Utils.copyDirectory(folder, installer.root.toFile());
+                        FileUtils.moveDirectoryContents(folder, installer.root);
                         break;
                     default:
                         LogManager.error("No known way to extract mod " + this.name + " with type " + this.extractTo);
                         break;
                 }
-                Utils.delete(tempDirExtract);
+                FileUtils.deleteDirectory(stagingDirExtract);
                 break;
             case decomp:
-                File tempDirDecomp = FileSystem.TEMP.resolve(getSafeName()).toFile();
-                Utils.unzip(fileLocation, tempDirDecomp);
-                File tempFileDecomp = new File(tempDirDecomp, decompFile);
-                if (tempFileDecomp.exists()) {
+                Path stagingDirDecomp = createStagingDirectory(installer);
+                Utils.unzip(fileLocation, stagingDirDecomp.toFile());
+                Path tempFileDecomp = new File(stagingDirDecomp.toFile(), decompFile).toPath();
+                if (Files.exists(tempFileDecomp)) {
+                    Path decompTo;
                     switch (decompType) {
                         case coremods:
-                            if (tempFileDecomp.isFile()) {
-                                if (!installer.root.resolve("coremods").toFile().exists()) {
-                                    installer.root.resolve("coremods").toFile().mkdir();
-                                }
-                                Utils.copyFile(tempFileDecomp, installer.root.resolve("coremods").toFile());
-                            } else {
-                                if (!installer.root.resolve("coremods").toFile().exists()) {
-                                    installer.root.resolve("coremods").toFile().mkdir();
-                                }
-                                Utils.copyDirectory(tempFileDecomp, installer.root.resolve("coremods").toFile());
-                            }
+                            decompTo = installer.root.resolve("coremods");
                             break;
                         case jar:
-                            if (tempFileDecomp.isFile()) {
-                                Utils.copyFile(tempFileDecomp, installer.root.resolve("jarmods").toFile());
-                            } else {
-                                File newFile = new File(installer.root.resolve("jarmods").toFile(),
-                                        getSafeName() + ".zip");
-                                Utils.zip(tempFileDecomp, newFile);
+                            decompTo = installer.root.resolve("jarmods");
+
+                            if (Files.isDirectory(tempFileDecomp)) {
+                                // jar mods need to be a single file, so zip it up before moving it into place
+                                Path zippedDecomp = stagingDirDecomp.resolve(getSafeName() + ".zip");
+                                Utils.zip(tempFileDecomp.toFile(), zippedDecomp.toFile());
+                                tempFileDecomp = zippedDecomp;
                             }
                             break;
                         case mods:
-                            if (tempFileDecomp.isFile()) {
-                                Utils.copyFile(tempFileDecomp, installer.root.resolve("mods").toFile());
-                            } else {
-                                Utils.copyDirectory(tempFileDecomp, installer.root.resolve("mods").toFile());
-                            }
+                            decompTo = installer.root.resolve("mods");
                             break;
                         case root:
-                            if (tempFileDecomp.isFile()) {
-                                Utils.copyFile(tempFileDecomp, installer.root.toFile());
-                            } else {
-                                Utils.copyDirectory(tempFileDecomp, installer.root.toFile());
-                            }
+                            decompTo = installer.root;
                             break;
                         default:
+                            decompTo = null;
                             LogManager
                                     .error("No known way to decomp mod " + this.name + " with type " + this.decompType);
                             break;
                     }
+
+                    if (decompTo != null) {
+                        if (Files.isDirectory(tempFileDecomp)) {
+                            FileUtils.moveDirectoryContents(tempFileDecomp, decompTo);
+                        } else {
+                            try {
+                                FileUtils.moveIntoPlace(tempFileDecomp,
+                                        decompTo.resolve(tempFileDecomp.getFileName().toString()));
+                            } catch (IOException e) {
+                                LogManager.logStackTrace("Failed to install decomp mod " + this.name, e);
+                            }
+                        }
+                    }
                 } else {
                     LogManager.error("Couldn't find decomp file " + this.decompFile + " for mod " + this.name);
                 }
-                Utils.delete(tempDirDecomp);
+                FileUtils.deleteDirectory(stagingDirDecomp);
                 break;
             default:
                 LogManager.error("No known way to install mod " + this.name + " with type " + thisType);
@@ -848,6 +861,21 @@ public class Mod {
         }
     }
 
+    /**
+     * Creates a directory only this mod will use while installing, so that mods being installed at the same time
+     * can't trip over each other's extracted files. The finished files are then moved into place from here.
+     */
+    private Path createStagingDirectory(InstanceInstaller installer) {
+        try {
+            Path stagingRoot = installer.temp.resolve("staging");
+            Files.createDirectories(stagingRoot);
+
+            return Files.createTempDirectory(stagingRoot, getSafeName() + "_");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create staging directory for mod " + this.name, e);
+        }
+    }
+
     public File getInstalledFile(InstanceInstaller installer) {
         ModType thisType;
         String file;
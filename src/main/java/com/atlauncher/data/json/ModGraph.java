@@ -0,0 +1,257 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes of the relationships between the mods in a pack version (names, groups, links and dependencies in both
+ * directions), built once so that lookups don't need to scan through every mod. All names are matched ignoring case.
+ */
+public class ModGraph {
+    private final List<Mod> mods;
+    private final Map<String, List<Mod>> byName = new HashMap<>();
+    private final Map<String, List<Mod>> byGroup = new HashMap<>();
+    private final Map<String, List<Mod>> byLinked = new HashMap<>();
+    private final Map<String, List<Mod>> byDependency = new HashMap<>();
+    private final boolean hasRecommendedMods;
+
+    public ModGraph(List<Mod> mods) {
+        this.mods = mods;
+
+        boolean hasRecommended = false;
+        for (Mod mod : mods) {
+            add(byName, mod.getName(), mod);
+
+            if (mod.hasGroup()) {
+                add(byGroup, mod.getGroup(), mod);
+            }
+
+            if (mod.hasLinked()) {
+                add(byLinked, mod.getLinked(), mod);
+            }
+
+            if (mod.hasDepends()) {
+                Set<String> dependencies = new HashSet<>();
+                for (String dependency : mod.getDepends()) {
+                    // a mod listing the same dependency twice only depends on it once
+                    if (dependencies.add(fold(dependency))) {
+                        add(byDependency, dependency, mod);
+                    }
+                }
+            }
+
+            hasRecommended |= mod.isRecommended();
+        }
+
+        this.hasRecommendedMods = hasRecommended;
+    }
+
+    /**
+     * If this graph was built from the given list of mods.
+     */
+    public boolean isFor(List<Mod> mods) {
+        return this.mods == mods;
+    }
+
+    public boolean hasRecommendedMods() {
+        return hasRecommendedMods;
+    }
+
+    public Mod getModByName(String name) {
+        List<Mod> mods = get(byName, name);
+
+        return mods.isEmpty() ? null : mods.get(0);
+    }
+
+    /**
+     * Gets the mods which are linked to (shown underneath) the given mod.
+     */
+    public List<Mod> getLinkedMods(Mod mod) {
+        return new ArrayList<>(get(byLinked, mod.getName()));
+    }
+
+    /**
+     * Gets the other mods in the same group as the given mod.
+     */
+    public List<Mod> getGroupedMods(Mod mod) {
+        List<Mod> groupedMods = new ArrayList<>();
+
+        for (Mod modd : get(byGroup, mod.getGroup())) {
+            if (modd != mod) {
+                groupedMods.add(modd);
+            }
+        }
+
+        return groupedMods;
+    }
+
+    public boolean isOnlyRecommendedInGroup(Mod mod) {
+        for (Mod modd : get(byGroup, mod.getGroup())) {
+            if (modd != mod && modd.isRecommended()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the mods that the given mod depends on.
+     */
+    public List<Mod> getDependencies(Mod mod) {
+        List<Mod> dependencies = new ArrayList<>();
+
+        if (mod.hasDepends()) {
+            for (String name : mod.getDepends()) {
+                Mod dependency = getModByName(name);
+
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Gets the mods that depend on the given mod.
+     */
+    public List<Mod> getDependants(Mod mod) {
+        return new ArrayList<>(get(byDependency, mod.getName()));
+    }
+
+    public boolean hasDependants(Mod mod) {
+        return !get(byDependency, mod.getName()).isEmpty();
+    }
+
+    /**
+     * Sorts the mods so that non optional mods come first, and optional mods which are linked to another mod come
+     * straight after the mod they're linked to. This keeps the same ordering the launcher has always used, but moves
+     * the mods around in a linked list rather than an array list so it's not quadratic for packs with lots of mods.
+     */
+    public static List<Mod> sortMods(List<Mod> original) {
+        if (original.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, List<Mod>> byName = new HashMap<>();
+        for (Mod mod : original) {
+            add(byName, mod.getName(), mod);
+        }
+
+        Map<Mod, Mod> next = new IdentityHashMap<>();
+        Map<Mod, Mod> previous = new IdentityHashMap<>();
+        Mod head = original.get(0);
+        Mod tail = head;
+        for (int i = 1; i < original.size(); i++) {
+            Mod mod = original.get(i);
+            next.put(tail, mod);
+            previous.put(mod, tail);
+            tail = mod;
+        }
+
+        for (Mod mod : original) {
+            if (!mod.isOptional() || !mod.hasLinked()) {
+                continue;
+            }
+
+            for (Mod linkedTo : get(byName, mod.getLinked())) {
+                // unlink it from where it currently is
+                Mod before = previous.remove(mod);
+                Mod after = next.remove(mod);
+                if (before == null) {
+                    head = after;
+                } else if (after == null) {
+                    next.remove(before);
+                } else {
+                    next.put(before, after);
+                }
+                if (after == null) {
+                    tail = before;
+                } else if (before == null) {
+                    previous.remove(after);
+                } else {
+                    previous.put(after, before);
+                }
+
+                if (linkedTo == mod) {
+                    // linked to itself, so it ends up at the start
+                    if (head != null) {
+                        next.put(mod, head);
+                        previous.put(head, mod);
+                    } else {
+                        tail = mod;
+                    }
+                    head = mod;
+                    continue;
+                }
+
+                // and put it straight after the mod it's linked to
+                Mod afterLinked = next.get(linkedTo);
+                next.put(linkedTo, mod);
+                previous.put(mod, linkedTo);
+                if (afterLinked == null) {
+                    tail = mod;
+                } else {
+                    next.put(mod, afterLinked);
+                    previous.put(afterLinked, mod);
+                }
+            }
+        }
+
+        List<Mod> sorted = new ArrayList<>(original.size());
+        List<Mod> optional = new ArrayList<>();
+        Set<Mod> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Mod mod = head; mod != null; mod = next.get(mod)) {
+            if (!mod.isOptional()) {
+                sorted.add(mod); // Add all non optional mods
+            } else if (seen.add(mod)) {
+                optional.add(mod);
+            }
+        }
+        sorted.addAll(optional); // Add the rest
+
+        return sorted;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void add(Map<String, List<Mod>> index, String key, Mod mod) {
+        index.computeIfAbsent(fold(key), k -> new ArrayList<>()).add(mod);
+    }
+
+    private static List<Mod> get(Map<String, List<Mod>> index, String key) {
+        if (key == null) {
+            return Collections.emptyList();
+        }
+
+        return index.getOrDefault(fold(key), Collections.emptyList());
+    }
+}
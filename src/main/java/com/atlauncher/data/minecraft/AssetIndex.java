@@ -17,15 +17,201 @@
  */
 package com.atlauncher.data.minecraft;
 
-import java.util.Map;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
-import com.google.gson.annotations.SerializedName;
+import com.atlauncher.FileSystem;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.Hashing;
 
+/**
+ * An asset index, listing the files (objects) Minecraft needs for a version.
+ *
+ * Indexes have thousands of objects, so rather than an object per file, they're kept in parallel arrays: the key
+ * (interned), the 20 byte SHA-1 hash and the size of each object. Use {@link #size()} and the getters to go through
+ * them.
+ */
 public class AssetIndex {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public static final int HASH_LENGTH = 20;
+
+    public final boolean virtual;
+    public final boolean mapToResources;
+
+    private final int size;
+    private final String[] keys;
+    private final byte[] hashes;
+    private final long[] sizes;
+
+    /**
+     * @param keys   the key of each object
+     * @param hashes the SHA-1 hash of each object, {@link #HASH_LENGTH} bytes each, one after the other
+     * @param sizes  the size of each object
+     * @param size   the number of objects, which the arrays may be longer than
+     */
+    public AssetIndex(boolean virtual, boolean mapToResources, String[] keys, byte[] hashes, long[] sizes, int size) {
+        this.virtual = virtual;
+        this.mapToResources = mapToResources;
+        this.keys = keys;
+        this.hashes = hashes;
+        this.sizes = sizes;
+        this.size = size;
+    }
+
+    /**
+     * The number of objects in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getKey(int object) {
+        return keys[object];
+    }
+
+    public long getSize(int object) {
+        return sizes[object];
+    }
+
+    /**
+     * Gets the SHA-1 hash of the given object as hex.
+     */
+    public String getHash(int object) {
+        char[] hex = new char[HASH_LENGTH * 2];
+
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            int value = hashes[object * HASH_LENGTH + i] & 0xFF;
+            hex[i * 2] = HEX[value >>> 4];
+            hex[i * 2 + 1] = HEX[value & 0x0F];
+        }
+
+        return new String(hex);
+    }
+
+    /**
+     * Gets the path of the given object within the objects folder, such as "ab/abcdef...".
+     */
+    public String getPath(int object) {
+        String hash = getHash(object);
+
+        return hash.substring(0, 2) + "/" + hash;
+    }
+
+    public Path getObjectFile(int object) {
+        return FileSystem.RESOURCES_OBJECTS.resolve(getPath(object));
+    }
+
+    /**
+     * Checks if the given object has been downloaded, without hashing it.
+     *
+     * Objects are named after their hash, so if a file exists with that name and the right size, it's the object.
+     * Anything that's missing or the wrong size is downloaded (and then checked against its hash).
+     */
+    public boolean isDownloaded(int object) {
+        return isDownloaded(object, Long.MAX_VALUE);
+    }
+
+    /**
+     * Checks if the given object has been downloaded, also checking its hash if it was changed after the given time.
+     * Use this when installing or repairing, passing when the objects were last checked.
+     *
+     * @param checkedAt when the objects were last checked (in milliseconds), or {@link Long#MIN_VALUE} to hash them all
+     */
+    public boolean isDownloaded(int object, long checkedAt) {
+        return isDownloaded(getObjectFile(object), object, checkedAt);
+    }
+
+    boolean isDownloaded(Path file, int object, long checkedAt) {
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return false;
+        }
+
+        if (attributes.size() != sizes[object]) {
+            return false;
+        }
+
+        if (attributes.lastModifiedTime().toMillis() <= checkedAt) {
+            return true;
+        }
+
+        byte[] hash = Hashing.sha1(file).bytes();
+
+        if (hash.length != HASH_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            if (hash[i] != hashes[object * HASH_LENGTH + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets when the objects in the index at the given path were last checked, or {@link Long#MIN_VALUE} if they never
+     * have been. This is kept in its own file next to the index, so downloading the index again doesn't change it.
+     */
+    public static long getCheckedAt(Path indexPath) {
+        Path checkedPath = getCheckedPath(indexPath);
+
+        if (!Files.exists(checkedPath)) {
+            return Long.MIN_VALUE;
+        }
+
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkedPath), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            LogManager.logStackTrace("Failed to read when the objects in " + indexPath + " were checked", e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Marks the objects in the index at the given path as checked, so only objects changed after now are hashed
+     * next time.
+     */
+    public static void setCheckedAt(Path indexPath) {
+        try {
+            Files.write(getCheckedPath(indexPath),
+                    String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to mark the objects in " + indexPath + " as checked", e);
+        }
+    }
+
+    private static Path getCheckedPath(Path indexPath) {
+        return indexPath.resolveSibling(indexPath.getFileName().toString() + ".checked");
+    }
+
+    /**
+     * Parses a SHA-1 hash from hex into the given array at the given offset.
+     *
+     * @throws IllegalArgumentException if the hash isn't a valid SHA-1 hash
+     */
+    static void parseHash(String hash, byte[] into, int offset) {
+        if (hash == null || hash.length() != HASH_LENGTH * 2) {
+            throw new IllegalArgumentException("Invalid asset hash " + hash);
+        }
+
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            int high = Character.digit(hash.charAt(i * 2), 16);
+            int low = Character.digit(hash.charAt(i * 2 + 1), 16);
 
-    public Map<String, AssetObject> objects;
-    public boolean virtual;
+            if (high == -1 || low == -1) {
+                throw new IllegalArgumentException("Invalid asset hash " + hash);
+            }
 
-    @SerializedName("map_to_resources")
-    public boolean mapToResources;
+            into[offset + i] = (byte) ((high << 4) | low);
+        }
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads asset indexes straight into the arrays used by {@link AssetIndex}, without making an object for each file.
+ */
+public class AssetIndexTypeAdapter extends TypeAdapter<AssetIndex> {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    @Override
+    public AssetIndex read(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return null;
+        }
+
+        boolean virtual = false;
+        boolean mapToResources = false;
+
+        int size = 0;
+        String[] keys = new String[INITIAL_CAPACITY];
+        byte[] hashes = new byte[INITIAL_CAPACITY * AssetIndex.HASH_LENGTH];
+        long[] sizes = new long[INITIAL_CAPACITY];
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "objects":
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        if (size == keys.length) {
+                            keys = Arrays.copyOf(keys, size * 2);
+                            hashes = Arrays.copyOf(hashes, size * 2 * AssetIndex.HASH_LENGTH);
+                            sizes = Arrays.copyOf(sizes, size * 2);
+                        }
+
+                        keys[size] = json.nextName().intern();
+                        readObject(json, hashes, sizes, size);
+                        size++;
+                    }
+                    json.endObject();
+                    break;
+                case "virtual":
+                    virtual = json.nextBoolean();
+                    break;
+                case "map_to_resources":
+                    mapToResources = json.nextBoolean();
+                    break;
+                default:
+                    json.skipValue();
+                    break;
+            }
+        }
+        json.endObject();
+
+        return new AssetIndex(virtual, mapToResources, keys, hashes, sizes, size);
+    }
+
+    private static void readObject(JsonReader json, byte[] hashes, long[] sizes, int object) throws IOException {
+        String hash = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "hash":
+                    hash = json.nextString();
+                    break;
+                case "size":
+                    sizes[object] = json.nextLong();
+                    break;
+                default:
+                    json.skipValue();
+                    break;
+            }
+        }
+        json.endObject();
+
+        try {
+            AssetIndex.parseHash(hash, hashes, object * AssetIndex.HASH_LENGTH);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException(e.getMessage() + " at " + json.getPath(), e);
+        }
+    }
+
+    @Override
+    public void write(JsonWriter json, AssetIndex index) throws IOException {
+        if (index == null) {
+            json.nullValue();
+            return;
+        }
+
+        json.beginObject();
+
+        json.name("objects").beginObject();
+        for (int i = 0; i < index.size(); i++) {
+            json.name(index.getKey(i)).beginObject();
+            json.name("hash").value(index.getHash(i));
+            json.name("size").value(index.getSize(i));
+            json.endObject();
+        }
+        json.endObject();
+
+        if (index.virtual) {
+            json.name("virtual").value(true);
+        }
+
+        if (index.mapToResources) {
+            json.name("map_to_resources").value(true);
+        }
+
+        json.endObject();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft.loaders;
+
+import java.util.List;
+
+/**
+ * Versions of a loader fetched from its servers, either for a single Minecraft version, or for every Minecraft version
+ * in {@link #minecraftVersions} when the loader's versions work with all of them.
+ */
+public class CachedLoaderVersions {
+    public long fetchedAt;
+    public List<String> minecraftVersions;
+    public List<LoaderVersion> versions;
+
+    public CachedLoaderVersions(List<String> minecraftVersions, List<LoaderVersion> versions) {
+        this.fetchedAt = System.currentTimeMillis();
+        this.minecraftVersions = minecraftVersions;
+        this.versions = versions;
+    }
+}
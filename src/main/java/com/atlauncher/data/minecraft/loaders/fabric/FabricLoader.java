@@ -38,9 +38,11 @@ import java.util.zip.ZipOutputStream;
 import com.atlauncher.FileSystem;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.data.minecraft.loaders.CachedLoaderVersions;
 import com.atlauncher.data.minecraft.loaders.Loader;
+import com.atlauncher.data.minecraft.loaders.LoaderType;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
-import com.atlauncher.managers.ConfigManager;
+import com.atlauncher.managers.LoaderVersionsManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Download;
 import com.atlauncher.utils.Utils;
@@ -221,23 +223,40 @@ public class FabricLoader implements Loader {
     }
 
     public static List<LoaderVersion> getChoosableVersions(String minecraft) {
+        return LoaderVersionsManager.getChoosableVersions(LoaderType.FABRIC, minecraft);
+    }
+
+    /**
+     * Gets the versions of Fabric for the given Minecraft version from Fabric's servers, including disabled ones.
+     */
+    public static List<LoaderVersion> downloadChoosableVersions(String minecraft) throws IOException {
         java.lang.reflect.Type type = new TypeToken<List<FabricMetaVersion>>() {
         }.getType();
 
-        try {
-            List<FabricMetaVersion> versions = Download.build()
-                    .setUrl(String.format("https://meta.fabricmc.net/v2/versions/loader/%s", minecraft))
-                    .asTypeWithThrow(type);
+        List<FabricMetaVersion> versions = Download.build()
+                .setUrl(String.format("https://meta.fabricmc.net/v2/versions/loader/%s", minecraft))
+                .asTypeWithThrow(type);
 
-            List<String> disabledVersions = ConfigManager.getConfigItem("loaders.fabric.disabledVersions",
-                    new ArrayList<String>());
+        return versions.stream().map(version -> new LoaderVersion(version.loader.version, false, "Fabric"))
+                .collect(Collectors.toList());
+    }
 
-            return versions.stream().filter(fv -> !disabledVersions.contains(fv.loader.version))
-                    .map(version -> new LoaderVersion(version.loader.version, false, "Fabric"))
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
+    /**
+     * Gets the versions of Fabric for every Minecraft version from Fabric's servers, including disabled ones. Every
+     * version of Fabric works with every Minecraft version it supports, so this only takes two requests.
+     */
+    public static CachedLoaderVersions downloadAllChoosableVersions() throws IOException {
+        List<FabricMetaGame> games = Download.build().setUrl("https://meta.fabricmc.net/v2/versions/game")
+                .asTypeWithThrow(new TypeToken<List<FabricMetaGame>>() {
+                }.getType());
+
+        List<FabricMetaLoader> loaders = Download.build().setUrl("https://meta.fabricmc.net/v2/versions/loader")
+                .asTypeWithThrow(new TypeToken<List<FabricMetaLoader>>() {
+                }.getType());
+
+        return new CachedLoaderVersions(games.stream().map(game -> game.version).collect(Collectors.toList()),
+                loaders.stream().map(loader -> new LoaderVersion(loader.version, false, "Fabric"))
+                        .collect(Collectors.toList()));
     }
 
     @Override
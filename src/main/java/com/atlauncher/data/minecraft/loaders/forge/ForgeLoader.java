@@ -36,8 +36,9 @@ import com.atlauncher.data.minecraft.ArgumentRule;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.loaders.Loader;
+import com.atlauncher.data.minecraft.loaders.LoaderType;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
-import com.atlauncher.managers.ConfigManager;
+import com.atlauncher.managers.LoaderVersionsManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Download;
 import com.atlauncher.utils.FileUtils;
@@ -282,24 +283,24 @@ public class ForgeLoader implements Loader {
     }
 
     public static List<LoaderVersion> getChoosableVersions(String minecraft) {
+        return LoaderVersionsManager.getChoosableVersions(LoaderType.FORGE, minecraft);
+    }
+
+    /**
+     * Gets the versions of Forge for the given Minecraft version from the ATLauncher API, including disabled ones.
+     */
+    public static List<LoaderVersion> downloadChoosableVersions(String minecraft) throws IOException {
         java.lang.reflect.Type type = new TypeToken<APIResponse<List<ATLauncherApiForgeVersion>>>() {
         }.getType();
 
-        try {
-            APIResponse<List<ATLauncherApiForgeVersion>> data = Download.build()
-                    .setUrl(String.format("%sforge-versions/%s", Constants.API_BASE_URL, minecraft))
-                    .asTypeWithThrow(type);
-
-            List<String> disabledVersions = ConfigManager.getConfigItem("loaders.forge.disabledVersions",
-                    new ArrayList<String>());
-
-            return data.getData().stream().filter(fv -> !disabledVersions.contains(fv.version))
-                    .map(version -> new LoaderVersion(version.version, version.rawVersion, version.recommended, "Forge",
-                            version.installerSize, version.installerSha1Hash))
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            return new ArrayList<LoaderVersion>();
-        }
+        APIResponse<List<ATLauncherApiForgeVersion>> data = Download.build()
+                .setUrl(String.format("%sforge-versions/%s", Constants.API_BASE_URL, minecraft))
+                .asTypeWithThrow(type);
+
+        return data.getData().stream()
+                .map(version -> new LoaderVersion(version.version, version.rawVersion, version.recommended, "Forge",
+                        version.installerSize, version.installerSha1Hash))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -38,9 +38,11 @@ import java.util.zip.ZipOutputStream;
 import com.atlauncher.FileSystem;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.data.minecraft.loaders.CachedLoaderVersions;
 import com.atlauncher.data.minecraft.loaders.Loader;
+import com.atlauncher.data.minecraft.loaders.LoaderType;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
-import com.atlauncher.managers.ConfigManager;
+import com.atlauncher.managers.LoaderVersionsManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Download;
 import com.atlauncher.utils.Utils;
@@ -221,17 +223,40 @@ public class QuiltLoader implements Loader {
     }
 
     public static List<LoaderVersion> getChoosableVersions(String minecraft) {
+        return LoaderVersionsManager.getChoosableVersions(LoaderType.QUILT, minecraft);
+    }
+
+    /**
+     * Gets the versions of Quilt for the given Minecraft version from Quilt's servers, including disabled ones.
+     */
+    public static List<LoaderVersion> downloadChoosableVersions(String minecraft) throws IOException {
         java.lang.reflect.Type type = new TypeToken<List<QuiltMetaVersion>>() {
         }.getType();
 
         List<QuiltMetaVersion> versions = Download.build()
-                .setUrl(String.format("https://meta.quiltmc.org/v3/versions/loader/%s", minecraft)).asType(type);
+                .setUrl(String.format("https://meta.quiltmc.org/v3/versions/loader/%s", minecraft))
+                .asTypeWithThrow(type);
 
-        List<String> disabledVersions = ConfigManager.getConfigItem("loaders.quilt.disabledVersions",
-                new ArrayList<String>());
+        return versions.stream().map(version -> new LoaderVersion(version.loader.version, false, "Quilt"))
+                .collect(Collectors.toList());
+    }
 
-        return versions.stream().filter(fv -> !disabledVersions.contains(fv.loader.version))
-                .map(version -> new LoaderVersion(version.loader.version, false, "Quilt")).collect(Collectors.toList());
+    /**
+     * Gets the versions of Quilt for every Minecraft version from Quilt's servers, including disabled ones. Every
+     * version of Quilt works with every Minecraft version it supports, so this only takes two requests.
+     */
+    public static CachedLoaderVersions downloadAllChoosableVersions() throws IOException {
+        List<QuiltMetaGame> games = Download.build().setUrl("https://meta.quiltmc.org/v3/versions/game")
+                .asTypeWithThrow(new TypeToken<List<QuiltMetaGame>>() {
+                }.getType());
+
+        List<QuiltMetaLoader> loaders = Download.build().setUrl("https://meta.quiltmc.org/v3/versions/loader")
+                .asTypeWithThrow(new TypeToken<List<QuiltMetaLoader>>() {
+                }.getType());
+
+        return new CachedLoaderVersions(games.stream().map(game -> game.version).collect(Collectors.toList()),
+                loaders.stream().map(loader -> new LoaderVersion(loader.version, false, "Quilt"))
+                        .collect(Collectors.toList()));
     }
 
     @Override
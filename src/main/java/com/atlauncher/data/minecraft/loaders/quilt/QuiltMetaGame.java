@@ -15,9 +15,9 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
-package com.atlauncher.data.minecraft;
+package com.atlauncher.data.minecraft.loaders.quilt;
 
-public class AssetObject {
-    public String hash;
-    public long size;
+public class QuiltMetaGame {
+    public String version;
+    public boolean stable;
 }
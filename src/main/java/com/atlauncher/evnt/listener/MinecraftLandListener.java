@@ -17,6 +17,8 @@
  */
 package com.atlauncher.evnt.listener;
 
-public interface MinecraftLandListener {
+import com.atlauncher.data.RunningProcess;
 
+public interface MinecraftLandListener {
+    void onMinecraftLand(RunningProcess process, int exitValue);
 }
@@ -17,6 +17,8 @@
  */
 package com.atlauncher.evnt.listener;
 
-public interface MinecraftLaunchListener {
+import com.atlauncher.data.RunningProcess;
 
+public interface MinecraftLaunchListener {
+    void onMinecraftLaunch(RunningProcess process);
 }
@@ -17,6 +17,7 @@
  */
 package com.atlauncher.evnt.manager;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -35,9 +36,15 @@ public final class RelocalizationManager {
         listeners.remove(listener);
     }
 
-    public static synchronized void post() {
+    public static void post() {
         SwingUtilities.invokeLater(() -> {
-            for (RelocalizationListener listener : listeners) {
+            // cards add and remove themselves as they're shown, so work on a copy in case that happens while posting
+            List<RelocalizationListener> currentListeners;
+            synchronized (RelocalizationManager.class) {
+                currentListeners = new ArrayList<>(listeners);
+            }
+
+            for (RelocalizationListener listener : currentListeners) {
                 listener.onRelocalization();
             }
         });
@@ -24,6 +24,7 @@ import java.awt.Window;
 import java.util.Optional;
 
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -37,11 +38,11 @@ import com.atlauncher.data.curseforge.CurseForgeAttachment;
 import com.atlauncher.data.curseforge.CurseForgeFileDependency;
 import com.atlauncher.data.curseforge.CurseForgeProject;
 import com.atlauncher.gui.dialogs.CurseForgeProjectFileSelectorDialog;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
-import com.atlauncher.workers.BackgroundImageWorker;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -106,7 +107,10 @@ public final class CurseForgeFileDependencyCard extends JPanel {
 
         Optional<CurseForgeAttachment> attachment = mod.attachments.stream().filter(a -> a.isDefault).findFirst();
         if (attachment.isPresent()) {
-            new BackgroundImageWorker(icon, attachment.get().thumbnailUrl).execute();
+            ImageManager.loadRemoteImage(attachment.get().thumbnailUrl, 60, 60, image -> {
+                icon.setIcon(new ImageIcon(image));
+                icon.setVisible(true);
+            });
         }
     }
 }
@@ -24,6 +24,7 @@ import java.awt.event.ActionListener;
 import java.util.Optional;
 
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -34,9 +35,9 @@ import javax.swing.border.TitledBorder;
 import com.atlauncher.App;
 import com.atlauncher.data.curseforge.CurseForgeAttachment;
 import com.atlauncher.data.curseforge.CurseForgeProject;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
-import com.atlauncher.workers.BackgroundImageWorker;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -83,7 +84,10 @@ public final class CurseForgeProjectCard extends JPanel {
 
         Optional<CurseForgeAttachment> attachment = mod.attachments.stream().filter(a -> a.isDefault).findFirst();
         if (attachment.isPresent()) {
-            new BackgroundImageWorker(icon, attachment.get().thumbnailUrl).execute();
+            ImageManager.loadRemoteImage(attachment.get().thumbnailUrl, 60, 60, image -> {
+                icon.setIcon(new ImageIcon(image));
+                icon.setVisible(true);
+            });
         }
     }
 }
@@ -25,6 +25,7 @@ import java.util.Comparator;
 import java.util.Optional;
 
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -37,10 +38,10 @@ import com.atlauncher.data.modpacksch.ModpacksChPackArt;
 import com.atlauncher.data.modpacksch.ModpacksChPackArtType;
 import com.atlauncher.data.modpacksch.ModpacksChPackManifest;
 import com.atlauncher.gui.dialogs.InstanceInstallerDialog;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
-import com.atlauncher.workers.BackgroundImageWorker;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -109,7 +110,10 @@ public final class FTBPackCard extends JPanel {
                 .filter(a -> a.type == ModpacksChPackArtType.LOGO || a.type == ModpacksChPackArtType.SQUARE)
                 .sorted(Comparator.comparingInt((ModpacksChPackArt a) -> a.updated).reversed()).findFirst();
         if (art.isPresent()) {
-            new BackgroundImageWorker(icon, art.get().url).execute();
+            ImageManager.loadRemoteImage(art.get().url, 60, 60, image -> {
+                icon.setIcon(new ImageIcon(image));
+                icon.setVisible(true);
+            });
         }
     }
 }
@@ -30,9 +30,11 @@ import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Optional;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -40,6 +42,7 @@ import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.JTextArea;
+import javax.swing.Timer;
 
 import com.atlauncher.App;
 import com.atlauncher.FileSystem;
@@ -48,9 +51,17 @@ import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.data.APIResponse;
 import com.atlauncher.data.BackupMode;
+import com.atlauncher.data.BackupTask;
 import com.atlauncher.data.Instance;
+import com.atlauncher.data.RunningProcess;
 import com.atlauncher.data.minecraft.loaders.LoaderType;
+import com.atlauncher.evnt.listener.BackupTaskListener;
+import com.atlauncher.evnt.listener.MinecraftLandListener;
+import com.atlauncher.evnt.listener.MinecraftLaunchListener;
 import com.atlauncher.evnt.listener.RelocalizationListener;
+import com.atlauncher.evnt.manager.BackupTaskManager;
+import com.atlauncher.evnt.manager.MinecraftLandManager;
+import com.atlauncher.evnt.manager.MinecraftLaunchManager;
 import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.components.CollapsiblePanel;
 import com.atlauncher.gui.components.DropDownButton;
@@ -61,10 +72,12 @@ import com.atlauncher.gui.dialogs.InstanceExportDialog;
 import com.atlauncher.gui.dialogs.InstanceSettingsDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.managers.AccountManager;
+import com.atlauncher.managers.BackupManager;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.ProcessManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
@@ -78,7 +91,8 @@ import org.mini2Dx.gettext.GetText;
  * Class for displaying instances in the Instance Tab
  */
 @SuppressWarnings("serial")
-public class InstanceCard extends CollapsiblePanel implements RelocalizationListener {
+public class InstanceCard extends CollapsiblePanel
+        implements RelocalizationListener, BackupTaskListener, MinecraftLaunchListener, MinecraftLandListener {
     private final Instance instance;
     private final JTextArea descArea = new JTextArea();
     private final ImagePanel image;
@@ -95,10 +109,16 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
     private final JButton openButton = new JButton(GetText.tr("Open Folder"));
     private final JButton settingsButton = new JButton(GetText.tr("Settings"));
 
+    // shows the resources used by the instance while it's running, updated as often as they're sampled
+    private final JLabel processLabel = new JLabel();
+    private final Timer processTimer = new Timer(5000, e -> updateProcessLabel());
+
     private final JPopupMenu backupPopupMenu = new JPopupMenu();
     private final JMenuItem normalBackupMenuItem = new JMenuItem(GetText.tr("Normal Backup"));
     private final JMenuItem normalPlusModsBackupMenuItem = new JMenuItem(GetText.tr("Normal + Mods Backup"));
     private final JMenuItem fullBackupMenuItem = new JMenuItem(GetText.tr("Full Backup"));
+    private final JMenuItem restoreBackupMenuItem = new JMenuItem(GetText.tr("Restore Backup"));
+    private final JMenuItem cancelBackupMenuItem = new JMenuItem(GetText.tr("Cancel Backup"));
     private final DropDownButton backupButton = new DropDownButton(GetText.tr("Backup"), backupPopupMenu);
 
     private final JPopupMenu getHelpPopupMenu = new JPopupMenu();
@@ -161,6 +181,7 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
         as.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 0));
 
         top.add(this.playButton);
+        top.add(this.processLabel);
         top.add(this.reinstallButton);
         top.add(this.updateButton);
         top.add(this.editInstanceButton);
@@ -230,8 +251,6 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
         this.getContentPane().setLayout(new BorderLayout());
         this.getContentPane().add(splitter, BorderLayout.CENTER);
 
-        RelocalizationManager.addListener(this);
-
         if (!instance.hasUpdate()) {
             this.updateButton.setVisible(false);
         }
@@ -268,6 +287,15 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
         fullBackupMenuItem.addActionListener(e -> instance.backup(BackupMode.FULL));
         backupPopupMenu.add(fullBackupMenuItem);
 
+        backupPopupMenu.addSeparator();
+
+        restoreBackupMenuItem.addActionListener(e -> instance.startRestoreBackup());
+        backupPopupMenu.add(restoreBackupMenuItem);
+
+        cancelBackupMenuItem.addActionListener(e -> BackupManager.cancelBackup(instance.getRoot()));
+        cancelBackupMenuItem.setVisible(false);
+        backupPopupMenu.add(cancelBackupMenuItem);
+
         if (instance.canEditInstance()) {
             setupEditInstanceButton();
         }
@@ -407,18 +435,10 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                         instance.ignoreUpdate();
                     }
 
-                    if (!App.launcher.minecraftLaunched) {
-                        if (instance.launch()) {
-                            App.launcher.setMinecraftLaunched(true);
-                        }
-                    }
+                    instance.launch();
                 }
             } else {
-                if (!App.launcher.minecraftLaunched) {
-                    if (instance.launch()) {
-                        App.launcher.setMinecraftLaunched(true);
-                    }
-                }
+                instance.launch();
             }
         });
         this.reinstallButton.addActionListener(e -> {
@@ -511,25 +531,13 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                                 instance.update();
                             }
                         } else if (ret == 1 || ret == DialogManager.CLOSED_OPTION) {
-                            if (!App.launcher.minecraftLaunched) {
-                                if (instance.launch()) {
-                                    App.launcher.setMinecraftLaunched(true);
-                                }
-                            }
+                            instance.launch();
                         } else if (ret == 2) {
                             instance.ignoreUpdate();
-                            if (!App.launcher.minecraftLaunched) {
-                                if (instance.launch()) {
-                                    App.launcher.setMinecraftLaunched(true);
-                                }
-                            }
+                            instance.launch();
                         }
                     } else {
-                        if (!App.launcher.minecraftLaunched) {
-                            if (instance.launch()) {
-                                App.launcher.setMinecraftLaunched(true);
-                            }
-                        }
+                        instance.launch();
                     }
                 } else if (e.getButton() == MouseEvent.BUTTON3) {
                     JPopupMenu rightClickMenu = new JPopupMenu();
@@ -549,6 +557,15 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                     JMenuItem updateItem = new JMenuItem(GetText.tr("Update"));
                     rightClickMenu.add(updateItem);
 
+                    JMenuItem checkFilesAndPlayItem = new JMenuItem(GetText.tr("Check Files & Play"));
+                    rightClickMenu.add(checkFilesAndPlayItem);
+
+                    JMenuItem copyLogItem = new JMenuItem(GetText.tr("Copy Minecraft Log"));
+                    rightClickMenu.add(copyLogItem);
+
+                    JMenuItem killItem = new JMenuItem(GetText.tr("Kill Minecraft"));
+                    rightClickMenu.add(killItem);
+
                     changeDescriptionItem.setVisible(instance.canChangeDescription());
 
                     shareCodeItem.setVisible((instance.getPack() != null && !instance.getPack().system)
@@ -558,6 +575,13 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                     updateItem.setVisible(instance.isUpdatable());
                     updateItem.setEnabled(instance.hasUpdate() && instance.launcher.isPlayable);
 
+                    boolean running = ProcessManager.isRunning(instance.launcher.name);
+                    checkFilesAndPlayItem.setEnabled(instance.launcher.isPlayable && !running);
+                    killItem.setVisible(running);
+
+                    RunningProcess process = ProcessManager.getProcess(instance.launcher.name);
+                    copyLogItem.setVisible(process != null);
+
                     rightClickMenu.show(image, e.getX(), e.getY());
 
                     changeDescriptionItem.addActionListener(e13 -> {
@@ -570,6 +594,30 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                         image.setImage(instance.getImage().getImage());
                     });
 
+                    checkFilesAndPlayItem.addActionListener(e13 -> {
+                        // checks every file needed to launch, even if nothing seems to have changed
+                        instance.launch(true);
+                    });
+
+                    copyLogItem.addActionListener(e13 -> {
+                        StringSelection text = new StringSelection(String.join("\n", process.getLog()));
+                        Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+                        clipboard.setContents(text, null);
+                        App.TOASTER.pop(GetText.tr("Copied Log to clipboard"));
+                    });
+
+                    killItem.addActionListener(e13 -> {
+                        int ret = DialogManager.yesNoDialog().setTitle(GetText.tr("Kill Minecraft") + "?")
+                                .setContent(new HTMLBuilder().center().text(GetText.tr(
+                                        "Are you sure you want to kill the Minecraft process?<br/><br/>Doing so can cause corruption of your saves."))
+                                        .build())
+                                .setType(DialogManager.QUESTION).show();
+
+                        if (ret == DialogManager.YES_OPTION) {
+                            ProcessManager.kill(instance.launcher.name);
+                        }
+                    });
+
                     cloneItem.addActionListener(e14 -> {
                         String clonedName = JOptionPane.showInputDialog(App.launcher.getParent(),
                                 GetText.tr("Enter a new name for this cloned instance."),
@@ -646,18 +694,10 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
                                     instance.update();
                                 }
                             } else if (ret == 1 || ret == DialogManager.CLOSED_OPTION) {
-                                if (!App.launcher.minecraftLaunched) {
-                                    if (instance.launch()) {
-                                        App.launcher.setMinecraftLaunched(true);
-                                    }
-                                }
+                                instance.launch();
                             } else if (ret == 2) {
                                 instance.ignoreUpdate();
-                                if (!App.launcher.minecraftLaunched) {
-                                    if (instance.launch()) {
-                                        App.launcher.setMinecraftLaunched(true);
-                                    }
-                                }
+                                instance.launch();
                             }
                         }
                     });
@@ -715,7 +755,6 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
         this.reinstallButton.setText(GetText.tr("Reinstall"));
         this.updateButton.setText(GetText.tr("Update"));
         this.renameButton.setText(GetText.tr("Rename"));
-        this.backupButton.setText(GetText.tr("Backup"));
         this.deleteButton.setText(GetText.tr("Delete"));
         this.addButton.setText(GetText.tr("Add Mods"));
         this.editButton.setText(GetText.tr("Edit Mods"));
@@ -727,11 +766,97 @@ public class InstanceCard extends CollapsiblePanel implements RelocalizationList
         this.normalBackupMenuItem.setText(GetText.tr("Normal Backup"));
         this.normalPlusModsBackupMenuItem.setText(GetText.tr("Normal + Mods Backup"));
         this.fullBackupMenuItem.setText(GetText.tr("Full Backup"));
-        this.backupButton.setText(GetText.tr("Backup"));
+        this.restoreBackupMenuItem.setText(GetText.tr("Restore Backup"));
+        this.cancelBackupMenuItem.setText(GetText.tr("Cancel Backup"));
+        this.updateBackupButton();
+        this.updateProcessLabel();
 
         this.discordLinkMenuItem.setText(GetText.tr("Discord"));
         this.supportLinkMenuItem.setText(GetText.tr("Support"));
         this.websiteLinkMenuItem.setText(GetText.tr("Website"));
         this.getHelpButton.setText(GetText.tr("Get Help"));
     }
+
+    /**
+     * Cards come and go as the instances are reloaded and scrolled into view, so language changes, backup updates and
+     * Minecraft starting and exiting are only listened for while the card is shown, catching up on any missed while it
+     * was hidden.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        RelocalizationManager.addListener(this);
+        BackupTaskManager.addListener(this);
+        MinecraftLaunchManager.addListener(this);
+        MinecraftLandManager.addListener(this);
+        onRelocalization();
+    }
+
+    @Override
+    public void removeNotify() {
+        RelocalizationManager.removeListener(this);
+        BackupTaskManager.removeListener(this);
+        MinecraftLaunchManager.removeListener(this);
+        MinecraftLandManager.removeListener(this);
+        processTimer.stop();
+
+        super.removeNotify();
+    }
+
+    @Override
+    public void onMinecraftLaunch(RunningProcess process) {
+        if (process.name.equals(instance.launcher.name)) {
+            updateProcessLabel();
+        }
+    }
+
+    @Override
+    public void onMinecraftLand(RunningProcess process, int exitValue) {
+        if (process.name.equals(instance.launcher.name)) {
+            updateProcessLabel();
+        }
+    }
+
+    private void updateProcessLabel() {
+        RunningProcess process = ProcessManager.getProcess(instance.launcher.name);
+
+        if (process == null || !process.isAlive()) {
+            this.processTimer.stop();
+            this.processLabel.setVisible(false);
+            return;
+        }
+
+        this.processLabel.setText(GetText.tr("Running ({0} MB, {1}% CPU)", process.getResidentMemory() / 1048576,
+                Math.round(process.getCpuUsage())));
+        this.processLabel.setToolTipText(GetText.tr("Running for {0} minutes, using {1} seconds of CPU time",
+                (System.currentTimeMillis() - process.startedAt) / 60000, process.getCpuTime() / 1000));
+        this.processLabel.setVisible(true);
+        this.processTimer.start();
+    }
+
+    @Override
+    public void onBackupTaskUpdated(BackupTask task) {
+        if (task.root.equals(instance.getRoot())) {
+            updateBackupButton();
+        }
+    }
+
+    private void updateBackupButton() {
+        Optional<BackupTask> activeBackup = BackupManager.getActiveBackup(instance.getRoot());
+
+        if (activeBackup.isPresent()) {
+            BackupTask task = activeBackup.get();
+
+            if (task.getState() == BackupTask.State.RUNNING) {
+                this.backupButton.setText(GetText.tr("Backing Up {0}%", task.getPercent()));
+            } else {
+                this.backupButton.setText(GetText.tr("Backup Queued"));
+            }
+        } else {
+            this.backupButton.setText(GetText.tr("Backup"));
+        }
+
+        this.cancelBackupMenuItem.setVisible(activeBackup.isPresent());
+    }
 }
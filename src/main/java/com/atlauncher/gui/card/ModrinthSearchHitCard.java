@@ -23,6 +23,7 @@ import java.awt.FlowLayout;
 import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -32,9 +33,9 @@ import javax.swing.border.TitledBorder;
 
 import com.atlauncher.App;
 import com.atlauncher.data.modrinth.ModrinthSearchHit;
+import com.atlauncher.managers.ImageManager;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
-import com.atlauncher.workers.BackgroundImageWorker;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -80,7 +81,10 @@ public final class ModrinthSearchHitCard extends JPanel {
         setBorder(border);
 
         if (mod.iconUrl != null && !mod.iconUrl.isEmpty()) {
-            new BackgroundImageWorker(icon, mod.iconUrl).execute();
+            ImageManager.loadRemoteImage(mod.iconUrl, 60, 60, image -> {
+                icon.setIcon(new ImageIcon(image));
+                icon.setVisible(true);
+            });
         }
     }
 }
@@ -60,8 +60,6 @@ public class PackCard extends CollapsiblePanel implements RelocalizationListener
         super(pack);
         this.pack = pack;
 
-        RelocalizationManager.addListener(this);
-
         JSplitPane splitter = new JSplitPane();
         splitter.setLeftComponent(new PackImagePanel(pack));
         JPanel actionsPanel = new JPanel(new BorderLayout());
@@ -183,6 +181,25 @@ public class PackCard extends CollapsiblePanel implements RelocalizationListener
         });
     }
 
+    /**
+     * Pack cards are thrown away whenever the packs are reloaded, so language changes are only listened for while the
+     * card is shown, catching up on any missed while it was hidden.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        RelocalizationManager.addListener(this);
+        onRelocalization();
+    }
+
+    @Override
+    public void removeNotify() {
+        RelocalizationManager.removeListener(this);
+
+        super.removeNotify();
+    }
+
     @Override
     public void onRelocalization() {
         this.newInstanceButton.setText(GetText.tr("New Instance"));
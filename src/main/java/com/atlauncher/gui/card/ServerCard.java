@@ -19,34 +19,25 @@ package com.atlauncher.gui.card;
 
 import java.awt.BorderLayout;
 import java.awt.Cursor;
-import java.awt.Dialog.ModalityType;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.IOException;
-import java.sql.Timestamp;
-import java.util.Date;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
-import javax.swing.JDialog;
 import javax.swing.JFileChooser;
-import javax.swing.JLabel;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
-import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.JTextArea;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import com.atlauncher.App;
-import com.atlauncher.FileSystem;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.data.Server;
 import com.atlauncher.evnt.listener.RelocalizationListener;
@@ -54,11 +45,11 @@ import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.components.CollapsiblePanel;
 import com.atlauncher.gui.components.ImagePanel;
 import com.atlauncher.gui.dialogs.ProgressDialog;
+import com.atlauncher.managers.BackupManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.network.Analytics;
-import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 
@@ -127,8 +118,6 @@ public class ServerCard extends CollapsiblePanel implements RelocalizationListen
         this.getContentPane().setLayout(new BorderLayout());
         this.getContentPane().add(splitter, BorderLayout.CENTER);
 
-        RelocalizationManager.addListener(this);
-
         this.addActionListeners();
         this.addMouseListeners();
     }
@@ -146,47 +135,9 @@ public class ServerCard extends CollapsiblePanel implements RelocalizationListen
                     .setType(DialogManager.INFO).show();
 
             if (ret == DialogManager.YES_OPTION) {
-                final JDialog dialog = new JDialog(App.launcher.getParent(), GetText.tr("Backing Up {0}", server.name),
-                        ModalityType.DOCUMENT_MODAL);
-                dialog.setSize(300, 100);
-                dialog.setLocationRelativeTo(App.launcher.getParent());
-                dialog.setResizable(false);
-
-                JPanel topPanel = new JPanel();
-                topPanel.setLayout(new BorderLayout());
-                JLabel doing = new JLabel(GetText.tr("Backing Up {0}", server.name));
-                doing.setHorizontalAlignment(JLabel.CENTER);
-                doing.setVerticalAlignment(JLabel.TOP);
-                topPanel.add(doing);
-
-                JPanel bottomPanel = new JPanel();
-                bottomPanel.setLayout(new BorderLayout());
-                JProgressBar progressBar = new JProgressBar();
-                bottomPanel.add(progressBar, BorderLayout.NORTH);
-                progressBar.setIndeterminate(true);
-
-                dialog.add(topPanel, BorderLayout.CENTER);
-                dialog.add(bottomPanel, BorderLayout.SOUTH);
-
                 Analytics.sendEvent(server.pack + " - " + server.version, "Backup", "Server");
 
-                final Thread backupThread = new Thread(() -> {
-                    Timestamp timestamp = new Timestamp(new Date().getTime());
-                    String time = timestamp.toString().replaceAll("[^0-9]", "_");
-                    String filename = "Server-" + server.getSafeName() + "-" + time.substring(0, time.lastIndexOf("_"))
-                            + ".zip";
-                    ArchiveUtils.extract(server.getRoot(), FileSystem.BACKUPS.resolve(filename));
-                    dialog.dispose();
-                    App.TOASTER.pop(GetText.tr("Backup is complete"));
-                });
-                backupThread.start();
-                dialog.addWindowListener(new WindowAdapter() {
-                    public void windowClosing(WindowEvent e) {
-                        backupThread.interrupt();
-                        dialog.dispose();
-                    }
-                });
-                dialog.setVisible(true);
+                BackupManager.queueBackup(server);
             }
         });
         this.deleteButton.addActionListener(e -> {
@@ -265,6 +216,25 @@ public class ServerCard extends CollapsiblePanel implements RelocalizationListen
         });
     }
 
+    /**
+     * Server cards are thrown away whenever the servers are reloaded, so language changes are only listened for while
+     * the card is shown, catching up on any missed while it was hidden.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        RelocalizationManager.addListener(this);
+        onRelocalization();
+    }
+
+    @Override
+    public void removeNotify() {
+        RelocalizationManager.removeListener(this);
+
+        super.removeNotify();
+    }
+
     @Override
     public void onRelocalization() {
         this.launchButton.setText(GetText.tr("Launch"));
@@ -0,0 +1,277 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.gui.components;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeListener;
+
+/**
+ * A vertical list of cards that only creates the cards that are scrolled into view.
+ *
+ * Rows that haven't been seen yet are filled with an empty placeholder the size of an average card, which is swapped
+ * for the real card once it comes near the visible area. Cards are kept while the list is filtered, so searching
+ * doesn't create them again, and are only thrown away when the items are replaced.
+ *
+ * Cards are only in the component hierarchy while they're shown, so cards should add any listeners they need in
+ * {@link JComponent#addNotify()} and remove them in {@link JComponent#removeNotify()}, which lets cards that have been
+ * thrown away be garbage collected.
+ */
+@SuppressWarnings("serial")
+public class CardListPanel<T> extends JPanel implements Scrollable {
+    private static final int DEFAULT_CARD_HEIGHT = 180;
+
+    private final Function<T, JComponent> cardFactory;
+    private final Insets cardInsets;
+
+    private final Map<T, JComponent> cards = new IdentityHashMap<>();
+    private final Map<T, Placeholder> placeholders = new IdentityHashMap<>();
+    private List<T> items = new ArrayList<>();
+    private Predicate<T> filter = item -> true;
+    private JComponent emptyComponent;
+
+    private JViewport viewport;
+    private final ChangeListener viewportListener = e -> realiseVisibleCards();
+    private boolean realising = false;
+
+    private long totalCardHeight = 0;
+    private int realisedCards = 0;
+
+    public CardListPanel(Function<T, JComponent> cardFactory, Insets cardInsets) {
+        super(new GridBagLayout());
+
+        this.cardFactory = cardFactory;
+        this.cardInsets = cardInsets;
+    }
+
+    /**
+     * Replaces the items shown in the list. Any cards already created are thrown away, as the items they show may have
+     * changed in place (such as an instance being renamed or getting an update), but only the cards in view are
+     * created again. Removing the old cards releases their listeners.
+     */
+    public void setItems(List<T> items) {
+        this.items = new ArrayList<>(items);
+        this.cards.clear();
+        this.placeholders.clear();
+
+        rebuild();
+    }
+
+    /**
+     * Filters which items are shown, reusing any cards that have already been created.
+     */
+    public void setFilter(Predicate<T> filter) {
+        this.filter = filter;
+
+        rebuild();
+    }
+
+    /**
+     * Sets the component shown when there are no items to show.
+     */
+    public void setEmptyComponent(JComponent emptyComponent) {
+        this.emptyComponent = emptyComponent;
+    }
+
+    /**
+     * Runs the given action on all the cards that have been created so far.
+     */
+    public void forEachCard(Consumer<JComponent> action) {
+        cards.values().forEach(action);
+    }
+
+    private void rebuild() {
+        removeAll();
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = gbc.gridy = 0;
+        gbc.weightx = 1.0;
+        gbc.insets = cardInsets;
+        gbc.fill = GridBagConstraints.BOTH;
+
+        for (T item : items) {
+            if (!filter.test(item)) {
+                continue;
+            }
+
+            JComponent card = cards.get(item);
+            add(card == null ? placeholders.computeIfAbsent(item, Placeholder::new) : card, gbc);
+            gbc.gridy++;
+        }
+
+        if (getComponentCount() == 0 && emptyComponent != null) {
+            add(emptyComponent, gbc);
+        }
+
+        revalidate();
+        repaint();
+
+        SwingUtilities.invokeLater(this::realiseVisibleCards);
+    }
+
+    /**
+     * Swaps any placeholders within a screen of the visible area for their real cards.
+     */
+    private void realiseVisibleCards() {
+        if (realising || viewport == null) {
+            return;
+        }
+
+        realising = true;
+        try {
+            // make sure the placeholders are where they'll be shown before working out which ones are in view
+            if (!isValid()) {
+                viewport.doLayout();
+                doLayout();
+            }
+
+            Rectangle viewRect = viewport.getViewRect();
+            if (viewRect.isEmpty()) {
+                // not shown yet, so wait for the viewport to be given a size
+                return;
+            }
+
+            int top = viewRect.y - viewRect.height;
+            int bottom = viewRect.y + viewRect.height * 2;
+
+            GridBagLayout layout = (GridBagLayout) getLayout();
+            boolean changed = false;
+
+            Component[] components = getComponents();
+            for (int i = 0; i < components.length; i++) {
+                if (!(components[i] instanceof CardListPanel.Placeholder)) {
+                    continue;
+                }
+
+                Rectangle bounds = components[i].getBounds();
+                if (bounds.y + bounds.height < top || bounds.y > bottom) {
+                    continue;
+                }
+
+                @SuppressWarnings("unchecked")
+                Placeholder placeholder = (Placeholder) components[i];
+                JComponent card = cardFactory.apply(placeholder.item);
+                cards.put(placeholder.item, card);
+                placeholders.remove(placeholder.item);
+
+                totalCardHeight += card.getPreferredSize().height;
+                realisedCards++;
+
+                GridBagConstraints constraints = layout.getConstraints(placeholder);
+                remove(i);
+                add(card, constraints, i);
+                changed = true;
+            }
+
+            if (changed) {
+                revalidate();
+                repaint();
+
+                // cards are rarely the same size as the placeholders, so check again once they've been laid out
+                SwingUtilities.invokeLater(this::realiseVisibleCards);
+            }
+        } finally {
+            realising = false;
+        }
+    }
+
+    private int getEstimatedCardHeight() {
+        return realisedCards == 0 ? DEFAULT_CARD_HEIGHT : (int) (totalCardHeight / realisedCards);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+            SwingUtilities.invokeLater(this::realiseVisibleCards);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+
+        super.removeNotify();
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    /**
+     * Takes up the space of a card that hasn't been created yet.
+     */
+    private class Placeholder extends JPanel {
+        private final T item;
+
+        private Placeholder(T item) {
+            this.item = item;
+            setOpaque(false);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(0, getEstimatedCardHeight());
+        }
+    }
+}
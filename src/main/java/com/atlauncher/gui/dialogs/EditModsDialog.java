@@ -24,15 +24,14 @@ import java.awt.event.ItemEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.swing.AbstractButton;
 import javax.swing.JButton;
@@ -50,8 +49,7 @@ import com.atlauncher.App;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.data.DisableableMod;
 import com.atlauncher.data.Instance;
-import com.atlauncher.data.curseforge.CurseForgeFingerprint;
-import com.atlauncher.data.curseforge.CurseForgeFingerprintedMod;
+import com.atlauncher.data.ModMetadata;
 import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.gui.components.ModsJCheckBox;
@@ -59,11 +57,12 @@ import com.atlauncher.gui.handlers.ModsJCheckBoxTransferHandler;
 import com.atlauncher.gui.layouts.WrapLayout;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.DialogManager;
+import com.atlauncher.managers.FingerprintManager;
+import com.atlauncher.managers.InstanceFilesManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.managers.PerformanceManager;
 import com.atlauncher.network.Analytics;
-import com.atlauncher.utils.CurseForgeApi;
-import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.Utils;
 
 import org.mini2Dx.gettext.GetText;
@@ -103,6 +102,7 @@ public class EditModsDialog extends JDialog {
         setupComponents();
 
         scanMissingMods();
+        ModMetadataManager.watch(instance);
 
         loadMods();
 
@@ -214,7 +214,7 @@ public class EditModsDialog extends JDialog {
             progressDialog.addThread(new Thread(() -> {
                 ArrayList<File> files = fcd.getChosenFiles();
                 if (files != null && !files.isEmpty()) {
-                    boolean reload = false;
+                    Map<DisableableMod, Path> addedMods = new LinkedHashMap<>();
                     for (File file : files) {
                         String typeTemp = fcd.getSelectorValue();
                         com.atlauncher.data.Type type = null;
@@ -251,12 +251,13 @@ public class EditModsDialog extends JDialog {
                             }
 
                             if (Utils.copyFile(file, copyTo, true)) {
-                                instance.launcher.mods.add(mod);
-                                reload = true;
+                                addedMods.put(mod, copyTo.toPath());
                             }
                         }
                     }
-                    if (reload) {
+                    if (!addedMods.isEmpty()) {
+                        FingerprintManager.addCurseForgeInformation(addedMods);
+                        instance.launcher.mods.addAll(addedMods.keySet());
                         reloadPanels();
                     }
                 }
@@ -325,13 +326,14 @@ public class EditModsDialog extends JDialog {
         mod.version = "Unknown";
         mod.description = null;
 
-        MCMod mcMod = Utils.getMCModForFile(file);
+        ModMetadata metadata = ModMetadataManager.get(file.toPath());
+        MCMod mcMod = metadata.mcMod;
         if (mcMod != null) {
             mod.name = Optional.ofNullable(mcMod.name).orElse(file.getName());
             mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
             mod.description = Optional.ofNullable(mcMod.description).orElse(null);
         } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(file);
+            FabricMod fabricMod = metadata.fabricMod;
             if (fabricMod != null) {
                 mod.name = Optional.ofNullable(fabricMod.name).orElse(file.getName());
                 mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
@@ -339,66 +341,37 @@ public class EditModsDialog extends JDialog {
             }
         }
 
-        if (!App.settings.dontCheckModsOnCurseForge) {
-            try {
-                long murmurHash = Hashing.murmur(file.toPath());
-
-                LogManager.debug("File " + file.getName() + " has murmur hash of " + murmurHash);
-
-                CurseForgeFingerprint fingerprintResponse = CurseForgeApi.checkFingerprint(murmurHash);
-
-                if (fingerprintResponse != null && fingerprintResponse.exactMatches.size() == 1) {
-                    CurseForgeFingerprintedMod foundMod = fingerprintResponse.exactMatches.get(0);
-
-                    // add CurseForge information
-                    mod.curseForgeProject = CurseForgeApi.getProjectById(foundMod.id);
-                    mod.curseForgeProjectId = foundMod.id;
-                    mod.curseForgeFile = foundMod.file;
-                    mod.curseForgeFileId = foundMod.file.id;
-
-                    mod.name = mod.curseForgeProject.name;
-                    mod.description = mod.curseForgeProject.summary;
-
-                    LogManager.debug("Found matching mod from CurseForge called " + mod.curseForgeProject.name
-                            + " with file named " + mod.curseForgeFile.displayName);
-                }
-            } catch (IOException e1) {
-                LogManager.logStackTrace(e1);
-            }
-        }
-
         return mod;
     }
 
     private void scanMissingMods() {
         PerformanceManager.start("EditModsDialog::scanMissingMods - CheckForAddedMods");
+
         // first find the mods that have been added by the user manually
-        try (Stream<Path> stream = Files.list(instance.ROOT.resolve("mods"))) {
-            List<Path> files = stream
-                    .filter(file -> !Files.isDirectory(file) && Utils.isAcceptedModFile(file)).filter(
-                            file -> instance.launcher.mods.stream()
-                                    .noneMatch(mod -> mod.type == com.atlauncher.data.Type.mods
-                                            && mod.file.equals(file.getFileName().toString())))
-                    .collect(Collectors.toList());
-
-            if (files.size() != 0) {
-                final ProgressDialog progressDialog = new ProgressDialog(GetText.tr("Scanning New Mods"), 0,
-                        GetText.tr("Scanning New Mods"), this);
-
-                progressDialog.addThread(new Thread(() -> {
-                    List<DisableableMod> mods = files.parallelStream()
-                            .map(file -> generateMod(file.toFile(), com.atlauncher.data.Type.mods, true))
-                            .collect(Collectors.toList());
-                    mods.forEach(mod -> LogManager.info("Found extra mod with name of " + mod.file));
-                    instance.launcher.mods.addAll(mods);
-                    instance.save();
-                    progressDialog.close();
-                }));
-
-                progressDialog.start();
-            }
-        } catch (IOException e) {
-            LogManager.logStackTrace("Error scanning missing mods", e);
+        List<Path> files = InstanceFilesManager.list(instance.ROOT, "mods").stream()
+                .filter(file -> !file.directory && Utils.isAcceptedModFile(file.path)).map(file -> file.path)
+                .filter(file -> instance.launcher.mods.stream()
+                        .noneMatch(mod -> mod.type == com.atlauncher.data.Type.mods
+                                && mod.file.equals(file.getFileName().toString())))
+                .collect(Collectors.toList());
+
+        if (files.size() != 0) {
+            final ProgressDialog progressDialog = new ProgressDialog(GetText.tr("Scanning New Mods"), 0,
+                    GetText.tr("Scanning New Mods"), this);
+
+            progressDialog.addThread(new Thread(() -> {
+                Map<DisableableMod, Path> mods = files.parallelStream()
+                        .collect(Collectors.toMap(
+                                file -> generateMod(file.toFile(), com.atlauncher.data.Type.mods, true),
+                                file -> file, (a, b) -> a, LinkedHashMap::new));
+                FingerprintManager.addCurseForgeInformation(mods);
+                mods.keySet().forEach(mod -> LogManager.info("Found extra mod with name of " + mod.file));
+                instance.launcher.mods.addAll(mods.keySet());
+                instance.save();
+                progressDialog.close();
+            }));
+
+            progressDialog.start();
         }
         PerformanceManager.end("EditModsDialog::scanMissingMods - CheckForAddedMods");
 
@@ -410,9 +383,11 @@ public class EditModsDialog extends JDialog {
             }
 
             if (mod.disabled) {
-                return (mod.getFile(instance) != null && !mod.getDisabledFile(instance).exists());
+                return (mod.getFile(instance) != null
+                        && !InstanceFilesManager.exists(instance.ROOT, mod.getDisabledFile(instance).toPath()));
             } else {
-                return (mod.getFile(instance) != null && !mod.getFile(instance).exists());
+                return (mod.getFile(instance) != null
+                        && !InstanceFilesManager.exists(instance.ROOT, mod.getFile(instance).toPath()));
             }
         }).collect(Collectors.toList());
 
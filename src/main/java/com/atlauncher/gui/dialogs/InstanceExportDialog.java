@@ -28,6 +28,7 @@ import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -48,6 +49,7 @@ import com.atlauncher.data.Instance;
 import com.atlauncher.data.InstanceExportFormat;
 import com.atlauncher.gui.components.JLabelWithHover;
 import com.atlauncher.managers.AccountManager;
+import com.atlauncher.managers.InstanceFilesManager;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
@@ -219,10 +221,11 @@ public class InstanceExportDialog extends JDialog {
         overridesPanel.setBorder(BorderFactory.createEmptyBorder(0, -3, 0, 0));
 
         // get all files ignoring ATLauncher specific things
-        File[] files = instance.getRoot().toFile()
-                .listFiles(pathname -> !pathname.getName().equalsIgnoreCase("disabledmods")
+        List<File> files = InstanceFilesManager.list(instance.getRoot(), "").stream().map(file -> file.path.toFile())
+                .filter(pathname -> !pathname.getName().equalsIgnoreCase("disabledmods")
                         && !pathname.getName().equalsIgnoreCase("jarmods")
-                        && !pathname.getName().equalsIgnoreCase("instance.json"));
+                        && !pathname.getName().equalsIgnoreCase("instance.json"))
+                .collect(Collectors.toList());
 
         for (File filename : files) {
             JCheckBox checkBox = new JCheckBox(filename.getName());
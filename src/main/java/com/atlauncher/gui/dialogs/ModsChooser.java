@@ -22,8 +22,11 @@ import java.awt.Dimension;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
@@ -58,7 +61,8 @@ public class ModsChooser extends JDialog {
     private final JButton clearAllButton;
     private final JButton installButton;
     private List<ModsJCheckBox> modCheckboxes;
-    private List<ModsJCheckBox> sortedOut;
+    private final Map<Mod, ModsJCheckBox> modCheckboxesByMod = new IdentityHashMap<>();
+    private Set<ModsJCheckBox> sortedOut;
 
     private boolean wasClosed = false;
 
@@ -187,10 +191,9 @@ public class ModsChooser extends JDialog {
                     check.setSelected(false);
                     List<Mod> linkedMods = modsToChange(check.getMod());
                     for (Mod mod : linkedMods) {
-                        for (ModsJCheckBox check1 : modCheckboxes) {
-                            if (check1.getMod() == mod) {
-                                check1.setEnabled(false);
-                            }
+                        ModsJCheckBox check1 = modCheckboxesByMod.get(mod);
+                        if (check1 != null) {
+                            check1.setEnabled(false);
                         }
                     }
                 }
@@ -325,6 +328,7 @@ public class ModsChooser extends JDialog {
                 sortOutMods(a, true);
             });
             modCheckboxes.add(checkBox);
+            modCheckboxesByMod.putIfAbsent(mod, checkBox);
             if (!skip) {
                 i++;
             }
@@ -337,7 +341,7 @@ public class ModsChooser extends JDialog {
             }
         }
 
-        sortedOut = new ArrayList<>();
+        sortedOut = newSortedOutSet();
         for (ModsJCheckBox cb : this.modCheckboxes) {
             if ((installer.isServer ? cb.getMod().isServerOptional() : cb.getMod().isOptional()) && cb.isSelected()) {
                 sortOutMods(cb);
@@ -443,86 +447,81 @@ public class ModsChooser extends JDialog {
 
     public void sortOutMods(ModsJCheckBox a, boolean firstGo) {
         if (firstGo) {
-            sortedOut = new ArrayList<>();
+            sortedOut = newSortedOutSet();
         }
 
         if (a.isSelected()) {
             List<Mod> linkedMods = modsToChange(a.getMod());
             for (Mod mod : linkedMods) {
-                for (ModsJCheckBox check : modCheckboxes) {
-                    if (check.getMod() == mod) {
-                        LogManager.debug("Selected " + a.getMod().getName() + " which is auto selecting "
-                                + check.getMod().getName() + " because it's a linked mod.");
-                        check.setEnabled(true);
-                    }
+                ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                if (check != null) {
+                    LogManager.debug("Selected " + a.getMod().getName() + " which is auto selecting "
+                            + check.getMod().getName() + " because it's a linked mod.");
+                    check.setEnabled(true);
                 }
             }
             if (a.getMod().hasGroup()) {
                 List<Mod> groupMods = modsInGroup(a.getMod());
                 for (Mod mod : groupMods) {
-                    for (ModsJCheckBox check : modCheckboxes) {
-                        if (check.getMod() == mod) {
-                            LogManager.debug("Selected " + a.getMod().getName() + " which is auto deselecting "
-                                    + check.getMod().getName() + " because it's in the same group.");
-                            check.setSelected(false);
-                        }
+                    ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                    if (check != null) {
+                        LogManager.debug("Selected " + a.getMod().getName() + " which is auto deselecting "
+                                + check.getMod().getName() + " because it's in the same group.");
+                        check.setSelected(false);
                     }
                 }
             }
             if (a.getMod().hasDepends()) {
                 List<Mod> dependsMods = modsDependancies(a.getMod());
                 for (Mod mod : dependsMods) {
-                    for (ModsJCheckBox check : modCheckboxes) {
-                        if (check.getMod() == mod && !sortedOut.contains(check)) {
-                            LogManager.debug("Selected " + a.getMod().getName() + " which is auto selecting "
-                                    + check.getMod().getName() + " because it's a dependency.");
-                            sortedOut.add(check);
-                            check.setSelected(true);
-                            sortOutMods(check);
-                        }
+                    ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                    if (check != null && sortedOut.add(check)) {
+                        LogManager.debug("Selected " + a.getMod().getName() + " which is auto selecting "
+                                + check.getMod().getName() + " because it's a dependency.");
+                        check.setSelected(true);
+                        sortOutMods(check);
                     }
                 }
             }
         } else {
             List<Mod> linkedMods = modsToChange(a.getMod());
             for (Mod mod : linkedMods) {
-                for (ModsJCheckBox check : modCheckboxes) {
-                    if (check.getMod() == mod) {
-                        LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
-                                + check.getMod().getName() + " because it's a linked mod.");
-                        check.setEnabled(false);
-                        check.setSelected(false);
-                    }
+                ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                if (check != null) {
+                    LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
+                            + check.getMod().getName() + " because it's a linked mod.");
+                    check.setEnabled(false);
+                    check.setSelected(false);
                 }
             }
             if (hasADependancy(a.getMod())) {
                 List<Mod> dependedMods = dependedMods(a.getMod());
                 for (Mod mod : dependedMods) {
-                    for (ModsJCheckBox check : modCheckboxes) {
-                        if (check.getMod() == mod) {
-                            LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
-                                    + check.getMod().getName() + " because it's a dependant mod.");
-                            check.setSelected(false);
-                        }
+                    ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                    if (check != null) {
+                        LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
+                                + check.getMod().getName() + " because it's a dependant mod.");
+                        check.setSelected(false);
                     }
                 }
             } else if (a.getMod().hasDepends()) {
                 List<Mod> dependsMods = modsDependancies(a.getMod());
                 for (Mod mod : dependsMods) {
-                    for (ModsJCheckBox check : modCheckboxes) {
-                        if (check.getMod() == mod) {
-                            if (check.getMod().isLibrary()) {
-                                LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
-                                        + check.getMod().getName() + " because it's a dependant library mod.");
-                                check.setSelected(false);
-                            }
-                        }
+                    ModsJCheckBox check = modCheckboxesByMod.get(mod);
+                    if (check != null && check.getMod().isLibrary()) {
+                        LogManager.debug("Deselected " + a.getMod().getName() + " which is auto deselecting "
+                                + check.getMod().getName() + " because it's a dependant library mod.");
+                        check.setSelected(false);
                     }
                 }
             }
         }
     }
 
+    private static Set<ModsJCheckBox> newSortedOutSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
     public List<Mod> getSelectedMods() {
         if (wasClosed) {
             return null;
@@ -27,10 +27,12 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import com.atlauncher.App;
 import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.network.ProgressTracker;
 import com.atlauncher.utils.Utils;
 
 import org.mini2Dx.gettext.GetText;
@@ -47,8 +49,11 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     private final JLabel label = new JLabel();
     private int tasksToDo;
     private int tasksDone;
-    private double totalBytes = 0; // Total number of bytes to download
-    private double downloadedBytes = 0; // Total number of bytes downloaded
+    private final ProgressTracker progressTracker = new ProgressTracker(progress -> SwingUtilities.invokeLater(() -> {
+        if (progress.totalBytes > 0) {
+            setSubProgress(progress.getPercent(), progress.getLabel());
+        }
+    }));
 
     public ProgressDialog(String title, int initMax, String initLabelText, String initClosedLogMessage,
             boolean showProgressBar, Window parent) {
@@ -132,6 +137,8 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     }
 
     public void start() {
+        progressTracker.start();
+
         if (this.thread != null) {
             thread.start();
         }
@@ -154,6 +161,7 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     }
 
     public void close() {
+        progressTracker.stop();
         setVisible(false); // Remove the dialog
         dispose(); // Dispose the dialog
     }
@@ -162,22 +170,6 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
         this.label.setText(text);
     }
 
-    private void updateProgressBar() {
-        double progress;
-        if (this.totalBytes > 0) {
-            progress = (this.downloadedBytes / this.totalBytes) * 100.0;
-        } else {
-            progress = 0.0;
-        }
-        double done = this.downloadedBytes / 1024.0 / 1024.0;
-        double toDo = this.totalBytes / 1024.0 / 1024.0;
-        if (done > toDo) {
-            setSubProgress(100.0, String.format("%.2f MB", done));
-        } else {
-            setSubProgress(progress, String.format("%.2f MB / %.2f MB", done, toDo));
-        }
-    }
-
     public void setSubProgress(double percent, String label) {
         if (!subProgressBar.isVisible()) {
             subProgressBar.setVisible(true);
@@ -222,30 +214,22 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
 
     @Override
     public void setTotalBytes(long bytes) {
-        this.downloadedBytes = 0L;
-        this.totalBytes = bytes;
-
-        subProgressBar.setVisible(bytes > 0L);
-
-        if (bytes > 0L) {
-            this.updateProgressBar();
-        }
+        SwingUtilities.invokeLater(() -> subProgressBar.setVisible(bytes > 0L));
+        progressTracker.setTotalBytes(bytes);
     }
 
     @Override
     public void addDownloadedBytes(long bytes) {
-        this.downloadedBytes += bytes;
-        this.updateProgressBar();
+        progressTracker.addDownloadedBytes(bytes);
     }
 
     public void clearDownloadedBytes() {
-        this.downloadedBytes = 0L;
-        subProgressBar.setVisible(false);
+        progressTracker.reset();
+        SwingUtilities.invokeLater(() -> subProgressBar.setVisible(false));
     }
 
     @Override
     public void addBytesToDownload(long bytes) {
-        this.totalBytes += bytes;
-        this.updateProgressBar();
+        progressTracker.addBytesToDownload(bytes);
     }
 }
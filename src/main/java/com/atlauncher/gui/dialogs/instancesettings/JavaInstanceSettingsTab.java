@@ -49,6 +49,8 @@ import com.atlauncher.constants.UIConstants;
 import com.atlauncher.data.Instance;
 import com.atlauncher.gui.components.JLabelWithHover;
 import com.atlauncher.managers.DialogManager;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.mclauncher.MCLauncher;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
@@ -308,8 +310,40 @@ public class JavaInstanceSettingsTab extends JPanel {
         javaParametersPanel.add(javaParameters);
         javaParametersPanel.add(Box.createHorizontalStrut(5));
 
+        JButton explainJavaArgumentsButton = new JButton(GetText.tr("Explain"));
+        explainJavaArgumentsButton.setToolTipText(GetText.tr(
+                "Shows the memory, garbage collector and thread arguments this instance will be launched with, and why. Unsaved changes aren't included."));
+        explainJavaArgumentsButton.addActionListener(e -> {
+            explainJavaArgumentsButton.setEnabled(false);
+
+            // planning may need to run Java to find out its version, so do it off the UI thread
+            App.TASKPOOL.execute(() -> {
+                String explanation = null;
+
+                try {
+                    explanation = MCLauncher.planJavaArguments(this.instance).explain();
+                } catch (Throwable t) {
+                    LogManager.logStackTrace("Failed to work out the Java arguments for " + this.instance.getName(),
+                            t);
+                }
+
+                String content = explanation;
+                SwingUtilities.invokeLater(() -> {
+                    explainJavaArgumentsButton.setEnabled(true);
+
+                    if (content != null) {
+                        DialogManager.okDialog().setTitle(GetText.tr("Java Arguments"))
+                                .setContent(new HTMLBuilder().text(content.replace("\n", "<br/>")).build())
+                                .setType(DialogManager.INFO).show();
+                    }
+                });
+            });
+        });
+
         Box paramsResetBox = Box.createVerticalBox();
         paramsResetBox.add(javaParametersResetButton);
+        paramsResetBox.add(Box.createVerticalStrut(5));
+        paramsResetBox.add(explainJavaArgumentsButton);
         paramsResetBox.add(Box.createVerticalGlue());
 
         javaParametersPanel.add(paramsResetBox);
@@ -21,27 +21,27 @@ import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.swing.JComponent;
 import javax.swing.TransferHandler;
 
-import com.atlauncher.App;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.data.DisableableMod;
+import com.atlauncher.data.ModMetadata;
 import com.atlauncher.data.Type;
-import com.atlauncher.data.curseforge.CurseForgeFingerprint;
-import com.atlauncher.data.curseforge.CurseForgeFingerprintedMod;
 import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.gui.dialogs.EditModsDialog;
 import com.atlauncher.gui.dialogs.FileTypeDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.managers.DialogManager;
-import com.atlauncher.managers.LogManager;
-import com.atlauncher.utils.CurseForgeApi;
-import com.atlauncher.utils.Hashing;
+import com.atlauncher.managers.FingerprintManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.utils.Utils;
 
 import org.mini2Dx.gettext.GetText;
@@ -121,6 +121,7 @@ public class ModsJCheckBoxTransferHandler extends TransferHandler {
                     GetText.tr("Copying Mods"), dialog);
 
             progressDialog.addThread(new Thread(() -> {
+                Map<DisableableMod, Path> addedMods = new LinkedHashMap<>();
                 for (Object item : data) {
                     File file = (File) item;
                     File copyTo = instanceFile;
@@ -147,13 +148,14 @@ public class ModsJCheckBoxTransferHandler extends TransferHandler {
                     mod.version = "Unknown";
                     mod.description = null;
 
-                    MCMod mcMod = Utils.getMCModForFile(file);
+                    ModMetadata metadata = ModMetadataManager.get(file.toPath());
+                    MCMod mcMod = metadata.mcMod;
                     if (mcMod != null) {
                         mod.name = Optional.ofNullable(mcMod.name).orElse(file.getName());
                         mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
                         mod.description = Optional.ofNullable(mcMod.description).orElse(null);
                     } else {
-                        FabricMod fabricMod = Utils.getFabricModForFile(file);
+                        FabricMod fabricMod = metadata.fabricMod;
                         if (fabricMod != null) {
                             mod.name = Optional.ofNullable(fabricMod.name).orElse(file.getName());
                             mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
@@ -161,43 +163,16 @@ public class ModsJCheckBoxTransferHandler extends TransferHandler {
                         }
                     }
 
-                    if (!App.settings.dontCheckModsOnCurseForge) {
-                        try {
-                            long murmurHash = Hashing.murmur(file.toPath());
-
-                            LogManager.debug("File " + file.getName() + " has murmur hash of " + murmurHash);
-
-                            CurseForgeFingerprint fingerprintResponse = CurseForgeApi.checkFingerprint(murmurHash);
-
-                            if (fingerprintResponse.exactMatches.size() == 1) {
-                                CurseForgeFingerprintedMod foundMod = fingerprintResponse.exactMatches.get(0);
-
-                                // add CurseForge information
-                                mod.curseForgeProject = CurseForgeApi.getProjectById(foundMod.id);
-                                mod.curseForgeProjectId = foundMod.id;
-                                mod.curseForgeFile = foundMod.file;
-                                mod.curseForgeFileId = foundMod.file.id;
-
-                                mod.name = mod.curseForgeProject.name;
-                                mod.description = mod.curseForgeProject.summary;
-
-                                LogManager
-                                        .debug("Found matching mod from CurseForge called " + mod.curseForgeProject.name
-                                                + " with file named " + mod.curseForgeFile.displayName);
-                            }
-                        } catch (IOException e1) {
-                            LogManager.logStackTrace(e1);
-                        }
-                    }
-
                     if (!copyTo.exists()) {
                         copyTo.mkdirs();
                     }
 
                     if (Utils.copyFile(file, copyTo)) {
-                        dialog.instance.launcher.mods.add(mod);
+                        addedMods.put(mod, copyTo.toPath().resolve(file.getName()));
                     }
                 }
+                FingerprintManager.addCurseForgeInformation(addedMods);
+                dialog.instance.launcher.mods.addAll(addedMods.keySet());
                 progressDialog.close();
             }));
             progressDialog.start();
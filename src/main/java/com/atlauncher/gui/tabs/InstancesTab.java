@@ -20,11 +20,11 @@ package com.atlauncher.gui.tabs;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -33,13 +33,14 @@ import javax.swing.JButton;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
-import javax.swing.SwingUtilities;
 
 import com.atlauncher.constants.UIConstants;
+import com.atlauncher.data.Instance;
 import com.atlauncher.evnt.listener.RelocalizationListener;
 import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.card.InstanceCard;
 import com.atlauncher.gui.card.NilCard;
+import com.atlauncher.gui.components.CardListPanel;
 import com.atlauncher.gui.dialogs.AddCurseForgePackDialog;
 import com.atlauncher.gui.dialogs.AddFTBPackDialog;
 import com.atlauncher.gui.dialogs.ImportInstanceDialog;
@@ -55,21 +56,18 @@ public class InstancesTab extends JPanel implements Tab, RelocalizationListener
     private JTextField searchField;
     private JButton searchButton;
 
-    private String searchText = null;
-
-    private JPanel panel;
+    private CardListPanel<Instance> panel;
     private JScrollPane scrollPane;
-    private int currentPosition = 0;
 
     private NilCard nilCard;
 
     public InstancesTab() {
         setLayout(new BorderLayout());
-        loadContent(false);
+        loadContent();
         RelocalizationManager.addListener(this);
     }
 
-    public void loadContent(boolean keepFilters) {
+    private void loadContent() {
         JPanel topPanel = new JPanel();
         topPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 
@@ -83,14 +81,11 @@ public class InstancesTab extends JPanel implements Tab, RelocalizationListener
         addFTBPackButton.addActionListener(e -> new AddFTBPackDialog());
 
         searchField = new JTextField(16);
-        if (keepFilters) {
-            searchField.setText(this.searchText);
-        }
         searchField.addKeyListener(new KeyAdapter() {
             public void keyReleased(KeyEvent e) {
                 if (e.getKeyChar() == KeyEvent.VK_ENTER) {
                     Analytics.sendEvent(searchField.getText(), "Search", "Instance");
-                    reload();
+                    filter();
                 }
             }
         });
@@ -99,13 +94,13 @@ public class InstancesTab extends JPanel implements Tab, RelocalizationListener
         searchButton = new JButton(GetText.tr("Search"));
         searchButton.addActionListener(e -> {
             Analytics.sendEvent(searchField.getText(), "Search", "Instance");
-            reload();
+            filter();
         });
 
         clearButton = new JButton(GetText.tr("Clear"));
         clearButton.addActionListener(e -> {
             searchField.setText("");
-            reload();
+            filter();
         });
 
         topPanel.setLayout(new BoxLayout(topPanel, BoxLayout.X_AXIS));
@@ -132,60 +127,49 @@ public class InstancesTab extends JPanel implements Tab, RelocalizationListener
 
         add(topPanel, BorderLayout.NORTH);
 
-        panel = new JPanel();
+        panel = new CardListPanel<>(InstanceCard::new, UIConstants.FIELD_INSETS);
         panel.setName("instancesPanel");
         scrollPane = new JScrollPane(panel, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
                 JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         add(scrollPane, BorderLayout.CENTER);
 
-        panel.setLayout(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = gbc.gridy = 0;
-        gbc.weightx = 1.0;
-        gbc.insets = UIConstants.FIELD_INSETS;
-        gbc.fill = GridBagConstraints.BOTH;
-
-        InstanceManager.getInstancesSorted().forEach(instance -> {
-            if (keepFilters) {
-                boolean showInstance = true;
-
-                if (searchText != null) {
-                    if (!Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE)
-                            .matcher(instance.launcher.name).find()) {
-                        showInstance = false;
-                    }
-                }
+        nilCard = new NilCard(GetText.tr("There are no instances to display.\n\nInstall one from the Packs tab."));
+        panel.setEmptyComponent(nilCard);
 
-                if (showInstance) {
-                    panel.add(new InstanceCard(instance), gbc);
-                    gbc.gridy++;
-                }
-            } else {
-                panel.add(new InstanceCard(instance), gbc);
-                gbc.gridy++;
-            }
-        });
+        panel.setItems(InstanceManager.getInstancesSorted());
+    }
 
-        if (panel.getComponentCount() == 0) {
-            nilCard = new NilCard(GetText.tr("There are no instances to display.\n\nInstall one from the Packs tab."));
-            panel.add(nilCard, gbc);
-        }
+    private void filter() {
+        applySearch();
 
-        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(currentPosition));
+        searchField.requestFocus();
+    }
+
+    private void applySearch() {
+        String searchText = searchField.getText();
+
+        if (searchText.isEmpty()) {
+            panel.setFilter(instance -> true);
+        } else {
+            Set<Instance> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            matches.addAll(InstanceManager.searchInstances(searchText));
+
+            panel.setFilter(matches::contains);
+        }
     }
 
+    /**
+     * Reloads the instances shown, keeping the current search and scroll position. Only the cards in view are created
+     * again.
+     */
     public void reload() {
-        this.currentPosition = scrollPane.getVerticalScrollBar().getValue();
-        this.searchText = searchField.getText();
-        if (this.searchText.isEmpty()) {
-            this.searchText = null;
+        panel.setItems(InstanceManager.getInstancesSorted());
+
+        // the search results are for the old instances, so search again to pick up any new ones
+        if (!searchField.getText().isEmpty()) {
+            applySearch();
         }
-        removeAll();
-        loadContent(true);
-        validate();
-        repaint();
-        searchField.requestFocus();
     }
 
     @Override
@@ -18,16 +18,10 @@
 package com.atlauncher.gui.tabs;
 
 import java.awt.BorderLayout;
-import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
-import java.awt.event.AdjustmentEvent;
-import java.awt.event.AdjustmentListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -49,9 +43,9 @@ import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.evnt.manager.TabChangeManager;
 import com.atlauncher.gui.card.NilCard;
 import com.atlauncher.gui.card.PackCard;
+import com.atlauncher.gui.components.CardListPanel;
 import com.atlauncher.gui.dialogs.AddCurseForgePackDialog;
 import com.atlauncher.gui.dialogs.AddFTBPackDialog;
-import com.atlauncher.gui.panels.LoadingPanel;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.PackManager;
 import com.atlauncher.network.Analytics;
@@ -61,7 +55,8 @@ import org.mini2Dx.gettext.GetText;
 @SuppressWarnings("serial")
 public final class PacksTab extends JPanel implements Tab, RelocalizationListener {
     private final JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-    private final JPanel contentPanel = new JPanel(new GridBagLayout());
+    private final CardListPanel<Pack> contentPanel = new CardListPanel<>(this::createPackCard,
+            UIConstants.FIELD_INSETS);
     private final JButton addButton = new JButton(GetText.tr("Add Pack"));
     private final JButton addCurseButton = new JButton(GetText.tr("Add CurseForge Pack"));
     private final JButton addFTBPackButton = new JButton(GetText.tr("Add FTB Pack"));
@@ -73,37 +68,22 @@ public final class PacksTab extends JPanel implements Tab, RelocalizationListene
     private final JScrollPane scrollPane;
     private NilCard nilCard;
     private final boolean isFeatured;
-    private boolean loadingMore = false;
-
-    private final List<Pack> packs = new LinkedList<>();
-    private final List<PackCard> cards = new LinkedList<>();
+    private Boolean collapsed = null;
 
     public PacksTab(boolean isFeatured) {
         super(new BorderLayout());
         setName(isFeatured ? "featuredPacksPanel" : "packsPanel");
         this.isFeatured = isFeatured;
         this.topPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
-        this.contentPanel.setLayout(new GridBagLayout());
 
         searchField.setMaximumSize(new Dimension(190, 23));
 
+        nilCard = new NilCard(GetText.tr("There are no packs to display.\n\nPlease check back another time."));
+        this.contentPanel.setEmptyComponent(nilCard);
+
         scrollPane = new JScrollPane(this.contentPanel, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
                 JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
-            @Override
-            public void adjustmentValueChanged(AdjustmentEvent e) {
-                if (!loadingMore && !isFeatured) {
-                    int maxValue = scrollPane.getVerticalScrollBar().getMaximum()
-                            - scrollPane.getVerticalScrollBar().getVisibleAmount();
-                    int currentValue = scrollPane.getVerticalScrollBar().getValue();
-
-                    if ((float) currentValue / (float) maxValue > 0.9f) {
-                        loadMorePacks();
-                    }
-                }
-            }
-        });
 
         if (!this.isFeatured) {
             this.add(this.topPanel, BorderLayout.NORTH);
@@ -117,53 +97,37 @@ public final class PacksTab extends JPanel implements Tab, RelocalizationListene
 
         refresh();
 
-        TabChangeManager.addListener(() -> searchField.setText(""));
-
-        this.collapseAllButton.addActionListener(e -> {
-            for (Component comp : contentPanel.getComponents()) {
-                if (comp instanceof PackCard) {
-                    ((PackCard) comp).setCollapsed(true);
-                }
-            }
-        });
-        this.expandAllButton.addActionListener(e -> {
-            for (Component comp : contentPanel.getComponents()) {
-                if (comp instanceof PackCard) {
-                    ((PackCard) comp).setCollapsed(false);
-                }
+        TabChangeManager.addListener(() -> {
+            if (!searchField.getText().isEmpty()) {
+                searchField.setText("");
+                filter();
             }
         });
+
+        this.collapseAllButton.addActionListener(e -> setAllCollapsed(true));
+        this.expandAllButton.addActionListener(e -> setAllCollapsed(false));
         this.addCurseButton.addActionListener(e -> new AddCurseForgePackDialog());
         this.addFTBPackButton.addActionListener(e -> new AddFTBPackDialog());
         this.clearButton.addActionListener(e -> {
             searchField.setText("");
-            refresh();
+            filter();
         });
 
         this.searchField.addKeyListener(new KeyAdapter() {
             public void keyReleased(KeyEvent e) {
                 if (e.getKeyChar() == KeyEvent.VK_ENTER) {
                     Analytics.sendEvent(searchField.getText(), "Search", "Pack");
-                    refresh();
+                    filter();
                 }
             }
         });
 
         this.searchButton.addActionListener(e -> {
             Analytics.sendEvent(searchField.getText(), "Search", "Pack");
-            refresh();
+            filter();
         });
     }
 
-    private void addLoadingCard() {
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.weightx = 1.0;
-        gbc.fill = GridBagConstraints.BOTH;
-        this.contentPanel.add(new LoadingPanel(), gbc);
-    }
-
     private void setupTopPanel() {
         topPanel.setLayout(new BoxLayout(topPanel, BoxLayout.X_AXIS));
         topPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
@@ -189,91 +153,50 @@ public final class PacksTab extends JPanel implements Tab, RelocalizationListene
         topPanel.add(collapseAllButton);
     }
 
-    private void loadMorePacks() {
-        loadingMore = true;
+    private PackCard createPackCard(Pack pack) {
+        PackCard card = new PackCard(pack);
 
-        addPackCards();
-        load(true);
+        if (collapsed != null) {
+            card.setCollapsed(collapsed);
+        }
 
-        SwingUtilities.invokeLater(new Runnable() {
-            public void run() {
-                loadingMore = false;
-            }
-        });
+        return card;
     }
 
-    private void loadPacksToShow() {
-        List<Pack> packs = App.settings.sortPacksAlphabetically
-                ? PackManager.getPacksSortedAlphabetically(this.isFeatured)
-                : PackManager.getPacksSortedPositionally(this.isFeatured);
-
-        this.packs.clear();
-        this.packs.addAll(packs.stream().filter(Pack::canInstall).filter(pack -> {
-            String searchText = this.searchField.getText();
-
-            if (!searchText.isEmpty()) {
-                return Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE)
-                        .matcher(pack.getDescription()).find()
-                        || Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE).matcher(pack.getName())
-                                .find();
-            }
-
-            return true;
-        }).collect(Collectors.toList()));
+    private void setAllCollapsed(boolean collapsed) {
+        // cards that haven't been created yet pick this up when they're scrolled into view
+        this.collapsed = collapsed;
+        contentPanel.forEachCard(card -> ((PackCard) card).setCollapsed(collapsed));
     }
 
-    private void addPackCards() {
-        this.packs.stream().skip(this.cards.size()).limit(10).forEach(pack -> this.cards.add(new PackCard(pack)));
+    private void filter() {
+        String searchText = this.searchField.getText();
 
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.weightx = 1.0;
-        gbc.fill = GridBagConstraints.BOTH;
-    }
+        if (searchText.isEmpty()) {
+            contentPanel.setFilter(pack -> true);
+        } else {
+            Pattern pattern = Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE);
 
-    private void load(boolean keep) {
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.weightx = 1.0;
-        gbc.insets = UIConstants.FIELD_INSETS;
-        gbc.fill = GridBagConstraints.BOTH;
-
-        int count = 0;
-        for (PackCard card : this.cards) {
-            if (keep) {
-                this.contentPanel.add(card, gbc);
-                gbc.gridy++;
-                count++;
-            }
+            contentPanel.setFilter(pack -> pattern.matcher(pack.getDescription()).find()
+                    || pattern.matcher(pack.getName()).find());
         }
 
-        if (count == 0) {
-            nilCard = new NilCard(GetText.tr("There are no packs to display.\n\nPlease check back another time."));
-            this.contentPanel.add(nilCard, gbc);
-        }
+        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(0));
     }
 
     public void reload() {
-        this.contentPanel.removeAll();
-        load(true);
-        revalidate();
-        repaint();
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                scrollPane.getVerticalScrollBar().setValue(0);
-            }
-        });
+        List<Pack> packs = App.settings.sortPacksAlphabetically
+                ? PackManager.getPacksSortedAlphabetically(this.isFeatured)
+                : PackManager.getPacksSortedPositionally(this.isFeatured);
+
+        this.contentPanel.setItems(packs.stream().filter(Pack::canInstall).collect(Collectors.toList()));
+        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(0));
     }
 
     public void refresh() {
-        this.cards.clear();
-        addLoadingCard();
-        loadPacksToShow();
-        addPackCards();
+        this.collapsed = null;
         reload();
+        filter();
     }
 
     @Override
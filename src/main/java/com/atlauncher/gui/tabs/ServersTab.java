@@ -19,8 +19,6 @@ package com.atlauncher.gui.tabs;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.regex.Pattern;
@@ -29,13 +27,14 @@ import javax.swing.JButton;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
-import javax.swing.SwingUtilities;
 
 import com.atlauncher.constants.UIConstants;
+import com.atlauncher.data.Server;
 import com.atlauncher.evnt.listener.RelocalizationListener;
 import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.card.NilCard;
 import com.atlauncher.gui.card.ServerCard;
+import com.atlauncher.gui.components.CardListPanel;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.network.Analytics;
 
@@ -47,40 +46,34 @@ public class ServersTab extends JPanel implements Tab, RelocalizationListener {
     private JTextField searchBox;
     private JButton searchButton;
 
-    private String searchText = null;
-
-    private JPanel panel;
+    private CardListPanel<Server> panel;
     private JScrollPane scrollPane;
-    private int currentPosition = 0;
 
     private NilCard nilCard;
 
     public ServersTab() {
         setLayout(new BorderLayout());
-        loadContent(false);
+        loadContent();
         RelocalizationManager.addListener(this);
     }
 
-    public void loadContent(boolean keepFilters) {
+    private void loadContent() {
         JPanel topPanel = new JPanel();
         topPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 
         clearButton = new JButton(GetText.tr("Clear"));
         clearButton.addActionListener(e -> {
             searchBox.setText("");
-            reload();
+            filter();
         });
         topPanel.add(clearButton);
 
         searchBox = new JTextField(16);
-        if (keepFilters) {
-            searchBox.setText(this.searchText);
-        }
         searchBox.addKeyListener(new KeyAdapter() {
             public void keyReleased(KeyEvent e) {
                 if (e.getKeyChar() == KeyEvent.VK_ENTER) {
                     Analytics.sendEvent(searchBox.getText(), "Search", "Server");
-                    reload();
+                    filter();
                 }
             }
         });
@@ -89,65 +82,44 @@ public class ServersTab extends JPanel implements Tab, RelocalizationListener {
         searchButton = new JButton(GetText.tr("Search"));
         searchButton.addActionListener(e -> {
             Analytics.sendEvent(searchBox.getText(), "Search", "Server");
-            reload();
+            filter();
         });
         topPanel.add(searchButton);
 
         add(topPanel, BorderLayout.NORTH);
 
-        panel = new JPanel();
+        panel = new CardListPanel<>(ServerCard::new, UIConstants.FIELD_INSETS_SMALL);
         scrollPane = new JScrollPane(panel, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
                 JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         add(scrollPane, BorderLayout.CENTER);
 
-        panel.setLayout(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = gbc.gridy = 0;
-        gbc.weightx = 1.0;
-        gbc.insets = UIConstants.FIELD_INSETS_SMALL;
-        gbc.fill = GridBagConstraints.BOTH;
-
-        ServerManager.getServersSorted().forEach(server -> {
-            if (keepFilters) {
-                boolean showServer = true;
-
-                if (searchText != null) {
-                    if (!Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE).matcher(server.name)
-                            .find()) {
-                        showServer = false;
-                    }
-                }
+        nilCard = new NilCard(GetText.tr("There are no servers to display.\n\nInstall one from the Packs tab."));
+        panel.setEmptyComponent(nilCard);
 
-                if (showServer) {
-                    panel.add(new ServerCard(server), gbc);
-                    gbc.gridy++;
-                }
-            } else {
-                panel.add(new ServerCard(server), gbc);
-                gbc.gridy++;
-            }
-        });
+        panel.setItems(ServerManager.getServersSorted());
+    }
+
+    private void filter() {
+        String searchText = searchBox.getText();
+
+        if (searchText.isEmpty()) {
+            panel.setFilter(server -> true);
+        } else {
+            Pattern pattern = Pattern.compile(Pattern.quote(searchText), Pattern.CASE_INSENSITIVE);
 
-        if (panel.getComponentCount() == 0) {
-            nilCard = new NilCard(GetText.tr("There are no servers to display.\n\nInstall one from the Packs tab."));
-            panel.add(nilCard, gbc);
+            panel.setFilter(server -> pattern.matcher(server.name).find());
         }
 
-        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(currentPosition));
+        searchBox.requestFocus();
     }
 
+    /**
+     * Reloads the servers shown, keeping the current search and scroll position. Only the cards in view are created
+     * again.
+     */
     public void reload() {
-        this.currentPosition = scrollPane.getVerticalScrollBar().getValue();
-        this.searchText = searchBox.getText();
-        if (this.searchText.isEmpty()) {
-            this.searchText = null;
-        }
-        removeAll();
-        loadContent(true);
-        validate();
-        repaint();
-        searchBox.requestFocus();
+        panel.setItems(ServerManager.getServersSorted());
     }
 
     @Override
@@ -43,6 +43,7 @@ import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
@@ -58,11 +59,9 @@ import com.atlauncher.data.minecraft.VersionManifestVersion;
 import com.atlauncher.data.minecraft.VersionManifestVersionType;
 import com.atlauncher.data.minecraft.loaders.LoaderType;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
-import com.atlauncher.data.minecraft.loaders.fabric.FabricLoader;
-import com.atlauncher.data.minecraft.loaders.forge.ForgeLoader;
-import com.atlauncher.data.minecraft.loaders.quilt.QuiltLoader;
 import com.atlauncher.exceptions.InvalidMinecraftVersion;
 import com.atlauncher.managers.ConfigManager;
+import com.atlauncher.managers.LoaderVersionsManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
 import com.atlauncher.utils.ComboItem;
@@ -77,6 +76,7 @@ public final class VanillaPacksTab extends JPanel implements Tab {
     private List<VersionManifestVersionType> minecraftVersionTypeFilters = new ArrayList<>(
             Arrays.asList(VersionManifestVersionType.RELEASE));
     private String selectedMinecraftVersion = null;
+    private int loaderVersionsRequest = 0;
 
     private JTextField nameField = new JTextField(32);
     private boolean nameFieldDirty = false;
@@ -551,6 +551,8 @@ public final class VanillaPacksTab extends JPanel implements Tab {
     }
 
     private void selectedLoaderTypeChanged(LoaderType selectedLoader) {
+        int request = ++loaderVersionsRequest;
+
         loaderVersionsDropDown.removeAllItems();
         loaderVersionsDropDown.setEnabled(false);
 
@@ -579,80 +581,77 @@ public final class VanillaPacksTab extends JPanel implements Tab {
         createServerButton.setEnabled(false);
         createInstanceButton.setEnabled(false);
 
-        Runnable r = () -> {
-            List<LoaderVersion> loaderVersions = new ArrayList<>();
-
-            if (selectedLoader == LoaderType.FABRIC) {
-                loaderVersions.addAll(FabricLoader.getChoosableVersions(selectedMinecraftVersion));
-            } else if (selectedLoader == LoaderType.FORGE) {
-                loaderVersions.addAll(ForgeLoader.getChoosableVersions(selectedMinecraftVersion));
-            } else if (selectedLoader == LoaderType.QUILT) {
-                loaderVersions.addAll(QuiltLoader.getChoosableVersions(selectedMinecraftVersion));
-            }
+        // versions are usually cached, in which case this runs straight away
+        LoaderVersionsManager.getChoosableVersionsAsync(selectedLoader, selectedMinecraftVersion)
+                .thenAccept(loaderVersions -> SwingUtilities.invokeLater(() -> {
+                    // the loader or Minecraft version was changed again while these were being fetched
+                    if (request == loaderVersionsRequest) {
+                        setLoaderVersions(selectedLoader, loaderVersions);
+                    }
+                }));
+    }
 
-            if (loaderVersions.size() == 0) {
-                loaderVersionsDropDown.removeAllItems();
-                loaderVersionsDropDown.addItem(new ComboItem<LoaderVersion>(null, GetText.tr("No Versions Found")));
-                loaderTypeNoneRadioButton.setEnabled(true);
-                loaderTypeFabricRadioButton.setEnabled(true);
-                loaderTypeForgeRadioButton.setEnabled(true);
-                loaderTypeQuiltRadioButton.setEnabled(true);
-                createServerButton.setEnabled(true);
-                createInstanceButton.setEnabled(true);
-                return;
-            }
+    private void setLoaderVersions(LoaderType selectedLoader, List<LoaderVersion> loaderVersions) {
+        if (loaderVersions.size() == 0) {
+            loaderVersionsDropDown.removeAllItems();
+            loaderVersionsDropDown.addItem(new ComboItem<LoaderVersion>(null, GetText.tr("No Versions Found")));
+            loaderTypeNoneRadioButton.setEnabled(true);
+            loaderTypeFabricRadioButton.setEnabled(true);
+            loaderTypeForgeRadioButton.setEnabled(true);
+            loaderTypeQuiltRadioButton.setEnabled(true);
+            createServerButton.setEnabled(true);
+            createInstanceButton.setEnabled(true);
+            return;
+        }
 
-            int loaderVersionLength = 0;
+        int loaderVersionLength = 0;
 
-            // ensures that font width is taken into account
-            for (LoaderVersion version : loaderVersions) {
-                loaderVersionLength = Math.max(loaderVersionLength,
-                        getFontMetrics(App.THEME.getNormalFont()).stringWidth(version.toString()) + 25);
-            }
+        // ensures that font width is taken into account
+        for (LoaderVersion version : loaderVersions) {
+            loaderVersionLength = Math.max(loaderVersionLength,
+                    getFontMetrics(App.THEME.getNormalFont()).stringWidth(version.toString()) + 25);
+        }
 
-            loaderVersionsDropDown.removeAllItems();
+        loaderVersionsDropDown.removeAllItems();
 
-            loaderVersions.forEach(version -> loaderVersionsDropDown
-                    .addItem(new ComboItem<LoaderVersion>(version, version.toString())));
+        loaderVersions.forEach(version -> loaderVersionsDropDown
+                .addItem(new ComboItem<LoaderVersion>(version, version.toString())));
 
-            if (selectedLoader == LoaderType.FORGE) {
-                Optional<LoaderVersion> recommendedVersion = loaderVersions.stream().filter(lv -> lv.recommended)
-                        .findFirst();
+        if (selectedLoader == LoaderType.FORGE) {
+            Optional<LoaderVersion> recommendedVersion = loaderVersions.stream().filter(lv -> lv.recommended)
+                    .findFirst();
 
-                if (recommendedVersion.isPresent()) {
-                    loaderVersionsDropDown.setSelectedIndex(loaderVersions.indexOf(recommendedVersion.get()));
-                }
+            if (recommendedVersion.isPresent()) {
+                loaderVersionsDropDown.setSelectedIndex(loaderVersions.indexOf(recommendedVersion.get()));
             }
+        }
 
-            // ensures that the dropdown is at least 200 px wide
-            loaderVersionLength = Math.max(200, loaderVersionLength);
+        // ensures that the dropdown is at least 200 px wide
+        loaderVersionLength = Math.max(200, loaderVersionLength);
 
-            // ensures that there is a maximum width of 400 px to prevent overflow
-            loaderVersionLength = Math.min(400, loaderVersionLength);
+        // ensures that there is a maximum width of 400 px to prevent overflow
+        loaderVersionLength = Math.min(400, loaderVersionLength);
 
-            loaderVersionsDropDown.setPreferredSize(new Dimension(loaderVersionLength, 23));
+        loaderVersionsDropDown.setPreferredSize(new Dimension(loaderVersionLength, 23));
 
-            loaderTypeNoneRadioButton.setEnabled(true);
-            loaderTypeFabricRadioButton.setEnabled(true);
-            loaderTypeForgeRadioButton.setEnabled(true);
-            loaderTypeQuiltRadioButton.setEnabled(true);
-            loaderVersionsDropDown.setEnabled(true);
-            createServerButton.setEnabled(true);
-            createInstanceButton.setEnabled(true);
+        loaderTypeNoneRadioButton.setEnabled(true);
+        loaderTypeFabricRadioButton.setEnabled(true);
+        loaderTypeForgeRadioButton.setEnabled(true);
+        loaderTypeQuiltRadioButton.setEnabled(true);
+        loaderVersionsDropDown.setEnabled(true);
+        createServerButton.setEnabled(true);
+        createInstanceButton.setEnabled(true);
 
-            // update the name and description fields if they're not dirty
-            String defaultNameFieldValue = String.format("Minecraft %s with %s", selectedMinecraftVersion,
-                    selectedLoader.toString());
-            if (!nameFieldDirty) {
-                nameField.setText(defaultNameFieldValue);
-            }
-
-            if (!descriptionFieldDirty) {
-                descriptionField.setText(defaultNameFieldValue);
-            }
-        };
+        // update the name and description fields if they're not dirty
+        String defaultNameFieldValue = String.format("Minecraft %s with %s", selectedMinecraftVersion,
+                selectedLoader.toString());
+        if (!nameFieldDirty) {
+            nameField.setText(defaultNameFieldValue);
+        }
 
-        new Thread(r).start();
+        if (!descriptionFieldDirty) {
+            descriptionField.setText(defaultNameFieldValue);
+        }
     }
 
     private void setupBottomPanel() {
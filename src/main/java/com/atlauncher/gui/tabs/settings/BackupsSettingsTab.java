@@ -21,6 +21,8 @@ import java.awt.GridBagConstraints;
 
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 
 import com.atlauncher.App;
 import com.atlauncher.constants.UIConstants;
@@ -34,6 +36,9 @@ import org.mini2Dx.gettext.GetText;
 public class BackupsSettingsTab extends AbstractSettingsTab {
     private final JComboBox<ComboItem<BackupMode>> backupMode;
     private final JCheckBox enableAutomaticBackupAfterLaunch;
+    private final JCheckBox enableIncrementalBackups;
+    private final JSpinner backupsToKeep;
+    private final JSpinner backupThrottleSpeed;
 
     public BackupsSettingsTab() {
         // Backup mode
@@ -84,11 +89,76 @@ public class BackupsSettingsTab extends AbstractSettingsTab {
         enableAutomaticBackupAfterLaunch = new JCheckBox();
         enableAutomaticBackupAfterLaunch.setSelected(App.settings.enableAutomaticBackupAfterLaunch);
         add(enableAutomaticBackupAfterLaunch, gbc);
+
+        // Enable incremental backups
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover enableIncrementalBackupsLabel = new JLabelWithHover(
+                GetText.tr("Enable Incremental Backups") + "?", HELP_ICON,
+                "<html>" + GetText.tr(
+                        "If backups should only store files that have changed since the last backup, rather than creating a new zip file each time.")
+                        + "</html>");
+        add(enableIncrementalBackupsLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.CHECKBOX_FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        enableIncrementalBackups = new JCheckBox();
+        enableIncrementalBackups.setSelected(App.settings.enableIncrementalBackups);
+        add(enableIncrementalBackups, gbc);
+
+        // Backups to keep
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover backupsToKeepLabel = new JLabelWithHover(GetText.tr("Backups To Keep") + ":", HELP_ICON,
+                "<html>" + GetText.tr(
+                        "How many incremental backups to keep for each instance. Older backups are removed. Set to 0 to keep all backups.")
+                        + "</html>");
+        add(backupsToKeepLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel backupsToKeepModel = new SpinnerNumberModel(App.settings.backupsToKeep, null, null, 1);
+        backupsToKeepModel.setMinimum(0);
+        backupsToKeep = new JSpinner(backupsToKeepModel);
+        add(backupsToKeep, gbc);
+
+        // Backup throttle speed
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover backupThrottleSpeedLabel = new JLabelWithHover(GetText.tr("Backup Speed While Playing") + ":",
+                HELP_ICON,
+                "<html>" + GetText.tr(
+                        "The maximum speed (in MB/s) that incremental backups will read files at while Minecraft is running. Set to 0 for no limit.")
+                        + "</html>");
+        add(backupThrottleSpeedLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel backupThrottleSpeedModel = new SpinnerNumberModel(App.settings.backupThrottleSpeed, null,
+                null, 1);
+        backupThrottleSpeedModel.setMinimum(0);
+        backupThrottleSpeed = new JSpinner(backupThrottleSpeedModel);
+        add(backupThrottleSpeed, gbc);
     }
 
     public void save() {
         App.settings.backupMode = ((ComboItem<BackupMode>) backupMode.getSelectedItem()).getValue();
         App.settings.enableAutomaticBackupAfterLaunch = enableAutomaticBackupAfterLaunch.isSelected();
+        App.settings.enableIncrementalBackups = enableIncrementalBackups.isSelected();
+        App.settings.backupsToKeep = (Integer) backupsToKeep.getValue();
+        App.settings.backupThrottleSpeed = (Integer) backupThrottleSpeed.getValue();
     }
 
     @Override
@@ -86,6 +86,10 @@ public class JavaSettingsTab extends AbstractSettingsTab implements Relocalizati
     private final JCheckBox ignoreJavaOnInstanceLaunch;
     private final JLabelWithHover useJavaProvidedByMinecraftLabel;
     private final JCheckBox useJavaProvidedByMinecraft;
+    private final JLabelWithHover enableClassDataSharingLabel;
+    private final JCheckBox enableClassDataSharing;
+    private final JLabelWithHover enableAdaptiveJavaArgumentsLabel;
+    private final JCheckBox enableAdaptiveJavaArguments;
 
     public JavaSettingsTab() {
         int systemRam = OS.getSystemRam();
@@ -425,6 +429,44 @@ public class JavaSettingsTab extends AbstractSettingsTab implements Relocalizati
             }
         });
         add(useJavaProvidedByMinecraft, gbc);
+
+        // Enable Class Data Sharing
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        enableClassDataSharingLabel = new JLabelWithHover(GetText.tr("Speed Up Startup With Class Data Sharing") + "?",
+                HELP_ICON, new HTMLBuilder().center().text(GetText.tr(
+                        "This records the classes Minecraft loads the first time an instance is launched, so that later launches can load them faster. Needs Java 13 or newer.<br/><br/>The recording is made again when the instance's libraries, mods or Java version changes."))
+                        .build());
+        add(enableClassDataSharingLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.CHECKBOX_FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        enableClassDataSharing = new JCheckBox();
+        enableClassDataSharing.setSelected(App.settings.enableClassDataSharing);
+        add(enableClassDataSharing, gbc);
+
+        // Enable Adaptive Java Arguments
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        enableAdaptiveJavaArgumentsLabel = new JLabelWithHover(GetText.tr("Automatically Tune Java Arguments") + "?",
+                HELP_ICON, new HTMLBuilder().center().text(GetText.tr(
+                        "This sizes the memory and picks the garbage collector for each instance based on its mods, the version of Java being used and this computer's RAM and processors.<br/><br/>If you've picked a garbage collector in the Java Parameters, it won't be changed."))
+                        .build());
+        add(enableAdaptiveJavaArgumentsLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.CHECKBOX_FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        enableAdaptiveJavaArguments = new JCheckBox();
+        enableAdaptiveJavaArguments.setSelected(App.settings.enableAdaptiveJavaArguments);
+        add(enableAdaptiveJavaArguments, gbc);
     }
 
     public boolean isValidJavaPath() {
@@ -462,6 +504,8 @@ public class JavaSettingsTab extends AbstractSettingsTab implements Relocalizati
         App.settings.maximiseMinecraft = startMinecraftMaximised.isSelected();
         App.settings.ignoreJavaOnInstanceLaunch = ignoreJavaOnInstanceLaunch.isSelected();
         App.settings.useJavaProvidedByMinecraft = useJavaProvidedByMinecraft.isSelected();
+        App.settings.enableClassDataSharing = enableClassDataSharing.isSelected();
+        App.settings.enableAdaptiveJavaArguments = enableAdaptiveJavaArguments.isSelected();
     }
 
     @Override
@@ -518,6 +562,16 @@ public class JavaSettingsTab extends AbstractSettingsTab implements Relocalizati
         this.useJavaProvidedByMinecraftLabel.setToolTipText(new HTMLBuilder().center().text(GetText.tr(
                 "This allows you to enable/disable using the version of Java provided by the version of Minecraft you're running.<br/><br/>It's highly recommended to not disable this, unless you know what you're doing."))
                 .build());
+
+        this.enableClassDataSharingLabel.setText(GetText.tr("Speed Up Startup With Class Data Sharing") + "?");
+        this.enableClassDataSharingLabel.setToolTipText(new HTMLBuilder().center().text(GetText.tr(
+                "This records the classes Minecraft loads the first time an instance is launched, so that later launches can load them faster. Needs Java 13 or newer.<br/><br/>The recording is made again when the instance's libraries, mods or Java version changes."))
+                .build());
+
+        this.enableAdaptiveJavaArgumentsLabel.setText(GetText.tr("Automatically Tune Java Arguments") + "?");
+        this.enableAdaptiveJavaArgumentsLabel.setToolTipText(new HTMLBuilder().center().text(GetText.tr(
+                "This sizes the memory and picks the garbage collector for each instance based on its mods, the version of Java being used and this computer's RAM and processors.<br/><br/>If you've picked a garbage collector in the Java Parameters, it won't be changed."))
+                .build());
     }
 
     @Override
@@ -20,10 +20,10 @@ package com.atlauncher.managers;
 import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.LinkedList;
 import java.util.List;
@@ -38,7 +38,6 @@ import com.atlauncher.data.MicrosoftAccount;
 import com.atlauncher.data.MojangAccount;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.utils.Utils;
-import com.google.gson.JsonIOException;
 import com.google.gson.reflect.TypeToken;
 
 import org.mini2Dx.gettext.GetText;
@@ -153,15 +152,12 @@ public class AccountManager {
     }
 
     public static void saveAccounts() {
-        saveAccounts(Data.ACCOUNTS);
+        saveAccounts(Data.ACCOUNTS.snapshot());
     }
 
     private static void saveAccounts(List<AbstractAccount> accounts) {
-        try (FileWriter fileWriter = new FileWriter(FileSystem.ACCOUNTS.toFile())) {
-            Gsons.DEFAULT.toJson(accounts, abstractAccountListType, fileWriter);
-        } catch (JsonIOException | IOException e) {
-            LogManager.logStackTrace(e);
-        }
+        PersistenceManager.queue(FileSystem.ACCOUNTS, () -> PersistenceManager.writeJson(FileSystem.ACCOUNTS,
+                Gsons.DEFAULT_SLIM, accounts, abstractAccountListType, Charset.defaultCharset()));
     }
 
     public static void addAccount(AbstractAccount account) {
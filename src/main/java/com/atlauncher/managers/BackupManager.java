@@ -0,0 +1,332 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.BackupMode;
+import com.atlauncher.data.BackupSnapshot;
+import com.atlauncher.data.BackupSnapshotFile;
+import com.atlauncher.data.BackupTask;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.Server;
+import com.atlauncher.utils.ArchiveUtils;
+import com.atlauncher.utils.ZipNameMapper;
+
+import org.mini2Dx.gettext.GetText;
+import org.zeroturnaround.zip.NameMapper;
+
+/**
+ * Manages backups of instances and servers. Instance backups are snapshots in the incremental {@link BackupRepository}
+ * when enabled, otherwise backups are zipped into the backups folder.
+ */
+public class BackupManager {
+    private static final BackupRepository REPOSITORY = new BackupRepository(FileSystem.BACKUP_CHUNKS,
+            FileSystem.BACKUP_SNAPSHOTS);
+
+    /**
+     * Guards the repository so that snapshots aren't created while unreferenced chunks are being cleaned up.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Queued backups run one at a time on a single low priority thread, so they don't compete with the launcher or a
+     * game that's starting up.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Backup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private static final List<BackupTask> TASKS = new CopyOnWriteArrayList<>();
+
+    private interface BackupWork {
+        void run(BackupTask task) throws IOException;
+    }
+
+    /**
+     * Queues a backup of the instance to run in the background.
+     */
+    public static BackupTask queueBackup(Instance instance, BackupMode backupMode) {
+        return queue(new BackupTask(instance.launcher.name, instance.getRoot()), task -> {
+            if (App.settings.enableIncrementalBackups) {
+                createSnapshot(instance, backupMode, task);
+                pruneSnapshots(instance, App.settings.backupsToKeep);
+            } else {
+                createZipBackup(instance.getRoot(), instance.getSafeName(),
+                        ZipNameMapper.getMapperForBackupMode(backupMode));
+            }
+        });
+    }
+
+    /**
+     * Queues a backup of the entire server folder to run in the background.
+     */
+    public static BackupTask queueBackup(Server server) {
+        return queue(new BackupTask(server.name, server.getRoot()),
+                task -> createZipBackup(server.getRoot(), "Server-" + server.getSafeName(), ZipNameMapper.FULL_BACKUP));
+    }
+
+    public static Optional<BackupTask> getActiveBackup(Path root) {
+        return TASKS.stream().filter(t -> t.root.equals(root) && t.isActive()).findFirst();
+    }
+
+    public static void cancelBackup(Path root) {
+        TASKS.stream().filter(t -> t.root.equals(root)).forEach(task -> {
+            task.cancel();
+
+            if (!task.isActive()) {
+                TASKS.remove(task);
+            }
+        });
+    }
+
+    /**
+     * Blocks until all the currently queued backups have finished.
+     */
+    public static void waitForBackups() {
+        try {
+            EXECUTOR.submit(() -> {
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            LogManager.logStackTrace("Failed waiting for backups to finish", e);
+        }
+    }
+
+    private static BackupTask queue(BackupTask task, BackupWork work) {
+        // no need to queue the same thing twice if the first one hasn't started yet
+        Optional<BackupTask> queuedTask = TASKS.stream()
+                .filter(t -> t.root.equals(task.root) && t.getState() == BackupTask.State.QUEUED).findFirst();
+        if (queuedTask.isPresent()) {
+            return queuedTask.get();
+        }
+
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            task.setState(BackupTask.State.RUNNING);
+
+            try {
+                work.run(task);
+
+                task.setState(BackupTask.State.COMPLETE);
+                App.TOASTER.pop(GetText.tr("Backup of {0} is complete", task.name));
+            } catch (InterruptedIOException e) {
+                task.setState(BackupTask.State.CANCELLED);
+                LogManager.info("Backup of " + task.name + " was cancelled");
+            } catch (Throwable t) {
+                task.setState(BackupTask.State.FAILED);
+                LogManager.logStackTrace("Failed to backup " + task.name, t);
+                App.TOASTER.popError(GetText.tr("Backup of {0} failed. Check the console for details", task.name));
+            } finally {
+                TASKS.remove(task);
+            }
+        }, null);
+
+        // the future is set before the task can be seen, so it can always be cancelled and removed
+        task.setFuture(future);
+        task.setState(BackupTask.State.QUEUED);
+        TASKS.add(task);
+        EXECUTOR.execute(future);
+
+        return task;
+    }
+
+    private static void createZipBackup(Path root, String name, NameMapper nameMapper) throws IOException {
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        String time = timestamp.toString().replaceAll("[^0-9]", "_");
+        String filename = name + "-" + time.substring(0, time.lastIndexOf("_")) + ".zip";
+
+        if (!ArchiveUtils.createZip(root, FileSystem.BACKUPS.resolve(filename), nameMapper, Collections.emptyMap())) {
+            throw new IOException("Failed to create backup " + filename);
+        }
+    }
+
+    public static BackupSnapshot createSnapshot(Instance instance, BackupMode backupMode) throws IOException {
+        return createSnapshot(instance, backupMode, null);
+    }
+
+    /**
+     * Creates a new snapshot of the instance.
+     *
+     * @param instance   the instance to backup
+     * @param backupMode what to backup
+     * @param task       the background task this is running as, if any. When running as a task files are processed
+     *                   one at a time, reads are throttled while Minecraft is running and the task can be cancelled
+     */
+    public static BackupSnapshot createSnapshot(Instance instance, BackupMode backupMode, BackupTask task)
+            throws IOException {
+        PersistenceManager.flush(instance);
+
+        synchronized (LOCK) {
+            PerformanceManager.start();
+
+            try {
+                Path root = instance.getRoot();
+                NameMapper nameMapper = ZipNameMapper.getMapperForBackupMode(backupMode);
+
+                // files which haven't changed since the last snapshot can reuse the chunks from it
+                Map<String, BackupSnapshotFile> previousFiles = getSnapshots(instance).stream().findFirst()
+                        .map(s -> s.files.stream()
+                                .collect(Collectors.toMap(f -> f.path, Function.identity(), (a, b) -> a)))
+                        .orElse(Collections.emptyMap());
+
+                // walk the instance rather than using the watched list of files, so nothing just written is missed
+                List<Map.Entry<String, Path>> files = new ArrayList<>(
+                        REPOSITORY.listFiles(root, nameMapper).entrySet());
+
+                BackupSnapshot snapshot = new BackupSnapshot();
+                snapshot.instance = instance.getSafeName();
+                snapshot.backupMode = backupMode;
+                snapshot.createdAt = System.currentTimeMillis();
+
+                if (task != null) {
+                    task.setTotal(files.size());
+                }
+
+                BackupRepository.ReadListener listener = task == null ? null : bytesRead -> {
+                    if (task.isCancelled()) {
+                        throw new InterruptedIOException("Backup was cancelled");
+                    }
+
+                    throttle(bytesRead);
+                };
+
+                try {
+                    Stream<Map.Entry<String, Path>> fileStream = task == null ? files.parallelStream() : files.stream();
+                    snapshot.files = fileStream.map(file -> {
+                        try {
+                            BackupSnapshotFile backedUpFile = REPOSITORY.storeFile(file.getValue(), file.getKey(),
+                                    previousFiles.get(file.getKey()), listener);
+
+                            if (task != null) {
+                                task.incrementProcessed();
+                            }
+
+                            return backedUpFile;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }).collect(Collectors.toList());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                snapshot.size = snapshot.files.stream().mapToLong(f -> f.size).sum();
+
+                REPOSITORY.saveSnapshot(instance.getSafeName(), snapshot);
+
+                LogManager.info(String.format("Created backup %s of %s with %d files", snapshot.name,
+                        instance.launcher.name, snapshot.files.size()));
+
+                return snapshot;
+            } finally {
+                PerformanceManager.end();
+            }
+        }
+    }
+
+    /**
+     * Gets the snapshots for the given instance, newest first.
+     */
+    public static List<BackupSnapshot> getSnapshots(Instance instance) {
+        return REPOSITORY.getSnapshots(instance.getSafeName());
+    }
+
+    /**
+     * Restores the instance to how it was when the snapshot was taken. Files which the snapshot would have backed up
+     * but which aren't in it are removed.
+     */
+    public static void restoreSnapshot(Instance instance, BackupSnapshot snapshot) throws IOException {
+        PersistenceManager.flush(instance);
+
+        synchronized (LOCK) {
+            REPOSITORY.restoreSnapshot(instance.getRoot(), snapshot,
+                    ZipNameMapper.getMapperForBackupMode(snapshot.backupMode));
+
+            LogManager.info(String.format("Restored backup %s of %s", snapshot.name, instance.launcher.name));
+        }
+    }
+
+    /**
+     * Moves the snapshots of an instance after it's been renamed, so they're still found under its new name.
+     */
+    public static void moveSnapshots(String oldSafeName, Instance instance) {
+        synchronized (LOCK) {
+            REPOSITORY.moveSnapshots(oldSafeName, instance.getSafeName());
+        }
+    }
+
+    /**
+     * Removes all but the given number of newest snapshots for the instance, then removes any chunks no longer used by
+     * any snapshot.
+     *
+     * @param instance the instance to prune snapshots for
+     * @param keep     the number of snapshots to keep, or 0 to keep them all
+     */
+    public static void pruneSnapshots(Instance instance, int keep) {
+        if (keep <= 0) {
+            return;
+        }
+
+        synchronized (LOCK) {
+            if (REPOSITORY.pruneSnapshots(instance.getSafeName(), keep)) {
+                REPOSITORY.removeUnusedChunks();
+            }
+        }
+    }
+
+    /**
+     * Slows down reading while Minecraft is running (or starting up) so that the backup doesn't fight the game for
+     * the disk.
+     */
+    private static void throttle(int bytesRead) throws InterruptedIOException {
+        if (App.launcher == null || !App.launcher.minecraftLaunched || App.settings.backupThrottleSpeed <= 0) {
+            return;
+        }
+
+        long bytesPerSecond = App.settings.backupThrottleSpeed * 1024L * 1024L;
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(bytesRead * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Backup was interrupted");
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.atlauncher.Gsons;
+import com.atlauncher.data.BackupSnapshot;
+import com.atlauncher.data.BackupSnapshotFile;
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonParseException;
+
+import org.zeroturnaround.zip.NameMapper;
+
+/**
+ * The incremental backup repository. Files are split into fixed size chunks which are stored once by their SHA-1
+ * hash, and each backup is a snapshot listing the chunks that make up each file. Snapshots are grouped into a folder
+ * per key, one for each instance.
+ */
+class BackupRepository {
+    /**
+     * Files are split into chunks of this size, so a large file with only a few changes (such as a region file in a
+     * world) only needs the changed chunks stored again.
+     */
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Called with the number of bytes in each chunk as it's read, letting the caller throttle or cancel the backup by
+     * throwing.
+     */
+    interface ReadListener {
+        void onRead(int bytesRead) throws IOException;
+    }
+
+    private final Path chunksPath;
+    private final Path snapshotsPath;
+
+    BackupRepository(Path chunksPath, Path snapshotsPath) {
+        this.chunksPath = chunksPath;
+        this.snapshotsPath = snapshotsPath;
+    }
+
+    /**
+     * Walks the given folder for the files (but not symbolic links) which the name mapper keeps, keyed by their path
+     * relative to the folder using forward slashes.
+     */
+    Map<String, Path> listFiles(Path root, NameMapper nameMapper) throws IOException {
+        Map<String, Path> files = new LinkedHashMap<>();
+
+        if (!Files.isDirectory(root)) {
+            return files;
+        }
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    String relativePath = root.relativize(file).toString().replace(File.separatorChar, '/');
+
+                    if (nameMapper.map(relativePath) != null) {
+                        files.put(relativePath, file);
+                    }
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                LogManager.logStackTrace(String.format("Unable to read %s for backup", file), e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return files;
+    }
+
+    /**
+     * Stores the chunks of the given file which aren't already in the repository. If the file is the same size and
+     * was last modified at the same time as the previous backup of it, then that's reused without reading the file.
+     */
+    BackupSnapshotFile storeFile(Path path, String relativePath, BackupSnapshotFile previousFile,
+            ReadListener listener) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        if (previousFile != null && previousFile.size == attributes.size()
+                && previousFile.lastModified == lastModified) {
+            return previousFile;
+        }
+
+        BackupSnapshotFile file = new BackupSnapshotFile();
+        file.path = relativePath;
+        file.size = attributes.size();
+        file.lastModified = lastModified;
+        file.chunks = new ArrayList<>();
+
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try (InputStream is = Files.newInputStream(path)) {
+            int read;
+            while ((read = readChunk(is, buffer)) > 0) {
+                if (listener != null) {
+                    listener.onRead(read);
+                }
+
+                String hash = Hashing.sha1(buffer, 0, read).toString();
+                storeChunk(hash, buffer, read);
+                file.chunks.add(hash);
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * Saves the snapshot under the given key, naming it by when it was created. Snapshots are never overwritten, so if
+     * one already has that name, a counter is added to the end.
+     *
+     * @return the name of the saved snapshot
+     */
+    String saveSnapshot(String key, BackupSnapshot snapshot) throws IOException {
+        Path path = getSnapshotsPath(key);
+        Files.createDirectories(path);
+
+        String baseName = new SimpleDateFormat("yyyy_MM_dd_HH_mm_ss_SSS").format(new Date(snapshot.createdAt));
+        String name = baseName;
+
+        for (int i = 1;; i++) {
+            try (Writer writer = Files.newBufferedWriter(path.resolve(name + ".json"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                Gsons.DEFAULT_SLIM.toJson(snapshot, writer);
+                snapshot.name = name;
+                return name;
+            } catch (FileAlreadyExistsException e) {
+                name = baseName + "_" + i;
+            }
+        }
+    }
+
+    /**
+     * Gets the snapshots saved under the given key, newest first.
+     */
+    List<BackupSnapshot> getSnapshots(String key) {
+        Path path = getSnapshotsPath(key);
+
+        if (!Files.isDirectory(path)) {
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> stream = Files.list(path)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(".json")).map(this::readSnapshot)
+                    .filter(s -> s != null).sorted(Comparator.comparingLong((BackupSnapshot s) -> s.createdAt)
+                            .thenComparing(s -> s.name).reversed())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to read backups for " + key, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Moves all the snapshots saved under one key to another, such as when an instance is renamed.
+     */
+    void moveSnapshots(String fromKey, String toKey) {
+        Path from = getSnapshotsPath(fromKey);
+
+        if (fromKey.equals(toKey) || !Files.isDirectory(from)) {
+            return;
+        }
+
+        if (!FileUtils.moveDirectoryContents(from, getSnapshotsPath(toKey))) {
+            LogManager.error(String.format("Failed to move backups of %s to %s", fromKey, toKey));
+            return;
+        }
+
+        FileUtils.deleteDirectory(from);
+    }
+
+    /**
+     * Restores the snapshot into the given folder. Files in the folder which the snapshot would have backed up but
+     * which aren't in it are deleted, so the folder ends up just as it was when the snapshot was taken.
+     *
+     * @param root       the folder to restore into
+     * @param snapshot   the snapshot to restore
+     * @param nameMapper the name mapper the snapshot was taken with
+     */
+    void restoreSnapshot(Path root, BackupSnapshot snapshot, NameMapper nameMapper) throws IOException {
+        try {
+            snapshot.files.parallelStream().forEach(file -> {
+                try {
+                    restoreFile(root, file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Set<String> snapshotPaths = snapshot.files.stream().map(f -> f.path).collect(Collectors.toSet());
+
+        for (Map.Entry<String, Path> file : listFiles(root, nameMapper).entrySet()) {
+            if (!snapshotPaths.contains(file.getKey())) {
+                Files.deleteIfExists(file.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all but the given number of newest snapshots saved under the key.
+     *
+     * @return if any snapshots were removed
+     */
+    boolean pruneSnapshots(String key, int keep) {
+        List<BackupSnapshot> snapshots = getSnapshots(key);
+
+        if (snapshots.size() <= keep) {
+            return false;
+        }
+
+        snapshots.subList(keep, snapshots.size()).forEach(snapshot -> {
+            LogManager.debug(String.format("Removing backup %s of %s", snapshot.name, key));
+            FileUtils.delete(getSnapshotsPath(key).resolve(snapshot.name + ".json"));
+        });
+
+        return true;
+    }
+
+    /**
+     * Removes any chunks which aren't used by a snapshot under any key.
+     */
+    void removeUnusedChunks() {
+        Set<String> usedChunks = new HashSet<>();
+
+        if (Files.isDirectory(snapshotsPath)) {
+            try (Stream<Path> stream = Files.walk(snapshotsPath)) {
+                stream.filter(p -> p.getFileName().toString().endsWith(".json")).map(this::readSnapshot)
+                        .filter(s -> s != null).forEach(s -> s.files.forEach(f -> usedChunks.addAll(f.chunks)));
+            } catch (IOException e) {
+                // if we can't tell which chunks are used, don't remove anything
+                LogManager.logStackTrace("Failed to read backups to remove unused chunks", e);
+                return;
+            }
+        }
+
+        if (!Files.isDirectory(chunksPath)) {
+            return;
+        }
+
+        try (Stream<Path> stream = Files.walk(chunksPath)) {
+            List<Path> unusedChunks = stream.filter(Files::isRegularFile)
+                    .filter(p -> !usedChunks.contains(p.getFileName().toString())).collect(Collectors.toList());
+
+            unusedChunks.forEach(FileUtils::delete);
+            LogManager.debug(String.format("Removed %d unused backup chunks", unusedChunks.size()));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to remove unused backup chunks", e);
+        }
+    }
+
+    Path getChunkPath(String hash) {
+        return chunksPath.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private void restoreFile(Path root, BackupSnapshotFile file) throws IOException {
+        Path path = root.resolve(file.path);
+        Path tempPath = path.resolveSibling(path.getFileName() + ".restoring");
+        Files.createDirectories(path.getParent());
+
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try (OutputStream os = Files.newOutputStream(tempPath)) {
+            for (String hash : file.chunks) {
+                try (InputStream is = new InflaterInputStream(Files.newInputStream(getChunkPath(hash)))) {
+                    int read;
+                    while ((read = is.read(buffer)) != -1) {
+                        os.write(buffer, 0, read);
+                    }
+                }
+            }
+        }
+
+        FileUtils.moveIntoPlace(tempPath, path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(file.lastModified));
+    }
+
+    private void storeChunk(String hash, byte[] buffer, int length) throws IOException {
+        Path chunkPath = getChunkPath(hash);
+
+        if (Files.exists(chunkPath)) {
+            return;
+        }
+
+        Files.createDirectories(chunkPath.getParent());
+        Path tempPath = chunkPath.resolveSibling(hash + "." + Thread.currentThread().getId() + ".tmp");
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream os = new DeflaterOutputStream(Files.newOutputStream(tempPath), deflater)) {
+            os.write(buffer, 0, length);
+        } finally {
+            deflater.end();
+        }
+
+        FileUtils.moveIntoPlace(tempPath, chunkPath);
+    }
+
+    private static int readChunk(InputStream is, byte[] buffer) throws IOException {
+        int total = 0;
+
+        while (total < buffer.length) {
+            int read = is.read(buffer, total, buffer.length - total);
+
+            if (read == -1) {
+                break;
+            }
+
+            total += read;
+        }
+
+        return total;
+    }
+
+    private BackupSnapshot readSnapshot(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            BackupSnapshot snapshot = Gsons.DEFAULT_SLIM.fromJson(reader, BackupSnapshot.class);
+
+            if (snapshot == null || snapshot.files == null) {
+                return null;
+            }
+
+            String fileName = path.getFileName().toString();
+            snapshot.name = fileName.substring(0, fileName.length() - ".json".length());
+
+            return snapshot;
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read backup " + path, e);
+            return null;
+        }
+    }
+
+    private Path getSnapshotsPath(String key) {
+        return snapshotsPath.resolve(key);
+    }
+}
@@ -23,6 +23,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -47,7 +48,7 @@ public class CheckingServersManager {
     public static void loadCheckingServers() {
         PerformanceManager.start();
         LogManager.debug("Loading servers to check");
-        Data.CHECKING_SERVERS.clear();
+        List<MinecraftServer> servers = new ArrayList<>();
 
         if (Files.exists(FileSystem.CHECKING_SERVERS_JSON)) {
             FileReader fileReader;
@@ -58,7 +59,7 @@ public class CheckingServersManager {
                 return;
             }
 
-            Data.CHECKING_SERVERS.addAll(Gsons.DEFAULT.fromJson(fileReader, MinecraftServer.LIST_TYPE));
+            servers.addAll(Gsons.DEFAULT.fromJson(fileReader, MinecraftServer.LIST_TYPE));
 
             if (fileReader != null) {
                 try {
@@ -70,6 +71,8 @@ public class CheckingServersManager {
                 }
             }
         }
+
+        Data.CHECKING_SERVERS.setAll(servers);
         LogManager.debug("Finished loading servers to check");
         PerformanceManager.end();
     }
@@ -84,7 +87,7 @@ public class CheckingServersManager {
 
             fw = new FileWriter(FileSystem.CHECKING_SERVERS_JSON.toFile());
             bw = new BufferedWriter(fw);
-            bw.write(Gsons.DEFAULT.toJson(Data.CHECKING_SERVERS));
+            bw.write(Gsons.DEFAULT.toJson(Data.CHECKING_SERVERS.snapshot()));
         } catch (IOException e) {
             LogManager.logStackTrace(e);
         } finally {
@@ -0,0 +1,138 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.Instance;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.javafinder.JavaInfo;
+
+/**
+ * Uses Java's class data sharing (AppCDS) to speed up starting Minecraft, when it's been turned on in the settings.
+ *
+ * The first time an instance is launched, Java is asked to record the classes it loaded into an archive when it exits.
+ * Later launches then map that archive in rather than loading and verifying every class again. Archives are named
+ * after a hash of the classpath, the mods and the Java runtime, so when any of those change a new archive is recorded
+ * and the old one is removed. If Java can't use an archive for some reason, it ignores it and starts normally.
+ */
+public class ClassDataSharingManager {
+    /**
+     * Dynamic archives (-XX:ArchiveClassesAtExit) were added in Java 13.
+     */
+    private static final int MINIMUM_JAVA_VERSION = 13;
+
+    /**
+     * Gets the arguments to pass to Java to record or use the class data sharing archive for an instance.
+     *
+     * @param instance  the instance being launched
+     * @param javaPath  the path to the Java executable being launched
+     * @param classpath the classpath Minecraft is being launched with
+     * @return the arguments to add, which is empty when class data sharing is off or not supported
+     */
+    public static List<String> getArguments(Instance instance, String javaPath, String classpath) {
+        if (!App.settings.enableClassDataSharing) {
+            return Collections.emptyList();
+        }
+
+        JavaInfo javaInfo = new JavaInfo(javaPath);
+        if (javaInfo.majorVersion == null || javaInfo.majorVersion < MINIMUM_JAVA_VERSION) {
+            LogManager.debug("Not using class data sharing as Java " + javaInfo.version + " doesn't support it");
+            return Collections.emptyList();
+        }
+
+        String prefix = instance.getSafeName() + "-";
+        Path archive = FileSystem.CDS.resolve(prefix + getKey(instance, javaPath, javaInfo, classpath) + ".jsa");
+
+        removeOldArchives(prefix, archive);
+
+        if (Files.exists(archive)) {
+            LogManager.info("Using class data sharing archive " + archive.getFileName());
+            return Collections.singletonList("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+        }
+
+        LogManager.info("Recording class data sharing archive " + archive.getFileName() + " for the next launch");
+        return Collections.singletonList("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+    }
+
+    /**
+     * Hashes everything which, if changed, would make the archive out of date.
+     */
+    private static String getKey(Instance instance, String javaPath, JavaInfo javaInfo, String classpath) {
+        StringBuilder key = new StringBuilder();
+
+        key.append(javaPath).append('|').append(javaInfo.version).append('|')
+                .append(describeFile(new File(javaPath))).append('\n');
+
+        for (String entry : classpath.split(File.pathSeparator)) {
+            key.append(entry).append('|').append(describeFile(new File(entry))).append('\n');
+        }
+
+        File[] mods = instance.ROOT.resolve("mods").toFile().listFiles();
+        if (mods != null) {
+            Arrays.sort(mods);
+
+            for (File mod : mods) {
+                key.append(mod.getName()).append('|').append(describeFile(mod)).append('\n');
+            }
+        }
+
+        return Hashing.sha1(key.toString()).toString();
+    }
+
+    private static String describeFile(File file) {
+        return file.length() + "|" + file.lastModified();
+    }
+
+    private static void removeOldArchives(String prefix, Path current) {
+        List<Path> oldArchives = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(FileSystem.CDS, prefix + "*.jsa")) {
+            for (Path path : stream) {
+                // safe names can start with another instance's safe name, so make sure only the hash follows it
+                String hash = path.getFileName().toString().substring(prefix.length()).replace(".jsa", "");
+
+                if (!path.equals(current) && hash.matches("[0-9a-f]{40}")) {
+                    oldArchives.add(path);
+                }
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to look for old class data sharing archives", e);
+        }
+
+        for (Path path : oldArchives) {
+            try {
+                Files.deleteIfExists(path);
+                LogManager.debug("Removed old class data sharing archive " + path.getFileName());
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to remove old class data sharing archive " + path.getFileName(), e);
+            }
+        }
+    }
+}
@@ -41,8 +41,6 @@ public class CurseForgeUpdateManager {
 
         boolean refreshInstancesPanel = Data.INSTANCES.parallelStream()
                 .filter(i -> i.isCurseForgePack() && i.hasCurseForgeProjectId()).map(i -> {
-                    boolean wasUpdated = false;
-
                     CurseForgeProject curseForgeMod = CurseForgeApi.getProjectById(
                             i.launcher.curseForgeManifest != null ? i.launcher.curseForgeManifest.projectID
                                     : i.launcher.curseForgeProject.id);
@@ -61,15 +59,11 @@ public class CurseForgeUpdateManager {
 
                     // if there is a change to the latestversion for an instance (but not a first
                     // time write), then refresh instances panel
-                    if (Data.CURSEFORGE_INSTANCE_LATEST_VERSION.containsKey(i)
-                            && Data.CURSEFORGE_INSTANCE_LATEST_VERSION.get(i).id != latestVersion.id) {
-                        wasUpdated = true;
-                    }
-
-                    Data.CURSEFORGE_INSTANCE_LATEST_VERSION.put(i, latestVersion);
+                    CurseForgeProjectLatestFile previousVersion = Data.CURSEFORGE_INSTANCE_LATEST_VERSION.put(i,
+                            latestVersion);
 
-                    return wasUpdated;
-                }).anyMatch(b -> b);
+                    return previousVersion != null && previousVersion.id != latestVersion.id;
+                }).reduce(false, (a, b) -> a || b); // not anyMatch, which would stop checking after an update
 
         if (refreshInstancesPanel) {
             App.launcher.reloadInstancesPanel();
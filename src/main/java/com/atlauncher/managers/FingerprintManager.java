@@ -0,0 +1,225 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.CachedFingerprint;
+import com.atlauncher.data.DisableableMod;
+import com.atlauncher.data.curseforge.CurseForgeFingerprint;
+import com.atlauncher.data.curseforge.CurseForgeFingerprintedMod;
+import com.atlauncher.data.curseforge.CurseForgeProject;
+import com.atlauncher.utils.CurseForgeApi;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Works out the CurseForge fingerprints of files and looks them up on CurseForge.
+ *
+ * Fingerprints are remembered along with the size and last modified time of the file, so a file is only read again
+ * once it changes. Only the most recently used fingerprints are kept, so the cache doesn't keep growing as instances
+ * come and go.
+ */
+public class FingerprintManager {
+    private static final int MAX_CACHED = 10000;
+
+    private static final Type TYPE = new TypeToken<Map<String, CachedFingerprint>>() {
+    }.getType();
+
+    private static final Map<String, CachedFingerprint> CACHE = new LinkedHashMap<String, CachedFingerprint>(16, 0.75f,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedFingerprint> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    static {
+        load();
+    }
+
+    /**
+     * Gets the CurseForge fingerprint of the given file, only reading it if it has changed since it was last hashed.
+     */
+    public static long getFingerprint(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        String key = path.toAbsolutePath().toString();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (CACHE) {
+            CachedFingerprint cached = CACHE.get(key);
+
+            if (cached != null && cached.size == attributes.size() && cached.lastModified == lastModified) {
+                return cached.fingerprint;
+            }
+        }
+
+        long fingerprint = Hashing.murmur(path);
+
+        synchronized (CACHE) {
+            CACHE.put(key, new CachedFingerprint(fingerprint, attributes.size(), lastModified));
+        }
+        save();
+
+        return fingerprint;
+    }
+
+    /**
+     * Gets the CurseForge fingerprints of the given files, hashing any which have changed at the same time as each
+     * other. Files which can't be read are left out.
+     */
+    public static Map<Path, Long> getFingerprints(Collection<Path> paths) {
+        Map<Path, Long> fingerprints = new ConcurrentHashMap<>();
+
+        new HashSet<>(paths).parallelStream().forEach(path -> {
+            try {
+                fingerprints.put(path, getFingerprint(path));
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to get fingerprint of " + path, e);
+            }
+        });
+
+        return fingerprints;
+    }
+
+    /**
+     * Finds the given mods on CurseForge with one request for all of their fingerprints and one request for the
+     * projects found, then adds the CurseForge information to each mod that was found.
+     *
+     * @param mods the mods to look up, along with the file on disk for each of them
+     */
+    public static void addCurseForgeInformation(Map<DisableableMod, Path> mods) {
+        if (App.settings.dontCheckModsOnCurseForge || mods.isEmpty()) {
+            return;
+        }
+
+        Map<Path, Long> fingerprints = getFingerprints(mods.values());
+        Map<Long, List<DisableableMod>> modsByFingerprint = new HashMap<>();
+
+        mods.forEach((mod, path) -> {
+            Long fingerprint = fingerprints.get(path);
+
+            if (fingerprint != null) {
+                modsByFingerprint.computeIfAbsent(fingerprint, f -> new ArrayList<>()).add(mod);
+            }
+        });
+
+        if (modsByFingerprint.isEmpty()) {
+            return;
+        }
+
+        CurseForgeFingerprint fingerprintResponse = CurseForgeApi
+                .checkFingerprints(modsByFingerprint.keySet().toArray(new Long[0]));
+
+        if (fingerprintResponse == null || fingerprintResponse.exactMatches == null) {
+            return;
+        }
+
+        int[] projectIdsFound = fingerprintResponse.exactMatches.stream().filter(em -> em != null)
+                .mapToInt(em -> em.id).distinct().toArray();
+
+        if (projectIdsFound.length == 0) {
+            return;
+        }
+
+        Map<Integer, CurseForgeProject> foundProjects = CurseForgeApi.getProjectsAsMap(projectIdsFound);
+
+        if (foundProjects == null) {
+            return;
+        }
+
+        for (CurseForgeFingerprintedMod foundMod : fingerprintResponse.exactMatches) {
+            if (foundMod == null || foundMod.file == null) {
+                continue;
+            }
+
+            List<DisableableMod> matchingMods = modsByFingerprint.get(foundMod.file.packageFingerprint);
+
+            if (matchingMods == null) {
+                continue;
+            }
+
+            CurseForgeProject curseForgeProject = foundProjects.get(foundMod.id);
+
+            for (DisableableMod mod : matchingMods) {
+                mod.curseForgeProjectId = foundMod.id;
+                mod.curseForgeFile = foundMod.file;
+                mod.curseForgeFileId = foundMod.file.id;
+
+                if (curseForgeProject != null) {
+                    mod.curseForgeProject = curseForgeProject;
+                    mod.name = curseForgeProject.name;
+                    mod.description = curseForgeProject.summary;
+                }
+
+                LogManager.debug("Found matching mod from CurseForge called " + mod.curseForgeFile.displayName);
+            }
+        }
+    }
+
+    private static void save() {
+        PersistenceManager.queue(FingerprintManager.class, () -> {
+            Map<String, CachedFingerprint> fingerprints;
+
+            synchronized (CACHE) {
+                fingerprints = new LinkedHashMap<>(CACHE);
+            }
+
+            PersistenceManager.writeJson(FileSystem.FINGERPRINTS_JSON, Gsons.DEFAULT_SLIM, fingerprints, TYPE,
+                    StandardCharsets.UTF_8);
+        });
+    }
+
+    private static void load() {
+        if (!Files.exists(FileSystem.FINGERPRINTS_JSON)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(FileSystem.FINGERPRINTS_JSON, StandardCharsets.UTF_8)) {
+            Map<String, CachedFingerprint> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                saved.values().removeIf(cached -> cached == null);
+
+                synchronized (CACHE) {
+                    CACHE.putAll(saved);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read cached fingerprints", e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.SwingUtilities;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Network;
+import com.atlauncher.utils.Hashing;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Loads, scales and caches the images shown on cards and tabs.
+ *
+ * Scaled images are kept in a memory cache limited by size, and thumbnails of remote images are also kept on disk so
+ * they don't need to be downloaded and decoded again, with old thumbnails cleaned up when the launcher starts. Images
+ * are decoded subsampled to roughly the size they'll be shown at, rather than decoding the full image just to throw
+ * most of it away.
+ */
+public final class ImageManager {
+    private static final long MAX_MEMORY_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * Thumbnails are removed from disk once they haven't been used for this long, or once the thumbnails take up more
+     * than this much space, least recently used first.
+     */
+    private static final long MAX_THUMBNAIL_AGE_MILLIS = TimeUnit.DAYS.toMillis(30);
+    private static final long MAX_DISK_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private static final Map<String, BufferedImage> MEMORY_CACHE = new LinkedHashMap<>(64, 0.75F, true);
+    private static long memoryCacheBytes = 0;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, r -> {
+        Thread thread = new Thread(r, "ATLauncher Image Loader " + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ImageManager() {
+    }
+
+    /**
+     * Loads the image at the given url scaled to the given size in the background, then passes it to the callback on
+     * the Swing event dispatch thread. The callback isn't called if the image couldn't be loaded.
+     */
+    public static void loadRemoteImage(String url, int width, int height, Consumer<BufferedImage> callback) {
+        String key = "remote:" + url + ":" + width + "x" + height;
+
+        BufferedImage cached = getFromMemory(key);
+        if (cached != null) {
+            SwingUtilities.invokeLater(() -> callback.accept(cached));
+            return;
+        }
+
+        EXECUTOR.submit(() -> {
+            BufferedImage image = loadRemoteImage(key, url, width, height);
+
+            if (image != null) {
+                putInMemory(key, image);
+                SwingUtilities.invokeLater(() -> callback.accept(image));
+            }
+        });
+    }
+
+    /**
+     * Gets the image at the given path scaled to the given size. Scaled images are cached in memory until the file
+     * changes.
+     *
+     * @param centerSquareImages if square images should be scaled to the height and centered, rather than stretched
+     *                           to fill the whole size
+     * @return the scaled image, or null if it couldn't be read
+     */
+    public static BufferedImage getScaledImage(Path path, int width, int height, boolean centerSquareImages) {
+        String key;
+        try {
+            key = "local:" + path.toAbsolutePath() + ":" + Files.getLastModifiedTime(path).toMillis() + ":"
+                    + Files.size(path) + ":" + width + "x" + height + ":" + centerSquareImages;
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to read image " + path, e);
+            return null;
+        }
+
+        BufferedImage cached = getFromMemory(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BufferedImage image;
+        try (InputStream is = Files.newInputStream(path)) {
+            image = decode(is, width, height);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to read image " + path, e);
+            return null;
+        }
+
+        if (image == null) {
+            return null;
+        }
+
+        BufferedImage scaled;
+        if (centerSquareImages && image.getWidth() == image.getHeight() && width != height) {
+            int size = Math.min(width, height);
+            scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D g2d = scaled.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(image, (width - size) / 2, (height - size) / 2, size, size, null);
+            g2d.dispose();
+        } else {
+            scaled = scale(image, width, height);
+        }
+
+        putInMemory(key, scaled);
+
+        return scaled;
+    }
+
+    /**
+     * Removes thumbnails that haven't been used in a while, then the least recently used thumbnails until the rest fit
+     * in the disk cache. A thumbnail's last modified time is when it was last used.
+     */
+    public static void removeOldThumbnails() {
+        PerformanceManager.start();
+        List<Path> thumbnails;
+
+        try (Stream<Path> stream = Files.list(FileSystem.THUMBNAILS)) {
+            thumbnails = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to list thumbnails", e);
+            PerformanceManager.end();
+            return;
+        }
+
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        for (Path thumbnail : thumbnails) {
+            try {
+                attributes.put(thumbnail, Files.readAttributes(thumbnail, BasicFileAttributes.class));
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to read thumbnail " + thumbnail, e);
+            }
+        }
+
+        // newest first, so everything after the cache fills up is removed
+        List<Path> newestFirst = new ArrayList<>(attributes.keySet());
+        newestFirst.sort(Comparator.comparing((Path p) -> attributes.get(p).lastModifiedTime()).reversed());
+
+        long oldestAllowed = System.currentTimeMillis() - MAX_THUMBNAIL_AGE_MILLIS;
+        long totalBytes = 0;
+        int removed = 0;
+
+        for (Path thumbnail : newestFirst) {
+            BasicFileAttributes attrs = attributes.get(thumbnail);
+            totalBytes += attrs.size();
+
+            // anything not ending in .png is a temp file left over from the launcher closing while saving
+            if (totalBytes > MAX_DISK_CACHE_BYTES || attrs.lastModifiedTime().toMillis() < oldestAllowed
+                    || !thumbnail.getFileName().toString().endsWith(".png")) {
+                try {
+                    Files.deleteIfExists(thumbnail);
+                    removed++;
+                } catch (IOException e) {
+                    LogManager.logStackTrace("Failed to remove thumbnail " + thumbnail, e);
+                }
+            }
+        }
+
+        LogManager.debug(String.format("Removed %d old thumbnails", removed));
+        PerformanceManager.end();
+    }
+
+    private static BufferedImage loadRemoteImage(String key, String url, int width, int height) {
+        Path thumbnail = FileSystem.THUMBNAILS.resolve(Hashing.sha1(key).toString() + ".png");
+
+        if (Files.exists(thumbnail)) {
+            try {
+                BufferedImage image = ImageIO.read(thumbnail.toFile());
+
+                if (image != null) {
+                    markThumbnailUsed(thumbnail);
+                    return image;
+                }
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to read cached thumbnail for " + url, e);
+            }
+        }
+
+        Request request = new Request.Builder().url(url).build();
+        try (Response response = Network.CACHED_CLIENT.newCall(request).execute()) {
+            ResponseBody body = response.body();
+
+            if (!response.isSuccessful() || body == null) {
+                LogManager.error("Failed to download image " + url + " with status " + response.code());
+                return null;
+            }
+
+            BufferedImage decoded;
+            try (InputStream is = body.byteStream()) {
+                decoded = decode(is, width, height);
+            }
+
+            if (decoded == null) {
+                LogManager.error("Failed to decode image " + url);
+                return null;
+            }
+
+            BufferedImage image = scale(decoded, width, height);
+            saveThumbnail(thumbnail, image);
+
+            return image;
+        } catch (IOException | IllegalArgumentException e) {
+            LogManager.logStackTrace("Failed to load image " + url, e);
+            return null;
+        }
+    }
+
+    private static void saveThumbnail(Path thumbnail, BufferedImage image) {
+        Path tempFile = thumbnail.resolveSibling(thumbnail.getFileName() + "." + Thread.currentThread().getId());
+
+        try {
+            if (ImageIO.write(image, "png", tempFile.toFile())) {
+                Files.move(tempFile, thumbnail, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to save thumbnail " + thumbnail, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void markThumbnailUsed(Path thumbnail) {
+        try {
+            Files.setLastModifiedTime(thumbnail, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // not being able to mark it just means it may be removed sooner than needed
+            LogManager.debug("Failed to mark thumbnail " + thumbnail + " as used");
+        }
+    }
+
+    /**
+     * Decodes an image, skipping over pixels that won't be needed when it's shown at the given size.
+     */
+    private static BufferedImage decode(InputStream is, int width, int height) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(is)) {
+            if (iis == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+
+                // keep at least the target size so the final scale is always a downscale
+                int subsampling = Math.max(1,
+                        Math.min(reader.getWidth(0) / Math.max(1, width), reader.getHeight(0) / Math.max(1, height)));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        if (image.getWidth() == width && image.getHeight() == height) {
+            return image;
+        }
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+
+        return scaled;
+    }
+
+    private static synchronized BufferedImage getFromMemory(String key) {
+        return MEMORY_CACHE.get(key);
+    }
+
+    private static synchronized void putInMemory(String key, BufferedImage image) {
+        BufferedImage previous = MEMORY_CACHE.put(key, image);
+        if (previous != null) {
+            memoryCacheBytes -= getSize(previous);
+        }
+        memoryCacheBytes += getSize(image);
+
+        Iterator<BufferedImage> iterator = MEMORY_CACHE.values().iterator();
+        while (memoryCacheBytes > MAX_MEMORY_CACHE_BYTES && iterator.hasNext()) {
+            BufferedImage eldest = iterator.next();
+
+            // always keep the image that was just added
+            if (eldest == image) {
+                break;
+            }
+
+            memoryCacheBytes -= getSize(eldest);
+            iterator.remove();
+        }
+    }
+
+    private static long getSize(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
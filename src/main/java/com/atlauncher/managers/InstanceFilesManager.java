@@ -0,0 +1,433 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import com.atlauncher.data.InstanceFile;
+import com.atlauncher.utils.OS;
+
+/**
+ * Keeps a list of the files in each instance (or any other folder asked about) up to date by watching for changes,
+ * so that dialogs and the mod metadata index don't need to walk the whole folder each time.
+ *
+ * A folder is walked once the first time it's asked about. From then on, changes made to it (by the launcher,
+ * Minecraft or by hand) are applied as they come in, and any changes which haven't been applied yet are applied
+ * before each query. Where the platform can't tell us about changes as they happen (such as macOS, where Java
+ * checks for changes every few seconds) or a folder can't be watched, the folder is walked again for every query the
+ * same as before.
+ *
+ * Changes can take a moment to be reported, so backups and exports, which need to be exactly what's on disk, walk the
+ * folder themselves rather than using this.
+ */
+public class InstanceFilesManager {
+    private static final Object LOCK = new Object();
+
+    private static final Map<Path, Inventory> INVENTORIES = new ConcurrentHashMap<>();
+
+    private static final Map<WatchKey, Inventory> KEYS = new ConcurrentHashMap<>();
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static WatchService watchService;
+    private static WatchEvent.Modifier fileTreeModifier;
+    private static boolean watchServiceCreated = false;
+
+    /**
+     * Told about files being added, changed or removed in a watched folder.
+     */
+    public interface Listener {
+        /**
+         * @param root         the folder being watched
+         * @param relativePath the path of the file within the folder
+         * @param file         the file as it is now, or null if it was removed
+         */
+        void changed(Path root, String relativePath, InstanceFile file);
+    }
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Starts keeping track of the files in the given folder if it isn't already.
+     */
+    public static void track(Path root) {
+        getInventory(root);
+    }
+
+    /**
+     * Gets all the files (not folders) in the given folder and the folders within it.
+     */
+    public static List<InstanceFile> getFiles(Path root) {
+        return getInventory(root).files.values().stream().filter(file -> !file.directory)
+                .sorted(Comparator.comparing(file -> file.relativePath)).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the files and folders directly within the given folder of the root, such as "mods", or "" for the root
+     * itself.
+     */
+    public static List<InstanceFile> list(Path root, String folder) {
+        return getInventory(root).files.values().stream().filter(file -> file.getFolder().equals(folder))
+                .sorted(Comparator.comparing(file -> file.relativePath)).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the file at the given path within the root, or null if it doesn't exist.
+     */
+    public static InstanceFile getFile(Path root, String relativePath) {
+        return getInventory(root).files.get(relativePath);
+    }
+
+    /**
+     * Checks if the given file or folder within the root exists.
+     */
+    public static boolean exists(Path root, Path path) {
+        return getFile(root, normalize(root).relativize(normalize(path)).toString().replace('\\', '/')) != null;
+    }
+
+    /**
+     * Stops watching the given folder. This should be done before the folder is moved or deleted, as some platforms
+     * won't allow it while it's being watched.
+     */
+    public static void forget(Path root) {
+        synchronized (LOCK) {
+            Inventory inventory = INVENTORIES.remove(normalize(root));
+
+            if (inventory != null) {
+                inventory.cancel();
+            }
+        }
+    }
+
+    private static Inventory getInventory(Path root) {
+        Path normalizedRoot = normalize(root);
+
+        synchronized (LOCK) {
+            processPendingEvents();
+
+            Inventory inventory = INVENTORIES.get(normalizedRoot);
+
+            if (inventory == null) {
+                inventory = new Inventory(normalizedRoot);
+                INVENTORIES.put(normalizedRoot, inventory);
+                inventory.scan();
+            } else if (!inventory.live) {
+                inventory.scan();
+            }
+
+            return inventory;
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static WatchService getWatchService() {
+        if (!watchServiceCreated) {
+            watchServiceCreated = true;
+
+            try {
+                WatchService service = FileSystems.getDefault().newWatchService();
+
+                // polling watch services only notice changes every few seconds, so they can't keep the list up to date
+                if (service.getClass().getSimpleName().startsWith("Polling")) {
+                    service.close();
+                    return null;
+                }
+
+                // Windows can watch a whole tree with one handle, which also stops it locking every folder within it
+                if (OS.isWindows()) {
+                    try {
+                        fileTreeModifier = (WatchEvent.Modifier) Class
+                                .forName("com.sun.nio.file.ExtendedWatchEventModifier").getField("FILE_TREE")
+                                .get(null);
+                    } catch (ReflectiveOperationException e) {
+                        LogManager.warn("Cannot watch folders recursively, so each folder will be watched");
+                    }
+                }
+
+                watchService = service;
+
+                Thread thread = new Thread(InstanceFilesManager::watch, "ATLauncher Instance Files Watcher");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                thread.start();
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to watch for changes to instance files", e);
+            }
+        }
+
+        return watchService;
+    }
+
+    private static void watch() {
+        while (true) {
+            WatchKey key;
+
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            synchronized (LOCK) {
+                processEvents(key);
+            }
+        }
+    }
+
+    private static void processPendingEvents() {
+        if (watchService == null) {
+            return;
+        }
+
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            processEvents(key);
+        }
+    }
+
+    private static void processEvents(WatchKey key) {
+        Inventory inventory = KEYS.get(key);
+        List<WatchEvent<?>> events = key.pollEvents();
+
+        if (inventory != null) {
+            Path directory = (Path) key.watchable();
+
+            for (WatchEvent<?> event : events) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    inventory.scan();
+                    return;
+                }
+
+                inventory.update(directory.resolve((Path) event.context()));
+            }
+        }
+
+        if (!key.reset()) {
+            KEYS.remove(key);
+        }
+    }
+
+    private static class Inventory {
+        private final Path root;
+        private final Map<String, InstanceFile> files = new ConcurrentHashMap<>();
+        private final Set<WatchKey> keys = new HashSet<>();
+        private boolean live;
+
+        /**
+         * If watching the folder failed, in which case it's walked again for every query without trying to watch it.
+         */
+        private boolean unwatchable;
+
+        private Inventory(Path root) {
+            this.root = root;
+        }
+
+        /**
+         * Walks the whole folder again, watching it for changes if possible.
+         */
+        private void scan() {
+            cancel();
+            files.clear();
+
+            live = !unwatchable && getWatchService() != null && Files.isDirectory(root);
+
+            if (live && fileTreeModifier != null) {
+                register(root);
+            }
+
+            add(root, false);
+        }
+
+        private void cancel() {
+            keys.forEach(key -> {
+                key.cancel();
+                KEYS.remove(key);
+            });
+            keys.clear();
+        }
+
+        private void register(Path directory) {
+            try {
+                WatchKey key;
+
+                if (fileTreeModifier != null) {
+                    key = directory.register(watchService,
+                            new WatchEvent.Kind<?>[] { StandardWatchEventKinds.ENTRY_CREATE,
+                                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE },
+                            fileTreeModifier);
+                } else {
+                    key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                }
+
+                keys.add(key);
+                KEYS.put(key, this);
+            } catch (IOException e) {
+                if (live) {
+                    LogManager.warn("Cannot watch " + directory + " for changes, so " + root
+                            + " will be checked each time it's needed");
+                }
+
+                // stop watching the folders already registered, since changes to this one would be missed
+                cancel();
+                unwatchable = true;
+                live = false;
+            }
+        }
+
+        /**
+         * Adds the given file, or the given folder and everything in it.
+         */
+        private void add(Path start, boolean notify) {
+            try {
+                Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                        if (live && fileTreeModifier == null) {
+                            register(directory);
+                        }
+
+                        if (!directory.equals(root)) {
+                            put(directory, attributes, notify);
+                        }
+
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile()) {
+                            put(file, attributes, notify);
+                        }
+
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to list files in " + start, e);
+            }
+        }
+
+        /**
+         * Brings the given path up to date after being told it changed.
+         */
+        private void update(Path path) {
+            String relativePath = getRelativePath(path);
+
+            if (relativePath.isEmpty()) {
+                return;
+            }
+
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException e) {
+                InstanceFile removed = files.get(relativePath);
+
+                // a folder moved elsewhere in the tree keeps its old watch, so walk everything again next time
+                if (removed != null && removed.directory && fileTreeModifier == null) {
+                    live = false;
+                }
+
+                remove(relativePath);
+                return;
+            } catch (IOException e) {
+                return;
+            }
+
+            if (attributes.isDirectory()) {
+                if (!files.containsKey(relativePath)) {
+                    add(path, true);
+                }
+            } else if (attributes.isRegularFile()) {
+                put(path, attributes, true);
+            } else {
+                remove(relativePath);
+            }
+        }
+
+        private void put(Path path, BasicFileAttributes attributes, boolean notify) {
+            String relativePath = getRelativePath(path);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            long size = attributes.isDirectory() ? 0 : attributes.size();
+
+            InstanceFile existing = files.get(relativePath);
+            if (existing != null && existing.isSameAs(attributes.isDirectory(), size, lastModified)) {
+                return;
+            }
+
+            InstanceFile file = new InstanceFile(path, relativePath, attributes.isDirectory(), size, lastModified);
+            files.put(relativePath, file);
+
+            if (notify) {
+                LISTENERS.forEach(listener -> listener.changed(root, relativePath, file));
+            }
+        }
+
+        private void remove(String relativePath) {
+            List<String> removed = new ArrayList<>();
+
+            files.keySet().removeIf(key -> {
+                if (key.equals(relativePath) || key.startsWith(relativePath + "/")) {
+                    removed.add(key);
+                    return true;
+                }
+
+                return false;
+            });
+
+            removed.forEach(key -> LISTENERS.forEach(listener -> listener.changed(root, key, null)));
+        }
+
+        private String getRelativePath(Path path) {
+            return root.relativize(path).toString().replace('\\', '/');
+        }
+    }
+}
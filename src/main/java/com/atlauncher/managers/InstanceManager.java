@@ -20,8 +20,10 @@ package com.atlauncher.managers;
 import java.io.File;
 import java.io.FileReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.atlauncher.App;
@@ -32,11 +34,14 @@ import com.atlauncher.data.Instance;
 import com.atlauncher.data.InstanceV1;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.SearchIndex;
 import com.atlauncher.utils.Utils;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 public class InstanceManager {
+    private static InstanceIndex index = null;
+
     public static List<Instance> getInstances() {
         return Data.INSTANCES;
     }
@@ -53,7 +58,10 @@ public class InstanceManager {
     public static void loadInstances() {
         PerformanceManager.start();
         LogManager.debug("Loading instances");
-        Data.INSTANCES.clear();
+        List<Instance> instances = new ArrayList<>();
+
+        // make sure any instances waiting to be saved are on disk before reading them
+        PersistenceManager.flush();
 
         for (String folder : Optional.of(FileSystem.INSTANCES.toFile().list(Utils.getInstanceFileFilter()))
                 .orElse(new String[0])) {
@@ -113,7 +121,7 @@ public class InstanceManager {
                         instance.save();
                     }
 
-                    Data.INSTANCES.add(instance);
+                    instances.add(instance);
                 }
             } catch (Exception e2) {
                 LogManager.logStackTrace("Failed to load instance in the folder " + instanceDir, e2);
@@ -122,7 +130,7 @@ public class InstanceManager {
         }
 
         // convert all old system instances into just a Vanilla instance
-        Data.INSTANCES.forEach(instance -> {
+        instances.forEach(instance -> {
             if (instance.getPack() != null && instance.getPack().system) {
                 instance.launcher.vanillaInstance = true;
                 instance.launcher.packId = 0;
@@ -132,6 +140,9 @@ public class InstanceManager {
             }
         });
 
+        // swap them all in at once so nothing sees the instances half loaded
+        Data.INSTANCES.setAll(instances);
+
         LogManager.debug("Finished loading instances");
         PerformanceManager.end();
     }
@@ -150,8 +161,29 @@ public class InstanceManager {
         App.launcher.reloadInstancesPanel();
     }
 
+    /**
+     * Adds an instance, replacing the given instance (if any) in the same change so there's never a point where
+     * neither or both are in the list.
+     *
+     * @param instance  the instance to add
+     * @param replacing the instance being replaced, or null
+     */
+    public static void addInstance(Instance instance, Instance replacing) {
+        Data.INSTANCES.update(instances -> {
+            if (replacing != null) {
+                instances.remove(replacing);
+            }
+
+            instances.add(instance);
+        });
+    }
+
     public static void removeInstance(Instance instance) {
         if (Data.INSTANCES.remove(instance)) {
+            PersistenceManager.cancel(instance);
+            InstanceFilesManager.forget(instance.getRoot());
+            LaunchReadinessManager.clear(instance);
+            ModMetadataManager.forget(instance.getRoot());
             FileUtils.deleteDirectory(instance.getRoot());
             App.launcher.reloadInstancesPanel();
         }
@@ -164,8 +196,7 @@ public class InstanceManager {
      * @return True if there is an instance with the same name already
      */
     public static boolean isInstance(String name) {
-        return Data.INSTANCES.stream()
-                .anyMatch(i -> i.getSafeName().equalsIgnoreCase(name.replaceAll("[^A-Za-z0-9]", "")));
+        return isInstanceBySafeName(name.replaceAll("[^A-Za-z0-9]", ""));
     }
 
     /**
@@ -175,7 +206,7 @@ public class InstanceManager {
      * @return True if the instance is found from the name
      */
     public static boolean isInstanceByName(String name) {
-        return Data.INSTANCES.stream().anyMatch(i -> i.launcher.name.equalsIgnoreCase(name));
+        return getInstanceByName(name) != null;
     }
 
     /**
@@ -185,7 +216,7 @@ public class InstanceManager {
      * @return True if the instance is found from the name
      */
     public static boolean isInstanceBySafeName(String name) {
-        return Data.INSTANCES.stream().anyMatch(i -> i.getSafeName().equalsIgnoreCase(name));
+        return getInstanceBySafeName(name) != null;
     }
 
     /**
@@ -195,7 +226,7 @@ public class InstanceManager {
      * @return Instance if the instance is found from the name
      */
     public static Instance getInstanceByName(String name) {
-        return Data.INSTANCES.stream().filter(i -> i.launcher.name.equalsIgnoreCase(name)).findFirst().orElse(null);
+        return getIndex().byName.get(SearchIndex.fold(name));
     }
 
     /**
@@ -205,7 +236,7 @@ public class InstanceManager {
      * @return Instance if the instance is found from the name
      */
     public static Instance getInstanceBySafeName(String name) {
-        return Data.INSTANCES.stream().filter(i -> i.getSafeName().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return getIndex().bySafeName.get(SearchIndex.fold(name));
     }
 
     public static void cloneInstance(Instance instance, String clonedName) {
@@ -217,10 +248,55 @@ public class InstanceManager {
             clonedInstance.launcher.name = clonedName;
             clonedInstance.ROOT = FileSystem.INSTANCES.resolve(clonedInstance.getSafeName());
             FileUtils.createDirectory(clonedInstance.getRoot());
+            PersistenceManager.flush(instance);
             Utils.copyDirectory(instance.getRoot().toFile(), clonedInstance.getRoot().toFile());
             clonedInstance.save();
             Data.INSTANCES.add(clonedInstance);
             App.launcher.reloadInstancesPanel();
         }
     }
+
+    /**
+     * Finds the instances matching the given search. Instances match if their name contains the search, or if every
+     * word in the search is the start of a word in their name, pack name, version, Minecraft version or loader type.
+     *
+     * @param query the search to match
+     * @return the instances matching the search
+     */
+    public static List<Instance> searchInstances(String query) {
+        return getIndex().search.search(query);
+    }
+
+    /**
+     * Marks the instances as changed so that the indexes used to find and search them are built again when next
+     * needed. Adding and removing instances is picked up automatically, so this only needs to be called after
+     * renaming an instance.
+     */
+    public static synchronized void instancesChanged() {
+        index = null;
+    }
+
+    private static synchronized InstanceIndex getIndex() {
+        if (index == null || index.version != Data.INSTANCES.getVersion()) {
+            index = new InstanceIndex(Data.INSTANCES.getVersion(), Data.INSTANCES.snapshot());
+        }
+
+        return index;
+    }
+
+    private static class InstanceIndex {
+        private final long version;
+        private final Map<String, Instance> byName;
+        private final Map<String, Instance> bySafeName;
+        private final SearchIndex<Instance> search;
+
+        private InstanceIndex(long version, List<Instance> instances) {
+            this.version = version;
+            byName = SearchIndex.byKey(instances, i -> i.launcher.name);
+            bySafeName = SearchIndex.byKey(instances, Instance::getSafeName);
+            search = new SearchIndex<>(instances, i -> i.launcher.name,
+                    i -> Arrays.asList(i.launcher.name, i.launcher.pack, i.launcher.version, i.id,
+                            i.launcher.loaderVersion == null ? null : i.launcher.loaderVersion.type));
+        }
+    }
 }
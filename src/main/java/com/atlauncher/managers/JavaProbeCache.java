@@ -0,0 +1,188 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.Gsons;
+import com.atlauncher.data.JavaProbe;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The saved output of {@code java -version} for each Java executable, along with the size and last modified time the
+ * executable had when it was run.
+ *
+ * Executables are often given without their extension (such as {@code bin\javaw} on Windows), so when the path given
+ * doesn't exist, the {@code .exe} next to it is checked and cached instead. Executables which can't be checked at all
+ * are only remembered until the launcher closes.
+ */
+class JavaProbeCache {
+    private static final Type TYPE = new TypeToken<Map<String, JavaProbe>>() {
+    }.getType();
+
+    /**
+     * Runs {@code java -version} for the given executable, returning an empty string if it couldn't be run or didn't
+     * answer in time.
+     */
+    interface Prober {
+        String probe(String javaPath);
+    }
+
+    private final Map<String, JavaProbe> probes = new ConcurrentHashMap<>();
+
+    private final Map<String, String> unchecked = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final Prober prober;
+    private final Runnable onChange;
+
+    /**
+     * @param path     the file the probes are saved to
+     * @param prober   runs executables which aren't cached
+     * @param onChange called when the probes change and should be saved with {@link #write()}
+     */
+    JavaProbeCache(Path path, Prober prober, Runnable onChange) {
+        this.path = path;
+        this.prober = prober;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Gets the output of {@code java -version} for the given Java executable, only running it if it has changed since
+     * it was last run. Returns an empty string if it couldn't be run.
+     */
+    String getVersionInfo(String javaPath) {
+        String executablePath = getExecutablePath(javaPath);
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(Paths.get(executablePath), BasicFileAttributes.class);
+        } catch (Exception e) {
+            attributes = null;
+        }
+
+        if (attributes == null) {
+            if (probes.remove(executablePath) != null) {
+                onChange.run();
+            }
+
+            String versionInfo = unchecked.get(javaPath);
+
+            if (versionInfo == null) {
+                versionInfo = prober.probe(javaPath);
+
+                if (!versionInfo.isEmpty()) {
+                    unchecked.put(javaPath, versionInfo);
+                }
+            }
+
+            return versionInfo;
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        JavaProbe cached = probes.get(executablePath);
+
+        if (cached != null && cached.size == attributes.size() && cached.lastModified == lastModified) {
+            return cached.versionInfo;
+        }
+
+        String versionInfo = prober.probe(javaPath);
+
+        // only remember runs which answered, so a slow or failed run is tried again next time
+        if (!versionInfo.isEmpty()) {
+            probes.put(executablePath, new JavaProbe(versionInfo, attributes.size(), lastModified));
+            onChange.run();
+        }
+
+        return versionInfo;
+    }
+
+    /**
+     * Reads the saved probes, dropping any for executables which no longer exist (such as Java that's been
+     * uninstalled), since those are never asked about again to be removed.
+     */
+    void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        boolean pruned = false;
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Map<String, JavaProbe> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                for (Map.Entry<String, JavaProbe> entry : saved.entrySet()) {
+                    String javaPath = entry.getKey();
+                    JavaProbe probe = entry.getValue();
+
+                    if (javaPath == null || probe == null || probe.versionInfo == null) {
+                        continue;
+                    }
+
+                    if (!exists(javaPath)) {
+                        pruned = true;
+                        continue;
+                    }
+
+                    probes.put(javaPath, probe);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read cached Java versions", e);
+        }
+
+        if (pruned) {
+            onChange.run();
+        }
+    }
+
+    void write() throws IOException {
+        PersistenceManager.writeJson(path, Gsons.DEFAULT_SLIM, new HashMap<>(probes), TYPE, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the path of the file which is run for the given Java executable.
+     */
+    private static String getExecutablePath(String javaPath) {
+        if (!exists(javaPath) && exists(javaPath + ".exe")) {
+            return javaPath + ".exe";
+        }
+
+        return javaPath;
+    }
+
+    private static boolean exists(String javaPath) {
+        try {
+            return Files.exists(Paths.get(javaPath));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
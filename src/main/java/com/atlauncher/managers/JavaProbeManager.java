@@ -0,0 +1,147 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.atlauncher.FileSystem;
+
+/**
+ * Runs {@code java -version} for Java executables and remembers the output.
+ *
+ * The output is saved along with the size and last modified time of the executable, so an executable is only run
+ * again once it changes (such as when Java is updated in place). Executables are run a few at a time and are given a
+ * limited time to answer, so one broken install can't hold up finding the rest.
+ */
+public class JavaProbeManager {
+    private static final long PROBE_TIMEOUT_SECONDS = 10;
+
+    private static final JavaProbeCache CACHE = new JavaProbeCache(FileSystem.JAVA_PROBES_JSON,
+            JavaProbeManager::probe, JavaProbeManager::save);
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, r -> {
+        Thread thread = new Thread(r, "ATLauncher Java Probe " + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        CACHE.load();
+    }
+
+    /**
+     * Gets the output of {@code java -version} for the given Java executable, only running it if it has changed since
+     * it was last run. Returns an empty string if it couldn't be run.
+     */
+    public static String getVersionInfo(String javaPath) {
+        return CACHE.getVersionInfo(javaPath);
+    }
+
+    /**
+     * Gets the output of {@code java -version} for each of the given Java executables, running any which have changed
+     * at the same time as each other.
+     */
+    public static Map<String, String> getVersionInfos(Collection<String> javaPaths) {
+        List<String> paths = new ArrayList<>(new LinkedHashSet<>(javaPaths));
+        Map<String, String> versionInfos = new HashMap<>();
+
+        if (paths.size() == 1) {
+            versionInfos.put(paths.get(0), getVersionInfo(paths.get(0)));
+            return versionInfos;
+        }
+
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (String path : paths) {
+            tasks.add(() -> getVersionInfo(path));
+        }
+
+        try {
+            List<Future<String>> results = EXECUTOR.invokeAll(tasks);
+
+            for (int i = 0; i < paths.size(); i++) {
+                versionInfos.put(paths.get(i), results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LogManager.logStackTrace("Failed to check installed Java versions", e);
+        }
+
+        return versionInfos;
+    }
+
+    private static String probe(String javaPath) {
+        Process process = null;
+
+        try {
+            ProcessBuilder processBuilder = new ProcessBuilder(javaPath, "-version");
+            processBuilder.redirectErrorStream(true);
+
+            process = processBuilder.start();
+            process.getOutputStream().close();
+
+            // the output of -version is far smaller than the pipe's buffer, so it's safe to wait before reading it
+            if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LogManager.warn("Timed out checking the version of Java at " + javaPath);
+                return "";
+            }
+
+            StringBuilder sb = new StringBuilder();
+
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+
+                while ((line = br.readLine()) != null) {
+                    sb.append(line).append("\n");
+                }
+            }
+
+            return sb.toString().trim();
+        } catch (IOException e) {
+            LogManager.logStackTrace(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+
+        return "";
+    }
+
+    private static void save() {
+        PersistenceManager.queue(JavaProbeManager.class, CACHE::write);
+    }
+}
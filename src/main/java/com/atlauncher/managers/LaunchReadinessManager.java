@@ -0,0 +1,235 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.LaunchReadiness;
+import com.atlauncher.data.LaunchReadinessFile;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps track of which instances have had all the files they need to launch checked, so that launching them again
+ * doesn't need to check (and hash) every library, asset and runtime file when nothing has changed.
+ *
+ * After a full check, the size and last modified time of every file is saved along with a fingerprint of what the
+ * instance needs. As long as the fingerprint and all the files are still the same, the instance is ready to launch.
+ * Asset objects are only ever added or removed (never changed in place) so rather than checking each of the thousands
+ * of them, only the last modified time of the folders they're in is checked. The hashes of all the files are checked
+ * again in the background every so often in case something changed them without changing their size or last modified
+ * time.
+ *
+ * This is kept in the launcher's configs folder rather than in the instance so it isn't exported or backed up with it.
+ */
+public class LaunchReadinessManager {
+    private static final long REVERIFY_AFTER = TimeUnit.DAYS.toMillis(1);
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Launch Verifier");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Checks if all the files needed to launch the instance are the same as when they were last checked.
+     *
+     * @param fingerprint the current fingerprint of what the instance needs to launch
+     */
+    public static boolean isReady(Instance instance, String fingerprint) {
+        LaunchReadiness readiness = load(instance);
+
+        if (readiness == null || readiness.version != LaunchReadiness.CURRENT_VERSION
+                || !fingerprint.equals(readiness.fingerprint)) {
+            return false;
+        }
+
+        for (LaunchReadinessFile file : readiness.files) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(Paths.get(file.path),
+                        BasicFileAttributes.class);
+
+                if (attributes.size() != file.size || attributes.lastModifiedTime().toMillis() != file.lastModified) {
+                    LogManager.debug("Launch file " + file.path + " has changed since it was last checked");
+                    return false;
+                }
+            } catch (IOException e) {
+                LogManager.debug("Launch file " + file.path + " is missing");
+                return false;
+            }
+        }
+
+        for (LaunchReadinessFile folder : readiness.objectFolders) {
+            try {
+                if (Files.getLastModifiedTime(Paths.get(folder.path)).toMillis() != folder.lastModified) {
+                    LogManager.debug("Asset objects in " + folder.path + " have changed since they were last checked");
+                    return false;
+                }
+            } catch (IOException e) {
+                LogManager.debug("Asset objects folder " + folder.path + " is missing");
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Saves that the given files were all checked and are ready to launch the instance. If any of the files are missing
+     * or not the expected size, nothing is saved so the next launch checks everything again.
+     *
+     * @param fingerprint the fingerprint of what the instance needs to launch
+     * @param files       the files needed to launch, with the size they're expected to be (or 0 if not known)
+     */
+    public static void save(Instance instance, String fingerprint, List<LaunchReadinessFile> files) {
+        LaunchReadiness readiness = new LaunchReadiness();
+        readiness.fingerprint = fingerprint;
+        readiness.verifiedAt = System.currentTimeMillis();
+        Set<Path> objectFolders = new HashSet<>();
+        Path objectsPath = FileSystem.RESOURCES_OBJECTS.toAbsolutePath();
+
+        for (LaunchReadinessFile file : files) {
+            Path path = Paths.get(file.path);
+
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+                if (file.size > 0 && attributes.size() != file.size) {
+                    LogManager.warn("Launch file " + file.path + " isn't the expected size, so it will be checked again"
+                            + " next launch");
+                    clear(instance);
+                    return;
+                }
+
+                LaunchReadinessFile checkedFile = new LaunchReadinessFile(file.path, attributes.size(),
+                        attributes.lastModifiedTime().toMillis(), file.sha1);
+
+                if (path.startsWith(objectsPath)) {
+                    readiness.objects.add(checkedFile);
+                    objectFolders.add(path.getParent());
+                } else {
+                    readiness.files.add(checkedFile);
+                }
+            } catch (IOException e) {
+                LogManager.warn("Launch file " + file.path + " is missing, so it will be checked again next launch");
+                clear(instance);
+                return;
+            }
+        }
+
+        for (Path folder : objectFolders) {
+            try {
+                readiness.objectFolders.add(new LaunchReadinessFile(folder.toString(), 0,
+                        Files.getLastModifiedTime(folder).toMillis(), null));
+            } catch (IOException e) {
+                LogManager.warn("Asset objects folder " + folder + " is missing, so it will be checked again next"
+                        + " launch");
+                clear(instance);
+                return;
+            }
+        }
+
+        write(instance, readiness);
+    }
+
+    /**
+     * Checks the hashes of the instance's files in the background if they haven't been checked in a while. If any don't
+     * match, the instance will be fully checked on the next launch.
+     */
+    public static void verifyInBackground(Instance instance) {
+        LaunchReadiness readiness = load(instance);
+
+        if (readiness == null || System.currentTimeMillis() - readiness.verifiedAt < REVERIFY_AFTER) {
+            return;
+        }
+
+        EXECUTOR.execute(() -> {
+            List<LaunchReadinessFile> files = new ArrayList<>(readiness.files);
+            files.addAll(readiness.objects);
+
+            for (LaunchReadinessFile file : files) {
+                if (file.sha1 != null
+                        && !Hashing.sha1(Paths.get(file.path)).equals(Hashing.HashCode.fromString(file.sha1))) {
+                    LogManager.warn("Launch file " + file.path + " doesn't have the expected hash, so all files will be"
+                            + " checked next launch");
+                    clear(instance);
+                    return;
+                }
+            }
+
+            readiness.verifiedAt = System.currentTimeMillis();
+            write(instance, readiness);
+        });
+    }
+
+    /**
+     * Forgets that the instance was checked, so the next launch checks all the files again.
+     */
+    public static void clear(Instance instance) {
+        try {
+            Files.deleteIfExists(getPath(instance));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete launch readiness for " + instance.getName(), e);
+        }
+    }
+
+    private static Path getPath(Instance instance) {
+        return FileSystem.LAUNCH_READINESS.resolve(instance.getRoot().getFileName().toString() + ".json");
+    }
+
+    private static LaunchReadiness load(Instance instance) {
+        Path path = getPath(instance);
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return Gsons.DEFAULT_SLIM.fromJson(reader, LaunchReadiness.class);
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read launch readiness for " + instance.getName(), e);
+            return null;
+        }
+    }
+
+    private static synchronized void write(Instance instance, LaunchReadiness readiness) {
+        try (Writer writer = Files.newBufferedWriter(getPath(instance), StandardCharsets.UTF_8)) {
+            Gsons.DEFAULT_SLIM.toJson(readiness, writer);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to save launch readiness for " + instance.getName(), e);
+        }
+    }
+}
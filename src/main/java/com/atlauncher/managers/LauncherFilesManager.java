@@ -0,0 +1,131 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.DownloadableFile;
+import com.atlauncher.data.SyncedLauncherFile;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Keeps track of which of the launcher's files (from files.json) are up to date, so that checking for updated files
+ * doesn't need to hash every config, image and json file each time the launcher starts.
+ *
+ * When a file is known to match the hash in files.json, its size and last modified time are saved. As long as the
+ * hash in files.json and the file on disk stay the same, it's up to date without being read. Files which aren't known
+ * yet (or have changed) are hashed, at the same time as each other.
+ */
+public class LauncherFilesManager {
+    private static final Type TYPE = new TypeToken<Map<String, SyncedLauncherFile>>() {
+    }.getType();
+
+    private static final Map<String, SyncedLauncherFile> SYNCED = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    /**
+     * Gets the files which are missing or don't match their hash in files.json.
+     */
+    public static List<DownloadableFile> getChangedFiles(Collection<DownloadableFile> files) {
+        List<DownloadableFile> changed = files.parallelStream().filter(file -> !isUpToDate(file))
+                .collect(Collectors.toList());
+
+        save();
+
+        return changed;
+    }
+
+    /**
+     * Remembers that the file was downloaded, if it matches its hash in files.json.
+     */
+    public static void markSynced(Collection<DownloadableFile> files) {
+        files.parallelStream().forEach(LauncherFilesManager::isUpToDate);
+
+        save();
+    }
+
+    private static boolean isUpToDate(DownloadableFile file) {
+        String key = file.folder + "/" + file.name;
+        Path path = file.getPath();
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            SYNCED.remove(key);
+            return false;
+        }
+
+        SyncedLauncherFile synced = SYNCED.get(key);
+        if (synced != null && synced.sha1.equalsIgnoreCase(file.sha1) && synced.size == attributes.size()
+                && synced.lastModified == attributes.lastModifiedTime().toMillis()) {
+            return true;
+        }
+
+        if (!Hashing.sha1(path).equals(Hashing.HashCode.fromString(file.sha1))) {
+            SYNCED.remove(key);
+            return false;
+        }
+
+        SYNCED.put(key,
+                new SyncedLauncherFile(file.sha1, attributes.size(), attributes.lastModifiedTime().toMillis()));
+        return true;
+    }
+
+    private static void save() {
+        PersistenceManager.queue(LauncherFilesManager.class,
+                () -> PersistenceManager.writeJson(FileSystem.LAUNCHER_FILES_JSON, Gsons.DEFAULT_SLIM,
+                        new HashMap<>(SYNCED), TYPE, StandardCharsets.UTF_8));
+    }
+
+    private static void load() {
+        if (!Files.exists(FileSystem.LAUNCHER_FILES_JSON)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(FileSystem.LAUNCHER_FILES_JSON, StandardCharsets.UTF_8)) {
+            Map<String, SyncedLauncherFile> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                saved.values().removeIf(synced -> synced == null || synced.sha1 == null);
+                SYNCED.putAll(saved);
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read synced launcher files", e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.minecraft.VersionManifestVersion;
+import com.atlauncher.data.minecraft.VersionManifestVersionType;
+import com.atlauncher.data.minecraft.loaders.CachedLoaderVersions;
+import com.atlauncher.data.minecraft.loaders.LoaderType;
+import com.atlauncher.data.minecraft.loaders.LoaderVersion;
+import com.atlauncher.data.minecraft.loaders.fabric.FabricLoader;
+import com.atlauncher.data.minecraft.loaders.forge.ForgeLoader;
+import com.atlauncher.data.minecraft.loaders.quilt.QuiltLoader;
+import com.atlauncher.network.DownloadException;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Keeps the versions of Fabric, Forge and Quilt available for each Minecraft version, so that picking a Minecraft
+ * version doesn't need to wait on the loader's servers, and works when they can't be reached.
+ *
+ * Cached versions are always returned straight away. If they're more than a few hours old they're fetched again in the
+ * background for next time. Only one request for the same loader and Minecraft version is made at a time, and
+ * {@link #prefetch()} fetches the versions for every Minecraft version in the background when the launcher starts.
+ */
+public class LoaderVersionsManager {
+    private static final long REFRESH_AFTER = TimeUnit.HOURS.toMillis(6);
+
+    private static final Type TYPE = new TypeToken<Map<String, CachedLoaderVersions>>() {
+    }.getType();
+
+    private static final Map<String, CachedLoaderVersions> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<List<LoaderVersion>>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicBoolean prefetching = new AtomicBoolean(false);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "ATLauncher Loader Versions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Loader Versions Prefetcher");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        load();
+    }
+
+    /**
+     * Gets the versions of the loader which can be picked for the given Minecraft version, waiting for them to be
+     * fetched if they haven't been before.
+     */
+    public static List<LoaderVersion> getChoosableVersions(LoaderType loaderType, String minecraft) {
+        return getChoosableVersionsAsync(loaderType, minecraft).join();
+    }
+
+    /**
+     * Gets the versions of the loader which can be picked for the given Minecraft version. If they've been fetched
+     * before the returned future is already complete.
+     */
+    public static CompletableFuture<List<LoaderVersion>> getChoosableVersionsAsync(LoaderType loaderType,
+            String minecraft) {
+        CachedLoaderVersions cached = getCached(loaderType, minecraft);
+
+        if (cached == null) {
+            return fetch(loaderType, minecraft, EXECUTOR).thenApply(versions -> filter(loaderType, versions));
+        }
+
+        if (isStale(cached)) {
+            fetch(loaderType, cached.minecraftVersions == null ? minecraft : null, EXECUTOR);
+        }
+
+        return CompletableFuture.completedFuture(filter(loaderType, cached.versions));
+    }
+
+    /**
+     * Fetches the versions of every enabled loader for every Minecraft version which don't have recent versions
+     * cached, in the background.
+     */
+    public static void prefetch() {
+        if (!prefetching.compareAndSet(false, true)) {
+            return;
+        }
+
+        PREFETCH_EXECUTOR.execute(() -> {
+            try {
+                for (LoaderType loaderType : new LoaderType[] { LoaderType.FABRIC, LoaderType.QUILT }) {
+                    CachedLoaderVersions cached = CACHE.get(key(loaderType, null));
+
+                    if (isEnabled(loaderType) && (cached == null || isStale(cached))) {
+                        fetch(loaderType, null, Runnable::run);
+                    }
+                }
+
+                if (isEnabled(LoaderType.FORGE)) {
+                    List<String> disabled = ConfigManager.getConfigItem("loaders.forge.disabledMinecraftVersions",
+                            new ArrayList<String>());
+
+                    for (VersionManifestVersion version : MinecraftManager
+                            .getFilteredMinecraftVersions(VersionManifestVersionType.RELEASE)) {
+                        CachedLoaderVersions cached = CACHE.get(key(LoaderType.FORGE, version.id));
+
+                        if (!disabled.contains(version.id) && (cached == null || isStale(cached))) {
+                            fetch(LoaderType.FORGE, version.id, Runnable::run);
+                        }
+                    }
+                }
+            } catch (Throwable t) {
+                LogManager.logStackTrace("Error prefetching loader versions", t);
+            } finally {
+                prefetching.set(false);
+            }
+        });
+    }
+
+    private static boolean isEnabled(LoaderType loaderType) {
+        return ConfigManager.getConfigItem("loaders." + name(loaderType) + ".enabled", loaderType != LoaderType.QUILT);
+    }
+
+    private static boolean isStale(CachedLoaderVersions cached) {
+        return System.currentTimeMillis() - cached.fetchedAt > REFRESH_AFTER;
+    }
+
+    private static String name(LoaderType loaderType) {
+        return loaderType.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * The key for the versions of a loader for a Minecraft version, or for every Minecraft version when null.
+     */
+    private static String key(LoaderType loaderType, String minecraft) {
+        return minecraft == null ? name(loaderType) : name(loaderType) + ":" + minecraft;
+    }
+
+    private static CachedLoaderVersions getCached(LoaderType loaderType, String minecraft) {
+        CachedLoaderVersions single = CACHE.get(key(loaderType, minecraft));
+        CachedLoaderVersions all = CACHE.get(key(loaderType, null));
+
+        if (all != null && all.minecraftVersions != null && all.minecraftVersions.contains(minecraft)
+                && (single == null || all.fetchedAt > single.fetchedAt)) {
+            return all;
+        }
+
+        return single;
+    }
+
+    private static List<LoaderVersion> filter(LoaderType loaderType, List<LoaderVersion> versions) {
+        List<String> disabledVersions = ConfigManager.getConfigItem("loaders." + name(loaderType) + ".disabledVersions",
+                new ArrayList<String>());
+
+        return versions.stream().filter(version -> !disabledVersions.contains(version.version))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the versions of the loader for the Minecraft version (or every Minecraft version when null), unless
+     * they're already being fetched, in which case the fetch already happening is returned.
+     */
+    private static CompletableFuture<List<LoaderVersion>> fetch(LoaderType loaderType, String minecraft,
+            Executor executor) {
+        String key = key(loaderType, minecraft);
+        CompletableFuture<List<LoaderVersion>> future = new CompletableFuture<>();
+        CompletableFuture<List<LoaderVersion>> existing = IN_FLIGHT.putIfAbsent(key, future);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        executor.execute(() -> {
+            try {
+                future.complete(download(loaderType, minecraft));
+            } finally {
+                IN_FLIGHT.remove(key, future);
+            }
+        });
+
+        return future;
+    }
+
+    private static List<LoaderVersion> download(LoaderType loaderType, String minecraft) {
+        String key = key(loaderType, minecraft);
+
+        try {
+            CachedLoaderVersions fetched;
+
+            if (minecraft == null) {
+                fetched = loaderType == LoaderType.FABRIC ? FabricLoader.downloadAllChoosableVersions()
+                        : QuiltLoader.downloadAllChoosableVersions();
+            } else if (loaderType == LoaderType.FABRIC) {
+                fetched = new CachedLoaderVersions(null, FabricLoader.downloadChoosableVersions(minecraft));
+            } else if (loaderType == LoaderType.QUILT) {
+                fetched = new CachedLoaderVersions(null, QuiltLoader.downloadChoosableVersions(minecraft));
+            } else {
+                fetched = new CachedLoaderVersions(null, ForgeLoader.downloadChoosableVersions(minecraft));
+            }
+
+            store(key, fetched);
+            return fetched.versions;
+        } catch (IOException | RuntimeException e) {
+            CachedLoaderVersions cached = CACHE.get(key);
+
+            if (cached != null) {
+                LogManager.warn("Couldn't refresh " + loaderType + " versions, so using the ones from "
+                        + TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - cached.fetchedAt)
+                        + " minutes ago");
+                return cached.versions;
+            }
+
+            // the server answered, there's just no versions for this Minecraft version, so don't ask again for a while
+            if (minecraft != null && e instanceof DownloadException && ((DownloadException) e).download.response != null
+                    && ((DownloadException) e).download.response.code() < 500) {
+                store(key, new CachedLoaderVersions(null, Collections.emptyList()));
+            }
+
+            LogManager.debug("Couldn't get " + loaderType + " versions for " + key + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static void store(String key, CachedLoaderVersions versions) {
+        CACHE.put(key, versions);
+
+        PersistenceManager.queue(LoaderVersionsManager.class,
+                () -> PersistenceManager.writeJson(FileSystem.LOADER_VERSIONS_JSON, Gsons.DEFAULT_SLIM,
+                        new HashMap<>(CACHE), TYPE, StandardCharsets.UTF_8));
+    }
+
+    private static void load() {
+        if (!Files.exists(FileSystem.LOADER_VERSIONS_JSON)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(FileSystem.LOADER_VERSIONS_JSON, StandardCharsets.UTF_8)) {
+            Map<String, CachedLoaderVersions> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                saved.values().removeIf(cached -> cached == null || cached.versions == null);
+                CACHE.putAll(saved);
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read cached loader versions", e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceFile;
+import com.atlauncher.data.ModMetadata;
+import com.atlauncher.data.minecraft.FabricMod;
+import com.atlauncher.data.minecraft.MCMod;
+import com.atlauncher.utils.ArchiveUtils;
+import com.atlauncher.utils.Utils;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.apache.commons.compress.utils.IOUtils;
+
+/**
+ * Keeps an index of the metadata inside the mods of each instance, so that mods only need to be opened when they're
+ * new or have changed.
+ *
+ * Each instance's index is saved in the launcher's configs folder (so it isn't exported or backed up with the
+ * instance), keyed by the path of the mod within the instance along with its size and last modified time. Mods are
+ * read through the zip's central directory, so only the two files needed are read rather than the whole jar. While
+ * an instance's mods are being edited, its mods folders are watched (through {@link InstanceFilesManager}) so mods
+ * added, changed or removed outside of the launcher are picked up in the background.
+ */
+public class ModMetadataManager {
+    private static final List<String> WATCHED_FOLDERS = Arrays.asList("mods", "disabledmods");
+
+    private static final Type TYPE = new TypeToken<Map<String, ModMetadata>>() {
+    }.getType();
+
+    private static final Type MCMOD_TYPE = new TypeToken<List<MCMod>>() {
+    }.getType();
+
+    private static final Map<Path, Map<String, ModMetadata>> INDEXES = new ConcurrentHashMap<>();
+
+    private static final Set<Path> WATCHED = ConcurrentHashMap.newKeySet();
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Mod Metadata Indexer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        InstanceFilesManager.addListener(ModMetadataManager::changed);
+    }
+
+    /**
+     * Gets the metadata inside the given mod, only opening it if it's not in its instance's index or has changed since
+     * it was indexed. Mods outside of an instance are always read.
+     */
+    public static ModMetadata get(Path file) {
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return new ModMetadata(0, 0);
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Path root = getRoot(file);
+
+        if (root == null) {
+            return read(file, size, lastModified);
+        }
+
+        Map<String, ModMetadata> index = getIndex(root);
+        String key = getKey(root, file);
+        ModMetadata metadata = index.get(key);
+
+        if (metadata == null || !metadata.matches(size, lastModified)) {
+            metadata = read(file, size, lastModified);
+            index.put(key, metadata);
+            save(root);
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Indexes the mods in the instance that have changed, and keeps watching its mods folders for changes until the
+     * launcher closes.
+     */
+    public static void watch(Instance instance) {
+        Path root = instance.getRoot().toAbsolutePath().normalize();
+
+        if (WATCHED.add(root)) {
+            EXECUTOR.submit(() -> {
+                InstanceFilesManager.track(root);
+
+                WATCHED_FOLDERS.forEach(folder -> InstanceFilesManager.list(root, folder).parallelStream()
+                        .filter(file -> !file.directory && Utils.isAcceptedModFile(file.path))
+                        .forEach(file -> get(file.path)));
+            });
+        }
+    }
+
+    /**
+     * Forgets the index for the instance or server with the given root, such as when it's being renamed or deleted.
+     */
+    public static void forget(Path root) {
+        Path normalizedRoot = root.toAbsolutePath().normalize();
+        Path path = getIndexPath(normalizedRoot);
+
+        WATCHED.remove(normalizedRoot);
+        INDEXES.remove(normalizedRoot);
+        PersistenceManager.cancel(path);
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete mod metadata index for " + root, e);
+        }
+    }
+
+    private static void changed(Path root, String relativePath, InstanceFile file) {
+        if (!WATCHED.contains(root)) {
+            return;
+        }
+
+        int lastSlash = relativePath.lastIndexOf('/');
+        if (lastSlash == -1 || !WATCHED_FOLDERS.contains(relativePath.substring(0, lastSlash))
+                || !Utils.isAcceptedModFile(relativePath)) {
+            return;
+        }
+
+        if (file == null) {
+            Map<String, ModMetadata> index = INDEXES.get(root);
+
+            if (index != null && index.remove(relativePath) != null) {
+                save(root);
+            }
+        } else if (!file.directory) {
+            EXECUTOR.submit(() -> get(file.path));
+        }
+    }
+
+    private static ModMetadata read(Path file, long size, long lastModified) {
+        ModMetadata metadata = new ModMetadata(size, lastModified);
+        String mcModInfo = null;
+        String fabricModJson = null;
+
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            mcModInfo = readEntry(zip, "mcmod.info");
+            fabricModJson = readEntry(zip, "fabric.mod.json");
+        } catch (IOException e) {
+            // some mods have names in their zip that can't be read this way, so fallback to reading the whole file
+            mcModInfo = ArchiveUtils.getFile(file, "mcmod.info");
+            fabricModJson = ArchiveUtils.getFile(file, "fabric.mod.json");
+        }
+
+        if (mcModInfo != null) {
+            try {
+                List<MCMod> mods = Gsons.MINECRAFT.fromJson(mcModInfo, MCMOD_TYPE);
+
+                if (mods != null && mods.size() != 0) {
+                    metadata.mcMod = mods.get(0);
+                }
+            } catch (Exception ignored) {
+            }
+        }
+
+        if (fabricModJson != null) {
+            try {
+                metadata.fabricMod = Gsons.MINECRAFT.fromJson(fabricModJson, FabricMod.class);
+            } catch (Exception ignored) {
+            }
+        }
+
+        return metadata;
+    }
+
+    private static String readEntry(ZipFile zip, String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try (InputStream is = zip.getInputStream(entry)) {
+            return new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Gets the root of the instance or server the file is in, or null if it's not in one.
+     */
+    private static Path getRoot(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+
+        for (Path parent : Arrays.asList(FileSystem.INSTANCES, FileSystem.SERVERS)) {
+            Path base = parent.toAbsolutePath().normalize();
+
+            if (absolute.startsWith(base) && absolute.getNameCount() > base.getNameCount() + 1) {
+                return base.resolve(absolute.getName(base.getNameCount()));
+            }
+        }
+
+        return null;
+    }
+
+    private static String getKey(Path root, Path file) {
+        return root.relativize(file.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    /**
+     * Gets where the index for the given root is saved, such as modmetadata/instances/Name.json.
+     */
+    private static Path getIndexPath(Path root) {
+        return FileSystem.MOD_METADATA.resolve(root.getParent().getFileName().toString())
+                .resolve(root.getFileName().toString() + ".json");
+    }
+
+    private static Map<String, ModMetadata> getIndex(Path root) {
+        return INDEXES.computeIfAbsent(root, ModMetadataManager::load);
+    }
+
+    private static void save(Path root) {
+        Path path = getIndexPath(root);
+
+        PersistenceManager.queue(path, () -> {
+            Map<String, ModMetadata> index = INDEXES.get(root);
+
+            if (index != null && Files.isDirectory(root)) {
+                Files.createDirectories(path.getParent());
+                PersistenceManager.writeJson(path, Gsons.DEFAULT_SLIM, new HashMap<>(index), TYPE,
+                        StandardCharsets.UTF_8);
+            }
+        });
+    }
+
+    private static Map<String, ModMetadata> load(Path root) {
+        Map<String, ModMetadata> index = new ConcurrentHashMap<>();
+        Path path = getIndexPath(root);
+
+        if (!Files.exists(path)) {
+            return index;
+        }
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Map<String, ModMetadata> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                saved.forEach((key, metadata) -> {
+                    if (key != null && metadata != null) {
+                        index.put(key, metadata);
+                    }
+                });
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read mod metadata index for " + root, e);
+        }
+
+        return index;
+    }
+}
@@ -45,8 +45,6 @@ public class ModpacksChUpdateManager {
         boolean refreshInstancesPanel = Data.INSTANCES.parallelStream().filter(
                 i -> i.launcher.modpacksChPackManifest != null && i.launcher.modpacksChPackVersionManifest != null)
                 .map(i -> {
-                    boolean wasUpdated = false;
-
                     ModpacksChPackManifest packManifest = com.atlauncher.network.Download.build()
                             .setUrl(String.format("%s/modpack/%d", Constants.MODPACKS_CH_API_URL,
                                     i.launcher.modpacksChPackManifest.id))
@@ -67,15 +65,11 @@ public class ModpacksChUpdateManager {
 
                     // if there is a change to the latestversion for an instance (but not a first
                     // time write), then refresh instances panel
-                    if (Data.MODPACKS_CH_INSTANCE_LATEST_VERSION.containsKey(i)
-                            && Data.MODPACKS_CH_INSTANCE_LATEST_VERSION.get(i).id != latestVersion.id) {
-                        wasUpdated = true;
-                    }
-
-                    Data.MODPACKS_CH_INSTANCE_LATEST_VERSION.put(i, latestVersion);
+                    ModpacksChPackVersion previousVersion = Data.MODPACKS_CH_INSTANCE_LATEST_VERSION.put(i,
+                            latestVersion);
 
-                    return wasUpdated;
-                }).anyMatch(b -> b);
+                    return previousVersion != null && previousVersion.id != latestVersion.id;
+                }).reduce(false, (a, b) -> a || b); // not anyMatch, which would stop checking after an update
 
         if (refreshInstancesPanel) {
             App.launcher.reloadInstancesPanel();
@@ -0,0 +1,231 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.minecraft.Download;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.utils.ArchiveUtils;
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.OS;
+
+/**
+ * Extracts native libraries once into a shared cache, and puts together the natives directory for each launch by
+ * linking to the extracted files rather than extracting every native jar again.
+ *
+ * Each native jar is extracted to a folder named after a hash of the jar's SHA-1, the OS and architecture, and the
+ * files excluded from it, so anything that would change what's extracted gets its own folder. Folders in the cache are
+ * never changed once they're made, so they can be shared by instances launching at the same time. A folder's last
+ * modified time is when it was last used, so folders not used in a while can be removed.
+ *
+ * Extracted files are made read only so that nothing running from an instance can change the copy shared with other
+ * instances through a link. This isn't done on Windows, where a file's read only attribute is shared by all its links
+ * and stops each launch's links from being deleted.
+ */
+public class NativesManager {
+    private static final long MAX_UNUSED_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    /**
+     * How long a temp folder can go without changing before it's assumed to be left over rather than still being
+     * extracted into by another launcher.
+     */
+    private static final long MAX_EXTRACTING_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Puts the natives for the given libraries into the given directory.
+     *
+     * @return if all the natives were put into the directory
+     */
+    public static boolean assembleNatives(List<Library> libraries, Path nativesDir) {
+        boolean assembled = true;
+
+        for (Library library : libraries) {
+            if (!library.shouldInstall() || !library.hasNativeForOS()) {
+                continue;
+            }
+
+            Path extracted = getExtractedNatives(library);
+
+            if (extracted == null || !FileUtils.linkDirectoryContents(extracted, nativesDir)) {
+                LogManager.warn("Failed to use cached natives for " + library.name + ", extracting them instead");
+
+                if (!extract(library, nativesDir)) {
+                    LogManager.error("Failed to extract natives for " + library.name);
+                    assembled = false;
+                }
+            }
+        }
+
+        return assembled;
+    }
+
+    /**
+     * Gets the folder in the cache holding the extracted natives for the given library, extracting them if they
+     * haven't been already.
+     *
+     * @return the folder holding the extracted natives, or null if they couldn't be extracted
+     */
+    private static Path getExtractedNatives(Library library) {
+        Download download = library.getNativeDownloadForOS();
+        Path nativePath = FileSystem.LIBRARIES.resolve(download.path);
+
+        if (!Files.exists(nativePath)) {
+            return null;
+        }
+
+        String key = getKey(library, nativePath);
+        Path extracted = FileSystem.NATIVES.resolve(key);
+
+        synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+            if (Files.isDirectory(extracted)) {
+                markUsed(extracted);
+                return extracted;
+            }
+
+            // extract somewhere else first, so the folder only ever appears in the cache fully extracted
+            Path tempDir = FileSystem.NATIVES.resolve(key + "-" + UUID.randomUUID().toString().replace("-", ""));
+
+            try {
+                Files.createDirectories(tempDir);
+
+                if (!extract(library, tempDir)) {
+                    throw new IOException("Failed to extract " + nativePath);
+                }
+
+                makeReadOnly(tempDir);
+                Files.move(tempDir, extracted, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                FileUtils.deleteDirectory(tempDir);
+
+                // another launcher may have extracted them at the same time
+                if (!Files.isDirectory(extracted)) {
+                    LogManager.logStackTrace("Failed to extract natives for " + library.name, e);
+                    return null;
+                }
+            }
+
+            return extracted;
+        }
+    }
+
+    /**
+     * Removes extracted natives that haven't been used in a while, along with any left over from the launcher closing
+     * while extracting them. Natives put together for a launch are links to or copies of these files, so removing them
+     * doesn't affect instances that are already running.
+     */
+    public static void removeUnusedNatives() {
+        PerformanceManager.start();
+        List<Path> folders;
+
+        try (Stream<Path> stream = Files.list(FileSystem.NATIVES)) {
+            folders = stream.filter(Files::isDirectory).collect(Collectors.toList());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to list extracted natives", e);
+            PerformanceManager.end();
+            return;
+        }
+
+        long oldestAllowed = System.currentTimeMillis() - MAX_UNUSED_MILLIS;
+        long oldestExtracting = System.currentTimeMillis() - MAX_EXTRACTING_MILLIS;
+        int removed = 0;
+
+        for (Path folder : folders) {
+            String name = folder.getFileName().toString();
+
+            // temp folders are named after the folder they're being extracted for, so they share its lock
+            synchronized (LOCKS.computeIfAbsent(name.split("-")[0], k -> new Object())) {
+                try {
+                    long lastModified = Files.getLastModifiedTime(folder).toMillis();
+
+                    // another launcher may still be extracting into a temp folder, so only remove old ones
+                    if (lastModified < (name.contains("-") ? oldestExtracting : oldestAllowed)) {
+                        FileUtils.deleteDirectory(folder);
+                        removed++;
+                    }
+                } catch (IOException e) {
+                    LogManager.logStackTrace("Failed to check extracted natives " + folder, e);
+                }
+            }
+        }
+
+        LogManager.debug(String.format("Removed %d unused extracted natives", removed));
+        PerformanceManager.end();
+    }
+
+    private static void makeReadOnly(Path dir) throws IOException {
+        if (OS.isWindows()) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.filter(Files::isRegularFile).forEach(path -> path.toFile().setWritable(false, false));
+        }
+    }
+
+    private static void markUsed(Path extracted) {
+        try {
+            Files.setLastModifiedTime(extracted, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to mark natives " + extracted + " as used", e);
+        }
+    }
+
+    private static String getKey(Library library, Path nativePath) {
+        Download download = library.getNativeDownloadForOS();
+        String sha1 = download.sha1 == null ? Hashing.sha1(nativePath).toString() : download.sha1;
+
+        List<String> excludes = new ArrayList<>();
+        if (library.extract != null && library.extract.exclude != null) {
+            excludes.addAll(library.extract.exclude);
+        }
+        Collections.sort(excludes);
+
+        return Hashing.sha1(sha1 + "|" + System.getProperty("os.name") + "|" + System.getProperty("os.arch") + "|"
+                + String.join(",", excludes)).toString();
+    }
+
+    private static boolean extract(Library library, Path to) {
+        Path nativePath = FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path);
+
+        return ArchiveUtils.extract(nativePath, to, name -> {
+            if (library.extract != null && library.extract.shouldExclude(name)) {
+                return null;
+            }
+
+            return name;
+        });
+    }
+}
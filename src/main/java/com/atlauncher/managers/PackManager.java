@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,11 +36,14 @@ import com.atlauncher.data.Pack;
 import com.atlauncher.data.PackUsers;
 import com.atlauncher.exceptions.InvalidPack;
 import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.SearchIndex;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 
 public class PackManager {
+    private static PackIndex index = null;
+
     public static List<Pack> getPacks() {
         return Data.PACKS;
     }
@@ -50,15 +54,16 @@ public class PackManager {
     public static void loadPacks() {
         PerformanceManager.start();
         LogManager.debug("Loading packs");
-        Data.PACKS.clear();
+        List<Pack> packs = new ArrayList<>();
         try {
             java.lang.reflect.Type type = new TypeToken<List<Pack>>() {
             }.getType();
-            Data.PACKS.addAll(Gsons.DEFAULT_ALT
+            packs.addAll(Gsons.DEFAULT_ALT
                     .fromJson(new FileReader(FileSystem.JSON.resolve("packsnew.json").toFile()), type));
         } catch (JsonSyntaxException | FileNotFoundException | JsonIOException e) {
             LogManager.logStackTrace(e);
         }
+        Data.PACKS.setAll(packs);
         LogManager.debug("Finished loading packs");
         PerformanceManager.end();
     }
@@ -161,12 +166,7 @@ public class PackManager {
      * @return True if the pack is found from the name
      */
     public static boolean isPackByName(String name) {
-        for (Pack pack : Data.PACKS) {
-            if (pack.getName().equalsIgnoreCase(name)) {
-                return true;
-            }
-        }
-        return false;
+        return getPackByName(name) != null;
     }
 
     /**
@@ -176,12 +176,7 @@ public class PackManager {
      * @return Pack if the pack is found from the name
      */
     public static Pack getPackByName(String name) {
-        for (Pack pack : Data.PACKS) {
-            if (pack.getName().equalsIgnoreCase(name)) {
-                return pack;
-            }
-        }
-        return null;
+        return getIndex().byName.get(SearchIndex.fold(name));
     }
 
     /**
@@ -191,12 +186,7 @@ public class PackManager {
      * @return Pack if the pack is found from the safe name
      */
     public static Pack getPackBySafeName(String name) {
-        for (Pack pack : Data.PACKS) {
-            if (pack.getSafeName().equalsIgnoreCase(name)) {
-                return pack;
-            }
-        }
-        return null;
+        return getIndex().bySafeName.get(SearchIndex.fold(name));
     }
 
     public static boolean semiPublicPackExistsFromCode(String packCode) {
@@ -304,4 +294,24 @@ public class PackManager {
         }
         return false;
     }
+
+    private static synchronized PackIndex getIndex() {
+        if (index == null || index.version != Data.PACKS.getVersion()) {
+            index = new PackIndex(Data.PACKS.getVersion(), Data.PACKS.snapshot());
+        }
+
+        return index;
+    }
+
+    private static class PackIndex {
+        private final long version;
+        private final Map<String, Pack> byName;
+        private final Map<String, Pack> bySafeName;
+
+        private PackIndex(long version, List<Pack> packs) {
+            this.version = version;
+            byName = SearchIndex.byKey(packs, Pack::getName);
+            bySafeName = SearchIndex.byKey(packs, Pack::getSafeName);
+        }
+    }
 }
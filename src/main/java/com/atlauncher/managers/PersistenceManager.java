@@ -0,0 +1,136 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+
+/**
+ * Saves things to disk in the background, so that saving the same thing many times in a row (such as when toggling a
+ * lot of mods) only writes it once, and the UI doesn't wait on the disk.
+ *
+ * Saves are queued by owner (such as an instance), and a save queued while another is waiting for the same owner
+ * replaces it. Anything still waiting is written when the launcher shuts down, or sooner with {@link #flush(Object)}
+ * when something needs what's on disk to be up to date (such as before copying an instance's folder).
+ */
+public class PersistenceManager {
+    private static final long WRITE_AFTER = 500;
+
+    private static final Map<Object, IOAction> PENDING = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Persistence");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PersistenceManager::flush));
+    }
+
+    @FunctionalInterface
+    public interface IOAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Queues a save for the given owner, replacing any save for it which hasn't been written yet. The save is run on a
+     * background thread, so it should read the state to save when it runs, not when it's queued.
+     */
+    public static void queue(Object owner, IOAction save) {
+        if (PENDING.put(owner, save) == null) {
+            EXECUTOR.schedule(() -> write(owner), WRITE_AFTER, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the save queued for the given owner right away, if there is one.
+     */
+    public static void flush(Object owner) {
+        write(owner);
+    }
+
+    /**
+     * Writes every queued save right away.
+     */
+    public static void flush() {
+        for (Object owner : new ArrayList<>(PENDING.keySet())) {
+            write(owner);
+        }
+    }
+
+    /**
+     * Forgets the save queued for the given owner, such as when it's being deleted.
+     */
+    public static void cancel(Object owner) {
+        PENDING.remove(owner);
+    }
+
+    private static synchronized void write(Object owner) {
+        IOAction save = PENDING.remove(owner);
+
+        if (save == null) {
+            return;
+        }
+
+        try {
+            save.run();
+        } catch (ConcurrentModificationException e) {
+            // it was changed while being saved, which means another save is coming, but queue it again just in case
+            queue(owner, save);
+        } catch (Exception e) {
+            LogManager.logStackTrace("Error saving " + owner, e);
+        }
+    }
+
+    /**
+     * Writes the object as json to a file next to the given path and then moves it into place, so the file is never
+     * left half written.
+     *
+     * @param charset the charset the file is read with
+     */
+    public static void writeJson(Path path, Gson gson, Object object, Type type, Charset charset) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName().toString() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temp, charset)) {
+            gson.toJson(object, type, writer);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
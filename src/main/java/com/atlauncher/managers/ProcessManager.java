@@ -0,0 +1,258 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.App;
+import com.atlauncher.data.RunningProcess;
+import com.atlauncher.evnt.manager.MinecraftLandManager;
+import com.atlauncher.evnt.manager.MinecraftLaunchManager;
+import com.atlauncher.utils.OS;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.platform.win32.WinNT;
+
+import oshi.software.os.OSProcess;
+
+/**
+ * Keeps track of the Minecraft processes the launcher has started, so more than one instance can be played at once.
+ *
+ * An instance is reserved from when it starts launching until its process exits, so the same instance can't be
+ * launched twice at once. While any processes are running, the memory and CPU they use is sampled every few seconds,
+ * and listeners are told when processes start ({@link MinecraftLaunchManager}) and exit ({@link MinecraftLandManager}).
+ * The last process of each instance is kept after it exits, so its log can still be copied from the instance's card.
+ *
+ * Servers are started in their own terminal window rather than by the launcher, so they aren't tracked here.
+ */
+public class ProcessManager {
+    private static final long SAMPLE_EVERY_SECONDS = 5;
+
+    private static final Set<String> reserved = ConcurrentHashMap.newKeySet();
+    private static final Map<String, RunningProcess> running = new ConcurrentHashMap<>();
+    private static final Map<String, RunningProcess> lastExited = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService MONITOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Process Monitor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private static ScheduledFuture<?> monitoring = null;
+
+    /**
+     * Reserves the given instance for launching.
+     *
+     * @return false if the instance is already launching or running
+     */
+    public static boolean reserve(String name) {
+        if (!reserved.add(name)) {
+            return false;
+        }
+
+        updateLaunched();
+        return true;
+    }
+
+    /**
+     * Releases an instance reserved with {@link #reserve(String)}, once it's finished launching or running.
+     */
+    public static void release(String name) {
+        reserved.remove(name);
+        updateLaunched();
+    }
+
+    /**
+     * Starts keeping track of a process started for the given instance.
+     */
+    public static RunningProcess register(String name, Process process) {
+        RunningProcess runningProcess = new RunningProcess(name, process, getPid(process));
+        running.put(name, runningProcess);
+        lastExited.remove(name);
+
+        LogManager.info("Started " + name + (runningProcess.pid == -1 ? "" : " (pid " + runningProcess.pid + ")")
+                + ", " + running.size() + " instance(s) now running");
+
+        startMonitoring();
+
+        if (App.launcher != null) {
+            App.launcher.showKillMinecraft();
+        }
+        MinecraftLaunchManager.post(runningProcess);
+
+        return runningProcess;
+    }
+
+    /**
+     * Stops keeping track of a process once it's exited.
+     */
+    public static void exited(RunningProcess runningProcess, int exitValue) {
+        running.remove(runningProcess.name, runningProcess);
+        lastExited.put(runningProcess.name, runningProcess);
+
+        LogManager.info(runningProcess.name + " exited with code " + exitValue + " after "
+                + ((System.currentTimeMillis() - runningProcess.startedAt) / 1000) + " seconds");
+
+        if (running.isEmpty()) {
+            stopMonitoring();
+
+            if (App.launcher != null) {
+                App.launcher.hideKillMinecraft();
+            }
+        }
+        MinecraftLandManager.post(runningProcess, exitValue);
+    }
+
+    /**
+     * Checks if the given instance is launching or running.
+     */
+    public static boolean isRunning(String name) {
+        return reserved.contains(name);
+    }
+
+    /**
+     * Checks if any instance other than the given one is launching or running.
+     */
+    public static boolean isAnythingElseRunning(String name) {
+        return reserved.stream().anyMatch(other -> !other.equals(name));
+    }
+
+    /**
+     * Gets the process running for the given instance, or the last one that ran if it's not running now.
+     *
+     * @return the process, or null if the instance hasn't been played since the launcher started
+     */
+    public static RunningProcess getProcess(String name) {
+        RunningProcess runningProcess = running.get(name);
+
+        return runningProcess == null ? lastExited.get(name) : runningProcess;
+    }
+
+    public static List<RunningProcess> getRunning() {
+        return new ArrayList<>(running.values());
+    }
+
+    /**
+     * Gets the total memory being used by the running processes, in MB.
+     */
+    public static int getRunningMemory() {
+        sample();
+
+        return (int) (running.values().stream().mapToLong(RunningProcess::getResidentMemory).sum() / 1048576);
+    }
+
+    public static void kill(String name) {
+        RunningProcess runningProcess = running.get(name);
+
+        if (runningProcess != null) {
+            LogManager.error("Killing " + name);
+            runningProcess.process.destroy();
+        }
+    }
+
+    public static void killAll() {
+        for (RunningProcess runningProcess : getRunning()) {
+            kill(runningProcess.name);
+        }
+    }
+
+    private static void updateLaunched() {
+        if (App.launcher != null) {
+            App.launcher.setMinecraftLaunched(!reserved.isEmpty());
+        }
+    }
+
+    private static synchronized void startMonitoring() {
+        if (monitoring == null) {
+            monitoring = MONITOR.scheduleWithFixedDelay(ProcessManager::sample, 0, SAMPLE_EVERY_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    private static synchronized void stopMonitoring() {
+        if (monitoring != null && running.isEmpty()) {
+            monitoring.cancel(false);
+            monitoring = null;
+        }
+    }
+
+    private static synchronized void sample() {
+        if (running.isEmpty()) {
+            return;
+        }
+
+        try {
+            int processorCount = OS.getProcessorCount();
+
+            for (RunningProcess runningProcess : running.values()) {
+                if (runningProcess.pid == -1 || !runningProcess.isAlive()) {
+                    continue;
+                }
+
+                OSProcess osProcess = OS.getSystemInfo().getOperatingSystem().getProcess((int) runningProcess.pid);
+
+                if (osProcess != null) {
+                    runningProcess.recordUsage(osProcess.getResidentSetSize(),
+                            osProcess.getKernelTime() + osProcess.getUserTime(), processorCount);
+                }
+            }
+        } catch (Throwable t) {
+            LogManager.logStackTrace("Failed to sample the resources used by running instances", t);
+        }
+    }
+
+    /**
+     * Gets the pid of a process, which Java 8 doesn't provide a way to do.
+     *
+     * @return the pid, or -1 if it couldn't be found
+     */
+    private static long getPid(Process process) {
+        // Java 9 and newer
+        try {
+            return (long) Process.class.getMethod("pid").invoke(process);
+        } catch (Throwable ignored) {
+        }
+
+        // Java 8 on Linux/macOS stores the pid and on Windows stores a handle to the process
+        try {
+            Field field = process.getClass().getDeclaredField("pid");
+            field.setAccessible(true);
+            return field.getInt(process);
+        } catch (Throwable ignored) {
+        }
+
+        try {
+            Field field = process.getClass().getDeclaredField("handle");
+            field.setAccessible(true);
+            WinNT.HANDLE handle = new WinNT.HANDLE(Pointer.createConstant(field.getLong(process)));
+            return Kernel32.INSTANCE.GetProcessId(handle);
+        } catch (Throwable ignored) {
+        }
+
+        return -1;
+    }
+}
@@ -43,7 +43,7 @@ public class ServerManager {
     public static void loadServers() {
         PerformanceManager.start();
         LogManager.debug("Loading servers");
-        Data.SERVERS.clear();
+        List<Server> servers = new ArrayList<>();
 
         for (String folder : Optional.of(FileSystem.SERVERS.toFile().list(Utils.getServerFileFilter()))
                 .orElse(new String[0])) {
@@ -64,9 +64,11 @@ public class ServerManager {
                 continue;
             }
 
-            Data.SERVERS.add(server);
+            servers.add(server);
         }
 
+        Data.SERVERS.setAll(servers);
+
         LogManager.debug("Finished loading servers");
         PerformanceManager.end();
     }
@@ -99,6 +101,8 @@ public class ServerManager {
 
     public static void removeServer(Server server) {
         if (Data.SERVERS.remove(server)) {
+            InstanceFilesManager.forget(server.getRoot());
+            ModMetadataManager.forget(server.getRoot());
             FileUtils.deleteDirectory(server.getRoot());
             App.launcher.reloadServersPanel();
         }
@@ -0,0 +1,173 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.atlauncher.constants.Constants;
+
+/**
+ * Plans the arguments from the instance and the computer it's running on.
+ *
+ * The heap is sized from the number of mods (Forge mods needing more than Fabric/Quilt ones) and what the pack
+ * recommends, then limited so that the computer is left enough RAM for itself and any other instances running. The
+ * garbage collector is picked from the Java version, the heap size and the number of processors, and when other
+ * instances are running the garbage collector threads are split between them.
+ *
+ * If the user has picked a garbage collector in their Java parameters then it's left alone, otherwise the garbage
+ * collector arguments from the default Java parameters are replaced with the planned ones.
+ */
+public class AdaptiveJvmArgumentPlanner implements JvmArgumentPlanner {
+    private static final Pattern GC_SELECTION = Pattern.compile("-XX:\\+Use\\w*GC(?!\\w)");
+    private static final List<String> DEFAULT_GC_ARGUMENTS = Arrays
+            .asList(Constants.DEFAULT_JAVA_PARAMETERS.split(" "));
+
+    static final int MINIMUM_HEAP = 512;
+    static final int VANILLA_HEAP = 2048;
+    static final int MAXIMUM_HEAP = 12288;
+    static final int MEMORY_PER_FORGE_MOD = 32;
+    static final int MEMORY_PER_MOD = 16;
+
+    @Override
+    public JvmArgumentPlan plan(JvmPlanInput input) {
+        JvmArgumentPlan plan = new JvmArgumentPlan();
+
+        int heap = planHeap(input, plan);
+        plan.add("-Xms" + Math.min(input.initialMemory, heap) + "M");
+        plan.add("-Xmx" + heap + "M");
+
+        int permGen = Math.max(input.permGen, input.recommendedPermGen);
+        if (input.javaMajorVersion >= 8) {
+            plan.add("-XX:MetaspaceSize=" + permGen + "M");
+        } else {
+            plan.add("-XX:PermSize=" + permGen + "M");
+        }
+
+        String javaArguments = removeDefaultGcArguments(input.javaArguments);
+
+        if (GC_SELECTION.matcher(javaArguments).find()) {
+            return plan.setJavaArguments(input.javaArguments)
+                    .because("Using the garbage collector picked in the Java parameters");
+        }
+
+        plan.setJavaArguments(javaArguments);
+        planGarbageCollector(input, heap, plan);
+
+        return plan;
+    }
+
+    private int planHeap(JvmPlanInput input, JvmArgumentPlan plan) {
+        if (input.maximumMemoryOverridden) {
+            plan.because("Using the " + input.maximumMemory + "MB of memory set for this instance");
+            return input.maximumMemory;
+        }
+
+        int perMod = input.isForge() ? MEMORY_PER_FORGE_MOD : MEMORY_PER_MOD;
+        int needed = Math.min(roundUp(VANILLA_HEAP + input.modCount * perMod), MAXIMUM_HEAP);
+        plan.because(input.modCount + " mods" + (input.loaderType == null ? "" : " on " + input.loaderType)
+                + " need about " + needed + "MB of memory");
+
+        if (input.recommendedMemory > needed) {
+            needed = input.recommendedMemory;
+            plan.because("The pack recommends " + needed + "MB of memory");
+        }
+
+        if (input.systemRam == 0) {
+            int heap = Math.min(needed, input.maximumMemory);
+            plan.because("Couldn't tell how much RAM this computer has, so using at most the " + input.maximumMemory
+                    + "MB of memory set");
+            return heap;
+        }
+
+        // leave a quarter of the RAM (and at least 1.5GB) for the OS and everything else
+        int reserved = Math.max(1536, input.systemRam / 4);
+        int available = input.systemRam - reserved - input.otherInstancesMemory;
+
+        if (needed > available) {
+            int heap = Math.max(MINIMUM_HEAP, roundDown(available));
+            plan.because("Only " + Math.max(0, available) + "MB of this computer's " + input.systemRam
+                    + "MB of RAM is free to use" + (input.otherInstancesRunning == 0 ? ""
+                            : " with " + input.otherInstancesRunning + " other instance(s) running")
+                    + ", so using " + heap + "MB of memory");
+            return heap;
+        }
+
+        return needed;
+    }
+
+    private void planGarbageCollector(JvmPlanInput input, int heap, JvmArgumentPlan plan) {
+        int processors = Math.max(1, input.processorCount / (input.otherInstancesRunning + 1));
+
+        if (processors == 1) {
+            plan.add("-XX:+UseSerialGC").because(
+                    "Using the serial garbage collector as there's only 1 processor to use, so running collection "
+                            + "alongside the game would only slow it down");
+            return;
+        }
+
+        if (input.javaMajorVersion >= 21 && heap >= 8192 && processors >= 8) {
+            plan.add("-XX:+UseZGC");
+
+            // generational mode is the only one from Java 23 and the flag is deprecated there
+            if (input.javaMajorVersion < 23) {
+                plan.add("-XX:+ZGenerational");
+            }
+
+            plan.because("Using the generational Z garbage collector as Java " + input.javaMajorVersion
+                    + " supports it and there's " + heap + "MB of memory and " + processors + " processors to use");
+        } else {
+            plan.add("-XX:+UnlockExperimentalVMOptions").add("-XX:+UseG1GC").add("-XX:G1NewSizePercent=20")
+                    .add("-XX:G1ReservePercent=20").add("-XX:MaxGCPauseMillis=50");
+
+            int regionSize = heap >= 4096 ? 32 : (heap >= 2048 ? 16 : 8);
+            plan.add("-XX:G1HeapRegionSize=" + regionSize + "M");
+
+            plan.because("Using the G1 garbage collector with " + regionSize + "MB regions for " + heap
+                    + "MB of memory");
+        }
+
+        if (input.otherInstancesRunning != 0) {
+            plan.add("-XX:ParallelGCThreads=" + processors).add("-XX:ConcGCThreads=" + Math.max(1, processors / 4))
+                    .because("Limiting garbage collection to " + processors + " of the " + input.processorCount
+                            + " processors as " + input.otherInstancesRunning + " other instance(s) are running");
+        }
+    }
+
+    private static String removeDefaultGcArguments(String javaArguments) {
+        List<String> kept = new ArrayList<>();
+
+        for (String argument : javaArguments.split(" ")) {
+            if (!argument.isEmpty() && !DEFAULT_GC_ARGUMENTS.contains(argument)) {
+                kept.add(argument);
+            }
+        }
+
+        return String.join(" ", kept);
+    }
+
+    private static int roundUp(int memory) {
+        return (memory + 511) / 512 * 512;
+    }
+
+    private static int roundDown(int memory) {
+        return memory / 512 * 512;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The arguments a {@link JvmArgumentPlanner} decided on, along with the reasons for them.
+ */
+public class JvmArgumentPlan {
+    private final List<String> arguments = new ArrayList<>();
+    private final List<String> reasons = new ArrayList<>();
+    private String javaArguments = "";
+
+    /**
+     * Adds an argument to pass to Java.
+     */
+    public JvmArgumentPlan add(String argument) {
+        arguments.add(argument);
+        return this;
+    }
+
+    /**
+     * Adds a reason explaining a decision made in the plan.
+     */
+    public JvmArgumentPlan because(String reason) {
+        reasons.add(reason);
+        return this;
+    }
+
+    public JvmArgumentPlan setJavaArguments(String javaArguments) {
+        this.javaArguments = javaArguments;
+        return this;
+    }
+
+    /**
+     * The memory, garbage collector and thread arguments, which should be passed before any other arguments.
+     */
+    public List<String> getArguments() {
+        return Collections.unmodifiableList(arguments);
+    }
+
+    /**
+     * The user's Java parameters, with anything the plan replaced taken out.
+     */
+    public String getJavaArguments() {
+        return javaArguments;
+    }
+
+    public List<String> getReasons() {
+        return Collections.unmodifiableList(reasons);
+    }
+
+    /**
+     * Explains the plan, one reason per line, followed by the arguments it came up with.
+     */
+    public String explain() {
+        StringBuilder explanation = new StringBuilder();
+
+        for (String reason : reasons) {
+            explanation.append(reason).append('\n');
+        }
+
+        explanation.append('\n').append(String.join(" ", arguments));
+
+        if (!javaArguments.isEmpty()) {
+            explanation.append(' ').append(javaArguments);
+        }
+
+        return explanation.toString();
+    }
+}
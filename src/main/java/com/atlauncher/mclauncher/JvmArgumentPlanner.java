@@ -0,0 +1,41 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import com.atlauncher.App;
+
+/**
+ * Works out the memory, garbage collector and thread arguments to launch Minecraft with.
+ *
+ * Planners are given everything they need in a {@link JvmPlanInput} and don't look anything up themselves, so the
+ * same input always gives the same plan, which can be shown to the user before launching.
+ */
+public interface JvmArgumentPlanner {
+    JvmArgumentPlan plan(JvmPlanInput input);
+
+    /**
+     * Gets the planner picked in the settings.
+     */
+    static JvmArgumentPlanner forSettings() {
+        if (App.settings.enableAdaptiveJavaArguments) {
+            return new AdaptiveJvmArgumentPlanner();
+        }
+
+        return new LegacyJvmArgumentPlanner();
+    }
+}
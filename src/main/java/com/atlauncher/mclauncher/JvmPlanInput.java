@@ -0,0 +1,89 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.util.Optional;
+
+import com.atlauncher.App;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.Type;
+import com.atlauncher.managers.ProcessManager;
+import com.atlauncher.utils.OS;
+import com.atlauncher.utils.javafinder.JavaInfo;
+
+/**
+ * Everything a {@link JvmArgumentPlanner} needs to know to plan the arguments for launching an instance.
+ *
+ * Memory values are all in MB.
+ */
+public class JvmPlanInput {
+    public int javaMajorVersion = 8;
+    public int systemRam;
+    public int processorCount = 1;
+
+    public int modCount;
+    public String loaderType;
+
+    public int initialMemory;
+    public int maximumMemory;
+    public boolean maximumMemoryOverridden;
+    public int permGen;
+    public int recommendedMemory;
+    public int recommendedPermGen;
+    public String javaArguments = "";
+
+    public int otherInstancesRunning;
+    public int otherInstancesMemory;
+
+    /**
+     * Gets the input for launching the given instance with the given Java executable.
+     */
+    public static JvmPlanInput forInstance(Instance instance, String javaExecutable) {
+        JvmPlanInput input = new JvmPlanInput();
+
+        Integer majorVersion = new JavaInfo(javaExecutable).majorVersion;
+        if (majorVersion != null) {
+            input.javaMajorVersion = majorVersion;
+        }
+
+        input.systemRam = OS.getMaximumRam();
+        input.processorCount = OS.getProcessorCount();
+
+        input.modCount = (int) instance.launcher.mods.stream().filter(mod -> mod.type == Type.mods && !mod.disabled)
+                .count();
+        input.loaderType = instance.launcher.loaderVersion == null ? null : instance.launcher.loaderVersion.type;
+
+        input.initialMemory = Optional.ofNullable(instance.launcher.initialMemory).orElse(App.settings.initialMemory);
+        input.maximumMemory = Optional.ofNullable(instance.launcher.maximumMemory).orElse(App.settings.maximumMemory);
+        input.maximumMemoryOverridden = instance.launcher.maximumMemory != null;
+        input.permGen = Optional.ofNullable(instance.launcher.permGen).orElse(App.settings.metaspace);
+        input.recommendedMemory = instance.getMemory();
+        input.recommendedPermGen = instance.getPermGen();
+        input.javaArguments = Optional.ofNullable(instance.launcher.javaArguments)
+                .orElse(App.settings.javaParameters);
+
+        input.otherInstancesRunning = ProcessManager.getRunning().size();
+        input.otherInstancesMemory = ProcessManager.getRunningMemory();
+
+        return input;
+    }
+
+    public boolean isForge() {
+        return "Forge".equalsIgnoreCase(loaderType);
+    }
+}
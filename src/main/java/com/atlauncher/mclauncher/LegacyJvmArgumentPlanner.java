@@ -0,0 +1,56 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+/**
+ * Plans the arguments the same way the launcher always has: the memory from the settings (raised to what the pack
+ * recommends if there's enough RAM), and the Java parameters as they are.
+ */
+public class LegacyJvmArgumentPlanner implements JvmArgumentPlanner {
+    @Override
+    public JvmArgumentPlan plan(JvmPlanInput input) {
+        JvmArgumentPlan plan = new JvmArgumentPlan();
+
+        plan.add("-Xms" + input.initialMemory + "M");
+
+        if (input.systemRam != 0 && input.maximumMemory < input.recommendedMemory
+                && (input.systemRam / 2) >= input.recommendedMemory) {
+            plan.add("-Xmx" + input.recommendedMemory + "M").because("Using the pack's recommended "
+                    + input.recommendedMemory + "MB of memory as it's more than the " + input.maximumMemory
+                    + "MB set");
+        } else {
+            plan.add("-Xmx" + input.maximumMemory + "M")
+                    .because("Using the " + input.maximumMemory + "MB of memory set");
+        }
+
+        int permGen = input.permGen;
+        if (input.systemRam != 0 && input.permGen < input.recommendedPermGen
+                && (input.systemRam / 8) < input.recommendedPermGen) {
+            permGen = input.recommendedPermGen;
+        }
+
+        if (input.javaMajorVersion >= 8) {
+            plan.add("-XX:MetaspaceSize=" + permGen + "M");
+        } else {
+            plan.add("-XX:PermSize=" + permGen + "M");
+        }
+
+        return plan.setJavaArguments(input.javaArguments)
+                .because("Using the Java parameters as they are, including their garbage collector settings");
+    }
+}
@@ -36,9 +36,9 @@ import com.atlauncher.data.MojangAccount;
 import com.atlauncher.data.minecraft.JavaRuntimes;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.PropertyMapSerializer;
+import com.atlauncher.managers.ClassDataSharingManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.ErrorReporting;
-import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 import com.google.gson.Gson;
@@ -77,19 +77,11 @@ public class MCLauncher {
         return processBuilder.start();
     }
 
-    private static List<String> getArguments(AbstractAccount account, Instance instance, String props,
-            String nativesDir) {
-        StringBuilder cpb = new StringBuilder();
-        boolean hasCustomJarMods = false;
-
-        ErrorReporting.recordInstancePlay(instance.getPackName(), instance.getVersion(), instance.getLoaderVersion(),
-                2);
-
-        int initialMemory = Optional.ofNullable(instance.launcher.initialMemory).orElse(App.settings.initialMemory);
-        int maximumMemory = Optional.ofNullable(instance.launcher.maximumMemory).orElse(App.settings.maximumMemory);
-        int permGen = Optional.ofNullable(instance.launcher.permGen).orElse(App.settings.metaspace);
+    /**
+     * Gets the path to the Java install the given instance will be launched with.
+     */
+    public static String getJavaPath(Instance instance) {
         String javaPath = Optional.ofNullable(instance.launcher.javaPath).orElse(App.settings.javaPath);
-        String javaArguments = Optional.ofNullable(instance.launcher.javaArguments).orElse(App.settings.javaParameters);
 
         // are we using Mojangs provided runtime?
         if (instance.javaVersion != null && Optional.ofNullable(instance.launcher.useJavaProvidedByMinecraft)
@@ -108,6 +100,34 @@ public class MCLauncher {
             }
         }
 
+        return javaPath;
+    }
+
+    /**
+     * Gets the path to the java executable in the given Java install.
+     */
+    public static String getJavaExecutable(String javaPath) {
+        return javaPath + File.separator + "bin" + File.separator + "java";
+    }
+
+    /**
+     * Plans the Java arguments for launching the given instance, without launching it.
+     */
+    public static JvmArgumentPlan planJavaArguments(Instance instance) {
+        return JvmArgumentPlanner.forSettings()
+                .plan(JvmPlanInput.forInstance(instance, getJavaExecutable(getJavaPath(instance))));
+    }
+
+    private static List<String> getArguments(AbstractAccount account, Instance instance, String props,
+            String nativesDir) {
+        StringBuilder cpb = new StringBuilder();
+        boolean hasCustomJarMods = false;
+
+        ErrorReporting.recordInstancePlay(instance.getPackName(), instance.getVersion(), instance.getLoaderVersion(),
+                2);
+
+        String javaPath = getJavaPath(instance);
+
         File jarMods = instance.getJarModsDirectory();
         File[] jarModFiles = jarMods.listFiles();
         if (jarMods.exists() && jarModFiles != null && jarModFiles.length != 0) {
@@ -154,7 +174,7 @@ public class MCLauncher {
             arguments.add("gamemoderun");
         }
 
-        String path = javaPath + File.separator + "bin" + File.separator + "java";
+        String path = getJavaExecutable(javaPath);
         if (OS.isWindows() && (Files.exists(Paths.get(path + "w")) || Files.exists(Paths.get(path + "w.exe")))) {
             path += "w";
         }
@@ -162,32 +182,15 @@ public class MCLauncher {
 
         arguments.add("-XX:-OmitStackTraceInFastThrow");
 
-        arguments.add("-Xms" + initialMemory + "M");
+        JvmArgumentPlan plan = JvmArgumentPlanner.forSettings()
+                .plan(JvmPlanInput.forInstance(instance, getJavaExecutable(javaPath)));
+        LogManager.debug("Planned Java arguments:\n" + plan.explain());
+        arguments.addAll(plan.getArguments());
+        String javaArguments = plan.getJavaArguments();
 
-        if (OS.getMaximumRam() != 0 && maximumMemory < instance.getMemory()) {
-            if ((OS.getMaximumRam() / 2) < instance.getMemory()) {
-                arguments.add("-Xmx" + maximumMemory + "M");
-            } else {
-                arguments.add("-Xmx" + instance.getMemory() + "M");
-            }
-        } else {
-            arguments.add("-Xmx" + maximumMemory + "M");
-        }
+        String classpath = cpb.toString();
 
-        if (OS.getMaximumRam() != 0 && permGen < instance.getPermGen()
-                && (OS.getMaximumRam() / 8) < instance.getPermGen()) {
-            if (Java.useMetaspace()) {
-                arguments.add("-XX:MetaspaceSize=" + instance.getPermGen() + "M");
-            } else {
-                arguments.add("-XX:PermSize=" + instance.getPermGen() + "M");
-            }
-        } else {
-            if (Java.useMetaspace()) {
-                arguments.add("-XX:MetaspaceSize=" + permGen + "M");
-            } else {
-                arguments.add("-XX:PermSize=" + permGen + "M");
-            }
-        }
+        arguments.addAll(ClassDataSharingManager.getArguments(instance, getJavaExecutable(javaPath), classpath));
 
         arguments.add("-Duser.language=en");
         arguments.add("-Duser.country=US");
@@ -224,8 +227,6 @@ public class MCLauncher {
             }
         }
 
-        String classpath = cpb.toString();
-
         for (String argument : instance.arguments.jvmAsStringList()) {
             arguments.add(replaceArgument(argument, instance, account, props, nativesDir, classpath));
         }
@@ -19,18 +19,25 @@ package com.atlauncher.network;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.lang.reflect.Type;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.Network;
+import com.atlauncher.data.DownloadValidator;
+import com.atlauncher.managers.FingerprintManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.FileUtils;
@@ -50,6 +57,9 @@ import okhttp3.Response;
 public final class Download {
     public static final int MAX_ATTEMPTS = 3;
 
+    // the files being downloaded right now, completed once the download to them has finished
+    private static final Map<Path, CompletableFuture<Void>> IN_FLIGHT = new ConcurrentHashMap<>();
+
     // pre request
     String url;
     private String friendlyFileName;
@@ -59,6 +69,7 @@ public final class Download {
     public Path copyTo;
     private boolean ignoreFailures = false;
     private String hash;
+    private boolean hashFromServer = false;
     private Long fingerprint = null;
     public long size = -1L;
     private boolean executable = false;
@@ -71,6 +82,10 @@ public final class Download {
     // generated on/after request
     public Response response;
 
+    // what the server said about the file when asked with a HEAD request, for downloads with no hash
+    private boolean probed = false;
+    private DownloadValidator serverValidator = null;
+
     public Download() {
 
     }
@@ -348,7 +363,10 @@ public final class Download {
             this.execute();
         }
 
-        String etag = this.response.header("ETag");
+        return hashFromEtag(this.response.header("ETag"));
+    }
+
+    private static String hashFromEtag(String etag) {
         if (etag == null) {
             return "-";
         }
@@ -368,6 +386,8 @@ public final class Download {
                 LogManager.logStackTrace(e);
                 this.hash = "-";
             }
+
+            this.hashFromServer = true;
         }
 
         return this.hash;
@@ -408,13 +428,15 @@ public final class Download {
 
             if (this.fingerprint != null) {
                 try {
-                    if (Hashing.murmur(this.to) == this.fingerprint) {
+                    if (FingerprintManager.getFingerprint(this.to) == this.fingerprint) {
                         return false;
                     }
                 } catch (IOException e) {
                     LogManager.error("Error getting murmur hash");
                     return false;
                 }
+            } else if (this.hashless()) {
+                return !this.isUpToDateWithServer();
             } else if (this.md5() && Hashing.md5(this.to).equals(Hashing.HashCode.fromString(this.getHash()))) {
                 return false;
             } else if (this.sha512() && Hashing.sha512(this.to).equals(Hashing.HashCode.fromString(this.getHash()))) {
@@ -422,14 +444,152 @@ public final class Download {
             } else if (Hashing.sha1(this.to).equals(Hashing.HashCode.fromString(this.getHash()))) {
                 return false;
             }
+        }
 
-            // if no hash, but filesizes match, then no need to download
-            if ((this.hash == null || this.hash.equals("-")) && this.to.toFile().length() == this.getFilesize()) {
-                return false;
+        return true;
+    }
+
+    private boolean hashless() {
+        return this.hash == null || this.hash.isEmpty() || this.hashFromServer;
+    }
+
+    private BasicFileAttributes readAttributes() {
+        try {
+            return Files.readAttributes(this.to, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the file on disk is the same as the one on the server, for downloads with no hash. If the file hasn't
+     * changed since it was last checked, and that wasn't long ago, the server isn't asked at all.
+     */
+    private boolean isUpToDateWithServer() {
+        BasicFileAttributes attributes = readAttributes();
+
+        if (attributes == null) {
+            return false;
+        }
+
+        DownloadValidator known = DownloadValidators.get(this.url, this.to);
+        DownloadValidators.FileState state = DownloadValidators.getState(known, this.to, attributes,
+                System.currentTimeMillis());
+        boolean knownFile = state != DownloadValidators.FileState.UNKNOWN;
+
+        if (state == DownloadValidators.FileState.FRESH) {
+            this.useServerHash(known);
+            return true;
+        }
+
+        if (!this.probed) {
+            this.probe();
+        }
+
+        DownloadValidator server = this.serverValidator;
+
+        // if the server couldn't be asked, trust the file if it was the same as the server's when it was last checked
+        if (server == null) {
+            return knownFile;
+        }
+
+        this.useServerHash(server);
+
+        boolean upToDate;
+        if (knownFile) {
+            upToDate = server == known || server.isSameVersionAs(known);
+        } else if (this.md5()) {
+            upToDate = Hashing.md5(this.to).equals(Hashing.HashCode.fromString(this.hash));
+        } else {
+            upToDate = server.size != -1L && attributes.size() == server.size;
+        }
+
+        if (upToDate) {
+            DownloadValidators.record(this.url, this.to, server, attributes);
+        }
+
+        return upToDate;
+    }
+
+    private void useServerHash(DownloadValidator validator) {
+        this.hash = hashFromEtag(validator.etag);
+        this.hashFromServer = true;
+    }
+
+    /**
+     * Checks if this is a download with no hash for a file which is already on disk, but which needs the server to
+     * tell if it's up to date.
+     */
+    boolean needsProbe() {
+        if (this.to == null || this.post != null || this.fingerprint != null || !this.hashless() || this.probed) {
+            return false;
+        }
+
+        BasicFileAttributes attributes = readAttributes();
+
+        if (attributes == null || (this.ignoreFailures && attributes.size() != 0)) {
+            return false;
+        }
+
+        return DownloadValidators.getState(this.url, this.to, attributes) != DownloadValidators.FileState.FRESH;
+    }
+
+    /**
+     * Asks the server about the file with a HEAD request. If the file on disk is the same as what the server gave out
+     * before, the request is made conditional so the server can say nothing has changed.
+     */
+    void probe() {
+        Request.Builder builder = new Request.Builder().url(this.url).head();
+
+        if (this.headers.size() != 0) {
+            builder.headers(Headers.of(this.headers));
+        }
+
+        DownloadValidator known = DownloadValidators.get(this.url, this.to);
+        boolean knownFile = DownloadValidators.getState(known, this.to, readAttributes(),
+                System.currentTimeMillis()) != DownloadValidators.FileState.UNKNOWN;
+
+        if (knownFile && known.etag != null) {
+            builder.header("If-None-Match", known.etag);
+        }
+
+        if (knownFile && known.lastModified != null) {
+            builder.header("If-Modified-Since", known.lastModified);
+        }
+
+        try (Response head = httpClient.newCall(builder.build()).execute()) {
+            if (knownFile && head.code() == 304) {
+                this.serverValidator = known;
+            } else if (head.isSuccessful()) {
+                this.serverValidator = DownloadValidators.fromResponse(head, this.to);
+            } else {
+                LogManager.debug("Couldn't check " + this.url + " as the server responded with " + head.code());
             }
+        } catch (IOException e) {
+            LogManager.debug("Couldn't check " + this.url + ": " + e.getMessage());
         }
 
-        return true;
+        this.probed = true;
+    }
+
+    /**
+     * Remembers what the server said about the file just downloaded, so that checking it again doesn't need to ask the
+     * server.
+     */
+    private void recordServerValidators() {
+        this.probed = false;
+        this.serverValidator = null;
+
+        if (!this.hashless() || this.post != null || this.response == null || !this.response.isSuccessful()) {
+            return;
+        }
+
+        BasicFileAttributes attributes = readAttributes();
+
+        if (attributes != null) {
+            DownloadValidators.record(this.url, this.to, DownloadValidators.fromResponse(this.response, this.to),
+                    attributes);
+        }
     }
 
     private void downloadDirect() {
@@ -452,7 +612,7 @@ public final class Download {
         if (Files.exists(this.to)) {
             if (this.fingerprint != null) {
                 try {
-                    return Hashing.murmur(this.to) == this.fingerprint;
+                    return FingerprintManager.getFingerprint(this.to) == this.fingerprint;
                 } catch (IOException e) {
                     LogManager.error("Error getting murmur hash");
                     return false;
@@ -537,7 +697,47 @@ public final class Download {
         }
     }
 
+    /**
+     * Downloads the file, if it needs to be.
+     *
+     * Only one download to the same file runs at a time, so when two instances launch or install at the same time and
+     * need the same library or asset, the second waits for the first and then finds it doesn't need to download it.
+     */
     public void downloadFile() throws IOException {
+        if (this.to == null) {
+            downloadFileUnlocked();
+            return;
+        }
+
+        Path destination = this.to.toAbsolutePath().normalize();
+
+        while (true) {
+            CompletableFuture<Void> download = new CompletableFuture<>();
+            CompletableFuture<Void> otherDownload = IN_FLIGHT.putIfAbsent(destination, download);
+
+            if (otherDownload == null) {
+                try {
+                    downloadFileUnlocked();
+                } finally {
+                    IN_FLIGHT.remove(destination, download);
+                    download.complete(null);
+                }
+
+                return;
+            }
+
+            // wait for the other download, then check again as it may have failed or been for a different file
+            try {
+                otherDownload.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for another download to " + destination);
+            } catch (ExecutionException ignored) {
+            }
+        }
+    }
+
+    private void downloadFileUnlocked() throws IOException {
         if (this.instanceInstaller != null && this.instanceInstaller.isCancelled()) {
             return;
         }
@@ -610,6 +810,7 @@ public final class Download {
                 || (expected != null && expected.equals(Hashing.HashCode.EMPTY))) {
             if (this.response.isSuccessful()) {
                 this.downloadDirect();
+                this.recordServerValidators();
             }
         } else {
             boolean downloaded = this.downloadRec(1);
@@ -642,6 +843,10 @@ public final class Download {
                 }
             }
 
+            if (downloaded) {
+                this.recordServerValidators();
+            }
+
             if (downloaded && this.copyTo != null) {
                 if (this.fingerprint != null) {
                     try {
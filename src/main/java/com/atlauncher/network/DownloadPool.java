@@ -63,6 +63,8 @@ public final class DownloadPool extends LinkedList<Download> {
     public long totalSize() {
         long size = 0;
         synchronized (this) {
+            DownloadValidators.probe(this);
+
             for (Download dl : this) {
                 if (dl.needToDownload()) {
                     size += dl.size;
@@ -98,6 +100,8 @@ public final class DownloadPool extends LinkedList<Download> {
 
     public boolean any() {
         synchronized (this) {
+            DownloadValidators.probe(this);
+
             for (Download dl : this) {
                 if (dl.needToDownload()) {
                     return true;
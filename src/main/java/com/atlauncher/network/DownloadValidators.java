@@ -0,0 +1,202 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.DownloadValidator;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.PersistenceManager;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.Response;
+
+/**
+ * Remembers what servers said about files which have no known hash (their ETag, Last-Modified and size), so that
+ * checking if those files are up to date doesn't need to ask the server every time.
+ *
+ * A file which hasn't changed on disk since it was last checked is trusted for a while without asking the server at
+ * all. After that it's checked with a conditional HEAD request, which the server can answer with a 304 if nothing has
+ * changed. Files which have never been checked are checked with a HEAD request, and checks for many files are made at
+ * the same time with {@link #probe(Collection)}.
+ *
+ * What's known is kept for each url and the file it's downloaded to, so the same url downloaded to more than one place
+ * is remembered for each of them.
+ */
+public final class DownloadValidators {
+    private static final long FRESH_FOR = TimeUnit.HOURS.toMillis(1);
+
+    private static final Type TYPE = new TypeToken<Map<String, DownloadValidator>>() {
+    }.getType();
+
+    private static final Map<String, DownloadValidator> validators = new ConcurrentHashMap<>();
+
+    /**
+     * How a file on disk needs to be checked against the server.
+     */
+    public enum FileState {
+        /**
+         * The file is the same as when it was last checked, which was recent enough to trust it without asking.
+         */
+        FRESH,
+
+        /**
+         * The file is the same as when it was last checked, but that was a while ago, so the server should be asked
+         * if it's changed.
+         */
+        STALE,
+
+        /**
+         * Nothing is known about the file, or it's changed since it was last checked.
+         */
+        UNKNOWN
+    }
+
+    static {
+        load();
+    }
+
+    /**
+     * Gets what's known about the given url downloaded to the given file, or null if nothing is.
+     */
+    public static DownloadValidator get(String url, Path to) {
+        return validators.get(getKey(url, to));
+    }
+
+    /**
+     * Works out how the given file downloaded from the given url needs to be checked against the server.
+     *
+     * @param attributes the attributes of the file on disk, or null if it doesn't exist
+     */
+    public static FileState getState(String url, Path to, BasicFileAttributes attributes) {
+        return getState(get(url, to), to, attributes, System.currentTimeMillis());
+    }
+
+    static FileState getState(DownloadValidator known, Path to, BasicFileAttributes attributes, long now) {
+        if (known == null || attributes == null || !known.matchesFile(to.toAbsolutePath().toString(),
+                attributes.size(), attributes.lastModifiedTime().toMillis())) {
+            return FileState.UNKNOWN;
+        }
+
+        return now - known.checkedAt < FRESH_FOR ? FileState.FRESH : FileState.STALE;
+    }
+
+    /**
+     * Remembers that the given file on disk is the same as what the server is giving out for the url.
+     */
+    public static void record(String url, Path to, DownloadValidator validator, BasicFileAttributes attributes) {
+        validator.path = to.toAbsolutePath().toString();
+        validator.fileSize = attributes.size();
+        validator.fileLastModified = attributes.lastModifiedTime().toMillis();
+        validator.checkedAt = System.currentTimeMillis();
+
+        validators.put(getKey(url, to), validator);
+        queueSave();
+    }
+
+    public static void forget(String url, Path to) {
+        if (validators.remove(getKey(url, to)) != null) {
+            queueSave();
+        }
+    }
+
+    static String getKey(String url, Path to) {
+        return url + "|" + to.toAbsolutePath();
+    }
+
+    /**
+     * Reads the validators the server sent in the given response.
+     */
+    public static DownloadValidator fromResponse(Response response, Path path) {
+        long size = -1L;
+
+        try {
+            size = Long.parseLong(response.header("Content-Length", "-1"));
+        } catch (NumberFormatException ignored) {
+        }
+
+        return new DownloadValidator(path.toAbsolutePath().toString(), response.header("ETag"),
+                response.header("Last-Modified"), size);
+    }
+
+    /**
+     * Checks all the given downloads which need the server to tell if they're up to date at the same time, so that
+     * calling {@link Download#needToDownload()} on them afterwards doesn't need to wait on the server for each one.
+     */
+    public static void probe(Collection<Download> downloads) {
+        List<Download> needProbing = downloads.stream().filter(Download::needsProbe).collect(Collectors.toList());
+
+        if (needProbing.size() < 2) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(needProbing.size(), Math.max(1, App.settings.concurrentConnections)));
+        for (Download download : needProbing) {
+            executor.execute(download::probe);
+        }
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void queueSave() {
+        PersistenceManager.queue(DownloadValidators.class, () -> PersistenceManager.writeJson(
+                FileSystem.DOWNLOAD_VALIDATORS_JSON, Gsons.DEFAULT_SLIM, new HashMap<>(validators), TYPE,
+                StandardCharsets.UTF_8));
+    }
+
+    private static void load() {
+        if (!Files.exists(FileSystem.DOWNLOAD_VALIDATORS_JSON)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(FileSystem.DOWNLOAD_VALIDATORS_JSON, StandardCharsets.UTF_8)) {
+            Map<String, DownloadValidator> saved = Gsons.DEFAULT_SLIM.fromJson(reader, TYPE);
+
+            if (saved != null) {
+                validators.putAll(saved);
+            }
+        } catch (IOException | JsonParseException e) {
+            LogManager.logStackTrace("Failed to read download validators", e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.atlauncher.interfaces.NetworkProgressable;
+
+import org.mini2Dx.gettext.GetText;
+
+/**
+ * Adds up the bytes downloaded for a task and publishes the progress at a fixed rate.
+ *
+ * Downloads report every chunk they read from their own network threads, which with many downloads going at once can
+ * be tens of thousands of updates a second. The counts are kept in {@link LongAdder}s so no update is lost or blocks
+ * another, and the listener is only told about them (along with the speed and time remaining) 20 times a second, and
+ * only when something changed.
+ */
+public class ProgressTracker implements NetworkProgressable {
+    private static final long PUBLISH_INTERVAL_MS = 50;
+
+    /**
+     * How much each new speed measurement counts towards the average speed, to smooth out bursty downloads.
+     */
+    private static final double SPEED_SMOOTHING = 0.2;
+
+    private static final ScheduledExecutorService PUBLISHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ATLauncher Progress Publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Consumer<Progress> listener;
+    private final LongAdder totalBytes = new LongAdder();
+    private final LongAdder downloadedBytes = new LongAdder();
+
+    private volatile String phase;
+    private ScheduledFuture<?> publishing;
+
+    private long lastPublishedTotal = 0;
+    private long lastPublishedDownloaded = 0;
+    private long lastMeasuredAt = 0;
+    private long lastMeasuredDownloaded = 0;
+    private double bytesPerSecond = 0;
+
+    /**
+     * @param listener told about the progress from the publisher thread, so must hop onto the EDT itself if needed
+     */
+    public ProgressTracker(Consumer<Progress> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts publishing the progress.
+     */
+    public synchronized void start() {
+        if (publishing == null) {
+            publishing = PUBLISHER.scheduleAtFixedRate(this::publish, PUBLISH_INTERVAL_MS, PUBLISH_INTERVAL_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes any progress not yet published and stops publishing.
+     */
+    public synchronized void stop() {
+        if (publishing != null) {
+            publishing.cancel(false);
+            publishing = null;
+        }
+
+        publish();
+    }
+
+    /**
+     * Starts a new phase of the task, publishing the progress of the last phase first so it isn't shown afterwards.
+     */
+    public synchronized void setPhase(String phase) {
+        reset();
+        this.phase = phase;
+    }
+
+    /**
+     * Publishes any progress not yet published and then clears it, without publishing that it was cleared.
+     */
+    public synchronized void reset() {
+        publish();
+
+        totalBytes.reset();
+        downloadedBytes.reset();
+        lastPublishedTotal = lastPublishedDownloaded = 0;
+        lastMeasuredAt = 0;
+        lastMeasuredDownloaded = 0;
+        bytesPerSecond = 0;
+    }
+
+    @Override
+    public void setTotalBytes(long bytes) {
+        synchronized (this) {
+            downloadedBytes.reset();
+            totalBytes.reset();
+            totalBytes.add(bytes);
+            lastMeasuredAt = 0;
+            bytesPerSecond = 0;
+        }
+
+        publish();
+    }
+
+    @Override
+    public void addDownloadedBytes(long bytes) {
+        downloadedBytes.add(bytes);
+    }
+
+    @Override
+    public void addBytesToDownload(long bytes) {
+        totalBytes.add(bytes);
+    }
+
+    private synchronized void publish() {
+        long total = totalBytes.sum();
+        long downloaded = downloadedBytes.sum();
+        long now = System.nanoTime();
+
+        if (lastMeasuredAt == 0) {
+            lastMeasuredAt = now;
+            lastMeasuredDownloaded = downloaded;
+        } else if (now - lastMeasuredAt >= TimeUnit.MILLISECONDS.toNanos(PUBLISH_INTERVAL_MS)) {
+            double measured = (downloaded - lastMeasuredDownloaded) / ((now - lastMeasuredAt) / 1e9);
+            bytesPerSecond = bytesPerSecond == 0 ? measured
+                    : (SPEED_SMOOTHING * measured) + ((1 - SPEED_SMOOTHING) * bytesPerSecond);
+            lastMeasuredAt = now;
+            lastMeasuredDownloaded = downloaded;
+        }
+
+        if (total == lastPublishedTotal && downloaded == lastPublishedDownloaded) {
+            return;
+        }
+
+        lastPublishedTotal = total;
+        lastPublishedDownloaded = downloaded;
+
+        listener.accept(new Progress(phase, downloaded, total, bytesPerSecond));
+    }
+
+    /**
+     * The progress of a task at a point in time.
+     */
+    public static class Progress {
+        public final String phase;
+        public final long downloadedBytes;
+        public final long totalBytes;
+        public final double bytesPerSecond;
+
+        public Progress(String phase, long downloadedBytes, long totalBytes, double bytesPerSecond) {
+            this.phase = phase;
+            this.downloadedBytes = downloadedBytes;
+            this.totalBytes = totalBytes;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        /**
+         * Gets the percent done, from 0 to 100.
+         */
+        public double getPercent() {
+            if (totalBytes <= 0) {
+                return 0.0;
+            }
+
+            return Math.min(100.0, (downloadedBytes * 100.0) / totalBytes);
+        }
+
+        /**
+         * Gets the number of seconds left at the current speed, or -1 if it's not known.
+         */
+        public long getSecondsRemaining() {
+            if (bytesPerSecond <= 0 || downloadedBytes >= totalBytes) {
+                return -1;
+            }
+
+            return (long) Math.ceil((totalBytes - downloadedBytes) / bytesPerSecond);
+        }
+
+        /**
+         * Gets the text to show on a progress bar, such as "1.50 MB / 3.00 MB (0.50 MB/s, 0:03 left)".
+         */
+        public String getLabel() {
+            double done = downloadedBytes / 1024.0 / 1024.0;
+            double toDo = totalBytes / 1024.0 / 1024.0;
+
+            if (done > toDo) {
+                return String.format("%.2f MB", done);
+            }
+
+            String label = String.format("%.2f MB / %.2f MB", done, toDo);
+            long secondsRemaining = getSecondsRemaining();
+
+            if (secondsRemaining >= 0) {
+                label += String.format(" (%.2f MB/s, %s)", bytesPerSecond / 1024.0 / 1024.0, GetText.tr("{0} left",
+                        String.format("%d:%02d", secondsRemaining / 60, secondsRemaining % 60)));
+            }
+
+            return label;
+        }
+    }
+}
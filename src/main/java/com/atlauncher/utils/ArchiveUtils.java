@@ -17,16 +17,38 @@
  */
 package com.atlauncher.utils;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import com.atlauncher.managers.LogManager;
 
@@ -34,11 +56,25 @@ import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.utils.IOUtils;
 import org.zeroturnaround.zip.NameMapper;
 import org.zeroturnaround.zip.ZipUtil;
 
 public class ArchiveUtils {
+    /**
+     * Size of the buffer each worker uses when copying entry data to disk.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Archives with fewer files than this are extracted on the calling thread, as
+     * spinning up a pool costs more than it saves.
+     */
+    private static final int MIN_ENTRIES_FOR_PARALLEL = 16;
+
     public static boolean archiveContainsFile(Path archivePath, String file) {
         try {
             return ZipUtil.containsEntry(archivePath.toFile(), file);
@@ -100,14 +136,19 @@ public class ArchiveUtils {
         return contents;
     }
 
-    public static void extract(Path archivePath, Path extractToPath) {
-        extract(archivePath, extractToPath, name -> name);
+    public static boolean extract(Path archivePath, Path extractToPath) {
+        return extract(archivePath, extractToPath, name -> name);
     }
 
-    public static void extract(Path archivePath, Path extractToPath, NameMapper nameMapper) {
+    /**
+     * Extracts the archive to the given path, renaming or skipping (if mapped to null) entries with the name mapper.
+     *
+     * @return true if everything was extracted, false if it failed part way through or the archive couldn't be read
+     */
+    public static boolean extract(Path archivePath, Path extractToPath, NameMapper nameMapper) {
         try {
-            ZipUtil.unpack(archivePath.toFile(), extractToPath.toFile(), nameMapper);
-            return;
+            extractParallel(archivePath, extractToPath, nameMapper);
+            return true;
         } catch (Throwable t) {
             // allow this to fail as we can fallback to Apache Commons library
             LogManager.error("Failed to extract " + archivePath.toAbsolutePath());
@@ -155,9 +196,10 @@ public class ArchiveUtils {
             }
         } catch (Exception e) {
             LogManager.logStackTrace(e);
+            return false;
         }
 
-        return;
+        return true;
     }
 
     public static void createZip(Path pathToCompress, Path archivePath) {
@@ -165,9 +207,45 @@ public class ArchiveUtils {
     }
 
     public static void createZip(Path pathToCompress, Path archivePath, NameMapper nameMapper) {
+        createZip(pathToCompress, archivePath, nameMapper, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a zip from the files in the given path, streaming them straight into the archive under the name
+     * returned by the name mapper, along with the given generated files which are only created once the zip is being
+     * written.
+     *
+     * @param pathToCompress the path to walk for files
+     * @param archivePath    the zip to create
+     * @param nameMapper     maps the relative path of each file to its name in the zip, or null to skip it
+     * @param generatedFiles extra entries to add to the zip keyed by name, the contents of which are generated in
+     *                       parallel with the other files being compressed
+     * @return if the zip was created successfully
+     */
+    public static boolean createZip(Path pathToCompress, Path archivePath, NameMapper nameMapper,
+            Map<String, Callable<byte[]>> generatedFiles) {
+        return createZip(pathToCompress, listFiles(pathToCompress), archivePath, nameMapper, generatedFiles);
+    }
+
+    /**
+     * Creates a zip from the given files, streaming them straight into the archive under the name returned by the
+     * name mapper, along with the given generated files which are only created once the zip is being written.
+     *
+     * @param pathToCompress the path the files are in, which their names are relative to
+     * @param files          the files to add to the zip
+     * @param archivePath    the zip to create
+     * @param nameMapper     maps the relative path of each file to its name in the zip, or null to skip it
+     * @param generatedFiles extra entries to add to the zip keyed by name, the contents of which are generated in
+     *                       parallel with the other files being compressed
+     * @return if the zip was created successfully
+     */
+    public static boolean createZip(Path pathToCompress, Collection<Path> files, Path archivePath,
+            NameMapper nameMapper, Map<String, Callable<byte[]>> generatedFiles) {
+        Map<Path, String> fileNames = getFileNames(pathToCompress, files, archivePath, nameMapper);
+
         try {
-            ZipUtil.pack(pathToCompress.toFile(), archivePath.toFile(), nameMapper);
-            return;
+            createZipParallel(fileNames, archivePath, generatedFiles);
+            return true;
         } catch (Throwable t) {
             // allow this to fail as we can fallback to Apache Commons library
             LogManager.error("Failed to create zip " + archivePath.toAbsolutePath() + " from "
@@ -176,30 +254,65 @@ public class ArchiveUtils {
 
         try (OutputStream os = Files.newOutputStream(archivePath);
                 ArchiveOutputStream aos = new ArchiveStreamFactory().createArchiveOutputStream("ZIP", os)) {
+            for (Map.Entry<String, Callable<byte[]>> generatedFile : generatedFiles.entrySet()) {
+                byte[] contents = generatedFile.getValue().call();
+
+                ZipArchiveEntry entry = new ZipArchiveEntry(generatedFile.getKey());
+                entry.setSize(contents.length);
+                aos.putArchiveEntry(entry);
+                aos.write(contents);
+                aos.closeArchiveEntry();
+            }
 
-            Files.walkFileTree(pathToCompress, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
-                    // only copy files, no symbolic links or directories
-                    if (attributes.isSymbolicLink() || attributes.isDirectory()) {
-                        return FileVisitResult.CONTINUE;
+            for (Map.Entry<Path, String> file : fileNames.entrySet()) {
+                try {
+                    ArchiveEntry entry = aos.createArchiveEntry(file.getKey().toFile(), file.getValue());
+                    aos.putArchiveEntry(entry);
+                    if (!entry.isDirectory()) {
+                        Files.copy(file.getKey(), aos);
                     }
+                    aos.closeArchiveEntry();
+                } catch (IOException e) {
+                    LogManager.logStackTrace(String.format("Unable to add %s to zip", file.getKey()), e);
+                }
+            }
 
-                    // get filename
-                    String fileName = nameMapper.map(pathToCompress.relativize(file).toString());
+            return true;
+        } catch (Exception e) {
+            LogManager.logStackTrace(e);
+        }
+
+        return false;
+    }
 
-                    if (fileName == null) {
-                        return FileVisitResult.CONTINUE;
+    /**
+     * Lists the files (but not symbolic links) in the given path and the folders within it, along with any empty
+     * folders so they're kept in the zip.
+     */
+    private static List<Path> listFiles(Path path) {
+        List<Path> files = new ArrayList<>();
+
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes)
+                        throws IOException {
+                    if (!dir.equals(path)) {
+                        try (Stream<Path> children = Files.list(dir)) {
+                            if (!children.findAny().isPresent()) {
+                                files.add(dir);
+                            }
+                        }
                     }
 
-                    try {
-                        ArchiveEntry entry = aos.createArchiveEntry(file.toFile(), fileName);
-                        aos.putArchiveEntry(entry);
-                        Files.copy(file, aos);
-                        aos.closeArchiveEntry();
+                    return FileVisitResult.CONTINUE;
+                }
 
-                    } catch (IOException e) {
-                        LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    // only add files, no symbolic links or directories
+                    if (!attributes.isSymbolicLink() && !attributes.isDirectory()) {
+                        files.add(file);
                     }
 
                     return FileVisitResult.CONTINUE;
@@ -210,12 +323,228 @@ public class ArchiveUtils {
                     LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
                     return FileVisitResult.CONTINUE;
                 }
-
             });
-        } catch (Exception e) {
-            LogManager.logStackTrace(e);
+        } catch (IOException e) {
+            LogManager.logStackTrace(String.format("Unable to list files in %s", path), e);
+        }
+
+        return files;
+    }
+
+    /**
+     * Maps each of the files to its name in the zip, leaving out the zip itself and any files the name mapper skips.
+     * Folders are given a trailing '/' so they're added as directory entries.
+     */
+    private static Map<Path, String> getFileNames(Path pathToCompress, Collection<Path> files, Path archivePath,
+            NameMapper nameMapper) {
+        Path base = pathToCompress.toAbsolutePath().normalize();
+        Path archive = archivePath.toAbsolutePath().normalize();
+        Map<Path, String> fileNames = new LinkedHashMap<>();
+
+        for (Path file : files) {
+            Path absoluteFile = file.toAbsolutePath().normalize();
+
+            // don't add the zip we're creating to itself
+            if (absoluteFile.equals(archive)) {
+                continue;
+            }
+
+            String relativeName = base.relativize(absoluteFile).toString().replace(File.separatorChar, '/');
+
+            if (Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                relativeName += "/";
+            }
+
+            String fileName = nameMapper.map(relativeName);
+
+            if (fileName != null) {
+                fileNames.put(file, fileName);
+            }
         }
 
-        return;
+        return fileNames;
+    }
+
+    /**
+     * Extracts the given archive by reading its central directory up front, creating all the needed directories and
+     * then inflating the files across all available cores, each worker having its own handle to the archive.
+     */
+    private static void extractParallel(Path archivePath, Path extractToPath, NameMapper nameMapper)
+            throws IOException, InterruptedException, ExecutionException {
+        Map<String, Path> files = new LinkedHashMap<>();
+        Set<Path> directories = new LinkedHashSet<>();
+
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String fileName = nameMapper.map(entry.getName());
+
+                if (fileName == null) {
+                    continue;
+                }
+
+                Path outputPath = getOutputPath(extractToPath, fileName);
+
+                if (outputPath == null) {
+                    continue;
+                }
+
+                if (entry.isDirectory()) {
+                    directories.add(outputPath);
+                } else {
+                    files.put(entry.getName(), outputPath);
+                    directories.add(outputPath.getParent());
+                }
+            }
+        }
+
+        for (Path directory : directories) {
+            Files.createDirectories(directory);
+        }
+
+        if (files.isEmpty()) {
+            return;
+        }
+
+        Queue<Map.Entry<String, Path>> queue = new ConcurrentLinkedQueue<>(files.entrySet());
+
+        if (files.size() < MIN_ENTRIES_FOR_PARALLEL) {
+            extractEntries(archivePath, queue);
+            return;
+        }
+
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), files.size() / MIN_ENTRIES_FOR_PARALLEL);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    extractEntries(archivePath, queue);
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void extractEntries(Path archivePath, Queue<Map.Entry<String, Path>> queue) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            Map.Entry<String, Path> file;
+            while ((file = queue.poll()) != null) {
+                ZipEntry entry = zipFile.getEntry(file.getKey());
+
+                try (InputStream is = zipFile.getInputStream(entry);
+                        OutputStream os = Files.newOutputStream(file.getValue())) {
+                    int read;
+                    while ((read = is.read(buffer)) != -1) {
+                        os.write(buffer, 0, read);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Path getOutputPath(Path extractToPath, String fileName) {
+        Path outputPath;
+
+        try {
+            outputPath = extractToPath.resolve(fileName);
+        } catch (InvalidPathException e) {
+            String newFilename = fileName.replaceAll("[:*\\?\"<>|]", "");
+            LogManager.warn(String.format("InvalidPath when extracting file with name of '%s'. Renaming to '%s'",
+                    fileName, newFilename));
+            outputPath = extractToPath.resolve(newFilename);
+        }
+
+        if (!outputPath.normalize().startsWith(extractToPath.normalize())) {
+            LogManager.warn(String.format("Not extracting file with name of '%s' as it's outside of '%s'", fileName,
+                    extractToPath.toAbsolutePath()));
+            return null;
+        }
+
+        return outputPath;
+    }
+
+    /**
+     * Creates a zip by deflating each file on its own worker and then stitching the compressed entries together into
+     * the final archive. Directory entries have no data so are written straight to the archive.
+     */
+    private static void createZipParallel(Map<Path, String> fileNames, Path archivePath,
+            Map<String, Callable<byte[]>> generatedFiles)
+            throws IOException, InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ParallelScatterZipCreator zipCreator = new ParallelScatterZipCreator(executor);
+        List<ZipArchiveEntry> directories = new ArrayList<>();
+
+        try {
+            // generated files go first so they're worked on while the rest of the files are streamed in
+            for (Map.Entry<String, Callable<byte[]>> generatedFile : generatedFiles.entrySet()) {
+                ZipArchiveEntry entry = new ZipArchiveEntry(generatedFile.getKey());
+                entry.setMethod(ZipEntry.DEFLATED);
+
+                zipCreator.addArchiveEntry(entry, () -> {
+                    try {
+                        return new ByteArrayInputStream(generatedFile.getValue().call());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            }
+
+            for (Map.Entry<Path, String> fileName : fileNames.entrySet()) {
+                Path file = fileName.getKey();
+                long lastModified;
+
+                try {
+                    lastModified = Files.getLastModifiedTime(file).toMillis();
+                } catch (IOException e) {
+                    LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
+                    continue;
+                }
+
+                ZipArchiveEntry entry = new ZipArchiveEntry(fileName.getValue());
+                entry.setTime(lastModified);
+
+                if (entry.isDirectory()) {
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(0);
+                    entry.setCrc(0);
+                    directories.add(entry);
+                    continue;
+                }
+
+                entry.setMethod(ZipEntry.DEFLATED);
+
+                zipCreator.addArchiveEntry(entry, () -> {
+                    try {
+                        return Files.newInputStream(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archivePath.toFile())) {
+                for (ZipArchiveEntry directory : directories) {
+                    zos.putArchiveEntry(directory);
+                    zos.closeArchiveEntry();
+                }
+
+                zipCreator.writeTo(zos);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
@@ -18,6 +18,8 @@
 package com.atlauncher.utils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -163,6 +165,91 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Moves a file into place, replacing anything already there. The move is atomic when the file system supports it,
+     * so other threads will only ever see the old file or the new file and never a partially written one.
+     */
+    public static void moveIntoPlace(Path from, Path to) throws IOException {
+        Files.createDirectories(to.getParent());
+
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Moves the contents of a directory into another directory, merging with anything already there. Each file is
+     * moved into place with {@link #moveIntoPlace(Path, Path)}.
+     */
+    public static boolean moveDirectoryContents(Path from, Path to) {
+        if (!Files.isDirectory(from)) {
+            LogManager.error("Cannot move the contents of " + from + " as it doesn't exist or isn't a directory!");
+            return false;
+        }
+
+        try (Stream<Path> paths = Files.walk(from)) {
+            paths.forEach(path -> {
+                Path target = to.resolve(from.relativize(path).toString());
+
+                try {
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(target);
+                    } else {
+                        moveIntoPlace(path, target);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            LogManager.logStackTrace("Failed to move the contents of " + from + " to " + to, e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Hard links the contents of a directory into another directory, replacing any files already there. Files are
+     * copied instead if they can't be linked (such as when the directories are on different drives).
+     */
+    public static boolean linkDirectoryContents(Path from, Path to) {
+        if (!Files.isDirectory(from)) {
+            LogManager.error("Cannot link the contents of " + from + " as it doesn't exist or isn't a directory!");
+            return false;
+        }
+
+        try (Stream<Path> paths = Files.walk(from)) {
+            paths.forEach(path -> {
+                Path target = to.resolve(from.relativize(path).toString());
+
+                try {
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(target);
+                        return;
+                    }
+
+                    Files.deleteIfExists(target);
+
+                    try {
+                        Files.createLink(target, path);
+                    } catch (IOException | UnsupportedOperationException e) {
+                        Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            LogManager.logStackTrace("Failed to link the contents of " + from + " to " + to, e);
+            return false;
+        }
+
+        return true;
+    }
+
     public static boolean directoryIsEmpty(Path path) throws IOException {
         if (Files.isDirectory(path)) {
             try (Stream<Path> entries = Files.list(path)) {
@@ -34,9 +34,6 @@ import java.util.Map;
 
 import com.atlauncher.collection.Caching;
 import com.atlauncher.managers.LogManager;
-import com.sangupta.murmur.Murmur2;
-
-import org.apache.commons.lang3.ArrayUtils;
 
 public final class Hashing {
     private static final char[] hex = "0123456789abcdef".toCharArray();
@@ -56,14 +53,110 @@ public final class Hashing {
         }
     }
 
+    /**
+     * Gets the fingerprint CurseForge uses for the file, which is the 32 bit MurmurHash2 (with a seed of 1) of the file
+     * with all tab, newline, carriage return and space bytes removed.
+     *
+     * The hash starts with the number of bytes being hashed, so the file is streamed through a small buffer twice,
+     * once to count the bytes which aren't whitespace and once to hash them, rather than being read into memory.
+     */
     public static long murmur(Path to) throws IOException {
-        byte[] bytes = ArrayUtils
-                .removeAllOccurrences(ArrayUtils.removeAllOccurrences(
-                        ArrayUtils.removeAllOccurrences(
-                                ArrayUtils.removeAllOccurrences(Files.readAllBytes(to), (byte) 9), (byte) 10),
-                        (byte) 13), (byte) 32);
+        byte[] buffer = new byte[65536];
+        int length = 0;
+
+        try (InputStream inputStream = Files.newInputStream(to)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (!isMurmurWhitespace(buffer[i])) {
+                        length++;
+                    }
+                }
+            }
+        }
+
+        Murmur2 murmur = new Murmur2(1, length);
+
+        try (InputStream inputStream = Files.newInputStream(to)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                murmur.update(buffer, 0, read);
+            }
+        }
+
+        return murmur.hash();
+    }
+
+    /**
+     * Gets the fingerprint CurseForge uses for the given bytes. See {@link #murmur(Path)}.
+     */
+    public static long murmur(byte[] bytes) {
+        int length = 0;
+        for (byte b : bytes) {
+            if (!isMurmurWhitespace(b)) {
+                length++;
+            }
+        }
+
+        Murmur2 murmur = new Murmur2(1, length);
+        murmur.update(bytes, 0, bytes.length);
+        return murmur.hash();
+    }
 
-        return Murmur2.hash(bytes, bytes.length, 1L);
+    private static boolean isMurmurWhitespace(byte b) {
+        return b == 9 || b == 10 || b == 13 || b == 32;
+    }
+
+    /**
+     * 32 bit MurmurHash2 over bytes given a chunk at a time, skipping whitespace bytes.
+     */
+    private static final class Murmur2 {
+        private static final int M = 0x5bd1e995;
+
+        private int h;
+        private int k = 0;
+        private int pending = 0;
+
+        private Murmur2(int seed, int length) {
+            this.h = seed ^ length;
+        }
+
+        private void update(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                byte b = bytes[i];
+
+                if (isMurmurWhitespace(b)) {
+                    continue;
+                }
+
+                k |= (b & 0xff) << (pending << 3);
+
+                if (++pending == 4) {
+                    k *= M;
+                    k ^= k >>> 24;
+                    k *= M;
+
+                    h *= M;
+                    h ^= k;
+
+                    k = 0;
+                    pending = 0;
+                }
+            }
+        }
+
+        private long hash() {
+            if (pending != 0) {
+                h ^= k;
+                h *= M;
+            }
+
+            h ^= h >>> 13;
+            h *= M;
+            h ^= h >>> 15;
+
+            return h & 0xFFFFFFFFL;
+        }
     }
 
     private static HashCode md5Internal(String str) {
@@ -232,6 +325,18 @@ public final class Hashing {
         }
     }
 
+    public static HashCode sha1(byte[] bytes, int offset, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(bytes, offset, length);
+
+            return new HashCode(digest.digest());
+        } catch (Exception e) {
+            LogManager.logStackTrace("Error hashing (SHA-1) byte array", e);
+            return HashCode.EMPTY;
+        }
+    }
+
     private interface Hasher extends Closeable {
         HashCode hash();
     }
@@ -24,13 +24,16 @@ import java.io.InputStreamReader;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.atlauncher.App;
 import com.atlauncher.FileSystem;
+import com.atlauncher.managers.JavaProbeManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.PerformanceManager;
 import com.atlauncher.utils.javafinder.JavaFinder;
@@ -244,17 +247,14 @@ public class Java {
                 .filter(javaInfo -> javaInfo.majorVersion != null && javaInfo.minorVersion != null)
                 .collect(Collectors.toList());
 
-        JavaInfo systemJava = new JavaInfo(Java.getPathToSystemJavaExecutable());
-        if (javas.size() == 0
-                || javas.stream().noneMatch(java -> java.rootPath.equalsIgnoreCase(systemJava.rootPath))) {
-            javas.add(systemJava);
-        }
+        String systemJavaPath = Java.getPathToSystemJavaExecutable();
+        List<String> runtimePaths = new ArrayList<>();
 
         if (Files.isDirectory(FileSystem.RUNTIMES)) {
             try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(FileSystem.RUNTIMES)) {
                 for (Path path : directoryStream) {
                     if (Files.exists(path.resolve("release"))) {
-                        javas.add(new JavaInfo(Java.getPathToJavaExecutable(path)));
+                        runtimePaths.add(Java.getPathToJavaExecutable(path));
                     }
                 }
             } catch (IOException e) {
@@ -262,6 +262,20 @@ public class Java {
             }
         }
 
+        List<String> otherPaths = new ArrayList<>(runtimePaths);
+        otherPaths.add(systemJavaPath);
+        Map<String, String> versionInfos = JavaProbeManager.getVersionInfos(otherPaths);
+
+        JavaInfo systemJava = new JavaInfo(systemJavaPath, versionInfos.getOrDefault(systemJavaPath, ""));
+        if (javas.size() == 0
+                || javas.stream().noneMatch(java -> java.rootPath.equalsIgnoreCase(systemJava.rootPath))) {
+            javas.add(systemJava);
+        }
+
+        for (String runtimePath : runtimePaths) {
+            javas.add(new JavaInfo(runtimePath, versionInfos.getOrDefault(runtimePath, "")));
+        }
+
         PerformanceManager.end();
         return javas;
     }
@@ -428,6 +428,23 @@ public enum OS {
         return systemInfo;
     }
 
+    /**
+     * Returns the number of logical processors in the users system.
+     */
+    public static int getProcessorCount() {
+        try {
+            int processors = getSystemInfo().getHardware().getProcessor().getLogicalProcessorCount();
+
+            if (processors > 0) {
+                return processors;
+            }
+        } catch (Throwable t) {
+            LogManager.logStackTrace(t);
+        }
+
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Returns the amount of RAM in the users system.
      */
@@ -0,0 +1,181 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable index for searching a list of items.
+ *
+ * Searches are done through a prefix tree of the words in each item's search terms, so a search for "fab 1.16" finds
+ * items with a word starting with "fab" and a word starting with "1.16". Items whose name contains the search are
+ * also found, the same as the search boxes have always done.
+ */
+public class SearchIndex<T> {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}.]+");
+
+    private final List<T> items;
+    private final String[] names;
+    private final Node root = new Node();
+
+    /**
+     * @param items the items to index
+     * @param name  the name of an item, which is matched anywhere in it when searching
+     * @param terms the words to match the start of when searching, such as the name, pack name and versions
+     */
+    public SearchIndex(Collection<T> items, Function<T, String> name, Function<T, Collection<String>> terms) {
+        this.items = new ArrayList<>(items);
+        this.names = new String[this.items.size()];
+
+        for (int i = 0; i < this.items.size(); i++) {
+            T item = this.items.get(i);
+            names[i] = fold(name.apply(item));
+
+            for (String term : terms.apply(item)) {
+                for (String word : words(term)) {
+                    root.add(word, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the given items by the case folded key, for finding an item by a key ignoring case with
+     * {@code map.get(SearchIndex.fold(key))}. If more than one item has the same key, the first one is kept.
+     */
+    public static <T> Map<String, T> byKey(Collection<T> items, Function<T, String> key) {
+        Map<String, T> byKey = new HashMap<>();
+
+        for (T item : items) {
+            String value = key.apply(item);
+
+            if (value != null) {
+                byKey.putIfAbsent(fold(value), item);
+            }
+        }
+
+        return byKey;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Finds the items matching the given search, in the order they were given in.
+     */
+    public List<T> search(String query) {
+        String folded = query == null ? "" : fold(query).trim();
+
+        if (folded.isEmpty()) {
+            return new ArrayList<>(items);
+        }
+
+        BitSet matches = null;
+        for (String word : words(folded)) {
+            BitSet wordMatches = root.find(word);
+
+            if (matches == null) {
+                matches = (BitSet) wordMatches.clone();
+            } else {
+                matches.and(wordMatches);
+            }
+        }
+
+        if (matches == null) {
+            matches = new BitSet(items.size());
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            if (!matches.get(i) && names[i] != null && names[i].contains(folded)) {
+                matches.set(i);
+            }
+        }
+
+        List<T> found = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            found.add(items.get(i));
+        }
+
+        return found;
+    }
+
+    /**
+     * Folds the case of the given string so that two strings which are equal ignoring case fold to the same string.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        return value.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> words(String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(fold(value))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * A node in the prefix tree, holding every item which has a word starting with the characters leading to it.
+     */
+    private static class Node {
+        private static final BitSet NONE = new BitSet();
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final BitSet items = new BitSet();
+
+        private void add(String word, int item) {
+            Node node = this;
+
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+                node.items.set(item);
+            }
+        }
+
+        private BitSet find(String prefix) {
+            Node node = this;
+
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+
+            return node == null ? NONE : node.items;
+        }
+    }
+}
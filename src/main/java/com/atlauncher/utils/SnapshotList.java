@@ -0,0 +1,220 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A thread safe list which is changed by copying it and swapping in the copy, so reading it never needs a lock.
+ *
+ * Each change creates a new immutable snapshot with a new version number. Iterating and streaming always go over a
+ * single snapshot, so they never see a half made change or throw a ConcurrentModificationException. When a reader needs
+ * a consistent view for more than one call (such as checking the size then getting an item), it should take a
+ * {@link #snapshot()} and use that.
+ *
+ * Changes are made one at a time, and anything that would normally be done as several changes (such as clearing the
+ * list then adding everything back) should be done with {@link #setAll(Collection)} or {@link #update(Consumer)} so
+ * readers only ever see the list before or after it.
+ */
+public class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+    private volatile List<E> snapshot = Collections.emptyList();
+    private volatile long version = 0;
+
+    /**
+     * Gets the current contents of the list, which won't change.
+     */
+    public List<E> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the version of the list, which goes up every time the list is changed. Useful to tell if something built
+     * from the list (like an index) is out of date.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replaces everything in the list in one change.
+     */
+    public void setAll(Collection<? extends E> items) {
+        update(list -> {
+            list.clear();
+            list.addAll(items);
+        });
+    }
+
+    /**
+     * Makes any number of changes to a copy of the list and then swaps it in as one change.
+     */
+    public void update(Consumer<List<E>> changes) {
+        apply(list -> {
+            changes.accept(list);
+            return null;
+        });
+    }
+
+    private synchronized <R> R apply(Function<List<E>, R> changes) {
+        List<E> copy = new ArrayList<>(snapshot);
+        R result = changes.apply(copy);
+
+        snapshot = Collections.unmodifiableList(copy);
+        version++;
+
+        return result;
+    }
+
+    @Override
+    public E get(int index) {
+        return snapshot.get(index);
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return snapshot.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return snapshot.indexOf(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot.spliterator();
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return snapshot.stream();
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return snapshot.parallelStream();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        snapshot.forEach(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return snapshot.toArray(a);
+    }
+
+    @Override
+    public boolean add(E e) {
+        return apply(list -> list.add(e));
+    }
+
+    @Override
+    public void add(int index, E element) {
+        update(list -> list.add(index, element));
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return apply(list -> list.set(index, element));
+    }
+
+    @Override
+    public E remove(int index) {
+        return apply(list -> list.remove(index));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return apply(list -> list.remove(o));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return apply(list -> list.addAll(c));
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        return apply(list -> list.addAll(index, c));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return apply(list -> list.removeAll(c));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return apply(list -> list.retainAll(c));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return apply(list -> list.removeIf(filter));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        update(list -> list.replaceAll(operator));
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        update(list -> list.sort(c));
+    }
+
+    @Override
+    public void clear() {
+        update(List::clear);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return snapshot.subList(fromIndex, toIndex);
+    }
+}
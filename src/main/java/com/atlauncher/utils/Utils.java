@@ -85,7 +85,7 @@ import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.data.openmods.OpenEyeReportResponse;
 import com.atlauncher.managers.LogManager;
-import com.google.gson.reflect.TypeToken;
+import com.atlauncher.managers.ModMetadataManager;
 
 import org.tukaani.xz.LZMAInputStream;
 import org.tukaani.xz.XZInputStream;
@@ -418,46 +418,26 @@ public class Utils {
      * @param extractRule the extract rule
      */
     public static void unzip(File in, File out, ExtractRule extractRule) {
-        try {
-            ZipFile zipFile;
-            if (!out.exists()) {
-                out.mkdirs();
+        if (!out.exists()) {
+            out.mkdirs();
+        }
+
+        ArchiveUtils.extract(in.toPath(), out.toPath(), name -> {
+            String entryName = name;
+            if (name.endsWith("aux.class")) {
+                entryName = "aux_class";
             }
-            zipFile = new ZipFile(in);
-            Enumeration<?> e = zipFile.entries();
-            while (e.hasMoreElements()) {
-                ZipEntry entry = (ZipEntry) e.nextElement();
-                String entryName = entry.getName();
-                if (entry.getName().endsWith("aux.class")) {
-                    entryName = "aux_class";
-                }
-                if (extractRule != null && extractRule.shouldExclude(entryName)) {
-                    continue;
-                }
-                if (entry.isDirectory()) {
-                    File folder = new File(out, entryName);
-                    folder.mkdirs();
-                }
-                File destinationFilePath = new File(out, entryName);
-                destinationFilePath.getParentFile().mkdirs();
-                if (!entry.isDirectory() && !entry.getName().equals(".minecraft")) {
-                    BufferedInputStream bis = new BufferedInputStream(zipFile.getInputStream(entry));
-                    int b;
-                    byte[] buffer = new byte[1024];
-                    FileOutputStream fos = new FileOutputStream(destinationFilePath);
-                    BufferedOutputStream bos = new BufferedOutputStream(fos, 1024);
-                    while ((b = bis.read(buffer, 0, 1024)) != -1) {
-                        bos.write(buffer, 0, b);
-                    }
-                    bos.flush();
-                    bos.close();
-                    bis.close();
-                }
+
+            if (extractRule != null && extractRule.shouldExclude(entryName)) {
+                return null;
             }
-            zipFile.close();
-        } catch (IOException e) {
-            LogManager.logStackTrace(e);
-        }
+
+            if (name.equals(".minecraft")) {
+                return null;
+            }
+
+            return entryName;
+        });
     }
 
     /**
@@ -557,74 +537,13 @@ public class Utils {
      * @param out the out
      */
     public static void zip(File in, File out) {
-        try {
-            URI base = in.toURI();
-            Deque<File> queue = new LinkedList<>();
-            queue.push(in);
-            OutputStream stream = new FileOutputStream(out);
-            Closeable res = stream;
-            ZipOutputStream zout = null;
-            try {
-                zout = new ZipOutputStream(stream);
-                res = zout;
-                while (!queue.isEmpty()) {
-                    in = queue.pop();
-                    for (File kid : in.listFiles()) {
-                        String name = base.relativize(kid.toURI()).getPath();
-                        if (name.endsWith("aux_class")) {
-                            name = "aux.class";
-                        }
-                        if (kid.isDirectory()) {
-                            queue.push(kid);
-                            name = name.endsWith("/") ? name : name + "/";
-                            zout.putNextEntry(new ZipEntry(name));
-                        } else {
-                            zout.putNextEntry(new ZipEntry(name));
-                            copy(kid, zout);
-                            zout.closeEntry();
-                        }
-                    }
-                }
-            } finally {
-                res.close();
-                if (zout != null) {
-                    zout.close();
-                }
-            }
-        } catch (IOException e) {
-            LogManager.logStackTrace(e);
-        }
-    }
-
-    /**
-     * Copy.
-     *
-     * @param in  the in
-     * @param out the out
-     * @throws IOException Signals that an I/O exception has occurred.
-     */
-    private static void copy(InputStream in, OutputStream out) throws IOException {
-        byte[] buffer = new byte[1024];
-        while (true) {
-            int readCount = in.read(buffer);
-            if (readCount < 0) {
-                break;
+        ArchiveUtils.createZip(in.toPath(), out.toPath(), name -> {
+            if (name.endsWith("aux_class")) {
+                return "aux.class";
             }
-            out.write(buffer, 0, readCount);
-        }
-    }
 
-    /**
-     * Copy.
-     *
-     * @param file the file
-     * @param out  the out
-     * @throws IOException Signals that an I/O exception has occurred.
-     */
-    private static void copy(File file, OutputStream out) throws IOException {
-        try (InputStream in = new FileInputStream(file)) {
-            copy(in, out);
-        }
+            return name;
+        });
     }
 
     /**
@@ -1496,35 +1415,11 @@ public class Utils {
     }
 
     public static MCMod getMCModForFile(File file) {
-        try {
-            java.lang.reflect.Type type = new TypeToken<List<MCMod>>() {
-            }.getType();
-
-            List<MCMod> mods = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "mcmod.info"), type);
-
-            if (mods.size() != 0 && mods.get(0) != null) {
-                return mods.get(0);
-            }
-        } catch (Exception ignored) {
-
-        }
-
-        return null;
+        return ModMetadataManager.get(file.toPath()).mcMod;
     }
 
     public static FabricMod getFabricModForFile(File file) {
-        try {
-            FabricMod mod = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "fabric.mod.json"),
-                    FabricMod.class);
-
-            if (mod != null) {
-                return mod;
-            }
-        } catch (Exception ignored2) {
-
-        }
-
-        return null;
+        return ModMetadataManager.get(file.toPath()).fabricMod;
     }
 
     public static boolean executableInPath(String executableName) {
@@ -17,6 +17,9 @@
  */
 package com.atlauncher.utils;
 
+import java.util.List;
+import java.util.Set;
+
 import com.atlauncher.data.BackupMode;
 
 import org.zeroturnaround.zip.NameMapper;
@@ -54,4 +57,25 @@ public class ZipNameMapper {
 
         return FULL_BACKUP;
     }
+
+    /**
+     * Gets a mapper for exporting an instance, which only keeps files within the given top level overrides, skips the
+     * zip being exported (in any case) and the ignored files and places everything kept under the given prefix.
+     */
+    public static NameMapper getMapperForExport(String prefix, String exportFileName, List<String> overrides,
+            Set<String> ignoredFiles) {
+        return name -> {
+            if (name.equalsIgnoreCase(exportFileName) || ignoredFiles.contains(name)) {
+                return null;
+            }
+
+            String topLevelName = name.contains("/") ? name.substring(0, name.indexOf('/')) : name;
+
+            if (!overrides.contains(topLevelName)) {
+                return null;
+            }
+
+            return prefix + name;
+        };
+    }
 }
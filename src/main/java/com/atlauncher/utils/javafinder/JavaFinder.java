@@ -31,8 +31,10 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.atlauncher.managers.JavaProbeManager;
 import com.atlauncher.managers.PerformanceManager;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
@@ -46,6 +48,8 @@ public class JavaFinder {
 
         if (javaExecs == null) {
             javaExecs = new ArrayList<>();
+            List<Path> pathsToSearch = new ArrayList<>();
+            PathMatcher pathMatcher = null;
 
             if (OS.isWindows()) {
                 if (OS.is64Bit()) {
@@ -54,73 +58,69 @@ public class JavaFinder {
                     javaExecs.addAll(scanWindowsRegistry(32));
                 }
 
-                PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java.exe");
+                pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java.exe");
 
-                String[] pathsToSearch = { "Java", "Amazon Corretto", "AdoptOpenJDK" };
+                String programFiles = System.getenv("programfiles");
 
-                for (String searchPath : pathsToSearch) {
-                    List<String> foundPaths = new ArrayList<>();
-
-                    try {
-                        Files.walkFileTree(Paths.get(System.getenv("programfiles"), searchPath),
-                                EnumSet.noneOf(FileVisitOption.class), 10, new SimpleFileVisitor<Path>() {
-                                    @Override
-                                    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        if (pathMatcher.matches(path)) {
-                                            foundPaths.add(path.toString());
-                                        }
-
-                                        return FileVisitResult.CONTINUE;
-                                    }
-                                });
-                    } catch (Exception ignored) {
-                    }
-
-                    if (foundPaths.size() != 0) {
-                        javaExecs.addAll(foundPaths);
+                if (programFiles != null) {
+                    for (String searchPath : new String[] { "Java", "Amazon Corretto", "AdoptOpenJDK" }) {
+                        pathsToSearch.add(Paths.get(programFiles, searchPath));
                     }
                 }
             }
 
             if (OS.isLinux()) {
-                PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java");
-
-                String[] pathsToSearch = { "/usr/java", "/usr/lib/jvm", "/usr/lib32/jvm" };
-
-                for (String searchPath : pathsToSearch) {
-                    List<String> foundPaths = new ArrayList<>();
-
-                    try {
-                        Files.walkFileTree(Paths.get(searchPath), EnumSet.noneOf(FileVisitOption.class), 10,
-                                new SimpleFileVisitor<Path>() {
-                                    @Override
-                                    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        if (pathMatcher.matches(path)) {
-                                            foundPaths.add(path.toString());
-                                        }
-
-                                        return FileVisitResult.CONTINUE;
-                                    }
-                                });
-                    } catch (Exception ignored) {
-                    }
+                pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java");
 
-                    if (foundPaths.size() != 0) {
-                        javaExecs.addAll(foundPaths);
-                    }
+                for (String searchPath : new String[] { "/usr/java", "/usr/lib/jvm", "/usr/lib32/jvm" }) {
+                    pathsToSearch.add(Paths.get(searchPath));
                 }
             }
 
+            if (pathMatcher != null) {
+                PathMatcher matcher = pathMatcher;
+
+                // each folder is a separate tree (and often a separate disk), so walk them all at the same time
+                javaExecs.addAll(pathsToSearch.parallelStream().flatMap(path -> search(path, matcher).stream())
+                        .collect(Collectors.toList()));
+            }
+
             javaPaths = new SoftReference<>(javaExecs);
         }
 
+        List<String> existingJavaExecs = javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java)))
+                .collect(Collectors.toList());
+        Map<String, String> versionInfos = JavaProbeManager.getVersionInfos(existingJavaExecs);
+
         PerformanceManager.end();
-        return javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java))).map(JavaInfo::new)
+        return existingJavaExecs.stream().map(java -> new JavaInfo(java, versionInfos.getOrDefault(java, "")))
                 .collect(Collectors.toList());
     }
 
+    private static List<String> search(Path searchPath, PathMatcher pathMatcher) {
+        List<String> foundPaths = new ArrayList<>();
+
+        if (!Files.isDirectory(searchPath)) {
+            return foundPaths;
+        }
+
+        try {
+            Files.walkFileTree(searchPath, EnumSet.noneOf(FileVisitOption.class), 10, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
+                    if (pathMatcher.matches(path)) {
+                        foundPaths.add(path.toString());
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (Exception ignored) {
+        }
+
+        return foundPaths;
+    }
+
     // Inspired by
     // https://github.com/TechnicPack/LauncherV3/blob/a8067879fea995fbb780d3b67c4ce74a17152ea4/src/main/java/net/technicpack/launchercore/launch/java/source/os/WinRegistryJavaSource.java
     private static List<String> scanWindowsRegistry(int bitness) {
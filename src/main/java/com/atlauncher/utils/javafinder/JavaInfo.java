@@ -20,12 +20,10 @@ package com.atlauncher.utils.javafinder;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.HashMap;
-import java.util.Map;
 
 import com.atlauncher.FileSystem;
+import com.atlauncher.managers.JavaProbeManager;
 import com.atlauncher.utils.Java;
-import com.atlauncher.utils.Utils;
 
 public class JavaInfo {
     public String path;
@@ -36,16 +34,14 @@ public class JavaInfo {
     public boolean is64bits;
     public boolean isRuntime;
 
-    private static final Map<String, String> versionInfos = new HashMap<>();
-
     public JavaInfo(String javaPath) {
-        String versionInfo = versionInfos.get(javaPath);
-
-        if (versionInfo == null) {
-            versionInfo = Utils.runProcess(javaPath, "-version");
-            JavaInfo.versionInfos.put(javaPath, versionInfo);
-        }
+        this(javaPath, JavaProbeManager.getVersionInfo(javaPath));
+    }
 
+    /**
+     * Creates the info for the given Java executable from the output it gave for {@code java -version}.
+     */
+    public JavaInfo(String javaPath, String versionInfo) {
         String[] tokens = versionInfo.split("\"");
 
         if (tokens.length < 2) {
@@ -27,9 +27,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -46,11 +51,11 @@ import com.atlauncher.data.APIResponse;
 import com.atlauncher.data.DisableableMod;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.InstanceLauncher;
+import com.atlauncher.data.ModMetadata;
 import com.atlauncher.data.Server;
 import com.atlauncher.data.Type;
 import com.atlauncher.data.curseforge.CurseForgeAttachment;
 import com.atlauncher.data.curseforge.CurseForgeFile;
-import com.atlauncher.data.curseforge.CurseForgeFingerprint;
 import com.atlauncher.data.curseforge.CurseForgeProject;
 import com.atlauncher.data.curseforge.pack.CurseForgeManifest;
 import com.atlauncher.data.curseforge.pack.CurseForgeModLoader;
@@ -60,6 +65,7 @@ import com.atlauncher.data.json.DownloadType;
 import com.atlauncher.data.json.Keep;
 import com.atlauncher.data.json.Keeps;
 import com.atlauncher.data.json.Mod;
+import com.atlauncher.data.json.ModGraph;
 import com.atlauncher.data.json.ModType;
 import com.atlauncher.data.json.Version;
 import com.atlauncher.data.minecraft.ArgumentRule;
@@ -96,17 +102,19 @@ import com.atlauncher.data.multimc.MultiMCComponent;
 import com.atlauncher.data.multimc.MultiMCManifest;
 import com.atlauncher.exceptions.LocalException;
 import com.atlauncher.interfaces.NetworkProgressable;
+import com.atlauncher.managers.FingerprintManager;
 import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadPool;
 import com.atlauncher.network.ErrorReporting;
+import com.atlauncher.network.ProgressTracker;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.FileUtils;
-import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.utils.walker.CaseFileVisitor;
 import com.google.gson.reflect.TypeToken;
@@ -119,8 +127,8 @@ import okhttp3.OkHttpClient;
 public class InstanceInstaller extends SwingWorker<Boolean, Void> implements NetworkProgressable {
     protected double percent = 0.0; // Percent done installing
     protected double subPercent = 0.0; // Percent done sub installing
-    protected double totalBytes = 0; // Total number of bytes to download
-    protected double downloadedBytes = 0; // Total number of bytes downloaded
+    protected final ProgressTracker progressTracker = new ProgressTracker(
+            progress -> fireSubProgress(progress.getPercent(), progress.getLabel()));
 
     public Instance instance = null;
     public final String name;
@@ -151,6 +159,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     public MinecraftVersion minecraftVersion;
 
     public List<Mod> allMods;
+    private ModGraph modGraph;
     public List<Mod> selectedMods;
     public List<Mod> unselectedMods = new ArrayList<>();
     public List<DisableableMod> modsInstalled;
@@ -219,6 +228,8 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             LogManager.info("Using loader version " + this.loaderVersion.version);
         }
 
+        progressTracker.start();
+
         try {
             if (curseForgeManifest != null) {
                 generatePackVersionFromCurseForgeManifest();
@@ -285,6 +296,8 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             success(false);
             cancel(true);
             LogManager.logStackTrace(e);
+        } finally {
+            progressTracker.stop();
         }
 
         return success(false);
@@ -922,13 +935,14 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         mod.version = "Unknown";
         mod.description = null;
 
-        MCMod mcMod = Utils.getMCModForFile(p.toFile());
+        ModMetadata metadata = ModMetadataManager.get(p);
+        MCMod mcMod = metadata.mcMod;
         if (mcMod != null) {
             mod.name = Optional.ofNullable(mcMod.name).orElse(p.getFileName().toString());
             mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
             mod.description = Optional.ofNullable(mcMod.description).orElse(null);
         } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(p.toFile());
+            FabricMod fabricMod = metadata.fabricMod;
             if (fabricMod != null) {
                 mod.name = Optional.ofNullable(fabricMod.name).orElse(p.getFileName().toString());
                 mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
@@ -1098,11 +1112,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         instance.save();
 
-        if (this.instance != null) {
-            InstanceManager.getInstances().remove(this.instance);
-        }
-
-        InstanceManager.getInstances().add(instance);
+        InstanceManager.addInstance(instance, this.instance);
 
         // after adding, check for updates if an external pack
         if (instance.isExternalPack()) {
@@ -1241,13 +1251,15 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         fireTask(GetText.tr("Downloading Resources"));
         fireSubProgressUnknown();
-        this.totalBytes = this.downloadedBytes = 0;
+        progressTracker.reset();
 
         MojangAssetIndex assetIndex = this.minecraftVersion.assetIndex;
 
+        Path indexPath = FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json");
         AssetIndex index = com.atlauncher.network.Download.build().cached().setUrl(assetIndex.url).hash(assetIndex.sha1)
-                .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
-                .asClass(AssetIndex.class);
+                .size(assetIndex.size).downloadTo(indexPath).asClass(AssetIndex.class);
+        long checkedAt = AssetIndex.getCheckedAt(indexPath);
+        boolean replacingObjects = false;
 
         if (index.mapToResources) {
             this.assetsMapToResources = true;
@@ -1256,16 +1268,24 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         OkHttpClient httpClient = Network.createProgressClient(this);
         DownloadPool pool = new DownloadPool();
 
-        index.objects.forEach((key, object) -> {
-            String filename = object.hash.substring(0, 2) + "/" + object.hash;
+        // only make downloads for the objects which are missing or bad, rather than for every object in the index
+        for (int i = 0; i < index.size(); i++) {
+            if (index.isDownloaded(i, checkedAt)) {
+                continue;
+            }
+
+            replacingObjects |= Files.exists(index.getObjectFile(i));
+
+            String filename = index.getPath(i);
             String url = String.format("%s/%s", Constants.MINECRAFT_RESOURCES, filename);
 
             com.atlauncher.network.Download download = new com.atlauncher.network.Download().setUrl(url)
-                    .downloadTo(FileSystem.RESOURCES_OBJECTS.resolve(filename)).hash(object.hash).size(object.size)
-                    .withInstanceInstaller(this).withHttpClient(httpClient).withFriendlyFileName(key);
+                    .downloadTo(FileSystem.RESOURCES_OBJECTS.resolve(filename)).hash(index.getHash(i))
+                    .size(index.getSize(i)).withInstanceInstaller(this).withHttpClient(httpClient)
+                    .withFriendlyFileName(index.getKey(i));
 
             pool.add(download);
-        });
+        }
 
         DownloadPool smallPool = pool.downsize();
 
@@ -1275,22 +1295,26 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             smallPool.downloadAll();
         }
 
+        // if any objects were bad, check them again next time in case replacing them failed
+        if (!replacingObjects) {
+            AssetIndex.setCheckedAt(indexPath);
+        }
+
         // copy resources to instance
         if (index.mapToResources || assetIndex.id.equalsIgnoreCase("legacy")) {
             fireTask(GetText.tr("Copying Resources"));
             fireSubProgressUnknown();
 
-            index.objects.forEach((key, object) -> {
-                String filename = object.hash.substring(0, 2) + "/" + object.hash;
-
-                Path downloadedFile = FileSystem.RESOURCES_OBJECTS.resolve(filename);
+            for (int i = 0; i < index.size(); i++) {
+                String key = index.getKey(i);
+                Path downloadedFile = index.getObjectFile(i);
 
                 if (index.mapToResources) {
                     FileUtils.copyFile(downloadedFile, this.root.resolve("resources/" + key), true);
                 } else if (assetIndex.id.equalsIgnoreCase("legacy")) {
                     FileUtils.copyFile(downloadedFile, FileSystem.RESOURCES_VIRTUAL_LEGACY.resolve(key), true);
                 }
-            });
+            }
         }
 
         hideSubProgressBar();
@@ -1300,8 +1324,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         addPercent(5);
         fireTask(GetText.tr("Downloading Minecraft"));
         fireSubProgressUnknown();
-        totalBytes = 0;
-        downloadedBytes = 0;
+        progressTracker.reset();
 
         MojangDownloads downloads = this.minecraftVersion.downloads;
 
@@ -1699,10 +1722,38 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         double subPercentPerMod = 100.0 / this.selectedMods.size();
 
-        this.selectedMods.parallelStream().forEach(mod -> {
-            mod.install(this);
-            addSubPercent(subPercentPerMod);
-        });
+        // each mod installs into its own staging directory before being moved into place, so they can all be
+        // installed at the same time
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(Runtime.getRuntime().availableProcessors(), this.selectedMods.size()));
+
+        try {
+            List<Future<?>> futures = this.selectedMods.stream().map(mod -> executor.submit(() -> {
+                if (isCancelled()) {
+                    return;
+                }
+
+                mod.install(this);
+                addSubPercent(subPercentPerMod);
+            })).collect(Collectors.toList());
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LogManager.logStackTrace("Failed to install mod", e.getCause());
+                    cancel(true);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+
+            if (Files.isDirectory(this.temp.resolve("staging"))) {
+                FileUtils.deleteDirectory(this.temp.resolve("staging"));
+            }
+        }
 
         hideSubProgressBar();
     }
@@ -1912,88 +1963,17 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         fireTask(GetText.tr("Checking Mods On CurseForge"));
         fireSubProgressUnknown();
 
-        Map<Long, DisableableMod> murmurHashes = new HashMap<>();
+        Map<DisableableMod, Path> mods = new LinkedHashMap<>();
 
         this.modsInstalled.stream().filter(dm -> dm.curseForgeProject == null && dm.curseForgeFile == null)
-                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null).forEach(dm -> {
-                    try {
-                        long hash = Hashing.murmur(dm.getFile(root, this.packVersion.minecraft).toPath());
-                        murmurHashes.put(hash, dm);
-                    } catch (Throwable t) {
-                        LogManager.logStackTrace(t);
-                    }
-                });
-
-        if (murmurHashes.size() != 0) {
-            CurseForgeFingerprint fingerprintResponse = CurseForgeApi
-                    .checkFingerprints(murmurHashes.keySet().stream().toArray(Long[]::new));
-
-            if (fingerprintResponse != null && fingerprintResponse.exactMatches != null) {
-                int[] projectIdsFound = fingerprintResponse.exactMatches.stream().mapToInt(em -> em.id).toArray();
+                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null)
+                .forEach(dm -> mods.put(dm, dm.getFile(root, this.packVersion.minecraft).toPath()));
 
-                if (projectIdsFound.length != 0) {
-                    Map<Integer, CurseForgeProject> foundProjects = CurseForgeApi.getProjectsAsMap(projectIdsFound);
-
-                    if (foundProjects != null) {
-                        fingerprintResponse.exactMatches.stream().filter(em -> em != null && em.file != null
-                                && murmurHashes.containsKey(em.file.packageFingerprint)).forEach(foundMod -> {
-                                    DisableableMod dm = murmurHashes.get(foundMod.file.packageFingerprint);
-
-                                    // add CurseForge information
-                                    dm.curseForgeProjectId = foundMod.id;
-                                    dm.curseForgeFile = foundMod.file;
-                                    dm.curseForgeFileId = foundMod.file.id;
-
-                                    CurseForgeProject curseForgeProject = foundProjects.get(foundMod.id);
-
-                                    if (curseForgeProject != null) {
-                                        dm.curseForgeProject = curseForgeProject;
-                                        dm.name = curseForgeProject.name;
-                                        dm.description = curseForgeProject.summary;
-                                    }
-
-                                    LogManager.debug("Found matching mod from CurseForge called "
-                                            + dm.curseForgeFile.displayName);
-                                });
-                    }
-                }
-            }
-        }
+        FingerprintManager.addCurseForgeInformation(mods);
     }
 
     public List<Mod> sortMods(List<Mod> original) {
-        List<Mod> mods = new ArrayList<>(original);
-
-        for (Mod mod : original) {
-            if (mod.isOptional()) {
-                if (mod.hasLinked()) {
-                    for (Mod mod1 : original) {
-                        if (mod1.getName().equalsIgnoreCase(mod.getLinked())) {
-                            mods.remove(mod);
-                            int index = mods.indexOf(mod1) + 1;
-                            mods.add(index, mod);
-                        }
-                    }
-
-                }
-            }
-        }
-
-        List<Mod> modss = new ArrayList<>();
-
-        for (Mod mod : mods) {
-            if (!mod.isOptional()) {
-                modss.add(mod); // Add all non optional mods
-            }
-        }
-
-        for (Mod mod : mods) {
-            if (!modss.contains(mod)) {
-                modss.add(mod); // Add the rest
-            }
-        }
-
-        return modss;
+        return ModGraph.sortMods(original);
     }
 
     private void backupSelectFiles() {
@@ -2318,102 +2298,47 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
     }
 
-    public boolean hasRecommendedMods() {
-        for (Mod mod : allMods) {
-            if (mod.isRecommended()) {
-                return true; // One of the mods is marked as recommended, so return true
-            }
+    /**
+     * Gets the graph of how all the mods relate to each other, rebuilding it if the list of mods has changed.
+     */
+    public ModGraph getModGraph() {
+        if (modGraph == null || !modGraph.isFor(allMods)) {
+            modGraph = new ModGraph(allMods);
         }
-        return false; // No non recommended mods found
+
+        return modGraph;
+    }
+
+    public boolean hasRecommendedMods() {
+        return getModGraph().hasRecommendedMods();
     }
 
     public boolean isOnlyRecommendedInGroup(Mod mod) {
-        for (Mod modd : allMods) {
-            if (modd == mod || !modd.hasGroup()) {
-                continue;
-            }
-            if (modd.getGroup().equalsIgnoreCase(mod.getGroup()) && modd.isRecommended()) {
-                return false; // Another mod is recommended. Don't check anything
-            }
-        }
-        return true; // No other recommended mods found in the group
+        return getModGraph().isOnlyRecommendedInGroup(mod);
     }
 
     public Mod getModByName(String name) {
-        for (Mod mod : allMods) {
-            if (mod.getName().equalsIgnoreCase(name)) {
-                return mod;
-            }
-        }
-        return null;
+        return getModGraph().getModByName(name);
     }
 
     public List<Mod> getLinkedMods(Mod mod) {
-        List<Mod> linkedMods = new ArrayList<>();
-        for (Mod modd : allMods) {
-            if (!modd.hasLinked()) {
-                continue;
-            }
-            if (modd.getLinked().equalsIgnoreCase(mod.getName())) {
-                linkedMods.add(modd);
-            }
-        }
-        return linkedMods;
+        return getModGraph().getLinkedMods(mod);
     }
 
     public List<Mod> getGroupedMods(Mod mod) {
-        List<Mod> groupedMods = new ArrayList<>();
-        for (Mod modd : allMods) {
-            if (!modd.hasGroup()) {
-                continue;
-            }
-            if (modd.getGroup().equalsIgnoreCase(mod.getGroup())) {
-                if (modd != mod) {
-                    groupedMods.add(modd);
-                }
-            }
-        }
-        return groupedMods;
+        return getModGraph().getGroupedMods(mod);
     }
 
     public List<Mod> getModsDependancies(Mod mod) {
-        List<Mod> dependsMods = new ArrayList<>();
-        for (String name : mod.getDepends()) {
-            inner: {
-                for (Mod modd : allMods) {
-                    if (modd.getName().equalsIgnoreCase(name)) {
-                        dependsMods.add(modd);
-                        break inner;
-                    }
-                }
-            }
-        }
-        return dependsMods;
+        return getModGraph().getDependencies(mod);
     }
 
     public List<Mod> dependedMods(Mod mod) {
-        List<Mod> dependedMods = new ArrayList<>();
-        for (Mod modd : allMods) {
-            if (!modd.hasDepends()) {
-                continue;
-            }
-            if (modd.isADependancy(mod)) {
-                dependedMods.add(modd);
-            }
-        }
-        return dependedMods;
+        return getModGraph().getDependants(mod);
     }
 
     public boolean hasADependancy(Mod mod) {
-        for (Mod modd : allMods) {
-            if (!modd.hasDepends()) {
-                continue;
-            }
-            if (modd.isADependancy(mod)) {
-                return true;
-            }
-        }
-        return false;
+        return getModGraph().hasDependants(mod);
     }
 
     public boolean wasModInstalled(String mod) {
@@ -2444,6 +2369,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     }
 
     public void fireTask(String name) {
+        progressTracker.setPhase(name);
         firePropertyChange("doing", null, name);
     }
 
@@ -2472,6 +2398,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     }
 
     public void fireSubProgressUnknown() {
+        progressTracker.reset();
         firePropertyChange("subprogressint", null, null);
     }
 
@@ -2505,40 +2432,21 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
     @Override
     public void setTotalBytes(long bytes) {
-        this.downloadedBytes = 0L;
-        this.totalBytes = bytes;
-        this.updateProgressBar();
+        progressTracker.setTotalBytes(bytes);
     }
 
     @Override
     public void addDownloadedBytes(long bytes) {
-        this.downloadedBytes += bytes;
-        this.updateProgressBar();
+        progressTracker.addDownloadedBytes(bytes);
     }
 
     @Override
     public void addBytesToDownload(long bytes) {
-        this.totalBytes += bytes;
-        this.updateProgressBar();
-    }
-
-    private void updateProgressBar() {
-        double progress;
-        if (this.totalBytes > 0) {
-            progress = (this.downloadedBytes / this.totalBytes) * 100.0;
-        } else {
-            progress = 0.0;
-        }
-        double done = this.downloadedBytes / 1024.0 / 1024.0;
-        double toDo = this.totalBytes / 1024.0 / 1024.0;
-        if (done > toDo) {
-            fireSubProgress(100.0, String.format("%.2f MB", done));
-        } else {
-            fireSubProgress(progress, String.format("%.2f MB / %.2f MB", done, toDo));
-        }
+        progressTracker.addBytesToDownload(bytes);
     }
 
     private void hideSubProgressBar() {
+        progressTracker.reset();
         fireSubProgress(-1);
     }
 }
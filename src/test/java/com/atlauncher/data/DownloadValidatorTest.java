@@ -0,0 +1,60 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DownloadValidatorTest {
+    @Test
+    public void testThatEtagsAreUsedFirst() {
+        DownloadValidator known = new DownloadValidator("a", "\"abc\"", "Mon, 01 Nov 2021 00:00:00 GMT", 10);
+
+        assertTrue(known.isSameVersionAs(new DownloadValidator("a", "\"abc\"", null, -1)));
+        assertFalse(known.isSameVersionAs(new DownloadValidator("a", "\"def\"", "Mon, 01 Nov 2021 00:00:00 GMT", 10)));
+    }
+
+    @Test
+    public void testThatLastModifiedAndSizeAreUsedWithoutEtags() {
+        DownloadValidator known = new DownloadValidator("a", null, "Mon, 01 Nov 2021 00:00:00 GMT", 10);
+
+        assertTrue(known.isSameVersionAs(new DownloadValidator("a", null, "Mon, 01 Nov 2021 00:00:00 GMT", -1)));
+        assertFalse(known.isSameVersionAs(new DownloadValidator("a", null, "Mon, 01 Nov 2021 00:00:00 GMT", 11)));
+        assertFalse(known.isSameVersionAs(new DownloadValidator("a", null, "Tue, 02 Nov 2021 00:00:00 GMT", 10)));
+
+        DownloadValidator sized = new DownloadValidator("a", null, null, 10);
+        assertTrue(sized.isSameVersionAs(new DownloadValidator("a", null, null, 10)));
+
+        DownloadValidator unknown = new DownloadValidator("a", null, null, -1);
+        assertFalse(unknown.isSameVersionAs(new DownloadValidator("a", null, null, -1)));
+    }
+
+    @Test
+    public void testThatChangedFilesDontMatch() {
+        DownloadValidator known = new DownloadValidator("a", "\"abc\"", null, 10);
+        known.fileSize = 10;
+        known.fileLastModified = 1000;
+
+        assertTrue(known.matchesFile("a", 10, 1000));
+        assertFalse(known.matchesFile("a", 10, 2000));
+        assertFalse(known.matchesFile("a", 11, 1000));
+        assertFalse(known.matchesFile("b", 10, 1000));
+    }
+}
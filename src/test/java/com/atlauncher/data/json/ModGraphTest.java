@@ -0,0 +1,123 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ModGraphTest {
+    private static Mod mod(String name) {
+        Mod mod = new Mod();
+        mod.name = name;
+        return mod;
+    }
+
+    @Test
+    public void testThatLookupsIgnoreCase() {
+        Mod core = mod("Core");
+        Mod addon = mod("Addon");
+        addon.linked = "core";
+        addon.depends = Arrays.asList("CORE", "core");
+        Mod shaders = mod("Shaders");
+        shaders.group = "Visual";
+        shaders.recommended = false;
+        Mod textures = mod("Textures");
+        textures.group = "visual";
+
+        ModGraph graph = new ModGraph(Arrays.asList(core, addon, shaders, textures));
+
+        assertSame(core, graph.getModByName("cOrE"));
+        assertNull(graph.getModByName("Missing"));
+        assertEquals(Arrays.asList(addon), graph.getLinkedMods(core));
+        assertEquals(Arrays.asList(textures), graph.getGroupedMods(shaders));
+        assertEquals(Arrays.asList(core, core), graph.getDependencies(addon));
+        assertEquals(Arrays.asList(addon), graph.getDependants(core));
+        assertTrue(graph.hasDependants(core));
+        assertFalse(graph.hasDependants(addon));
+        assertFalse(graph.isOnlyRecommendedInGroup(shaders));
+        assertTrue(graph.isOnlyRecommendedInGroup(textures));
+    }
+
+    @Test
+    public void testThatSortingMatchesTheOriginalOrdering() {
+        Random random = new Random(1234);
+
+        for (int run = 0; run < 50; run++) {
+            List<Mod> mods = new ArrayList<>();
+            int count = 1 + random.nextInt(60);
+
+            for (int i = 0; i < count; i++) {
+                Mod mod = mod("Mod" + random.nextInt(count));
+                mod.optional = random.nextBoolean();
+                if (random.nextInt(3) == 0) {
+                    mod.linked = "mod" + random.nextInt(count);
+                }
+                mods.add(mod);
+            }
+
+            assertEquals(originalSortMods(mods), ModGraph.sortMods(mods));
+        }
+    }
+
+    /**
+     * The sorting as it was done before the mod graph existed.
+     */
+    private static List<Mod> originalSortMods(List<Mod> original) {
+        List<Mod> mods = new ArrayList<>(original);
+
+        for (Mod mod : original) {
+            if (mod.isOptional()) {
+                if (mod.hasLinked()) {
+                    for (Mod mod1 : original) {
+                        if (mod1.getName().equalsIgnoreCase(mod.getLinked())) {
+                            mods.remove(mod);
+                            int index = mods.indexOf(mod1) + 1;
+                            mods.add(index, mod);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Mod> modss = new ArrayList<>();
+
+        for (Mod mod : mods) {
+            if (!mod.isOptional()) {
+                modss.add(mod);
+            }
+        }
+
+        for (Mod mod : mods) {
+            if (!modss.contains(mod)) {
+                modss.add(mod);
+            }
+        }
+
+        return modss;
+    }
+}
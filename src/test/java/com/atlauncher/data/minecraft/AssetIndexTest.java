@@ -0,0 +1,146 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AssetIndexTest {
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(AssetIndex.class, new AssetIndexTypeAdapter()).create();
+
+    private static final String INDEX = "{\"objects\": {"
+            + "\"icons/icon_16x16.png\": {\"hash\": \"bdf48ef6b5d0d23bbb02e17d04865216179f510a\", \"size\": 3665},"
+            + "\"minecraft/sounds/ambient/cave/cave1.ogg\": "
+            + "{\"hash\": \"0123456789ABCDEF0123456789abcdef01234567\", \"size\": 0}"
+            + "}, \"map_to_resources\": true}";
+
+    @Test
+    public void testThatIndexesAreRead() {
+        AssetIndex index = GSON.fromJson(INDEX, AssetIndex.class);
+
+        assertEquals(2, index.size());
+        assertTrue(index.mapToResources);
+        assertFalse(index.virtual);
+
+        assertEquals("icons/icon_16x16.png", index.getKey(0));
+        assertEquals("bdf48ef6b5d0d23bbb02e17d04865216179f510a", index.getHash(0));
+        assertEquals("bd/bdf48ef6b5d0d23bbb02e17d04865216179f510a", index.getPath(0));
+        assertEquals(3665, index.getSize(0));
+
+        assertEquals("0123456789abcdef0123456789abcdef01234567", index.getHash(1));
+        assertEquals(0, index.getSize(1));
+    }
+
+    @Test
+    public void testThatLargeIndexesAreRead() {
+        StringBuilder json = new StringBuilder("{\"objects\": {");
+        for (int i = 0; i < 10000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"file").append(i).append("\": {\"hash\": \"")
+                    .append(String.format("%040x", i)).append("\", \"size\": ").append(i).append("}");
+        }
+        json.append("}}");
+
+        AssetIndex index = GSON.fromJson(json.toString(), AssetIndex.class);
+
+        assertEquals(10000, index.size());
+        assertEquals("file9999", index.getKey(9999));
+        assertEquals(String.format("%040x", 9999), index.getHash(9999));
+        assertEquals(9999, index.getSize(9999));
+    }
+
+    @Test
+    public void testThatIndexesWriteBackTheSame() {
+        AssetIndex index = GSON.fromJson(INDEX, AssetIndex.class);
+        AssetIndex reread = GSON.fromJson(GSON.toJson(index), AssetIndex.class);
+
+        assertEquals(index.size(), reread.size());
+        assertEquals(index.mapToResources, reread.mapToResources);
+
+        for (int i = 0; i < index.size(); i++) {
+            assertEquals(index.getKey(i), reread.getKey(i));
+            assertEquals(index.getHash(i), reread.getHash(i));
+            assertEquals(index.getSize(i), reread.getSize(i));
+        }
+    }
+
+    @Test
+    public void testThatObjectsChangedSinceTheyWereCheckedAreHashed() throws IOException {
+        // the hash of "hello"
+        AssetIndex index = GSON.fromJson("{\"objects\": {\"a\": "
+                + "{\"hash\": \"aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d\", \"size\": 5}}}", AssetIndex.class);
+        Path file = Files.createTempFile("object", null);
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        assertTrue(index.isDownloaded(file, 0, Long.MIN_VALUE));
+
+        Files.write(file, "jello".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        assertTrue(index.isDownloaded(file, 0, 1000));
+        assertFalse(index.isDownloaded(file, 0, 999));
+
+        Files.write(file, "hello!".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(index.isDownloaded(file, 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testThatTheCheckedTimeIsKeptApartFromTheIndex(@TempDir Path directory) throws IOException {
+        Path indexPath = directory.resolve("1.17.json");
+        Files.write(indexPath, INDEX.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Long.MIN_VALUE, AssetIndex.getCheckedAt(indexPath));
+
+        long before = System.currentTimeMillis();
+        AssetIndex.setCheckedAt(indexPath);
+        long checkedAt = AssetIndex.getCheckedAt(indexPath);
+
+        assertTrue(checkedAt >= before && checkedAt <= System.currentTimeMillis());
+
+        // downloading the index again doesn't count as checking the objects
+        Files.write(indexPath, INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(indexPath, FileTime.fromMillis(checkedAt + 60000));
+
+        assertEquals(checkedAt, AssetIndex.getCheckedAt(indexPath));
+    }
+
+    @Test
+    public void testThatInvalidHashesAreRejected() {
+        assertThrows(JsonParseException.class,
+                () -> GSON.fromJson("{\"objects\": {\"a\": {\"hash\": \"abc\", \"size\": 1}}}", AssetIndex.class));
+        assertThrows(JsonParseException.class, () -> GSON.fromJson(
+                "{\"objects\": {\"a\": {\"hash\": \"zz23456789abcdef0123456789abcdef01234567\"}}}", AssetIndex.class));
+    }
+}
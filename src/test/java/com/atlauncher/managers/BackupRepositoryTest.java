@@ -0,0 +1,200 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.atlauncher.data.BackupMode;
+import com.atlauncher.data.BackupSnapshot;
+import com.atlauncher.data.BackupSnapshotFile;
+import com.atlauncher.utils.ZipNameMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BackupRepositoryTest {
+    private Path root;
+    private BackupRepository repository;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("backups");
+        root = directory.resolve("instance");
+        repository = new BackupRepository(directory.resolve("chunks"), directory.resolve("snapshots"));
+
+        Files.createDirectories(root.resolve("saves/world"));
+        Files.write(root.resolve("options.txt"), "options".getBytes());
+        Files.write(root.resolve("saves/world/level.dat"), randomBytes(BackupRepository.CHUNK_SIZE + 100, 1));
+    }
+
+    @Test
+    public void testThatRestoringASnapshotReturnsTheFilesToHowTheyWere() throws IOException {
+        byte[] levelDat = Files.readAllBytes(root.resolve("saves/world/level.dat"));
+        BackupSnapshot snapshot = snapshot(1000, null);
+
+        Files.write(root.resolve("options.txt"), "changed".getBytes());
+        Files.delete(root.resolve("saves/world/level.dat"));
+        Files.write(root.resolve("saves/world/new.dat"), "new".getBytes());
+
+        repository.restoreSnapshot(root, snapshot, ZipNameMapper.FULL_BACKUP);
+
+        assertEquals("options", new String(Files.readAllBytes(root.resolve("options.txt"))));
+        assertArrayEquals(levelDat, Files.readAllBytes(root.resolve("saves/world/level.dat")));
+        assertFalse(Files.exists(root.resolve("saves/world/new.dat")));
+    }
+
+    @Test
+    public void testThatRestoringOnlyRemovesFilesTheBackupModeCovers() throws IOException {
+        Files.createDirectories(root.resolve("mods"));
+        Files.write(root.resolve("mods/mod.jar"), "mod".getBytes());
+        BackupSnapshot snapshot = snapshot(1000, null);
+        snapshot.backupMode = BackupMode.NORMAL;
+
+        Files.write(root.resolve("mods/other.jar"), "other".getBytes());
+
+        repository.restoreSnapshot(root, snapshot, ZipNameMapper.NORMAL_BACKUP);
+
+        assertTrue(Files.exists(root.resolve("mods/other.jar")));
+    }
+
+    @Test
+    public void testThatUnchangedChunksAreReusedAcrossSnapshots() throws IOException {
+        BackupSnapshot first = snapshot(1000, null);
+        Set<String> firstChunks = chunks(first);
+
+        // change only the end of the file, so the first chunk is the same
+        byte[] levelDat = Files.readAllBytes(root.resolve("saves/world/level.dat"));
+        levelDat[levelDat.length - 1]++;
+        Files.write(root.resolve("saves/world/level.dat"), levelDat);
+        Files.setLastModifiedTime(root.resolve("saves/world/level.dat"), FileTime.fromMillis(5000));
+
+        BackupSnapshot second = snapshot(2000, first);
+        Set<String> secondChunks = chunks(second);
+
+        BackupSnapshotFile firstOptions = file(first, "options.txt");
+        assertSame(firstOptions, file(second, "options.txt"));
+
+        List<String> firstLevelDatChunks = file(first, "saves/world/level.dat").chunks;
+        List<String> secondLevelDatChunks = file(second, "saves/world/level.dat").chunks;
+        assertEquals(firstLevelDatChunks.get(0), secondLevelDatChunks.get(0));
+        assertNotEquals(firstLevelDatChunks.get(1), secondLevelDatChunks.get(1));
+
+        Set<String> allChunks = new HashSet<>(firstChunks);
+        allChunks.addAll(secondChunks);
+        assertEquals(allChunks, storedChunks());
+    }
+
+    @Test
+    public void testThatPruningKeepsChunksStillUsedBySnapshots() throws IOException {
+        BackupSnapshot first = snapshot(1000, null);
+        String removedChunk = file(first, "saves/world/level.dat").chunks.get(1);
+
+        byte[] levelDat = Files.readAllBytes(root.resolve("saves/world/level.dat"));
+        levelDat[levelDat.length - 1]++;
+        Files.write(root.resolve("saves/world/level.dat"), levelDat);
+        Files.setLastModifiedTime(root.resolve("saves/world/level.dat"), FileTime.fromMillis(5000));
+
+        BackupSnapshot second = snapshot(2000, first);
+
+        assertTrue(repository.pruneSnapshots("instance", 1));
+        repository.removeUnusedChunks();
+
+        List<BackupSnapshot> snapshots = repository.getSnapshots("instance");
+        assertEquals(1, snapshots.size());
+        assertEquals(second.name, snapshots.get(0).name);
+
+        assertEquals(chunks(second), storedChunks());
+        assertFalse(Files.exists(repository.getChunkPath(removedChunk)));
+    }
+
+    @Test
+    public void testThatSnapshotsTakenAtTheSameTimeDontReplaceEachOther() throws IOException {
+        BackupSnapshot first = snapshot(1000, null);
+        BackupSnapshot second = snapshot(1000, null);
+
+        assertNotEquals(first.name, second.name);
+        assertEquals(2, repository.getSnapshots("instance").size());
+    }
+
+    @Test
+    public void testThatSnapshotsCanBeMoved() throws IOException {
+        snapshot(1000, null);
+
+        repository.moveSnapshots("instance", "renamed");
+
+        assertEquals(0, repository.getSnapshots("instance").size());
+        assertEquals(1, repository.getSnapshots("renamed").size());
+    }
+
+    private BackupSnapshot snapshot(long createdAt, BackupSnapshot previous) throws IOException {
+        BackupSnapshot snapshot = new BackupSnapshot();
+        snapshot.backupMode = BackupMode.FULL;
+        snapshot.createdAt = createdAt;
+        snapshot.files = new ArrayList<>();
+
+        for (Map.Entry<String, Path> file : repository.listFiles(root, ZipNameMapper.FULL_BACKUP).entrySet()) {
+            BackupSnapshotFile previousFile = previous == null ? null : file(previous, file.getKey());
+            snapshot.files.add(repository.storeFile(file.getValue(), file.getKey(), previousFile, null));
+        }
+
+        repository.saveSnapshot("instance", snapshot);
+
+        return snapshot;
+    }
+
+    private static BackupSnapshotFile file(BackupSnapshot snapshot, String path) {
+        return snapshot.files.stream().filter(f -> f.path.equals(path)).findFirst().orElse(null);
+    }
+
+    private static Set<String> chunks(BackupSnapshot snapshot) {
+        return snapshot.files.stream().flatMap(f -> f.chunks.stream()).collect(Collectors.toSet());
+    }
+
+    private Set<String> storedChunks() throws IOException {
+        Path chunksPath = repository.getChunkPath("00").getParent().getParent();
+
+        try (Stream<Path> stream = Files.walk(chunksPath)) {
+            return stream.filter(Files::isRegularFile).map(p -> p.getFileName().toString())
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.atlauncher.data.InstanceFile;
+
+import org.junit.jupiter.api.Test;
+
+public class InstanceFilesManagerTest {
+    @Test
+    public void testThatFilesAreListed() throws IOException {
+        Path root = Files.createTempDirectory("instance");
+        Files.createDirectories(root.resolve("mods"));
+        Files.write(root.resolve("mods/a.jar"), new byte[] { 1, 2, 3 });
+        Files.write(root.resolve("options.txt"), new byte[0]);
+
+        try {
+            assertEquals(Arrays.asList("mods/a.jar", "options.txt"), paths(InstanceFilesManager.getFiles(root)));
+            assertEquals(Arrays.asList("mods", "options.txt"), paths(InstanceFilesManager.list(root, "")));
+            assertEquals(3, InstanceFilesManager.getFile(root, "mods/a.jar").size);
+            assertTrue(InstanceFilesManager.exists(root, root.resolve("mods/a.jar")));
+            assertFalse(InstanceFilesManager.exists(root, root.resolve("mods/b.jar")));
+
+            InstanceFile file = InstanceFilesManager.getFile(root, "mods/a.jar");
+            assertTrue(file.isUpToDate());
+            Files.write(root.resolve("mods/a.jar"), new byte[] { 1, 2, 3, 4 });
+            assertFalse(file.isUpToDate());
+        } finally {
+            InstanceFilesManager.forget(root);
+        }
+    }
+
+    @Test
+    public void testThatChangesArePickedUp() throws Exception {
+        Path root = Files.createTempDirectory("instance");
+        Files.createDirectories(root.resolve("mods"));
+        Files.write(root.resolve("mods/a.jar"), new byte[] { 1, 2, 3 });
+
+        try {
+            InstanceFilesManager.track(root);
+
+            Files.delete(root.resolve("mods/a.jar"));
+            Files.write(root.resolve("mods/b.jar"), new byte[] { 1 });
+            Files.createDirectories(root.resolve("saves/world"));
+            Files.write(root.resolve("saves/world/level.dat"), new byte[] { 1, 2 });
+
+            List<String> expected = Arrays.asList("mods/b.jar", "saves/world/level.dat");
+            assertEquals(expected, eventually(() -> paths(InstanceFilesManager.getFiles(root)), expected));
+        } finally {
+            InstanceFilesManager.forget(root);
+        }
+    }
+
+    private static List<String> paths(List<InstanceFile> files) {
+        return files.stream().map(file -> file.relativePath).collect(Collectors.toList());
+    }
+
+    private static <T> T eventually(Supplier<T> supplier, T expected) throws InterruptedException {
+        T value = supplier.get();
+
+        // changes are seen as they come in from the platform, so give them a moment to arrive
+        for (int i = 0; i < 100 && !value.equals(expected); i++) {
+            Thread.sleep(50);
+            value = supplier.get();
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JavaProbeCacheTest {
+    private static final String VERSION_INFO = "openjdk version \"17.0.1\" 2021-10-19";
+
+    @TempDir
+    Path directory;
+
+    private Path java;
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicInteger changes = new AtomicInteger();
+    private String answer = VERSION_INFO;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        java = directory.resolve("java");
+        Files.write(java, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(java, FileTime.fromMillis(1000));
+    }
+
+    @Test
+    public void testThatUnchangedExecutablesArentRunAgain() {
+        JavaProbeCache cache = cache();
+
+        assertEquals(VERSION_INFO, cache.getVersionInfo(java.toString()));
+        assertEquals(VERSION_INFO, cache.getVersionInfo(java.toString()));
+
+        assertEquals(1, probes.get());
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    public void testThatChangedExecutablesAreRunAgain() throws IOException {
+        JavaProbeCache cache = cache();
+        cache.getVersionInfo(java.toString());
+
+        Files.setLastModifiedTime(java, FileTime.fromMillis(2000));
+        cache.getVersionInfo(java.toString());
+        assertEquals(2, probes.get());
+
+        Files.write(java, new byte[] { 1, 2, 3, 4 });
+        Files.setLastModifiedTime(java, FileTime.fromMillis(2000));
+        cache.getVersionInfo(java.toString());
+        assertEquals(3, probes.get());
+    }
+
+    @Test
+    public void testThatFailedOrTimedOutRunsArentRemembered() {
+        JavaProbeCache cache = cache();
+
+        answer = "";
+        assertEquals("", cache.getVersionInfo(java.toString()));
+        assertEquals(0, changes.get());
+
+        answer = VERSION_INFO;
+        assertEquals(VERSION_INFO, cache.getVersionInfo(java.toString()));
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    public void testThatSavedRunsAreLoaded() throws IOException {
+        JavaProbeCache cache = cache();
+        cache.getVersionInfo(java.toString());
+        cache.write();
+
+        JavaProbeCache loaded = cache();
+        loaded.load();
+
+        assertEquals(VERSION_INFO, loaded.getVersionInfo(java.toString()));
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    public void testThatRunsForMissingExecutablesArentLoaded() throws IOException {
+        JavaProbeCache cache = cache();
+        cache.getVersionInfo(java.toString());
+        cache.write();
+
+        Files.delete(java);
+        changes.set(0);
+
+        JavaProbeCache loaded = cache();
+        loaded.load();
+        assertEquals(1, changes.get());
+
+        // if it comes back it's run again
+        Files.write(java, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(java, FileTime.fromMillis(1000));
+        loaded.getVersionInfo(java.toString());
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    public void testThatExecutablesWithoutTheirExtensionAreCached() throws IOException {
+        Path javaw = directory.resolve("javaw");
+        Files.write(directory.resolve("javaw.exe"), new byte[] { 1, 2, 3 });
+
+        JavaProbeCache cache = cache();
+        assertEquals(VERSION_INFO, cache.getVersionInfo(javaw.toString()));
+        cache.write();
+
+        JavaProbeCache loaded = cache();
+        loaded.load();
+
+        assertEquals(VERSION_INFO, loaded.getVersionInfo(javaw.toString()));
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    public void testThatExecutablesWhichCantBeCheckedAreOnlyRunOnce() {
+        String missing = directory.resolve("missing").toString();
+
+        JavaProbeCache cache = cache();
+        assertEquals(VERSION_INFO, cache.getVersionInfo(missing));
+        assertEquals(VERSION_INFO, cache.getVersionInfo(missing));
+
+        assertEquals(1, probes.get());
+        assertEquals(0, changes.get());
+    }
+
+    private JavaProbeCache cache() {
+        return new JavaProbeCache(directory.resolve("javaprobes.json"), javaPath -> {
+            probes.incrementAndGet();
+            return answer;
+        }, changes::incrementAndGet);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistenceManagerTest {
+    @Test
+    public void testThatSavesForTheSameOwnerAreCoalesced() {
+        Object owner = new Object();
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger lastValue = new AtomicInteger();
+
+        for (int i = 1; i <= 50; i++) {
+            int value = i;
+            PersistenceManager.queue(owner, () -> {
+                writes.incrementAndGet();
+                lastValue.set(value);
+            });
+        }
+
+        PersistenceManager.flush(owner);
+        PersistenceManager.flush(owner);
+
+        assertEquals(1, writes.get());
+        assertEquals(50, lastValue.get());
+    }
+
+    @Test
+    public void testThatCancelledSavesArentWritten() {
+        Object owner = new Object();
+        AtomicInteger writes = new AtomicInteger();
+
+        PersistenceManager.queue(owner, writes::incrementAndGet);
+        PersistenceManager.cancel(owner);
+        PersistenceManager.flush();
+
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    public void testThatJsonIsWrittenInPlace(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("test.json");
+        Files.write(path, "old".getBytes(StandardCharsets.UTF_8));
+
+        PersistenceManager.writeJson(path, new Gson(), Collections.singletonMap("a", "b"),
+                new TypeToken<Map<String, String>>() {
+                }.getType(), StandardCharsets.UTF_8);
+
+        assertEquals("{\"a\":\"b\"}", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(directory.resolve("test.json.tmp")));
+    }
+}
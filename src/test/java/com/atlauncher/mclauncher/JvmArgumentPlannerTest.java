@@ -0,0 +1,162 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.atlauncher.constants.Constants;
+
+import org.junit.jupiter.api.Test;
+
+public class JvmArgumentPlannerTest {
+    private static JvmPlanInput input(int javaMajorVersion, int systemRam, int processorCount, int modCount,
+            String loaderType) {
+        JvmPlanInput input = new JvmPlanInput();
+        input.javaMajorVersion = javaMajorVersion;
+        input.systemRam = systemRam;
+        input.processorCount = processorCount;
+        input.modCount = modCount;
+        input.loaderType = loaderType;
+        input.initialMemory = 512;
+        input.maximumMemory = 4096;
+        input.permGen = 256;
+        input.javaArguments = Constants.DEFAULT_JAVA_PARAMETERS;
+        return input;
+    }
+
+    private static List<String> adaptive(JvmPlanInput input) {
+        return new AdaptiveJvmArgumentPlanner().plan(input).getArguments();
+    }
+
+    @Test
+    public void testThatTheLegacyPlannerKeepsTheOldBehaviour() {
+        JvmPlanInput input = input(8, 16384, 8, 100, "Forge");
+        input.recommendedMemory = 6144;
+        JvmArgumentPlan plan = new LegacyJvmArgumentPlanner().plan(input);
+
+        assertEquals(Arrays.asList("-Xms512M", "-Xmx6144M", "-XX:MetaspaceSize=256M"), plan.getArguments());
+        assertEquals(Constants.DEFAULT_JAVA_PARAMETERS, plan.getJavaArguments());
+
+        input.systemRam = 8192;
+        assertEquals("-Xmx4096M", new LegacyJvmArgumentPlanner().plan(input).getArguments().get(1));
+
+        input.javaMajorVersion = 7;
+        assertEquals("-XX:PermSize=256M", new LegacyJvmArgumentPlanner().plan(input).getArguments().get(2));
+    }
+
+    @Test
+    public void testThatTheHeapIsSizedFromTheMods() {
+        // {java, ram, processors, mods, loader, expected -Xmx}
+        Object[][] matrix = {
+                { 17, 16384, 8, 0, null, "-Xmx2048M" },
+                { 17, 16384, 8, 50, "Fabric", "-Xmx3072M" },
+                { 17, 16384, 8, 50, "Forge", "-Xmx4096M" },
+                { 17, 16384, 8, 200, "Forge", "-Xmx8704M" },
+                { 17, 65536, 16, 1000, "Forge", "-Xmx12288M" },
+                { 17, 8192, 4, 200, "Forge", "-Xmx6144M" },
+                { 8, 4096, 2, 200, "Forge", "-Xmx2560M" },
+                { 8, 1024, 1, 0, null, "-Xmx512M" }, };
+
+        for (Object[] row : matrix) {
+            List<String> arguments = adaptive(
+                    input((int) row[0], (int) row[1], (int) row[2], (int) row[3], (String) row[4]));
+
+            assertEquals(row[5], arguments.get(1), Arrays.toString(row));
+        }
+    }
+
+    @Test
+    public void testThatTheHeapRespectsTheInstanceAndOtherInstances() {
+        JvmPlanInput input = input(17, 16384, 8, 0, null);
+        input.recommendedMemory = 5000;
+        assertEquals("-Xmx5000M", adaptive(input).get(1));
+
+        input.otherInstancesRunning = 1;
+        input.otherInstancesMemory = 8192;
+        assertEquals("-Xmx4096M", adaptive(input).get(1));
+
+        input.maximumMemory = 1024;
+        input.maximumMemoryOverridden = true;
+        assertEquals(Arrays.asList("-Xms512M", "-Xmx1024M"), adaptive(input).subList(0, 2));
+
+        input.initialMemory = 2048;
+        assertEquals("-Xms1024M", adaptive(input).get(0));
+    }
+
+    @Test
+    public void testThatTheGarbageCollectorIsPicked() {
+        // {java, ram, processors, mods, loader, expected collector}
+        Object[][] matrix = {
+                { 8, 16384, 8, 100, "Forge", "-XX:+UseG1GC" },
+                { 17, 32768, 16, 300, "Forge", "-XX:+UseG1GC" },
+                { 21, 32768, 16, 300, "Forge", "-XX:+UseZGC" },
+                { 21, 32768, 4, 300, "Forge", "-XX:+UseG1GC" },
+                { 21, 8192, 16, 300, "Forge", "-XX:+UseG1GC" },
+                { 17, 4096, 1, 0, null, "-XX:+UseSerialGC" }, };
+
+        for (Object[] row : matrix) {
+            List<String> arguments = adaptive(
+                    input((int) row[0], (int) row[1], (int) row[2], (int) row[3], (String) row[4]));
+
+            assertTrue(arguments.contains(row[5]), Arrays.toString(row) + " " + arguments);
+        }
+
+        assertTrue(adaptive(input(21, 32768, 16, 300, "Forge")).contains("-XX:+ZGenerational"));
+        assertFalse(adaptive(input(23, 32768, 16, 300, "Forge")).contains("-XX:+ZGenerational"));
+        assertTrue(adaptive(input(17, 4096, 4, 0, null)).contains("-XX:G1HeapRegionSize=16M"));
+    }
+
+    @Test
+    public void testThatTheDefaultJavaParametersAreReplacedButPickedCollectorsAreKept() {
+        JvmPlanInput input = input(21, 32768, 16, 300, "Forge");
+        input.javaArguments = Constants.DEFAULT_JAVA_PARAMETERS + " -Dfoo=bar";
+        JvmArgumentPlan plan = new AdaptiveJvmArgumentPlanner().plan(input);
+
+        assertEquals("-Dfoo=bar", plan.getJavaArguments());
+        assertFalse(plan.getArguments().contains("-XX:+UseG1GC"));
+
+        input.javaArguments = "-XX:+UseShenandoahGC -XX:+UseGCOverheadLimit";
+        plan = new AdaptiveJvmArgumentPlanner().plan(input);
+
+        assertEquals(input.javaArguments, plan.getJavaArguments());
+        assertEquals(3, plan.getArguments().size());
+
+        input.javaArguments = "-XX:+UseGCOverheadLimit";
+        assertTrue(new AdaptiveJvmArgumentPlanner().plan(input).getArguments().contains("-XX:+UseZGC"));
+    }
+
+    @Test
+    public void testThatThreadsAreSplitBetweenRunningInstances() {
+        JvmPlanInput input = input(17, 32768, 8, 0, null);
+        assertFalse(adaptive(input).stream().anyMatch(argument -> argument.startsWith("-XX:ParallelGCThreads")));
+
+        input.otherInstancesRunning = 1;
+        input.otherInstancesMemory = 2048;
+        List<String> arguments = adaptive(input);
+        assertTrue(arguments.contains("-XX:ParallelGCThreads=4"));
+        assertTrue(arguments.contains("-XX:ConcGCThreads=1"));
+
+        input.processorCount = 2;
+        assertTrue(adaptive(input).contains("-XX:+UseSerialGC"));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.data.DownloadValidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DownloadValidatorsTest {
+    private static final long NOW = TimeUnit.DAYS.toMillis(1000);
+
+    private Path file;
+    private DownloadValidator known;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("download", null);
+        Files.write(file, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        known = new DownloadValidator(file.toAbsolutePath().toString(), "\"abc\"", null, 3);
+        known.fileSize = 3;
+        known.fileLastModified = 1000;
+        known.checkedAt = NOW;
+    }
+
+    @Test
+    public void testThatRecentlyCheckedFilesAreFresh() throws IOException {
+        assertEquals(DownloadValidators.FileState.FRESH, state(known, file, NOW + TimeUnit.MINUTES.toMillis(59)));
+    }
+
+    @Test
+    public void testThatFilesCheckedAWhileAgoAreStale() throws IOException {
+        assertEquals(DownloadValidators.FileState.STALE, state(known, file, NOW + TimeUnit.HOURS.toMillis(2)));
+    }
+
+    @Test
+    public void testThatChangedFilesAreUnknown() throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+        assertEquals(DownloadValidators.FileState.UNKNOWN, state(known, file, NOW));
+
+        Files.write(file, new byte[] { 1, 2, 3, 4 });
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+        assertEquals(DownloadValidators.FileState.UNKNOWN, state(known, file, NOW));
+    }
+
+    @Test
+    public void testThatOtherFilesForTheSameUrlAreUnknown() throws IOException {
+        Path other = Files.createTempFile("download", null);
+        Files.write(other, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(other, FileTime.fromMillis(1000));
+
+        assertEquals(DownloadValidators.FileState.UNKNOWN, state(known, other, NOW));
+        assertEquals(DownloadValidators.FileState.UNKNOWN, state(null, file, NOW));
+        assertNotEquals(DownloadValidators.getKey("https://example.com/a.jar", file),
+                DownloadValidators.getKey("https://example.com/a.jar", other));
+    }
+
+    @Test
+    public void testThatMissingFilesAreUnknown() {
+        assertEquals(DownloadValidators.FileState.UNKNOWN, DownloadValidators.getState(known, file, null, NOW));
+    }
+
+    private static DownloadValidators.FileState state(DownloadValidator known, Path file, long now)
+            throws IOException {
+        return DownloadValidators.getState(known, file, Files.readAttributes(file, BasicFileAttributes.class), now);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ProgressTrackerTest {
+    @Test
+    public void testThatBytesFromManyThreadsArentLost() throws InterruptedException {
+        List<ProgressTracker.Progress> published = Collections.synchronizedList(new ArrayList<>());
+        ProgressTracker tracker = new ProgressTracker(published::add);
+        tracker.start();
+        tracker.setTotalBytes(800000);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    tracker.addDownloadedBytes(10);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        tracker.stop();
+
+        ProgressTracker.Progress last = published.get(published.size() - 1);
+        assertEquals(800000, last.downloadedBytes);
+        assertEquals(100.0, last.getPercent());
+        assertEquals("0.76 MB / 0.76 MB", last.getLabel());
+
+        // far fewer updates are published than bytes were added
+        assertTrue(published.size() < 1000);
+    }
+
+    @Test
+    public void testThatNewPhasesStartFromNothing() {
+        List<ProgressTracker.Progress> published = new ArrayList<>();
+        ProgressTracker tracker = new ProgressTracker(published::add);
+
+        tracker.setPhase("Downloading Libraries");
+        tracker.setTotalBytes(100);
+        tracker.addDownloadedBytes(50);
+        tracker.setPhase("Downloading Mods");
+        tracker.stop();
+
+        assertEquals(2, published.size());
+        assertEquals(50.0, published.get(1).getPercent());
+        assertEquals("Downloading Libraries", published.get(1).phase);
+    }
+}
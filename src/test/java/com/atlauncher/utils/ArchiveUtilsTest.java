@@ -0,0 +1,121 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveUtilsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+
+    @Before
+    public void setUp() throws Exception {
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+    }
+
+    @Test
+    public void testThatCreatedZipsCanBeExtracted() throws Exception {
+        Path source = testStorage.resolve("source");
+        for (int i = 0; i < 100; i++) {
+            Path file = source.resolve("config/folder" + (i % 5) + "/file" + i + ".cfg");
+            Files.createDirectories(file.getParent());
+            Files.write(file, ("file " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(source.resolve("options.txt"), "options".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(source.resolve("logs"));
+        Files.write(source.resolve("logs/latest.log"), "log".getBytes(StandardCharsets.UTF_8));
+
+        Path archive = testStorage.resolve("archive.zip");
+        ArchiveUtils.createZip(source, archive, ZipNameMapper.NORMAL_BACKUP);
+
+        Path extracted = testStorage.resolve("extracted");
+        assertTrue(ArchiveUtils.extract(archive, extracted));
+
+        assertEquals(101, Files.walk(extracted).filter(Files::isRegularFile).count());
+        assertEquals("file 42",
+                new String(Files.readAllBytes(extracted.resolve("config/folder2/file42.cfg")), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(extracted.resolve("options.txt")));
+        assertFalse(Files.exists(extracted.resolve("logs/latest.log")));
+    }
+
+    @Test
+    public void testThatEmptyFoldersAreKeptInCreatedZips() throws Exception {
+        Path source = testStorage.resolve("source");
+        Files.createDirectories(source.resolve("saves/world/DIM1"));
+        Files.createDirectories(source.resolve("config"));
+        Files.write(source.resolve("config/mod.cfg"), "config".getBytes(StandardCharsets.UTF_8));
+
+        Path archive = testStorage.resolve("archive.zip");
+        ArchiveUtils.createZip(source, archive);
+
+        Path extracted = testStorage.resolve("extracted");
+        ArchiveUtils.extract(archive, extracted);
+
+        assertTrue(Files.isDirectory(extracted.resolve("saves/world/DIM1")));
+        assertTrue(Files.exists(extracted.resolve("config/mod.cfg")));
+    }
+
+    @Test
+    public void testThatExtractingATruncatedZipFails() throws Exception {
+        Path source = testStorage.resolve("source");
+        Files.createDirectories(source);
+        byte[] contents = new byte[100000];
+        new Random(1).nextBytes(contents);
+        Files.write(source.resolve("native.so"), contents);
+
+        Path archive = testStorage.resolve("archive.zip");
+        ArchiveUtils.createZip(source, archive);
+
+        byte[] zip = Files.readAllBytes(archive);
+        Files.write(archive, Arrays.copyOf(zip, zip.length / 2));
+
+        assertFalse(ArchiveUtils.extract(archive, testStorage.resolve("extracted")));
+    }
+
+    @Test
+    public void testThatExtractAppliesTheNameMapper() throws Exception {
+        Path source = testStorage.resolve("source");
+        Files.createDirectories(source.resolve("META-INF"));
+        Files.write(source.resolve("META-INF/MANIFEST.MF"), "manifest".getBytes(StandardCharsets.UTF_8));
+        Files.write(source.resolve("native.so"), "native".getBytes(StandardCharsets.UTF_8));
+
+        Path archive = testStorage.resolve("natives.jar");
+        ArchiveUtils.createZip(source, archive);
+
+        Path extracted = testStorage.resolve("extracted");
+        ArchiveUtils.extract(archive, extracted, name -> name.startsWith("META-INF") ? null : name);
+
+        assertTrue(Files.exists(extracted.resolve("native.so")));
+        assertFalse(Files.exists(extracted.resolve("META-INF")));
+    }
+}
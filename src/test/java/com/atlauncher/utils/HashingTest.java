@@ -0,0 +1,67 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class HashingTest {
+    @Test
+    public void testThatMurmurMatchesMurmurHash2() {
+        assertEquals(1540447798L, Hashing.murmur(new byte[0]));
+        assertEquals(626045324L, Hashing.murmur(bytes("a")));
+        assertEquals(1692487918L, Hashing.murmur(bytes("ab")));
+        assertEquals(1621425345L, Hashing.murmur(bytes("abc")));
+        assertEquals(3376380438L, Hashing.murmur(bytes("abcd")));
+        assertEquals(2824650221L, Hashing.murmur(bytes("hello world")));
+        assertEquals(3821526430L, Hashing.murmur(new byte[] { (byte) 0x80, (byte) 0xff, 0x7f, 0x00, (byte) 0xfe }));
+    }
+
+    @Test
+    public void testThatMurmurSkipsWhitespace() {
+        assertEquals(Hashing.murmur(bytes("abcde")), Hashing.murmur(bytes("a b\tc\r\nd e")));
+        assertEquals(3469237630L, Hashing.murmur(bytes("a b\tc\r\nd e")));
+    }
+
+    @Test
+    public void testThatMurmurOfFilesMatchesBytes() throws IOException {
+        Random random = new Random(46);
+        byte[] bytes = new byte[200000];
+        random.nextBytes(bytes);
+
+        Path file = Files.createTempFile("murmur", ".jar");
+        try {
+            Files.write(file, bytes);
+
+            assertEquals(Hashing.murmur(bytes), Hashing.murmur(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}
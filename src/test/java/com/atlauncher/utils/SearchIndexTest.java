@@ -0,0 +1,68 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchIndexTest {
+    private static final List<String[]> ITEMS = Arrays.asList(new String[] { "Vanilla Minecraft", "1.16.5", "" },
+            new String[] { "My Fabric Pack", "1.16.5", "Fabric" }, new String[] { "Sky Factory 4", "1.12.2", "Forge" },
+            new String[] { "skyblock", "1.17.1", "Fabric" });
+
+    private static SearchIndex<String[]> index() {
+        return new SearchIndex<>(ITEMS, item -> item[0], Arrays::asList);
+    }
+
+    @Test
+    public void testThatSearchingMatchesNamesAnywhere() {
+        assertEquals(Arrays.asList(ITEMS.get(0)), index().search("ILLA MINE"));
+        assertEquals(Arrays.asList(ITEMS.get(2), ITEMS.get(3)), index().search("sky"));
+    }
+
+    @Test
+    public void testThatSearchingMatchesTheStartOfEveryWord() {
+        assertEquals(Arrays.asList(ITEMS.get(1), ITEMS.get(3)), index().search("fab"));
+        assertEquals(Arrays.asList(ITEMS.get(1)), index().search("fab 1.16"));
+        assertEquals(Arrays.asList(ITEMS.get(2)), index().search("forge sky"));
+        assertTrue(index().search("fabric 1.12").isEmpty());
+    }
+
+    @Test
+    public void testThatAnEmptySearchMatchesEverything() {
+        assertEquals(ITEMS, index().search("  "));
+        assertTrue(new SearchIndex<String[]>(Collections.emptyList(), item -> item[0], Arrays::asList).search("a")
+                .isEmpty());
+    }
+
+    @Test
+    public void testThatKeysIgnoreCase() {
+        Map<String, String[]> byName = SearchIndex.byKey(ITEMS, item -> item[0]);
+
+        assertEquals(ITEMS.get(2), byName.get(SearchIndex.fold("SKY factory 4")));
+        assertNull(byName.get(SearchIndex.fold("Sky Factory")));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SnapshotListTest {
+    @Test
+    public void testThatSnapshotsDontChange() {
+        SnapshotList<String> list = new SnapshotList<>();
+        list.addAll(Arrays.asList("a", "b"));
+
+        List<String> snapshot = list.snapshot();
+        list.remove("a");
+        list.add("c");
+
+        assertEquals(Arrays.asList("a", "b"), snapshot);
+        assertEquals(Arrays.asList("b", "c"), list);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add("d"));
+    }
+
+    @Test
+    public void testThatChangingWhileIteratingIsAllowed() {
+        SnapshotList<String> list = new SnapshotList<>();
+        list.setAll(Arrays.asList("a", "b", "c"));
+
+        for (String item : list) {
+            list.remove(item);
+        }
+
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testThatEveryChangeIncreasesTheVersion() {
+        SnapshotList<String> list = new SnapshotList<>();
+        long version = list.getVersion();
+
+        list.setAll(Arrays.asList("a", "b", "c"));
+        assertEquals(version + 1, list.getVersion());
+
+        list.update(items -> {
+            items.remove("a");
+            items.add("d");
+        });
+        assertEquals(version + 2, list.getVersion());
+        assertEquals(Arrays.asList("b", "c", "d"), list);
+
+        list.removeIf(item -> item.equals("c"));
+        list.clear();
+        assertEquals(version + 4, list.getVersion());
+    }
+}
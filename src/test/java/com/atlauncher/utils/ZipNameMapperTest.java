@@ -0,0 +1,39 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.zeroturnaround.zip.NameMapper;
+
+public class ZipNameMapperTest {
+    @Test
+    public void testThatExportMapperSkipsTheExportedZipInAnyCase() {
+        NameMapper mapper = ZipNameMapper.getMapperForExport("overrides/", "My Pack.zip",
+                Arrays.asList("My Pack.zip", "my pack.ZIP", "config"), Collections.emptySet());
+
+        assertNull(mapper.map("My Pack.zip"));
+        assertNull(mapper.map("my pack.ZIP"));
+        assertEquals("overrides/config/mod.cfg", mapper.map("config/mod.cfg"));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2021 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils.javafinder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class JavaInfoTest {
+    @Test
+    public void testThatVersionOutputIsParsed() {
+        JavaInfo javaInfo = new JavaInfo("/usr/lib/jvm/java-17/bin/java",
+                "openjdk version \"17.0.9\" 2023-10-17\nOpenJDK Runtime Environment (build 17.0.9+9)\n"
+                        + "OpenJDK 64-Bit Server VM (build 17.0.9+9, mixed mode, sharing)");
+
+        assertEquals("17.0.9", javaInfo.version);
+        assertEquals(Integer.valueOf(17), javaInfo.majorVersion);
+        assertEquals(Integer.valueOf(9), javaInfo.minorVersion);
+        assertTrue(javaInfo.is64bits);
+    }
+
+    @Test
+    public void testThatMissingVersionOutputIsUnknown() {
+        JavaInfo javaInfo = new JavaInfo("/usr/lib/jvm/java-8/bin/java", "");
+
+        assertEquals("Unknown", javaInfo.version);
+        assertNull(javaInfo.majorVersion);
+        assertFalse(javaInfo.is64bits);
+    }
+}